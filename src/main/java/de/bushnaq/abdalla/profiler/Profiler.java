@@ -29,6 +29,9 @@ import java.util.Deque;
 /**
  * Measures execution time from creation to closing.
  * Supports nested creation of such counters
+ * <p>
+ * Every thread measures on its own, so that charts rendered in parallel do not mix up their samples.
+ * A thread of a pool should call {@link #reset()} before a new task, so that it does not inherit the samples of the previous one.
  *
  * @author abdalla
  */
@@ -38,20 +41,10 @@ public class Profiler implements AutoCloseable {
 
     @Getter
     @Setter
-    static boolean          abbreviatedReport = false;
-    static boolean          enableTraceLogger = false;
-    static ProfilerResult   intermediateResult;
-    static SampleSet        intermediateSampleSet;
-    static Logger           logger            = LoggerFactory.getLogger(Profiler.class);
-    static SampleSet        sampleSet         = new SampleSet();
-    static Deque<SampleSet> stack             = new ArrayDeque<>();
-    static long             start;
-
-    static {
-        for (SampleType type : SampleType.values()) {
-            sampleSet.putSample(type, new Sample(type));
-        }
-    }
+    static volatile      boolean            abbreviatedReport = false;
+    static volatile      boolean            enableTraceLogger = false;
+    static               Logger             logger            = LoggerFactory.getLogger(Profiler.class);
+    private static final ThreadLocal<State> state             = ThreadLocal.withInitial(State::new);
 
     /**
      * Wrap all your code with a generic profiler catching all what other profilers are missing in the Othr category
@@ -69,49 +62,65 @@ public class Profiler implements AutoCloseable {
     }
 
     public Profiler(String subject, SampleType type) {
-        if (start == 0) {
+        State state = Profiler.state.get();
+        if (state.start == 0) {
             if (enableTraceLogger) {
                 logger.trace(String.format("start(%s)", type.name()));
             }
             //            sampleSet.setTotalStart();
         } else {
             if (enableTraceLogger) {
-                logger.trace(String.format("pause(%s) start(%s)", Profiler.sampleSet.getType().name(), type.name()));
+                logger.trace(String.format("pause(%s) start(%s)", state.sampleSet.getType().name(), type.name()));
             }
-            measure();
-            push();
+            measure(state);
+            push(state);
         }
-        sampleSet.setSubject(subject);
-        sampleSet.setType(type);
-        start = System.nanoTime();
+        state.sampleSet.setSubject(subject);
+        state.sampleSet.setType(type);
+        state.start = System.nanoTime();
         logStart(subject);
     }
 
     @Override
     public void close() {
-        measure();
-        if (stack.size() == 0) {
+        State state = Profiler.state.get();
+        measure(state);
+        if (state.stack.size() == 0) {
             if (enableTraceLogger) {
-                logger.trace(String.format("close(%s)", sampleSet.getType().name()));
+                logger.trace(String.format("close(%s)", state.sampleSet.getType().name()));
             }
         } else {
             if (enableTraceLogger) {
-                logger.trace(String.format("close(%s) resume(%s)", Profiler.sampleSet.getType().name(), stack.peek().getType().name()));
+                logger.trace(String.format("close(%s) resume(%s)", state.sampleSet.getType().name(), state.stack.peek().getType().name()));
             }
-            sampleSet = pop();
-            start     = System.nanoTime();
+            state.sampleSet = pop(state);
+            state.start     = System.nanoTime();
         }
-        if (intermediateSampleSet.getSubject() != null) {
-            log(intermediateSampleSet.getSubject());
+        if (state.intermediateSampleSet.getSubject() != null) {
+            log(state.intermediateSampleSet.getSubject());
         }
     }
 
     public static void generateResult() {
-        intermediateResult = new ProfilerResult(intermediateSampleSet.getTotalStart(), intermediateSampleSet);
+        State state = Profiler.state.get();
+        state.intermediateResult = new ProfilerResult(state.intermediateSampleSet.getTotalStart(), state.intermediateSampleSet);
+    }
+
+    static ProfilerResult getIntermediateResult() {
+        return state.get().intermediateResult;
+    }
+
+    static SampleSet getIntermediateSampleSet() {
+        return state.get().intermediateSampleSet;
+    }
+
+    static SampleSet getSampleSet() {
+        return state.get().sampleSet;
     }
 
     public static void incrementCounter(String counterName, long count) {
-        Long counter = sampleSet.getCounter(counterName);
+        SampleSet sampleSet = state.get().sampleSet;
+        Long      counter   = sampleSet.getCounter(counterName);
         if (counter == null) {
             counter = Long.valueOf(0);
         }
@@ -130,6 +139,8 @@ public class Profiler implements AutoCloseable {
      */
     public static void log(String subject) {
         generateResult();
+        SampleSet      intermediateSampleSet = state.get().intermediateSampleSet;
+        ProfilerResult intermediateResult    = state.get().intermediateResult;
         //        long totalDelta = System.nanoTime() - totalStart;
         //        long gcCount2 = 0;
         //        long gcTime2 = 0;
@@ -166,16 +177,16 @@ public class Profiler implements AutoCloseable {
         }
     }
 
-    private void measure() {
-        if (start != 0) {
+    private void measure(State state) {
+        if (state.start != 0) {
             final long end    = System.nanoTime();
-            final long delta  = end - start;
-            Sample     sample = sampleSet.getSample();
+            final long delta  = end - state.start;
+            Sample     sample = state.sampleSet.getSample();
             sample.addTimeNanoSec(delta);
             if (enableTraceLogger) {
-                logger.trace(String.format("%s %dms", sampleSet.getType().name(), delta / 1000000));
+                logger.trace(String.format("%s %dms", state.sampleSet.getType().name(), delta / 1000000));
             }
-            intermediateSampleSet = sampleSet;
+            state.intermediateSampleSet = state.sampleSet;
         }
     }
 
@@ -183,26 +194,50 @@ public class Profiler implements AutoCloseable {
         return DateUtil.create24hDurationString(time / 1000000L, true, true, true, true, false);
     }
 
-    private SampleSet pop() {
-        SampleSet temp = stack.pop();
-        temp.add(sampleSet);
+    private SampleSet pop(State state) {
+        SampleSet temp = state.stack.pop();
+        temp.add(state.sampleSet);
         return temp;
 
     }
 
-    private void push() {
+    private void push(State state) {
         //---push current sample set on the stack
         try {
-            stack.push(sampleSet.clone());
+            state.stack.push(state.sampleSet.clone());
         } catch (CloneNotSupportedException e) {
             logger.error(e.getMessage(), e);
         }
         //---reset current sample set
-        sampleSet.reset();
+        state.sampleSet.reset();
+    }
+
+    /**
+     * Forgets all samples of the current thread, the next profiler of the thread starts a new measurement.
+     */
+    public static void reset() {
+        state.remove();
     }
 
     public static void setEnableTraceLogger(boolean enableTraceLogger) {
         Profiler.enableTraceLogger = enableTraceLogger;
     }
 
+    /**
+     * Samples of one thread.
+     */
+    private static final class State {
+        private       ProfilerResult   intermediateResult;
+        private       SampleSet        intermediateSampleSet;
+        private       SampleSet        sampleSet = new SampleSet();
+        private final Deque<SampleSet> stack     = new ArrayDeque<>();
+        private       long             start;
+
+        private State() {
+            for (SampleType type : SampleType.values()) {
+                sampleSet.putSample(type, new Sample(type));
+            }
+        }
+    }
+
 }
@@ -39,12 +39,15 @@ public abstract class AbstractTimeAwareDAO {
     @Column(nullable = false)
     private OffsetDateTime updated;
 
+    /**
+     * updated is always stamped by the server, as the change feed and the ETags rely on it.
+     */
     @PrePersist
     protected void onCreate() {
+        OffsetDateTime now = OffsetDateTime.now();
         if (created == null)
-            created = OffsetDateTime.now();
-        if (updated == null)
-            updated = created;
+            created = now;
+        updated = now;
     }
 
     @PreUpdate
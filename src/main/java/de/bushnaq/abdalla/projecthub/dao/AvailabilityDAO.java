@@ -28,6 +28,7 @@ import java.time.LocalDate;
  * Represents the availability of a user at a certain time.
  */
 @Entity
+@EntityListeners(TombstoneListener.class)
 @Table(name = "availabilities")
 @Getter
 @Setter
@@ -0,0 +1,54 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.dao;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All entities that have been created, updated or deleted since a point in time.
+ * <p>
+ * until must be passed as 'since' of the next request.
+ * As transactions that are still running may commit rows with an older timestamp, until lies a little in the past
+ * and consecutive change sets can overlap. Applying a change twice does not harm, as every entity is identified by its id.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ChangeSetDAO {
+
+    private List<TombstoneDAO>         deleted  = new ArrayList<>();
+    private List<FeatureDAO>           features = new ArrayList<>();
+    private Map<Long, List<OffDayDAO>> offDays  = new HashMap<>();//user id -> off days
+    private List<ProductDAO>           products = new ArrayList<>();
+    private List<SprintDAO>            sprints  = new ArrayList<>();
+    private List<TaskDAO>              tasks    = new ArrayList<>();
+    private OffsetDateTime             until;
+    private List<VersionDAO>           versions = new ArrayList<>();
+    private List<WorklogDAO>           worklogs = new ArrayList<>();
+
+}
@@ -25,6 +25,7 @@ import org.hibernate.annotations.Proxy;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(TombstoneListener.class)
 @Table(name = "locations")
 @Getter
 @Setter
@@ -24,6 +24,7 @@ import lombok.*;
 import org.hibernate.annotations.Proxy;
 
 @Entity
+@EntityListeners(TombstoneListener.class)
 @Table(name = "off_days")
 @Getter
 @Setter
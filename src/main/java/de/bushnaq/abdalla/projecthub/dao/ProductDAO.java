@@ -22,6 +22,7 @@ import lombok.*;
 import org.hibernate.annotations.Proxy;
 
 @Entity
+@EntityListeners(TombstoneListener.class)
 @Table(name = "products")
 @Getter
 @Setter
@@ -32,6 +32,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(TombstoneListener.class)
 @Table(
         name = "sprints",
         uniqueConstraints = @UniqueConstraint(columnNames = {"featureId", "name"})
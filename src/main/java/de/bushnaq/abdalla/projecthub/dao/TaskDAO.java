@@ -17,6 +17,7 @@
 
 package de.bushnaq.abdalla.projecthub.dao;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -29,6 +30,7 @@ import org.hibernate.annotations.Proxy;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -36,7 +38,8 @@ import java.util.List;
  * represents a task in a Gantt chart.
  */
 @Entity
-@Table(name = "tasks")
+@EntityListeners(TombstoneListener.class)
+@Table(name = "tasks", indexes = @Index(columnList = "sprintId, orderId"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -101,5 +104,18 @@ public class TaskDAO {
     @JsonSerialize(using = DurationSerializer.class)
     @JsonDeserialize(using = DurationDeserializer.class)
     private Duration          timeSpent         = Duration.ZERO;
+    /**
+     * Only used by the change feed, tasks are not time aware on the client side.
+     * Nullable, as tasks created before this column existed have no value.
+     */
+    @Column(nullable = true)
+    @JsonIgnore
+    private OffsetDateTime    updated;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updated = OffsetDateTime.now();
+    }
 
 }
@@ -0,0 +1,69 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.dao;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Proxy;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Remembers that an entity has been deleted, so that the change feed can report deletes.
+ * Tombstones are written by the {@link TombstoneListener}.
+ */
+@Entity
+@Table(name = "tombstones", indexes = @Index(columnList = "deleted"))
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+@EqualsAndHashCode(of = {"id"}, callSuper = false)
+@Proxy(lazy = false)
+public class TombstoneDAO {
+    public static final String AVAILABILITY = "availability";
+    public static final String FEATURE      = "feature";
+    public static final String LOCATION     = "location";
+    public static final String OFF_DAY      = "offday";
+    public static final String PRODUCT      = "product";
+    public static final String SPRINT       = "sprint";
+    public static final String TASK         = "task";
+    public static final String VERSION      = "version";
+    public static final String WORKLOG      = "worklog";
+
+    @Column(nullable = false)
+    private OffsetDateTime deleted;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private String entityType;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    public TombstoneDAO(String entityType, Long entityId) {
+        this.entityType = entityType;
+        this.entityId   = entityId;
+        this.deleted    = OffsetDateTime.now();
+    }
+
+}
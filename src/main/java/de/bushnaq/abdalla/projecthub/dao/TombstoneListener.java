@@ -0,0 +1,58 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.dao;
+
+import jakarta.persistence.PreRemove;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Writes a tombstone for every entity that is removed, including children that are removed by a cascade or as orphans.
+ * <p>
+ * The tombstone is inserted with plain jdbc on the connection of the running transaction,
+ * as orphans are removed while the persistence context is flushed and must not be touched by a lifecycle callback.
+ */
+@Component
+public class TombstoneListener {
+    private static final String       INSERT = "insert into tombstones (deleted, entity_id, entity_type) values (?, ?, ?)";
+    @Autowired
+    private              JdbcTemplate jdbcTemplate;
+
+    @PreRemove
+    public void onRemove(Object entity) {
+        switch (entity) {
+            case AvailabilityDAO availability -> insert(TombstoneDAO.AVAILABILITY, availability.getId());
+            case FeatureDAO feature -> insert(TombstoneDAO.FEATURE, feature.getId());
+            case LocationDAO location -> insert(TombstoneDAO.LOCATION, location.getId());
+            case OffDayDAO offDay -> insert(TombstoneDAO.OFF_DAY, offDay.getId());
+            case ProductDAO product -> insert(TombstoneDAO.PRODUCT, product.getId());
+            case SprintDAO sprint -> insert(TombstoneDAO.SPRINT, sprint.getId());
+            case TaskDAO task -> insert(TombstoneDAO.TASK, task.getId());
+            case VersionDAO version -> insert(TombstoneDAO.VERSION, version.getId());
+            case WorklogDAO worklog -> insert(TombstoneDAO.WORKLOG, worklog.getId());
+            default -> throw new IllegalArgumentException("no tombstone type for " + entity.getClass().getSimpleName());
+        }
+    }
+
+    private void insert(String entityType, Long entityId) {
+        jdbcTemplate.update(INSERT, OffsetDateTime.now(), entityId, entityType);
+    }
+}
@@ -25,6 +25,7 @@ import java.time.Duration;
 import java.time.OffsetDateTime;
 
 @Entity
+@EntityListeners(TombstoneListener.class)
 @Table(name = "worklogs")
 @Getter
 @Setter
@@ -0,0 +1,69 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.dao;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Proxy;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Sum of all worklogs of one author in one sprint at one day.
+ * <p>
+ * Maintained by the server whenever a worklog is saved or deleted, so that burn down charts and sprint statistics
+ * read one row per author and day instead of every single worklog.
+ */
+@Entity
+@Table(name = "worklog_rollups", uniqueConstraints = @UniqueConstraint(columnNames = {"sprintId", "authorId", "day"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(callSuper = true)
+@EqualsAndHashCode(of = {"id"}, callSuper = false)
+@Proxy(lazy = false)
+public class WorklogRollupDAO extends AbstractTimeAwareDAO {
+
+    @Column(nullable = false)
+    private Long authorId;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(nullable = false)
+    private Long sprintId;
+
+    @Column(nullable = false)
+    private Duration timeSpent = Duration.ZERO;
+
+    @Column(nullable = false)
+    private int worklogCount;
+
+    public WorklogRollupDAO(Long sprintId, Long authorId, LocalDate day) {
+        this.sprintId = sprintId;
+        this.authorId = authorId;
+        this.day      = day;
+    }
+
+}
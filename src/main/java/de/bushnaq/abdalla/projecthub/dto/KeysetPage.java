@@ -0,0 +1,48 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a keyset paginated list.
+ * <p>
+ * nextCursor is an opaque token that must be passed as 'after' to fetch the following page.
+ * It is null if this is the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class KeysetPage<T> {
+
+    private List<T> items = new ArrayList<>();
+    private String  nextCursor;
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items      = items;
+        this.nextCursor = nextCursor;
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Parameters of a keyset paginated list request.
+ * <p>
+ * If after is null, offset is used to position the page. This is only the fallback for random access,
+ * sequential paging should always pass the cursor of the previous page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class KeysetPageRequest {
+
+    private String  after;
+    private boolean ascending = true;
+    private String  filter;
+    private int     limit     = 50;
+    private int     offset;
+    private String  sort      = "id";
+
+    public KeysetPageRequest(String after, int offset, int limit, String sort, boolean ascending, String filter) {
+        this.after     = after;
+        this.offset    = offset;
+        this.limit     = limit;
+        this.sort      = sort;
+        this.ascending = ascending;
+        this.filter    = filter;
+    }
+
+}
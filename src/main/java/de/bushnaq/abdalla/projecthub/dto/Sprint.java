@@ -22,6 +22,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import de.bushnaq.abdalla.projecthub.ParameterOptions;
+import de.bushnaq.abdalla.projecthub.report.burndown.BurnDownWork;
+import de.bushnaq.abdalla.projecthub.report.calendar.DayClassifications;
 import de.bushnaq.abdalla.projecthub.report.dao.WorklogRemaining;
 import de.bushnaq.abdalla.projecthub.report.gantt.GanttContext;
 import de.bushnaq.abdalla.util.DurationDeserializer;
@@ -48,40 +50,52 @@ import java.util.Map;
 public class Sprint extends AbstractTimeAware implements Comparable<Sprint> {
 
     @JsonIgnore
-    private       ProjectCalendar calendar;
-    private       LocalDateTime   end;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private       BurnDownWork       burnDownWork;//of the worklog rollups and remaining work
     @JsonIgnore
-    public        List<Throwable> exceptions  = new ArrayList<>();
+    private       ProjectCalendar    calendar;
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private       DayClassifications dayClassifications;//of the calendar
+    private       LocalDateTime      end;
+    @JsonIgnore
+    public        List<Throwable>    exceptions         = new ArrayList<>();
     @JsonIgnore
     @ToString.Exclude//help intellij debugger not to go into a loop
-    private       Feature         feature;
-    private       Long            featureId;
-    private       Long            id;
-    private       String          name;
+    private       Feature            feature;
+    private       Long               featureId;
+    private       Long               id;
+    private       String             name;
     @JsonSerialize(using = DurationSerializer.class)
     @JsonDeserialize(using = DurationDeserializer.class)
-    private       Duration        originalEstimation;
+    private       Duration           originalEstimation;
     @JsonIgnore
-    private final ProjectFile     projectFile = new ProjectFile();
-    private       LocalDateTime   releaseDate;//calculated from the task work, worklogs and remaining work
+    private final ProjectFile        projectFile        = new ProjectFile();
+    private       LocalDateTime      releaseDate;//calculated from the task work, worklogs and remaining work
     @JsonSerialize(using = DurationSerializer.class)
     @JsonDeserialize(using = DurationDeserializer.class)
-    private       Duration        remaining;
-    private       LocalDateTime   start;
-    private       Status          status      = Status.CREATED;
+    private       Duration           remaining;
+    private       LocalDateTime      start;
+    private       Status             status             = Status.CREATED;
     @JsonIgnore
-    transient     Map<Long, Task> taskMap     = new HashMap<>();
+    transient     Map<Long, Task>    taskMap            = new HashMap<>();
     @JsonIgnore
-    private       List<Task>      tasks       = new ArrayList<>();
-    private       Long            userId;
+    private       List<Task>         tasks              = new ArrayList<>();
+    private       Long               userId;
     @JsonIgnore
-    transient     Map<Long, User> userMap     = new HashMap<>();
+    transient     Map<Long, User>    userMap            = new HashMap<>();
     @JsonSerialize(using = DurationSerializer.class)
     @JsonDeserialize(using = DurationDeserializer.class)
-    private       Duration        worked;
+    private       Duration           worked;
     @JsonIgnore
     List<WorklogRemaining> worklogRemaining = new ArrayList<>();
     @JsonIgnore
+    private List<WorklogRollup> worklogRollups = new ArrayList<>();
+    @JsonIgnore
     private List<Worklog> worklogs = new ArrayList<>();
 
     public void addTask(Task task) {
@@ -103,6 +117,7 @@ public class Sprint extends AbstractTimeAware implements Comparable<Sprint> {
         if (remainingEstimateMinutes == null) {
             remainingEstimateMinutes = Duration.ZERO;
         }
+        burnDownWork = null;
         if (task.getResourceId() != null) {
             WorklogRemaining w = new WorklogRemaining(getId(), task.getId(), task.getKey(), task.getAssignedUser(), timeSpentMinutes, remainingEstimateMinutes);
             worklogRemaining.add(w);
@@ -144,6 +159,31 @@ public class Sprint extends AbstractTimeAware implements Comparable<Sprint> {
 //        }
     }
 
+    /**
+     * @return the work done and remaining per author and day, computed once until the worklogs or tasks change
+     */
+    @JsonIgnore
+    public synchronized BurnDownWork getBurnDownWork() {
+        if (burnDownWork == null) {
+            burnDownWork = new BurnDownWork(worklogRollups, worklogRemaining);
+        }
+        return burnDownWork;
+    }
+
+    /**
+     * @return the classification of the days of the calendar of this sprint, null if the sprint has no calendar
+     */
+    @JsonIgnore
+    public DayClassifications getDayClassifications() {
+        if (calendar == null) {
+            return null;
+        }
+        if (dayClassifications == null || dayClassifications.getCalendar() != calendar) {
+            dayClassifications = new DayClassifications(calendar);
+        }
+        return dayClassifications;
+    }
+
     @JsonIgnore
     public LocalDateTime getEarliestStartDate() {
         LocalDateTime earliestDate = ParameterOptions.getLocalNow();
@@ -185,15 +225,14 @@ public class Sprint extends AbstractTimeAware implements Comparable<Sprint> {
     /**
      * Get the next available orderId for a new task in the sprint
      *
-     * @return The next orderId to use (1 if sprint is empty, otherwise max orderId + 1)
+     * @return The next orderId to use (ORDER_ID_GAP if sprint is empty, otherwise max orderId + ORDER_ID_GAP)
      */
     @JsonIgnore
     public long getNextOrderId() {
-        return getTasks().isEmpty() ? 1 :
-                getTasks().stream()
-                        .mapToLong(Task::getOrderId)
-                        .max()
-                        .orElse(0L) + 1;
+        return getTasks().stream()
+                .mapToLong(Task::getOrderId)
+                .max()
+                .orElse(0L) + Task.ORDER_ID_GAP;
     }
 
     public Task getTaskById(Long predecessorId) {
@@ -209,8 +248,19 @@ public class Sprint extends AbstractTimeAware implements Comparable<Sprint> {
         return userMap.get(resourceId);
     }
 
+    /**
+     * Initialize the tasks and optionally the worklogs of this sprint.
+     * If the worklogs are given, they are also rolled up per author and day, otherwise the rollups are expected to be set using {@link #initWorklogRollups(List)}.
+     *
+     * @param tasks    the tasks of this sprint
+     * @param worklogs the worklogs of this sprint, may be null
+     */
     public void initTaskMap(List<Task> tasks, List<Worklog> worklogs) {
         this.worklogs = worklogs;
+        burnDownWork  = null;
+        if (worklogs != null) {
+            this.worklogRollups = WorklogRollup.rollup(worklogs);
+        }
         taskMap.clear();
         for (Task task : tasks) {
             taskMap.put(task.getId(), task);
@@ -249,6 +299,17 @@ public class Sprint extends AbstractTimeAware implements Comparable<Sprint> {
         }
     }
 
+    /**
+     * Use the rollups from the server instead of rolling up the worklogs.
+     * Enough for burn down charts and sprint statistics, which do not need every single worklog.
+     *
+     * @param worklogRollups time spent per author and day, ordered by day
+     */
+    public void initWorklogRollups(List<WorklogRollup> worklogRollups) {
+        this.worklogRollups = worklogRollups;
+        burnDownWork        = null;
+    }
+
     public void initialize() {
         setProjectProperties();
         initializeCalendar();
@@ -289,6 +350,8 @@ public class Sprint extends AbstractTimeAware implements Comparable<Sprint> {
             task.initialize();
             addWorklogRemaining(task);
         });
+        worklogRollups = WorklogRollup.rollup(worklogs);
+        burnDownWork   = null;
         if (userId == null) calendar = gc.getProjectFile().getDefaultCalendar();
         else {
             calendar = getUser().getCalendar();
@@ -347,9 +410,9 @@ public class Sprint extends AbstractTimeAware implements Comparable<Sprint> {
 
     public void recalculate(LocalDateTime now) {
         propagateTimeTracking();
-        if (getRemaining() != null && getRemaining().isZero() && worklogs != null && !worklogs.isEmpty()) {
+        if (getRemaining() != null && getRemaining().isZero() && worklogRollups != null && !worklogRollups.isEmpty()) {
             //if all work has been done, set the release date to the last worklog date
-            releaseDate = DateUtil.offsetDateTimeToLocalDateTime(worklogs.getLast().getStart());
+            releaseDate = worklogRollups.getLast().getDay().atStartOfDay();
         } else {
             //calculate the release date based on the work done and the remaining work
             releaseDate = ReportUtil.calculateReleaseDate(getStart(), now, getWorked(), DateUtil.add(getWorked(), getRemaining()));
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import de.bushnaq.abdalla.projecthub.report.calendar.DayClassifications;
 import de.bushnaq.abdalla.util.DurationDeserializer;
 import de.bushnaq.abdalla.util.DurationSerializer;
 import lombok.*;
@@ -59,6 +60,11 @@ import java.util.Objects;
 @ToString(callSuper = false)
 public class Task implements Comparable<Task> {
 
+    /**
+     * Distance between the orderIds of two neighboring tasks after they have been appended or rebalanced.
+     */
+    public static final long ORDER_ID_GAP = 1024;
+
     /**
      * List of child tasks in the task hierarchy. ONly used for Stories
      */
@@ -124,6 +130,7 @@ public class Task implements Comparable<Task> {
 
     /**
      * The order identifier for sorting tasks. Only unique within one sprint.
+     * New tasks are appended with a gap of {@link #ORDER_ID_GAP}, so that a task can be moved between two others by only changing its own orderId.
      */
     private Long orderId = 0L;
 
@@ -275,6 +282,22 @@ public class Task implements Comparable<Task> {
         return sprint.getuser(resourceId);
     }
 
+    /**
+     * Gets the classification of the days of the effective calendar for this task.
+     *
+     * @return the DayClassifications of the user or of the sprint
+     * @see #getEffectiveCalendar()
+     */
+    @JsonIgnore
+    public DayClassifications getEffectiveDayClassifications() {
+        User user = getAssignedUser();
+        if (user != null) {
+            return user.getDayClassifications();
+        } else {
+            return sprint.getDayClassifications();
+        }
+    }
+
     /**
      * Gets the effective calendar for this task.
      * If a user is assigned, returns the user's calendar; otherwise returns the sprint's calendar.
@@ -23,6 +23,7 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import de.bushnaq.abdalla.projecthub.ParameterOptions;
 import de.bushnaq.abdalla.projecthub.config.KassandraProperties;
 import de.bushnaq.abdalla.projecthub.report.calendar.CalendarUtil;
+import de.bushnaq.abdalla.projecthub.report.calendar.DayClassifications;
 import de.bushnaq.abdalla.projecthub.report.gantt.GanttContext;
 import de.focus_shift.jollyday.core.Holiday;
 import de.focus_shift.jollyday.core.HolidayManager;
@@ -53,17 +54,22 @@ public class User extends AbstractTimeAware implements Comparable<User> {
     private List<Availability> availabilities = new ArrayList<>();
 
     @JsonIgnore
-    private ProjectCalendar calendar;
-    private Color           color;
-    private String          email;
-    private LocalDate       firstWorkingDay;
-    private Long            id;
-    private LocalDate       lastWorkingDay;
+    private ProjectCalendar    calendar;
+    private Color              color;
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private DayClassifications dayClassifications;//of the calendar, including off days and holidays
+    private String             email;
+    private LocalDate          firstWorkingDay;
+    private Long               id;
+    private LocalDate          lastWorkingDay;
     @JsonManagedReference
-    private List<Location>  locations = new ArrayList<>();
-    private String          name;
+    private List<Location>     locations = new ArrayList<>();
+    private String             name;
     @JsonManagedReference
-    private List<OffDay>    offDays   = new ArrayList<>();
+    private List<OffDay>       offDays   = new ArrayList<>();
 
     public void addAvailability(Availability availability) {
         availabilities.add(availability);
@@ -88,6 +94,20 @@ public class User extends AbstractTimeAware implements Comparable<User> {
         return this.id.compareTo(other.id);
     }
 
+    /**
+     * @return the classification of the days of the calendar of this user, null if the user has no calendar
+     */
+    @JsonIgnore
+    public DayClassifications getDayClassifications() {
+        if (calendar == null) {
+            return null;
+        }
+        if (dayClassifications == null || dayClassifications.getCalendar() != calendar) {
+            dayClassifications = new DayClassifications(calendar);
+        }
+        return dayClassifications;
+    }
+
     @JsonIgnore
     public String getKey() {
         return "U-" + id;
@@ -165,6 +185,7 @@ public class User extends AbstractTimeAware implements Comparable<User> {
                 pce.setName(String.format("%s (%s/%s)", holiday.getDescription(), location.getCountry(), location.getState()));
             }
         }
+        dayClassifications = null;//the calendar has changed
     }
 
     public void removeAvailability(Availability availability) {
@@ -0,0 +1,68 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.dto;
+
+import de.bushnaq.abdalla.util.date.DateUtil;
+import lombok.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Sum of all worklogs of one author in one sprint at one day.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString(callSuper = true)
+@EqualsAndHashCode(of = {"id"}, callSuper = false)
+public class WorklogRollup extends AbstractTimeAware {
+
+    private Long      authorId;
+    private LocalDate day;
+    private Long      id;
+    private Long      sprintId;
+    private Duration  timeSpent = Duration.ZERO;
+    private int       worklogCount;
+
+    public WorklogRollup(Long sprintId, Long authorId, LocalDate day) {
+        this.sprintId = sprintId;
+        this.authorId = authorId;
+        this.day      = day;
+    }
+
+    /**
+     * Aggregates raw worklogs the same way the server does, for callers that already have the worklogs loaded.
+     *
+     * @param worklogs worklogs of one sprint
+     * @return one rollup per author and day, ordered by day and author
+     */
+    public static List<WorklogRollup> rollup(List<Worklog> worklogs) {
+        Map<String, WorklogRollup> rollups = new HashMap<>();
+        for (Worklog worklog : worklogs) {
+            LocalDate     day    = DateUtil.toDayPrecision(worklog.getStart()).toLocalDate();
+            WorklogRollup rollup = rollups.computeIfAbsent(worklog.getAuthorId() + ":" + day, key -> new WorklogRollup(worklog.getSprintId(), worklog.getAuthorId(), day));
+            rollup.timeSpent = rollup.timeSpent.plus(worklog.getTimeSpent());
+            rollup.worklogCount++;
+        }
+        List<WorklogRollup> list = new ArrayList<>(rollups.values());
+        list.sort(Comparator.comparing(WorklogRollup::getDay).thenComparing(WorklogRollup::getAuthorId));
+        return list;
+    }
+}
@@ -21,17 +21,24 @@ import de.bushnaq.abdalla.profiler.Profiler;
 import de.bushnaq.abdalla.profiler.SampleType;
 import de.bushnaq.abdalla.projecthub.report.dao.GraphicsTheme;
 import de.bushnaq.abdalla.projecthub.report.html.dao.ReportLink;
+import de.bushnaq.abdalla.svg.util.CssClassStyleHandler;
 import de.bushnaq.abdalla.svg.util.ExtendedGraphics2D;
 import de.bushnaq.abdalla.svg.util.ExtendedSvgGraphics2D;
-import de.bushnaq.abdalla.util.FileUtil;
+import de.bushnaq.abdalla.svg.util.RasterGraphics2D;
+import de.bushnaq.abdalla.svg.util.RasterGraphics2D.LevelOfDetail;
+import de.bushnaq.abdalla.svg.util.StreamingSvgGraphics2D;
+import de.bushnaq.abdalla.svg.util.SvgPatternExtensionHandler;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.batik.anim.dom.SVGDOMImplementation;
 import org.apache.batik.dom.GenericDOMImplementation;
+import org.apache.batik.svggen.SVGGeneratorContext;
 import org.apache.batik.svggen.SVGGraphics2D;
 import org.w3c.dom.DOMImplementation;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
+import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
@@ -39,20 +46,34 @@ import java.nio.charset.StandardCharsets;
 
 
 public abstract class AbstractCanvas extends ReportLink {
-    private static final float              fine_LINE_STROKE_WIDTH = 1f;
+    private static final float                fine_LINE_STROKE_WIDTH = 1f;
     @Getter
     @Setter
-    private              int                borderWidth            = 1;
+    private              int                  borderWidth            = 1;
     @Getter
-    private              int                chartHeight;
+    private              int                  chartHeight;
     @Getter
-    private              int                chartWidth;
-    protected            ExtendedGraphics2D graphics2D;
-    protected            GraphicsTheme      graphicsTheme;
+    private              int                  chartWidth;
+    protected            ExtendedGraphics2D   graphics2D;
+    protected            GraphicsTheme        graphicsTheme;
     @Getter
-    protected            String             imageName;
+    protected            String               imageName;
     //    private final        Logger             logger                 = LoggerFactory.getLogger(this.getClass());
-    protected            SVGGraphics2D      svgGenerator;
+    /**
+     * Write the svg elements directly to the output while drawing instead of building the Batik DOM first.
+     * Both backends produce the same image, the streaming backend does not need memory proportional to the chart size.
+     */
+    @Getter
+    @Setter
+    private              boolean              streamingSvg;
+    private              CssClassStyleHandler styleHandler;
+    protected            SVGGraphics2D        svgGenerator;
+    /**
+     * Area of the chart that is rendered while a tile is rendered, null if the whole chart is rendered.
+     * Renderers can use it to skip everything that lies outside of the tile.
+     */
+    @Getter
+    private              Rectangle            viewport;
 
     public AbstractCanvas(String column, String imageName/*, String mapName*/, String link, String cssClass, GraphicsTheme graphicsTheme)
             throws IOException {
@@ -76,6 +97,14 @@ public abstract class AbstractCanvas extends ReportLink {
 
     protected abstract void drawCaption(ExtendedGraphics2D graphics2d2);
 
+    private void drawChart() throws Exception {
+        drawBackground();
+        drawCaption(graphics2D);
+        createReport();
+        drawFooter(graphics2D);
+        drawBorder(graphics2D);
+    }
+
     protected abstract void drawFooter(ExtendedGraphics2D graphics2d2);
 
     private static String generateCellText(String cssClass/*, String mapName*/, String imageName) {
@@ -84,6 +113,13 @@ public abstract class AbstractCanvas extends ReportLink {
         return String.format("<img class=\"%s\" border=\"0\" src=\"%s.%s\">", cssClass, imageName, extension);
     }
 
+    /**
+     * @return the factor that shrinks or enlarges the chart to fit into the given size
+     */
+    private double getScale(int maxWidth, int maxHeight) {
+        return Math.min((double) maxWidth / chartWidth, (double) maxHeight / chartHeight);
+    }
+
     protected void prepareGraphics(final BufferedImage aImage) throws IOException {
         graphics2D = new ExtendedGraphics2D((Graphics2D) aImage.getGraphics());
         graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -98,8 +134,14 @@ public abstract class AbstractCanvas extends ReportLink {
         // Create an instance of org.w3c.dom.Document.
         String   svgNS    = SVGDOMImplementation.SVG_NAMESPACE_URI;
         Document document = domImpl.createDocument(svgNS, "svg", null);
+        // styles are written once as CSS classes and patterns are kept as vector patterns
+        String              prefix           = CssClassStyleHandler.createPrefix();
+        SVGGeneratorContext generatorContext = SVGGeneratorContext.createDefault(document);
+        styleHandler = new CssClassStyleHandler(prefix);
+        generatorContext.setStyleHandler(styleHandler);
+        generatorContext.setExtensionHandler(new SvgPatternExtensionHandler(prefix));
         // Create an instance of the SVG Generator.
-        svgGenerator = new ExtendedSvgGraphics2D(document);
+        svgGenerator = new ExtendedSvgGraphics2D(generatorContext, false);
         // Ask the test to render into the SVG Graphics2D implementation.
         svgGenerator.setSVGCanvasSize(new Dimension(chartWidth, chartHeight));
         graphics2D = new ExtendedGraphics2D(svgGenerator);
@@ -109,18 +151,24 @@ public abstract class AbstractCanvas extends ReportLink {
         //        graphics2D.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
     }
 
+    private StreamingSvgGraphics2D prepareStreamingSvgGraphics(Writer out, int width, int height) {
+        StreamingSvgGraphics2D streamingGenerator = new StreamingSvgGraphics2D(out, width, height);
+        svgGenerator = null;
+        graphics2D   = new ExtendedGraphics2D(streamingGenerator);
+        return streamingGenerator;
+    }
+
     public void render(String copyright, ByteArrayOutputStream o) throws Exception {
         try (Profiler p1 = new Profiler(SampleType.GPU)) {
+            if (streamingSvg) {
+                renderStreaming(new OutputStreamWriter(o, StandardCharsets.UTF_8));
+                return;
+            }
             prepareSvgGraphics();
-            drawBackground();
-            drawCaption(graphics2D);
-            createReport();
-            drawFooter(graphics2D);
-            drawBorder(graphics2D);
+            drawChart();
             try (Profiler p2 = new Profiler(SampleType.FILE)) {
-                boolean useCSS = true; // we want to use CSS style attributes
-                Writer  out    = new OutputStreamWriter(o, StandardCharsets.UTF_8);
-                svgGenerator.stream(out, useCSS);
+                Writer out = new OutputStreamWriter(o, StandardCharsets.UTF_8);
+                streamSvg(out);
             }
         }
 
@@ -134,22 +182,127 @@ public abstract class AbstractCanvas extends ReportLink {
             } else {
                 imageFileName = String.format(path + "/%s.svg", imageName);
             }
-            prepareSvgGraphics();
-            drawBackground();
-            drawCaption(graphics2D);
-            createReport();
-            drawFooter(graphics2D);
-            drawBorder(graphics2D);
-            try (Profiler p2 = new Profiler(SampleType.FILE)) {
-                boolean          useCSS = true; // we want to use CSS style attributes
-                FileOutputStream o      = new FileOutputStream(imageFileName);
-                Writer           out    = new OutputStreamWriter(o, StandardCharsets.UTF_8);
-                svgGenerator.stream(out, useCSS);
+            //the document is kept in memory, so that it does not have to be read back from the file
+            ByteArrayOutputStream o = new ByteArrayOutputStream(64 * 1024);
+            Writer                w = new OutputStreamWriter(o, StandardCharsets.UTF_8);
+            if (streamingSvg) {
+                renderStreaming(w);
+            } else {
+                prepareSvgGraphics();
+                drawChart();
             }
-            text = FileUtil.loadFile(null, imageFileName).replace("<svg ", "<svg class=\"qtip-shadow\"");
+            try (Profiler p2 = new Profiler(SampleType.FILE); OutputStream out = new FileOutputStream(imageFileName)) {
+                if (!streamingSvg) {
+                    streamSvg(w);
+                }
+                w.flush();
+                o.writeTo(out);
+            }
+            text = o.toString(StandardCharsets.UTF_8).replace("<svg ", "<svg class=\"qtip-shadow\"");
         }
     }
 
+    /**
+     * Renders the whole chart into an image that fits into the given size, keeping the aspect ratio of the chart.
+     * <p>
+     * The chart is drawn by the same code as the svg chart, scaled to the image. The level of detail decides what is left out.
+     *
+     * @param maxWidth      maximum width of the image in pixel
+     * @param maxHeight     maximum height of the image in pixel
+     * @param levelOfDetail the rules to apply
+     * @return the image
+     */
+    public BufferedImage renderImage(int maxWidth, int maxHeight, LevelOfDetail levelOfDetail) throws Exception {
+        try (Profiler p1 = new Profiler(SampleType.GPU)) {
+            double           scale  = getScale(maxWidth, maxHeight);
+            BufferedImage    image  = new BufferedImage(Math.max(1, (int) Math.round(chartWidth * scale)), Math.max(1, (int) Math.round(chartHeight * scale)), BufferedImage.TYPE_INT_RGB);
+            RasterGraphics2D raster = new RasterGraphics2D(image.createGraphics(), levelOfDetail);
+            svgGenerator = null;
+            graphics2D   = new ExtendedGraphics2D(raster);
+            graphics2D.scale(scale, scale);
+            try {
+                drawChart();
+            } finally {
+                raster.dispose();
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Renders the whole chart as png image that fits into the given size.
+     * The level of detail is chosen by the scale, charts that are shrunk to less than half their size are rendered as thumbnail.
+     *
+     * @param o         destination of the png image
+     * @param maxWidth  maximum width of the image in pixel
+     * @param maxHeight maximum height of the image in pixel
+     * @return the size of the image
+     */
+    public Dimension renderPng(OutputStream o, int maxWidth, int maxHeight) throws Exception {
+        return renderPng(o, maxWidth, maxHeight, LevelOfDetail.forScale(getScale(maxWidth, maxHeight)));
+    }
+
+    /**
+     * Renders the whole chart as png image that fits into the given size.
+     *
+     * @param o             destination of the png image
+     * @param maxWidth      maximum width of the image in pixel
+     * @param maxHeight     maximum height of the image in pixel
+     * @param levelOfDetail the rules to apply
+     * @return the size of the image
+     */
+    public Dimension renderPng(OutputStream o, int maxWidth, int maxHeight, LevelOfDetail levelOfDetail) throws Exception {
+        BufferedImage image = renderImage(maxWidth, maxHeight, levelOfDetail);
+        try (Profiler p2 = new Profiler(SampleType.FILE)) {
+            ImageIO.write(image, "png", o);
+        }
+        return new Dimension(image.getWidth(), image.getHeight());
+    }
+
+    /**
+     * Renders one tile of the chart as a separate svg document of the size of the tile.
+     * <p>
+     * The tile is drawn by the same code as the whole chart, translated to the tile. Elements outside of the tile are not written,
+     * so the size of the document depends on the tile and not on the chart. Tiles always use the streaming backend.
+     *
+     * @param o    destination of the svg document
+     * @param tile the area of the chart to render
+     */
+    public void renderTile(ByteArrayOutputStream o, Rectangle tile) throws Exception {
+        try (Profiler p1 = new Profiler(SampleType.GPU)) {
+            Writer                 out                = new OutputStreamWriter(o, StandardCharsets.UTF_8);
+            StreamingSvgGraphics2D streamingGenerator = prepareStreamingSvgGraphics(out, tile.width, tile.height);
+            streamingGenerator.setVisibleArea(new Rectangle(0, 0, tile.width, tile.height));
+            graphics2D.translate(-tile.x, -tile.y);
+            viewport = new Rectangle(tile);
+            try {
+                drawChart();
+            } finally {
+                viewport = null;
+            }
+            streamingGenerator.endDocument();
+        }
+    }
+
+    /**
+     * Drawing and writing happen at the same time, there is no separate FILE sample.
+     */
+    private void renderStreaming(Writer out) throws Exception {
+        StreamingSvgGraphics2D streamingGenerator = prepareStreamingSvgGraphics(out, chartWidth, chartHeight);
+        drawChart();
+        streamingGenerator.endDocument();
+    }
+
+    /**
+     * Streams the Batik document together with the style sheet of its CSS classes.
+     */
+    private void streamSvg(Writer out) throws IOException {
+        boolean useCSS = true; // we want to use CSS style attributes
+        Element root   = svgGenerator.getRoot();
+        styleHandler.appendStyleSheet(root);
+        svgGenerator.stream(root, out, useCSS, false);
+    }
+
     public void setChartHeight(int chartHeight) {
         this.chartHeight = chartHeight + getBorderWidth();
     }
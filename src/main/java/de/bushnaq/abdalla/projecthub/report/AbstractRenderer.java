@@ -55,6 +55,7 @@ public abstract class AbstractRenderer {
     public                 BurnDownGraphicsTheme graphicsTheme;
     protected final        Logger                logger                     = LoggerFactory.getLogger(this.getClass());
     public                 Milestones            milestones;
+    public                 Rectangle             viewport;//area of the chart that is drawn, null if the whole chart is drawn
 
     public AbstractRenderer() {
 
@@ -171,20 +172,12 @@ public abstract class AbstractRenderer {
         calendarXAxes.drawCalendar(drawDays);
     }
 
-    public void drawDayBars(LocalDate currentDay) {
-        //        Calendar day = Calendar.getInstance();
-        //        day.setTimeInMillis(currentDay);
-        Color color = GraphColorUtil.getDayOfWeekBgColor(graphicsTheme/*, bankHolidays*/, currentDay);
-        int   x     = calculateDayX(currentDay);
-        graphics2D.setColor(color);
-        //day vertical bar
-        graphics2D.fillRect(x - (calendarXAxes.dayOfWeek.getWidth() / 2 - 1), diagram.y, calendarXAxes.dayOfWeek.getWidth() - 1, diagram.height);//left |
-        //draw vertical lines
-        graphics2D.setColor(graphicsTheme.ganttGridColor);
-        //        graphics2D.setStroke(new BasicStroke(RELATION_LINE_STROKE_WIDTH));
-        //        graphics2D.drawLine(x - (calendarXAxses.dayOfWeek.getWidth() / 2 - 1) + (calendarXAxses.dayOfWeek.getWidth() - 1), diagram.y,x - (calendarXAxses.dayOfWeek.getWidth() / 2 - 1) + (calendarXAxses.dayOfWeek.getWidth() - 1), diagram.y + diagram.height);
-        //        graphics2D.draw(new Line2D.Double(x - (calendarXAxses.dayOfWeek.getWidth() / 2 - 1) + (calendarXAxses.dayOfWeek.getWidth() - 1), diagram.y,x - (calendarXAxses.dayOfWeek.getWidth() / 2 - 1) + (calendarXAxses.dayOfWeek.getWidth() - 1), diagram.y + diagram.height));
-        graphics2D.fillRect(x - (calendarXAxes.dayOfWeek.getWidth() / 2 - 1) + (calendarXAxes.dayOfWeek.getWidth() - 1), diagram.y, 1, diagram.height);//right |
+    /**
+     * Draws the days from firstDay to lastDay as vertical bars in their week day color, separated by grid lines.
+     */
+    public void drawDayBars(LocalDate firstDay, LocalDate lastDay) {
+        calendarXAxes.fillDayStripes(firstDay, lastDay, diagram.y, diagram.height, day -> GraphColorUtil.getDayOfWeekBgColor(graphicsTheme/*, bankHolidays*/, day),
+                graphicsTheme.ganttGridColor);
         //TODO: draw bank holiday
 //        if (bankHolidays.get(currentDay) != null) {
 //            x += calendarXAxses.dayOfWeek.getWidth() / 2;
@@ -22,7 +22,7 @@ import de.bushnaq.abdalla.projecthub.dao.WarnException;
 import de.bushnaq.abdalla.projecthub.dto.Sprint;
 import de.bushnaq.abdalla.projecthub.dto.Task;
 import de.bushnaq.abdalla.projecthub.dto.User;
-import de.bushnaq.abdalla.projecthub.dto.Worklog;
+import de.bushnaq.abdalla.projecthub.dto.WorklogRollup;
 import de.bushnaq.abdalla.projecthub.report.AbstractRenderer;
 import de.bushnaq.abdalla.projecthub.report.dao.*;
 import de.bushnaq.abdalla.projecthub.report.gantt.GanttUtil;
@@ -36,9 +36,7 @@ import java.awt.*;
 import java.io.IOException;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Standard agile burn down chart, based on logged work in jira tickets of a
@@ -48,34 +46,33 @@ import java.util.Map;
  */
 public class BurnDownRenderer extends AbstractRenderer {
 
-    private static final String                 ERROR_106_AGNTT_START_DATE_NOT_MACTHING_SPRINT_START_DATE = "Error #106: Gantt start date %s does not match sprint start date %s. Ignoring Gantt chart guide information";
-    private static final int                    ONE_WEEK                                                  = 7;
-    private static final long                   ONE_WORK_MONTH                                            = 20L * 75L * 60L * 6L;
-    private static final long                   ONE_WORK_WEEK                                             = 5L * 75L * 60L * 6L;
-    private static final long                   SECONDS_PER_HOUR                                          = 60 * 60;
-    private static final long                   SECONDS_PER_WORKING_DAY                                   = 75 * 6 * 60;
-    private static final String                 WORK_OUTSIDE_ALLOWED_TIME_BOUNDARIES_OCCURRED             = "Work outside allowed time boundaries occurred";
-    private static final int                    Y_AXIS_WIDTH                                              = 50;
-    private static final float                  fine_LINE_STROKE_WIDTH                                    = 1f;
-    private static final DateTimeFormatter      sdfymd                                                    = DateTimeFormatter.ofPattern("yyyy.MMM.dd");
-    private              Context                context;
-    private              Duration               eBestWork;
-    private              Duration               eWorstWork;
-    private              Color                  extrapolationColor;
-    public               BurnDownGuide          ganttWorkWithBufferPerDayAccumulated                      = null;// max work per day, were every day has the amount of work planned at that day and all days before that
-    public               BurnDownGuide          ganttWorkWithoutBufferPerDayAccumulated                   = null;// min work per day, were every day has the amount of work planned at that day and all days before that
-    protected            BurnDownGraphicsTheme  graphicsTheme;
-    protected            LocalDateTime          lastWorklog;
-    private final        Duration               maxActualWorked;
-    private              Duration               maxWorked;
-    private              int                    numberOfWorkExceptions                                    = 0;
-    private final        Sprint                 sprint;
-    private              boolean                sprintClosed;
-    protected            AuthorsContribution    usersTotalContribution                                    = new AuthorsContribution();
-    private final        Map<User, DayWork[]>   usersWorkPerDayAccumulated                                = new HashMap<>();// work per author and day, were every day has the amount of work done at all previous days, first day has 0 work done
-    private              List<Worklog>          worklog;
-    private              List<WorklogRemaining> worklogRemaining;
-    private              GraphSquare            yAxis;
+    private static final String                ERROR_106_AGNTT_START_DATE_NOT_MACTHING_SPRINT_START_DATE = "Error #106: Gantt start date %s does not match sprint start date %s. Ignoring Gantt chart guide information";
+    private static final int                   ONE_WEEK                                                  = 7;
+    private static final long                  ONE_WORK_MONTH                                            = 20L * 75L * 60L * 6L;
+    private static final long                  ONE_WORK_WEEK                                             = 5L * 75L * 60L * 6L;
+    private static final long                  SECONDS_PER_HOUR                                          = 60 * 60;
+    private static final long                  SECONDS_PER_WORKING_DAY                                   = 75 * 6 * 60;
+    private static final String                WORK_OUTSIDE_ALLOWED_TIME_BOUNDARIES_OCCURRED             = "Work outside allowed time boundaries occurred";
+    private static final int                   Y_AXIS_WIDTH                                              = 50;
+    private static final float                 fine_LINE_STROKE_WIDTH                                    = 1f;
+    private static final DateTimeFormatter     sdfymd                                                    = DateTimeFormatter.ofPattern("yyyy.MMM.dd");
+    private              BurnDownWork          burnDownWork;// work done and remaining per author and day, shared by all charts of the sprint
+    private              Context               context;
+    private              Duration              eBestWork;
+    private              Duration              eWorstWork;
+    private              Color                 extrapolationColor;
+    public               BurnDownGuide         ganttWorkWithBufferPerDayAccumulated                      = null;// max work per day, were every day has the amount of work planned at that day and all days before that
+    public               BurnDownGuide         ganttWorkWithoutBufferPerDayAccumulated                   = null;// min work per day, were every day has the amount of work planned at that day and all days before that
+    protected            BurnDownGraphicsTheme graphicsTheme;
+    protected            LocalDateTime         lastWorklog;
+    private final        Duration              maxActualWorked;
+    private              Duration              maxWorked;
+    private              int                   numberOfWorkExceptions                                    = 0;
+    private final        Sprint                sprint;
+    private              boolean               sprintClosed;
+    private              int                   workDays;// days of the chart that work is accounted for, work after that is an exception
+    private              List<WorklogRollup>   worklogRollup;//time spent per author and day, ordered by day
+    private              GraphSquare           yAxis;
 
     public BurnDownRenderer(RenderDao dao) throws Exception {
         super(dao);
@@ -94,33 +91,9 @@ public class BurnDownRenderer extends AbstractRenderer {
         }
     }
 
-    public void calculateAuthorContribution(List<Worklog> worklogList, List<WorklogRemaining> worklogRemaining,
-                                            AuthorsContribution authorsContribution) {
-        if (worklogRemaining != null) {
-            for (WorklogRemaining work : worklogRemaining) {
-                AuthorContribution ac = authorsContribution.get(work.getAuthor());
-                if (ac == null) {
-                    ac = new AuthorContribution();
-                    authorsContribution.put(work.getAuthor(), ac);
-                }
-                ac.addRemaining(work.getRemaining());
-            }
-        }
-        if (worklogList != null) {
-            for (Worklog work : worklogList) {
-                AuthorContribution ac = authorsContribution.get(sprint.getuser(work.getAuthorId()));
-                if (ac == null) {
-                    ac = new AuthorContribution();
-                    authorsContribution.put(sprint.getuser(work.getAuthorId()), ac);
-                }
-                ac.addWorked(work.getTimeSpent());
-            }
-        }
-    }
-
-    protected int calculateAuthorGraphHeight(Duration authorDelta, Duration authorEstimated, Duration sumEstimated) {
-        long maxAuthorGraphHeight = (diagram.height * authorEstimated.getSeconds()) / sumEstimated.getSeconds();
-        return (int) ((authorEstimated.minus(authorDelta).getSeconds() * maxAuthorGraphHeight) / (authorEstimated.getSeconds()));
+    protected int calculateAuthorGraphHeight(long authorDelta, long authorEstimated, long sumEstimated) {
+        long maxAuthorGraphHeight = (diagram.height * authorEstimated) / sumEstimated;
+        return (int) (((authorEstimated - authorDelta) * maxAuthorGraphHeight) / authorEstimated);
     }
 
     @Override
@@ -144,7 +117,11 @@ public class BurnDownRenderer extends AbstractRenderer {
     }
 
     protected int calculateGraphHight(Duration hight) {
-        return (int) ((hight.getSeconds() * (diagram.height)) / (maxWorked.getSeconds()));
+        return calculateGraphHight(hight.getSeconds());
+    }
+
+    protected int calculateGraphHight(long hight) {
+        return (int) ((hight * (diagram.height)) / (maxWorked.getSeconds()));
     }
 
     private void calculateWorkPerDay(Context context, Task task, BurnDownGuide guide) throws Exception {
@@ -245,7 +222,7 @@ public class BurnDownRenderer extends AbstractRenderer {
                             if (startDayIndex + 1 < stopDayIndex) {
                                 for (int index = startDayIndex + 1; index < stopDayIndex; index++) {
                                     LocalDate today = calculateDayFromIndex(index);
-                                    if (task.getEffectiveCalendar().isWorkingDate(today))
+                                    if (task.getEffectiveDayClassifications().isWorkingDate(today))
 //                                    if (isResourceWorkingDay(context, task.getAssignedUser(), today))
                                     {
                                         Duration work = Duration.ofSeconds((long) (availability.doubleValue() * SECONDS_PER_WORKING_DAY));
@@ -277,7 +254,7 @@ public class BurnDownRenderer extends AbstractRenderer {
         if (maxWorked != null && !maxWorked.isZero()) {
             // y axis markings
             drawYAxes(startX, maxWorked);
-            if (worklog != null && worklog.size() != 0) {
+            if (worklogRollup != null && worklogRollup.size() != 0) {
                 drawBurnDown(firstDay, firstDayX, maxWorked);
             }
             if (sprintClosed) {
@@ -371,20 +348,15 @@ public class BurnDownRenderer extends AbstractRenderer {
     private void drawBurnDown(LocalDate firstDay, int firstDayX, Duration estimatedWork) {
         // burn down graph
         if (context.parameters.detailed) {
-            Integer[] graphHeight;
+            int[] graphHeight;
             {
                 int days = DateUtil.calculateDays(milestones.firstMilestone, DateUtil.max(milestones.lastMilestone, milestones.get("N").time)) + 1;
-                graphHeight = new Integer[days + 3];
-                for (int i = 0; i < days + 3; i++) {
-                    graphHeight[i] = 0;
-                }
+                graphHeight = new int[days + 3];
             }
-            int authorIndex = 0;
-            // int sum = 0;
-            for (User user : usersTotalContribution.getSortedKeyList()) {
-                AuthorContribution ac                  = usersTotalContribution.get(user);
-                Duration           authorEstimatedWork = ac.worked.plus(ac.remaining);
-                if (!authorEstimatedWork.isZero()) {
+            for (int author = 0; author < burnDownWork.getAuthorCount(); author++) {
+                User user                = sprint.getuser(burnDownWork.getAuthorId(author));
+                long authorEstimatedWork = burnDownWork.getWorked(author) + burnDownWork.getRemaining(author);
+                if (user != null && authorEstimatedWork != 0) {
                     // (worked + remaining));
                     int yesterdayX  = 0;
                     int yesterdayY  = 0;
@@ -403,11 +375,10 @@ public class BurnDownRenderer extends AbstractRenderer {
                             int                currentDayAuthorGraphHeight = 0;
                             List<List<String>> transactions                = null;
                             if (dayIndex <= maxDayIndex + 2) {
-                                currentDayAuthorGraphHeight = calculateAuthorGraphHeight(usersWorkPerDayAccumulated.get(user)[dayIndex].duration,
-                                        authorEstimatedWork, maxWorked);
+                                currentDayAuthorGraphHeight = calculateAuthorGraphHeight(getWorkedAccumulated(author, dayIndex), authorEstimatedWork, maxWorked.getSeconds());
                                 y                           = diagram.y + diagram.height - graphHeight[dayIndex] - currentDayAuthorGraphHeight;
                                 if (dayIndex > 0) {
-                                    transactions = usersWorkPerDayAccumulated.get(user)[dayIndex - 1].transactions;
+                                    transactions = getTransactions(author, dayIndex - 1);
                                 }
                             }
                             if (x != lastX) {
@@ -416,7 +387,7 @@ public class BurnDownRenderer extends AbstractRenderer {
 //                                    User      author               = authors.getIdMap().get(user.getId());
                                     LocalDate calendarFromDayIndex = calendarFromDayIndex(dayIndex - 2);
                                     drawPolygon(yesterdayX, yesterdayY, yesterdayY2, lastX, lastY, lastY2,
-                                            authorIndex == usersTotalContribution.getSortedKeyList().size() - 1, DateUtil.isWorkDay(calendarFromDayIndex),
+                                            author == burnDownWork.getAuthorCount() - 1, DateUtil.isWorkDay(calendarFromDayIndex),
                                             graphicsTheme.burnDownBorderColor, generateBurnDownColor(user.getColor()), transactions, user.getName());
                                 }
                                 yesterdayX  = lastX;
@@ -432,25 +403,24 @@ public class BurnDownRenderer extends AbstractRenderer {
                         }
                     }
                 }
-                authorIndex++;
             }
         }
         // draw border
         if (!context.parameters.detailed) {
             graphics2D.setStroke(new BasicStroke(STANDARD_LINE_STROKE_WIDTH));
-            int      lastX      = 0;
-            int      lastY      = 0;
-            Duration worked     = Duration.ZERO;
-            int      yesterdayX = 0;
-            int      yesterdayY = 0;
-            for (Worklog work : worklog) {
-                if (work.getStart().toLocalDate().isBefore(milestones.get("N").time)) {
-                    worked = worked.plus(work.getTimeSpent());
-                    int x = firstDayX + DateUtil.calculateDays(firstDay, DateUtil.toDayPrecision(work.getStart())) * calendarXAxes.dayOfWeek.getWidth();
+            int lastX         = 0;
+            int lastY         = 0;
+            int yesterdayX    = 0;
+            int yesterdayY    = 0;
+            int firstDayIndex = burnDownWork.getDayIndex(firstDay);
+            int nowDayIndex   = Math.min(burnDownWork.getDayIndex(milestones.get("N").time), burnDownWork.getDays());
+            for (int day = 0; day < nowDayIndex; day++) {
+                if (burnDownWork.hasRollups(day)) {
+                    int x = firstDayX + (day - firstDayIndex) * calendarXAxes.dayOfWeek.getWidth();
                     if (x < firstDayX) {
                         x = firstDayX;
                     }
-                    int y = diagram.y + diagram.height - calculateGraphHight(estimatedWork.minus(worked));
+                    int y = diagram.y + diagram.height - calculateGraphHight(estimatedWork.getSeconds() - burnDownWork.getWorkedAccumulated(day));
                     if (x != lastX) {
                         // ---a new day started, so we can draw the polygon of last day
                         if (yesterdayX != 0 && lastX != 0) {
@@ -466,7 +436,7 @@ public class BurnDownRenderer extends AbstractRenderer {
             // ---Draw last polygon
             drawBorder(lastX, lastY, yesterdayX, yesterdayY);
             // to now
-            if (worklog.size() != 0) {
+            if (worklogRollup.size() != 0) {
                 int x = firstDayX + DateUtil.calculateDays(firstDay, milestones.get("N").time) * calendarXAxes.dayOfWeek.getWidth();
                 if (x != lastX) {
                     drawBorder(lastX, lastY, x, lastY);
@@ -618,6 +588,32 @@ public class BurnDownRenderer extends AbstractRenderer {
         return new Color(color.getRed(), color.getGreen(), color.getBlue(), 128);
     }
 
+    /**
+     * @param author   the author index of the burn down work
+     * @param dayIndex index of the accumulated work, the first value is 0, every other value belongs to the day before
+     * @return the tooltip table of the work the author logged at that day, work logged before the first day belongs to the first day
+     */
+    private List<List<String>> getTransactions(int author, int dayIndex) {
+        int day = dayIndex - 1;
+        if (day < 0 || day >= workDays) {
+            return null;
+        }
+        int firstDayIndex = burnDownWork.getDayIndex(milestones.firstMilestone);
+        return DayWork.rollupsToTransactions(burnDownWork.getRollups(author, day == 0 ? Integer.MIN_VALUE : firstDayIndex + day, firstDayIndex + day));
+    }
+
+    /**
+     * @param author   the author index of the burn down work
+     * @param dayIndex index of the accumulated work, the first value is 0, every other value belongs to the day before
+     * @return the work the author has done at that day and all days before that
+     */
+    private long getWorkedAccumulated(int author, int dayIndex) {
+        if (dayIndex == 0) {
+            return 0;
+        }
+        return burnDownWork.getWorkedAccumulated(author, burnDownWork.getDayIndex(milestones.firstMilestone) + Math.min(dayIndex - 1, workDays - 1));
+    }
+
     public void init() throws IOException {
         initSize(Y_AXIS_WIDTH, 0, true);
         if (milestones.get("R") != null && milestones.get("R").time.isAfter(milestones.get("E").time)) {
@@ -626,86 +622,24 @@ public class BurnDownRenderer extends AbstractRenderer {
             extrapolationColor = graphicsTheme.inTimeColor;
         }
 
-        calculateAuthorContribution(worklog, worklogRemaining, usersTotalContribution);
-
-        Map<User, Duration> authorWorkSum = new HashMap<>();// total work done by any author
-        for (User user : usersTotalContribution.getSortedKeyList()) {
-            if (authorWorkSum.get(user) == null) {
-                authorWorkSum.put(user, Duration.ZERO);
-            }
-        }
-        int days = DateUtil.calculateDays(milestones.firstMilestone, milestones.lastMilestone) + 1;
-        if (worklog != null) {
-            int lastDayIndexWithValue = 0;// the last day any author has data
-            for (Worklog work : worklog) {
-                Duration  aws     = authorWorkSum.get(sprint.getuser(work.getAuthorId()));
-                DayWork[] dayWork = usersWorkPerDayAccumulated.get(sprint.getuser(work.getAuthorId()));
-                if (dayWork == null) {
-                    // create a list of work per day for authors that have worked
-                    dayWork    = new DayWork[days + 3];// first value is 0
-                    dayWork[0] = new DayWork();
-                    usersWorkPerDayAccumulated.put(sprint.getuser(work.getAuthorId()), dayWork);
-                }
-                aws = aws.plus(work.getTimeSpent());
-                authorWorkSum.put(sprint.getuser(work.getAuthorId()), aws);
-                int day = (DateUtil.calculateDays(milestones.firstMilestone, DateUtil.toDayPrecision(work.getStart())));
-                if (day < 0) {
-                    // ignore any data before first day of sprint
-                    day = 0;
-                }
-                if (day < days) {
-                    {
-                        if (dayWork[day + 1] != null) {
-                            dayWork[day + 1].setDuration(aws);
-                            dayWork[day + 1].add(sprint, work);
-                        } else {
-                            dayWork[day + 1] = new DayWork(aws);// every day has the amount of work done at that day and all days before that
-                            dayWork[day + 1].add(sprint, work);
-                        }
-                        if (!aws.isZero()) {
-                            lastDayIndexWithValue = Math.max(day, lastDayIndexWithValue);
-                        }
-                    }
-                } else {
-                    numberOfWorkExceptions++;
-                    logger.error(WORK_OUTSIDE_ALLOWED_TIME_BOUNDARIES_OCCURRED);
-                }
-
+        burnDownWork = sprint.getBurnDownWork();
+        workDays     = DateUtil.calculateDays(milestones.firstMilestone, milestones.lastMilestone) + 1;
+        if (worklogRollup != null) {
+            int firstDayIndex         = burnDownWork.getDayIndex(milestones.firstMilestone);
+            int lastDayIndex          = firstDayIndex + workDays - 1;
+            int lastDayIndexWithWork  = burnDownWork.getLastDayIndexWithWork(lastDayIndex);
+            int lastDayIndexWithValue = lastDayIndexWithWork == -1 ? 0 : Math.max(0, lastDayIndexWithWork - firstDayIndex);// the last day any author has data, any data before first day of sprint counts as first day
+            numberOfWorkExceptions = burnDownWork.countRollupsAfter(lastDayIndex);
+            if (numberOfWorkExceptions != 0) {
+                logger.error(WORK_OUTSIDE_ALLOWED_TIME_BOUNDARIES_OCCURRED);
             }
             milestones.add(calendarFromDayIndex(lastDayIndexWithValue + 1), "L", "last value + 1", Color.red, true);
         }
         milestones.calculate();
-        int nowDayIndex = (DateUtil.calculateDays(milestones.firstMilestone, DateUtil.min(milestones.lastMilestone, milestones.get("N").time)));
-        for (User user : usersTotalContribution.getSortedKeyList()) {
-            Duration  last = Duration.ZERO;
-            DayWork[] aw   = usersWorkPerDayAccumulated.get(user);
-            if (aw == null) {
-                // create a list of work per day for authors that have no work done yet and thus
-                // where missed in the above use case involving worklog
-                aw    = new DayWork[days + 3];
-                aw[0] = new DayWork();
-                usersWorkPerDayAccumulated.put(user, aw);
-            }
-            // fill in empty parts of the days list
-            for (int i = 1; i < usersWorkPerDayAccumulated.get(user).length; i++) {
-                if (i <= nowDayIndex + 2) {
-                    if (usersWorkPerDayAccumulated.get(user)[i] == null
-                            || last.toSeconds() > usersWorkPerDayAccumulated.get(user)[i].duration.toSeconds()) {
-                        usersWorkPerDayAccumulated.get(user)[i] = new DayWork(last);
-                    }
-                    last = usersWorkPerDayAccumulated.get(user)[i].duration;
-                } else {
-                    // ignore anything after today (only makes sense in a test scenario, where we
-                    // simulate a now time in the past)
-                    if (usersWorkPerDayAccumulated.get(user)[i] == null) {
-                        usersWorkPerDayAccumulated.get(user)[i] = new DayWork(Duration.ZERO);
-                    }
-                }
-            }
-        }
 
-        if (usersTotalContribution.size() != 0) {
-            for (User user : usersTotalContribution.getSortedKeyList()) {
+        for (int author = 0; author < burnDownWork.getAuthorCount(); author++) {
+            User user = sprint.getuser(burnDownWork.getAuthorId(author));
+            if (user != null) {
                 authors.add(user);
             }
         }
@@ -787,15 +721,14 @@ public class BurnDownRenderer extends AbstractRenderer {
 //    }
 
     private void processingInit(RenderDao dao) throws IOException {
-        this.context          = dao.context;
-        this.worklog          = dao.worklog;
-        this.lastWorklog      = dao.lastWorklog;
-        this.worklogRemaining = dao.worklogRemaining;
-        this.eBestWork        = dao.estimatedBestWork;
-        this.eWorstWork       = dao.estimatedWorstWork;
-        this.maxWorked        = dao.maxWorked;
-        this.sprintClosed     = dao.sprint.isClosed();
-        this.graphicsTheme    = dao.graphicsTheme;
+        this.context       = dao.context;
+        this.worklogRollup = dao.worklogRollup;
+        this.lastWorklog   = dao.lastWorklog;
+        this.eBestWork     = dao.estimatedBestWork;
+        this.eWorstWork    = dao.estimatedWorstWork;
+        this.maxWorked     = dao.maxWorked;
+        this.sprintClosed  = dao.sprint.isClosed();
+        this.graphicsTheme = dao.graphicsTheme;
         createMilestones(dao.start, dao.now, dao.end, dao.firstWorklog, dao.lastWorklog, dao.sprint.getReleaseDate(), dao.sprint.isClosed());
 
         init();
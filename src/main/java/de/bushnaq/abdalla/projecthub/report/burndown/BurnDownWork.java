@@ -0,0 +1,283 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.report.burndown;
+
+import de.bushnaq.abdalla.projecthub.dto.WorklogRollup;
+import de.bushnaq.abdalla.projecthub.report.dao.WorklogRemaining;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Work done and remaining work per author and day of one sprint.
+ * <p>
+ * All values are seconds kept in primitive arrays, filled in a single pass over the worklog rollups ordered by day.
+ * The result does not depend on the chart window, width or theme. It is computed once per sprint data and shared by the
+ * burn down chart, the sprint statistics and the static site export.
+ * <p>
+ * Authors are ordered by their estimated work (worked + remaining) descending, then by id.
+ * Day indexes are relative to the day of the first rollup, indexes outside of the rollup days are clamped.
+ */
+public class BurnDownWork {
+    private final long[]              authorIds;
+    private final int[]               dayStart;//index of the first rollup of every day, the last element is the number of rollups
+    private final int                 days;//from the first to the last rollup
+    private final LocalDate           firstDay;//of the first rollup
+    private final LocalDate           firstPunchIn;//first day with work done
+    private final LocalDate           lastPunchOut;//last day with work done
+    private final long[]              remaining;//per author
+    private final int[]               rollupAuthors;//author index of every rollup, -1 if the rollup has no author
+    private final List<WorklogRollup> rollups;//ordered by day
+    private final boolean[]           valueDays;//days with a rollup of an author that has done any work until that day
+    private final long[]              worked;//per author
+    private final long[][]            workedAccumulated;//per author and day, work done at that day and all days before, null if the author has no rollups
+    private final long[]              workedAccumulatedSum;//per day, work done by all authors at that day and all days before
+
+    /**
+     * @param worklogRollups   time spent per author and day, ordered by day, may be null
+     * @param worklogRemaining remaining work per task, may be null
+     */
+    public BurnDownWork(List<WorklogRollup> worklogRollups, List<WorklogRemaining> worklogRemaining) {
+        rollups              = sortByDay(worklogRollups);
+        firstDay             = rollups.isEmpty() ? null : rollups.getFirst().getDay();
+        days                 = rollups.isEmpty() ? 0 : (int) (rollups.getLast().getDay().toEpochDay() - firstDay.toEpochDay()) + 1;
+        dayStart             = new int[days + 1];
+        valueDays            = new boolean[days];
+        workedAccumulatedSum = new long[days];
+
+        Map<Long, Author> authorMap = new HashMap<>();
+        if (worklogRemaining != null) {
+            for (WorklogRemaining work : worklogRemaining) {
+                if (work.getAuthor() != null) {
+                    authorMap.computeIfAbsent(work.getAuthor().getId(), Author::new).remaining += work.getRemaining().getSeconds();
+                }
+            }
+        }
+        Author[] rollupAuthor    = new Author[rollups.size()];
+        long     sum             = 0;
+        int      firstPunchInDay = -1;
+        int      lastPunchOutDay = -1;
+        for (int i = 0; i < rollups.size(); i++) {
+            WorklogRollup rollup    = rollups.get(i);
+            int           day       = (int) (rollup.getDay().toEpochDay() - firstDay.toEpochDay());
+            long          timeSpent = rollup.getTimeSpent().getSeconds();
+            dayStart[day + 1]++;
+            sum += timeSpent;
+            workedAccumulatedSum[day] = sum;
+            if (timeSpent > 0) {
+                if (firstPunchInDay == -1) {
+                    firstPunchInDay = day;
+                }
+                lastPunchOutDay = day;
+            }
+            if (rollup.getAuthorId() != null) {
+                Author author = authorMap.computeIfAbsent(rollup.getAuthorId(), Author::new);
+                if (author.workedAccumulated == null) {
+                    author.workedAccumulated = new long[days];
+                }
+                author.worked += timeSpent;
+                author.workedAccumulated[day] = author.worked;
+                if (author.worked != 0) {
+                    valueDays[day] = true;
+                }
+                rollupAuthor[i] = author;
+            }
+        }
+        firstPunchIn = firstPunchInDay == -1 ? null : firstDay.plusDays(firstPunchInDay);
+        lastPunchOut = lastPunchOutDay == -1 ? null : firstDay.plusDays(lastPunchOutDay);
+        for (int day = 0; day < days; day++) {
+            dayStart[day + 1] += dayStart[day];
+            if (day > 0) {
+                workedAccumulatedSum[day] = Math.max(workedAccumulatedSum[day], workedAccumulatedSum[day - 1]);
+            }
+        }
+
+        List<Author> authors = new ArrayList<>(authorMap.values());
+        authors.sort(Comparator.comparingLong((Author author) -> author.worked + author.remaining).reversed().thenComparingLong(author -> author.id));
+        authorIds         = new long[authors.size()];
+        remaining         = new long[authors.size()];
+        worked            = new long[authors.size()];
+        workedAccumulated = new long[authors.size()][];
+        for (int index = 0; index < authors.size(); index++) {
+            Author author = authors.get(index);
+            author.index             = index;
+            authorIds[index]         = author.id;
+            remaining[index]         = author.remaining;
+            worked[index]            = author.worked;
+            workedAccumulated[index] = author.workedAccumulated;
+            if (author.workedAccumulated != null) {
+                // fill in the days the author did not work
+                for (int day = 1; day < days; day++) {
+                    author.workedAccumulated[day] = Math.max(author.workedAccumulated[day], author.workedAccumulated[day - 1]);
+                }
+            }
+        }
+        rollupAuthors = new int[rollups.size()];
+        for (int i = 0; i < rollups.size(); i++) {
+            rollupAuthors[i] = rollupAuthor[i] == null ? -1 : rollupAuthor[i].index;
+        }
+    }
+
+    private int clamp(int dayIndex) {
+        return Math.max(0, Math.min(days, dayIndex));
+    }
+
+    /**
+     * @param dayIndex the day index
+     * @return number of rollups after the day
+     */
+    public int countRollupsAfter(int dayIndex) {
+        if (dayIndex < 0) {
+            return rollups.size();
+        }
+        return rollups.size() - dayStart[clamp(dayIndex + 1)];
+    }
+
+    public int getAuthorCount() {
+        return authorIds.length;
+    }
+
+    public long getAuthorId(int author) {
+        return authorIds[author];
+    }
+
+    /**
+     * @return number of days from the first to the last rollup
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * @param day the day
+     * @return index of the day relative to the day of the first rollup, 0 if there are no rollups
+     */
+    public int getDayIndex(LocalDate day) {
+        return firstDay == null ? 0 : (int) (day.toEpochDay() - firstDay.toEpochDay());
+    }
+
+    /**
+     * @return the first day with work done, null if no work was done
+     */
+    public LocalDate getFirstPunchIn() {
+        return firstPunchIn;
+    }
+
+    /**
+     * @param dayIndex the last day index to consider
+     * @return the index of the last day, not after dayIndex, at which an author logged work and has done any work until that day, -1 if there is none
+     */
+    public int getLastDayIndexWithWork(int dayIndex) {
+        for (int day = Math.min(dayIndex, days - 1); day >= 0; day--) {
+            if (valueDays[day]) {
+                return day;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the last day with work done, null if no work was done
+     */
+    public LocalDate getLastPunchOut() {
+        return lastPunchOut;
+    }
+
+    public long getRemaining(int author) {
+        return remaining[author];
+    }
+
+    /**
+     * @param author       the author index
+     * @param fromDayIndex first day index, inclusive
+     * @param toDayIndex   last day index, inclusive
+     * @return the rollups of the author within the days, ordered by day
+     */
+    public List<WorklogRollup> getRollups(int author, int fromDayIndex, int toDayIndex) {
+        List<WorklogRollup> list = new ArrayList<>();
+        if (toDayIndex >= 0) {
+            for (int i = dayStart[clamp(fromDayIndex)]; i < dayStart[clamp(toDayIndex + 1)]; i++) {
+                if (rollupAuthors[i] == author) {
+                    list.add(rollups.get(i));
+                }
+            }
+        }
+        return list;
+    }
+
+    public long getWorked(int author) {
+        return worked[author];
+    }
+
+    /**
+     * @param author   the author index
+     * @param dayIndex the day index
+     * @return work done by the author at that day and all days before
+     */
+    public long getWorkedAccumulated(int author, int dayIndex) {
+        if (dayIndex < 0 || workedAccumulated[author] == null) {
+            return 0;
+        }
+        return workedAccumulated[author][Math.min(dayIndex, days - 1)];
+    }
+
+    /**
+     * @param dayIndex the day index
+     * @return work done by all authors at that day and all days before
+     */
+    public long getWorkedAccumulated(int dayIndex) {
+        if (dayIndex < 0 || days == 0) {
+            return 0;
+        }
+        return workedAccumulatedSum[Math.min(dayIndex, days - 1)];
+    }
+
+    /**
+     * @param dayIndex the day index
+     * @return true if any work was logged at that day
+     */
+    public boolean hasRollups(int dayIndex) {
+        return dayIndex >= 0 && dayIndex < days && dayStart[dayIndex] != dayStart[dayIndex + 1];
+    }
+
+    private static List<WorklogRollup> sortByDay(List<WorklogRollup> worklogRollups) {
+        if (worklogRollups == null) {
+            return List.of();
+        }
+        for (int i = 1; i < worklogRollups.size(); i++) {
+            if (worklogRollups.get(i).getDay().isBefore(worklogRollups.get(i - 1).getDay())) {
+                List<WorklogRollup> sorted = new ArrayList<>(worklogRollups);
+                sorted.sort(Comparator.comparing(WorklogRollup::getDay));
+                return sorted;
+            }
+        }
+        return worklogRollups;
+    }
+
+    private static class Author {
+        final long   id;
+        int          index;
+        long         remaining;
+        long         worked;
+        long[]       workedAccumulated;
+
+        Author(long id) {
+            this.id = id;
+        }
+    }
+}
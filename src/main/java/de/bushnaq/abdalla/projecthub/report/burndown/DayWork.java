@@ -17,41 +17,34 @@
 
 package de.bushnaq.abdalla.projecthub.report.burndown;
 
-import de.bushnaq.abdalla.projecthub.dto.Sprint;
-import de.bushnaq.abdalla.projecthub.dto.Worklog;
+import de.bushnaq.abdalla.projecthub.dto.WorklogRollup;
 import de.bushnaq.abdalla.util.date.DateUtil;
 
-import java.time.Duration;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Tooltip of the work done by one author, the work itself is computed by {@link BurnDownWork}.
+ */
 public class DayWork {
-    public Duration           duration     = Duration.ZERO;
-    public List<List<String>> transactions = new ArrayList<>();
-
-    public DayWork() {
-    }
-
-    public DayWork(Duration duration) {
-        this.duration = duration;
-    }
-
-    public void add(Sprint sprint, Worklog work) {
-        List<String> list = new ArrayList<>();
-        //TODO get key
-        list.add(String.format("%s", sprint.getTaskById(work.getTaskId()).getKey()));
-        list.add(String.format("<b>%s</b>", DateUtil.create24hDurationString(work.getTimeSpent(), false, true, false)));
-        list.add(String.format("%s", work.getComment()));
-        transactions.add(list);
-    }
-
-    public void setDuration(Duration duration) {
-        this.duration = duration;
+    private static final DateTimeFormatter sdfymd = DateTimeFormatter.ofPattern("yyyy.MMM.dd");
+
+    public static List<List<String>> rollupsToTransactions(List<WorklogRollup> rollups) {
+        List<List<String>> transactions = new ArrayList<>();
+        for (WorklogRollup work : rollups) {
+            List<String> list = new ArrayList<>();
+            list.add(String.format("%s", work.getDay().format(sdfymd)));
+            list.add(String.format("<b>%s</b>", DateUtil.create24hDurationString(work.getTimeSpent(), false, true, false)));
+            list.add(String.format("%d", work.getWorklogCount()));
+            transactions.add(list);
+        }
+        return transactions;
     }
 
     public static String transactionsToTooltips(List<List<String>> transactions, String authorName) {
         if (transactions != null && !transactions.isEmpty()) {
-            String tooltip = authorName + " <table><tr> <th><b>Key</b></th> <th><b>Work</b></th> <th><b>Summary</b></th></tr>";
+            String tooltip = authorName + " <table><tr> <th><b>Day</b></th> <th><b>Work</b></th> <th><b>Worklogs</b></th></tr>";
 
             for (List<String> ll : transactions) {
                 tooltip += "<tr>";
@@ -19,7 +19,7 @@ package de.bushnaq.abdalla.projecthub.report.burndown;
 
 import de.bushnaq.abdalla.projecthub.Context;
 import de.bushnaq.abdalla.projecthub.dto.Sprint;
-import de.bushnaq.abdalla.projecthub.dto.Worklog;
+import de.bushnaq.abdalla.projecthub.dto.WorklogRollup;
 import de.bushnaq.abdalla.projecthub.report.dao.BurnDownGraphicsTheme;
 import de.bushnaq.abdalla.projecthub.report.dao.WorklogRemaining;
 
@@ -53,7 +53,7 @@ public class RenderDao {
 //    public int                    sprintClosed;
     public String                 sprintName;
     public LocalDateTime          start;
-    public List<Worklog>          worklog;
     public List<WorklogRemaining> worklogRemaining;
+    public List<WorklogRollup>    worklogRollup;//time spent per author and day, ordered by day
 
 }
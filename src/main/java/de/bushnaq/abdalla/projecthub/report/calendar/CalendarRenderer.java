@@ -18,13 +18,11 @@
 package de.bushnaq.abdalla.projecthub.report.calendar;
 
 import de.bushnaq.abdalla.projecthub.Context;
-import de.bushnaq.abdalla.projecthub.dto.OffDayType;
 import de.bushnaq.abdalla.projecthub.dto.User;
 import de.bushnaq.abdalla.projecthub.report.AbstractRenderer;
 import de.bushnaq.abdalla.projecthub.report.dao.BurnDownGraphicsTheme;
 import de.bushnaq.abdalla.svg.util.ExtendedGraphics2D;
 import net.sf.mpxj.ProjectCalendar;
-import net.sf.mpxj.ProjectCalendarException;
 
 import java.awt.*;
 import java.awt.font.TextAttribute;
@@ -95,7 +93,8 @@ public class CalendarRenderer extends AbstractRenderer {
         // Fonts
         Font smallFont = new Font(Font.SANS_SERIF, Font.PLAIN, 6);
 
-        int yearTextHeight = drawYear(graphics2D, year, x, y);
+        int               yearTextHeight = drawYear(graphics2D, year, x, y);
+        DayClassification days           = user.getDayClassifications().get(year);
 
         // Calculate offset for calendar to position below the year text
         int yearOffset = yearTextHeight + 20; // Add some padding
@@ -157,8 +156,7 @@ public class CalendarRenderer extends AbstractRenderer {
                 int dayCenterX = dayX + (DAY_SIZE / 2);
                 int dayCenterY = dayY + (DAY_SIZE / 2) - 6; // Adjusted to center the text better
 
-                ProjectCalendar pc        = user.getCalendar();
-                boolean         isWeekend = !pc.isWorkingDay(currentDate.getDayOfWeek());
+                boolean isWeekend = days.isWeekend(currentDate);
                 // Check if today
                 boolean isToday = currentDate.equals(today);
 
@@ -169,23 +167,24 @@ public class CalendarRenderer extends AbstractRenderer {
                 if (isWeekend) {
                     bgColor   = graphicsTheme.calendarWeekendBgColor;
                     textColor = graphicsTheme.calendarWeekendTextColor;
-                } else {
-                    ProjectCalendarException exception = pc.getException(currentDate);
-                    if (exception != null) {
-                        String name = exception.getName();
-                        if (name.equals(OffDayType.VACATION.name())) {
+                } else if (days.getOffDayType(currentDate) != null) {
+                    switch (days.getOffDayType(currentDate)) {
+                        case VACATION -> {
                             bgColor   = graphicsTheme.calendarVacationBgColor;
                             textColor = graphicsTheme.calendarVacationTextColor;
                             vacationDays++;
-                        } else if (name.equals(OffDayType.SICK.name())) {
+                        }
+                        case SICK -> {
                             bgColor   = graphicsTheme.calendarSickBgColor;
                             textColor = graphicsTheme.calendarSickTextColor;
                             sickDays++;
-                        } else if (name.equals(OffDayType.TRIP.name())) {
+                        }
+                        case TRIP -> {
                             bgColor   = graphicsTheme.calendarTripBgColor;
                             textColor = graphicsTheme.calendarTripTextColor;
                             tripDays++;
-                        } else {
+                        }
+                        case HOLIDAY -> {
                             bgColor   = graphicsTheme.calendarHolidayBgColor;
                             textColor = graphicsTheme.calendarHolidayTextColor;
                             this.holidays++;
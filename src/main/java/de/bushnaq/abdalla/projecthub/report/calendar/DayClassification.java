@@ -0,0 +1,138 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.report.calendar;
+
+import de.bushnaq.abdalla.projecthub.dto.OffDayType;
+import net.sf.mpxj.ProjectCalendar;
+import net.sf.mpxj.ProjectCalendarException;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+
+/**
+ * Classification of every day of one year of a calendar.
+ * <p>
+ * Asking the calendar if a day is a working day searches its exceptions, and the name of the exception must be compared
+ * to find out if the day is a holiday, vacation, sick day or trip. The renderers and the UI components ask this for every
+ * day of every lane or month, so the answers are computed once per year and kept as bits and bytes indexed by the day of the year.
+ * <p>
+ * Instances are immutable and can be shared between threads. The calendar must not change after the classification was created.
+ */
+public final class DayClassification {
+    private static final byte                       NONE = 0;
+    private final        ProjectCalendarException[] exceptions;//calendar exception of the day, null if there is none
+    private final        byte[]                     offDayTypes;//OffDayType ordinal + 1, NONE if there is no exception
+    private final        BitSet                     weekend;//not a working day of the week
+    private final        BitSet                     working;//working date, including the exceptions
+    private final        int                        year;
+
+    private DayClassification(ProjectCalendar calendar, int year) {
+        int days = Year.of(year).length();
+        this.year   = year;
+        exceptions  = new ProjectCalendarException[days];
+        offDayTypes = new byte[days];
+        weekend     = new BitSet(days);
+        working     = new BitSet(days);
+        LocalDate date = LocalDate.ofYearDay(year, 1);
+        for (int day = 0; day < days; day++, date = date.plusDays(1)) {
+            if (!calendar.isWorkingDay(date.getDayOfWeek())) {
+                weekend.set(day);
+            }
+            if (calendar.isWorkingDate(date)) {
+                working.set(day);
+            }
+            ProjectCalendarException exception = calendar.getException(date);
+            if (exception != null) {
+                exceptions[day]  = exception;
+                offDayTypes[day] = (byte) (getOffDayType(exception).ordinal() + 1);
+            }
+        }
+    }
+
+    /**
+     * @param calendar the calendar
+     * @param year     the year
+     * @return the classification of every day of the year
+     */
+    public static DayClassification create(ProjectCalendar calendar, int year) {
+        return new DayClassification(calendar, year);
+    }
+
+    /**
+     * @param date a day of the year
+     * @return the calendar exception of the day, null if there is none
+     */
+    public ProjectCalendarException getException(LocalDate date) {
+        return exceptions[index(date)];
+    }
+
+    /**
+     * Off days are named after their type, every other exception is a holiday, as it is named after the holiday.
+     *
+     * @param exception the calendar exception
+     * @return the type of the off day
+     */
+    public static OffDayType getOffDayType(ProjectCalendarException exception) {
+        String name = exception.getName();
+        if (OffDayType.VACATION.name().equals(name)) {
+            return OffDayType.VACATION;
+        } else if (OffDayType.SICK.name().equals(name)) {
+            return OffDayType.SICK;
+        } else if (OffDayType.TRIP.name().equals(name)) {
+            return OffDayType.TRIP;
+        }
+        return OffDayType.HOLIDAY;
+    }
+
+    /**
+     * @param date a day of the year
+     * @return the type of the calendar exception of the day, null if there is none
+     */
+    public OffDayType getOffDayType(LocalDate date) {
+        byte type = offDayTypes[index(date)];
+        return type == NONE ? null : OffDayType.values()[type - 1];
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    private int index(LocalDate date) {
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException(String.format("%s is not part of %d", date, year));
+        }
+        return date.getDayOfYear() - 1;
+    }
+
+    /**
+     * @param date a day of the year
+     * @return true if the day of the week is not a working day, independent of any exception
+     */
+    public boolean isWeekend(LocalDate date) {
+        return weekend.get(index(date));
+    }
+
+    /**
+     * @param date a day of the year
+     * @return true if the day is a working day, taking exceptions into account
+     */
+    public boolean isWorkingDate(LocalDate date) {
+        return working.get(index(date));
+    }
+}
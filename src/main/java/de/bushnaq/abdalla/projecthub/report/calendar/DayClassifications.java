@@ -0,0 +1,68 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.report.calendar;
+
+import de.bushnaq.abdalla.projecthub.dto.OffDayType;
+import net.sf.mpxj.ProjectCalendar;
+import net.sf.mpxj.ProjectCalendarException;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link DayClassification} of every year of one calendar, each year is classified when it is first needed.
+ * <p>
+ * Users and sprints hold one instance for their calendar, so that every renderer and UI component shares the same classification.
+ */
+public class DayClassifications {
+    private final ProjectCalendar                 calendar;
+    private final Map<Integer, DayClassification> years = new ConcurrentHashMap<>();
+
+    public DayClassifications(ProjectCalendar calendar) {
+        this.calendar = calendar;
+    }
+
+    /**
+     * @param year the year
+     * @return the classification of every day of the year
+     */
+    public DayClassification get(int year) {
+        return years.computeIfAbsent(year, y -> DayClassification.create(calendar, y));
+    }
+
+    public ProjectCalendar getCalendar() {
+        return calendar;
+    }
+
+    public ProjectCalendarException getException(LocalDate date) {
+        return get(date.getYear()).getException(date);
+    }
+
+    public OffDayType getOffDayType(LocalDate date) {
+        return get(date.getYear()).getOffDayType(date);
+    }
+
+    public boolean isWeekend(LocalDate date) {
+        return get(date.getYear()).isWeekend(date);
+    }
+
+    public boolean isWorkingDate(LocalDate date) {
+        return get(date.getYear()).isWorkingDate(date);
+    }
+}
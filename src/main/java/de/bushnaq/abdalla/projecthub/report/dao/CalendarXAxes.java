@@ -18,6 +18,8 @@
 package de.bushnaq.abdalla.projecthub.report.dao;
 
 import de.bushnaq.abdalla.projecthub.report.AbstractRenderer;
+import de.bushnaq.abdalla.svg.util.ExtendedGraphics2D;
+import de.bushnaq.abdalla.svg.util.PatternPaint;
 import de.bushnaq.abdalla.util.Util;
 import de.bushnaq.abdalla.util.date.DateUtil;
 import lombok.Getter;
@@ -29,14 +31,19 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
 import java.time.temporal.TemporalField;
 import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.function.Function;
 
 public class CalendarXAxes {
     public static final  int                      DAY_OF_MONTH_MIN_DAY_WIDTH = 16;
     private static final int                      DAY_OF_WEEK_MIN_DAY_WIDTH  = 10;
     private static final int                      MONTH_MIN_DAY_WIDTH        = 1;
+    private static final String[]                 WEEK_DAYS                  = {"M", "T", "W", "T", "F", "S", "S"};
     private static final int                      WEEK_MIN_DAY_WIDTH         = 2;
     @Getter
     private              boolean                  calendarAtBottom;
@@ -87,6 +94,13 @@ public class CalendarXAxes {
         return firstMilestoneX + (DateUtil.calculateDays(milestones.firstMilestone, date) + priRun) * dayOfWeek.getWidth();
     }
 
+    /**
+     * @return x of the left edge of the day, the day ends with its one pixel line at x + day width - 1
+     */
+    public int calculateDayX1(LocalDate date) {
+        return calculateDayX(date) - (dayOfWeek.getWidth() / 2 - 1);
+    }
+
     public void drawCalendar(boolean drawDays) {
         LocalDate firstDay = DateUtil.addDay(milestones.firstMilestone, -priRun);
         //TODO why are we ignoring postRun days?
@@ -99,13 +113,35 @@ public class CalendarXAxes {
         // father.getImageName(), DateUtil.createDateString(firstDay, sdtmf),
         // DateUtil.createDateString(lastDay, sdtmf), dayOfWeek.width));
         for (int phase = 0; phase < 5; phase++) {
+            if (phase == 0) {
+                if (drawDays && isDayBarsVisible()) {
+                    parent.drawDayBars(firstDay, lastDay);
+                }
+                if (milestonesVisible()) {
+                    drawDayBoxes(firstDay, lastDay, milestone.flagY, milestone.flagHeight, null, null,
+                            day -> GraphColorUtil.getDayOfWeekBgColor(parent.graphicsTheme, day), parent.graphicsTheme.XAxesDayOfWeekBorderColor, null);
+                }
+                continue;
+            }
+            if (phase == 1) {
+                if (isDayOfWeekVisible()) {
+                    // --day of Month ( 1, 2, ..., 31)
+                    drawDayBoxes(firstDay, lastDay, dayOfMonth.getY(), dayOfMonth.getHeight(), day -> String.valueOf(day.getDayOfMonth()),
+                            day -> GraphColorUtil.getDayOfMonthTextColor(parent.graphicsTheme, day), day -> GraphColorUtil.getDayOfMonthBgColor(parent.graphicsTheme, day),
+                            parent.graphicsTheme.XAxesDayOfMonthBorderColor, dayOfMonth.getFont());
+                    // --day of week (M, T, W, T, F, S, S)
+                    drawDayBoxes(firstDay, lastDay, dayOfWeek.getY(), dayOfWeek.getHeight(), day -> WEEK_DAYS[day.getDayOfWeek().getValue() - 1],
+                            day -> parent.graphicsTheme.XAxesDayOfWeekTextColor, day -> GraphColorUtil.getDayOfWeekBgColor(parent.graphicsTheme, day),
+                            parent.graphicsTheme.XAxesDayOfWeekBorderColor, dayOfWeek.getFont());
+                }
+                continue;
+            }
             for (LocalDate currentDay = firstDay; currentDay.isBefore(lastDay) || currentDay.isEqual(lastDay); currentDay = currentDay.plusDays(1)) {
                 // if (phase == 4)
                 // logger.trace(String.format("first=%s, last=%s, current=%s",
                 // Util.createDateString(firstDay, sdtmf), Util.createDateString(lastDay,
                 // sdtmf), Util.createDateString(currentDay, sdtmf)));
                 int       daysX    = calculateDayX(currentDay);
-                String[]  weekDays = {"M", "T", "W", "T", "F", "S", "S"};
                 String[]  months   = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
                 LocalDate startCal = currentDay;
 
@@ -158,50 +194,41 @@ public class CalendarXAxes {
                                 week.getFont(), false);
                         firstWeekWasDrawn = true;
                     }
-                } else if (phase == 1 && isDayOfWeekVisible()) {
-                    // --day of Month ( 1, 2, ..., 31)
-                    {
-                        Color bgColor   = GraphColorUtil.getDayOfMonthBgColor(parent.graphicsTheme, startCal);
-                        Color textColor = GraphColorUtil.getDayOfMonthTextColor(parent.graphicsTheme, startCal);
-                        drawTextBox(daysX - (dayOfMonth.getWidth() / 2 - 1), daysX - (dayOfMonth.getWidth() / 2 - 1) + (dayOfMonth.getWidth() - 1),
-                                dayOfMonth.getY(), dayOfMonth.getHeight(), "" + startCal.getDayOfMonth(), textColor, bgColor,
-                                parent.graphicsTheme.XAxesDayOfMonthBorderColor, dayOfMonth.getFont(), true);
-//                        if (startCal.getDayOfWeek() == DayOfWeek.SATURDAY || startCal.getDayOfWeek() == DayOfWeek.SUNDAY) {
-//                            drawTextBox(daysX - (dayOfMonth.getWidth() / 2 - 1), daysX - (dayOfMonth.getWidth() / 2 - 1) + (dayOfMonth.getWidth() - 1),
-//                                    dayOfMonth.getY(), dayOfMonth.getHeight(), "" + startCal.getDayOfMonth(), textColor, bgColor,
-//                                    parent.graphicsTheme.XAxesDayOfMonthBorderColor, dayOfMonth.getFont(), true);
-//                        } else {
-//                            drawTextBox(daysX - (dayOfMonth.getWidth() / 2 - 1), daysX - (dayOfMonth.getWidth() / 2 - 1) + (dayOfMonth.getWidth() - 1),
-//                                    dayOfMonth.getY(), dayOfMonth.getHeight(), "" + startCal.getDayOfMonth(), textColor, bgColor,
-//                                    parent.graphicsTheme.XAxesDayOfMonthBorderColor, dayOfMonth.getFont(), true);
-//                        }
-                    }
-
-                    // --day of week (M, T, W, T, F, S, S)
-                    {
-                        Color color = GraphColorUtil.getDayOfWeekBgColor(parent.graphicsTheme, startCal);
-                        drawTextBox(daysX - (dayOfWeek.getWidth() / 2 - 1), daysX - (dayOfWeek.getWidth() / 2 - 1) + (dayOfWeek.getWidth() - 1),
-                                dayOfWeek.getY(), dayOfWeek.getHeight(), weekDays[startCal.getDayOfWeek().getValue() - 1], parent.graphicsTheme.XAxesDayOfWeekTextColor,
-                                color, parent.graphicsTheme.XAxesDayOfWeekBorderColor, dayOfWeek.getFont(), true);
-                    }
-                } else if (phase == 0) {
-                    {
-                        if (drawDays && isDayBarsVisible()) {
-                            parent.drawDayBars(currentDay);
-                        }
-                    }
-                    if (milestonesVisible()) {
-                        Color color = GraphColorUtil.getDayOfWeekBgColor(parent.graphicsTheme, startCal);
-                        parent.graphics2D.setColor(color);
-                        drawTextBox(daysX - (dayOfWeek.getWidth() / 2 - 1), daysX - (dayOfWeek.getWidth() / 2 - 1) + (dayOfWeek.getWidth() - 1),
-                                milestone.flagY, milestone.flagHeight, null, parent.graphicsTheme.XAxesDayOfWeekTextColor,
-                                color, parent.graphicsTheme.XAxesDayOfWeekBorderColor, null, true);
-                    }
                 }
             }
         }
     }
 
+    /**
+     * Draws a text box for every day like {@link #drawTextBox} does, but backgrounds and right borders of all days are one weekly pattern
+     * and the top border is one line, only the texts are drawn day by day.
+     *
+     * @param text            text of a day, null if the boxes have no text
+     * @param textColor       text color of a day
+     * @param backgroundColor background of a day, may only depend on the day of the week
+     */
+    private void drawDayBoxes(LocalDate firstDay, LocalDate lastDay, int y1, int height, Function<LocalDate, String> text, Function<LocalDate, Color> textColor,
+                              Function<LocalDate, Color> backgroundColor, Color borderColor, Font font) {
+        int dayWidth = dayOfWeek.getWidth();
+        if (dayWidth < 1) {
+            return;
+        }
+        fillDayStripes(firstDay, lastDay, y1, height - 1, backgroundColor, borderColor);
+        parent.graphics2D.setColor(borderColor);
+        parent.graphics2D.fillRect(calculateDayX1(firstDay) - 1, y1 - 1, (DateUtil.calculateDays(firstDay, lastDay) + 1) * dayWidth, 1);
+        if (text != null) {
+            parent.graphics2D.setFont(font);
+            FontMetrics fm        = parent.graphics2D.getFontMetrics();
+            int         maxAscent = fm.getMaxAscent();
+            for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+                String dayText = text.apply(day);
+                int    width   = fm.stringWidth(dayText);
+                parent.graphics2D.setColor(textColor.apply(day));
+                parent.graphics2D.drawString(dayText, calculateDayX1(day) + (dayWidth - 1) / 2 - width / 2, y1 + height / 2 + (maxAscent + 1) / 2 - 2);
+            }
+        }
+    }
+
     public void drawMilestone(Milestone m, LocalDate time, int x, Color fillColor, String text, boolean drawMilestone, Color flagTextColor) {
         drawMilestone(m, time, x, milestone.y, fillColor, text, drawMilestone, milestone.flagY, flagTextColor, true, true);
     }
@@ -318,6 +345,32 @@ public class CalendarXAxes {
         }
     }
 
+    /**
+     * Fills every day from y to y + height with its background and a one pixel line on its right side.
+     * <p>
+     * All days are one rectangle filled with a weekly pattern, as the background may only depend on the day of the week.
+     *
+     * @param backgroundColor background of a day
+     * @param lineColor       color of the line between the days
+     */
+    public void fillDayStripes(LocalDate firstDay, LocalDate lastDay, int y, int height, Function<LocalDate, Color> backgroundColor, Color lineColor) {
+        int dayWidth = dayOfWeek.getWidth();
+        if (dayWidth < 1 || height < 1 || lastDay.isBefore(firstDay)) {
+            return;
+        }
+        LocalDate               monday = firstDay.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        List<PatternPaint.Cell> cells  = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            cells.add(new PatternPaint.Cell(day * dayWidth, 0, dayWidth - 1, height, backgroundColor.apply(monday.plusDays(day))));
+            cells.add(new PatternPaint.Cell(day * dayWidth + dayWidth - 1, 0, 1, height, lineColor));
+        }
+        ExtendedGraphics2D graphics2D = parent.graphics2D;
+        Paint              paint      = graphics2D.getPaint();
+        graphics2D.setPaint(new PatternPaint(new Rectangle(calculateDayX1(monday), y, 7 * dayWidth, height), cells));
+        graphics2D.fillRect(calculateDayX1(firstDay), y, (DateUtil.calculateDays(firstDay, lastDay) + 1) * dayWidth, height);
+        graphics2D.setPaint(paint);
+    }
+
     public int getHeight() {
         int height = year.getHeight();
         if (isMonthVisible()) {
@@ -17,8 +17,8 @@
 
 package de.bushnaq.abdalla.projecthub.report.dao;
 
-import de.bushnaq.abdalla.projecthub.dto.OffDayType;
-import net.sf.mpxj.ProjectCalendar;
+import de.bushnaq.abdalla.projecthub.report.calendar.DayClassification;
+import de.bushnaq.abdalla.projecthub.report.calendar.DayClassifications;
 import net.sf.mpxj.ProjectCalendarException;
 
 import java.awt.*;
@@ -54,44 +54,35 @@ public class GraphColorUtil {
 
     }
 
-    public static ProjectCalendarException getException(BurnDownGraphicsTheme graphicsTheme, ProjectCalendar pc, LocalDate currentDate) {
-        if (!pc.isWorkingDate(currentDate)) {
-            return pc.getException(currentDate);
+    public static ProjectCalendarException getException(BurnDownGraphicsTheme graphicsTheme, DayClassifications days, LocalDate currentDate) {
+        if (!days.isWorkingDate(currentDate)) {
+            return days.getException(currentDate);
         }
         return null;
     }
 
-    public static Color getGanttDayStripeColor(BurnDownGraphicsTheme graphicsTheme, ProjectCalendar pc, LocalDate currentDate) {
-        if (pc.isWorkingDate(currentDate)) {
+    public static Color getGanttDayStripeColor(BurnDownGraphicsTheme graphicsTheme, DayClassifications days, LocalDate currentDate) {
+        if (days.isWorkingDate(currentDate)) {
             return graphicsTheme.XAxesDayOfweekBgColor;
-        } else {
-            ProjectCalendarException exception = pc.getException(currentDate);
-            if (exception != null) {
-                if (exception.getName().equals(OffDayType.VACATION.name())) {
-                    return graphicsTheme.ganttVacationBgColor;
-                } else if (exception.getName().equals(OffDayType.TRIP.name())) {
-                    return graphicsTheme.ganttTripBgColor;
-                } else if (exception.getName().equals(OffDayType.SICK.name())) {
-                    return graphicsTheme.ganttSickBgColor;
-                } else {
-                    return graphicsTheme.ganttHolidayBgColor;
-                }
-            }
-            return graphicsTheme.XAxesDayOfMonthWeekendBgColor;
+        } else if (days.getOffDayType(currentDate) != null) {
+            return switch (days.getOffDayType(currentDate)) {
+                case VACATION -> graphicsTheme.ganttVacationBgColor;
+                case TRIP -> graphicsTheme.ganttTripBgColor;
+                case SICK -> graphicsTheme.ganttSickBgColor;
+                case HOLIDAY -> graphicsTheme.ganttHolidayBgColor;
+            };
         }
+        return graphicsTheme.XAxesDayOfMonthWeekendBgColor;
     }
 
     public static String getOffDayLetter(ProjectCalendarException exception) {
         if (exception != null) {
-            if (exception.getName().equals(OffDayType.VACATION.name())) {
-                return "V";
-            } else if (exception.getName().equals(OffDayType.TRIP.name())) {
-                return "T";
-            } else if (exception.getName().equals(OffDayType.SICK.name())) {
-                return "S";
-            } else {
-                return "H";
-            }
+            return switch (DayClassification.getOffDayType(exception)) {
+                case VACATION -> "V";
+                case TRIP -> "T";
+                case SICK -> "S";
+                case HOLIDAY -> "H";
+            };
         }
         return null;
     }
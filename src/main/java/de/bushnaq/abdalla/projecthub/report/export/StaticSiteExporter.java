@@ -0,0 +1,453 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.report.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bushnaq.abdalla.projecthub.Context;
+import de.bushnaq.abdalla.projecthub.ParameterOptions;
+import de.bushnaq.abdalla.projecthub.dto.*;
+import de.bushnaq.abdalla.projecthub.report.AbstractCanvas;
+import de.bushnaq.abdalla.projecthub.report.burndown.BurnDownWork;
+import de.bushnaq.abdalla.projecthub.report.calendar.CalendarChart;
+import de.bushnaq.abdalla.projecthub.report.gantt.GanttContext;
+import de.bushnaq.abdalla.projecthub.rest.api.*;
+import de.bushnaq.abdalla.projecthub.ui.util.ChartRenderingService;
+import de.bushnaq.abdalla.projecthub.ui.util.RenderUtil;
+import de.bushnaq.abdalla.projecthub.ui.util.RenderedChartCache;
+import de.bushnaq.abdalla.util.Util;
+import de.bushnaq.abdalla.util.date.DateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * Renders the whole portfolio to a static html site without the UI.
+ * <p>
+ * The product, version, feature and sprint hierarchy is loaded into a {@link GanttContext}. Every sprint is scheduled and
+ * gets a page with its Gantt and BurnDown chart, every user gets a calendar chart. An index page lists all of them with a
+ * thumbnail of the BurnDown chart. Loading, scheduling, hashing and rendering of one sprint is one task of the
+ * {@link ChartRenderingService}, so sprints are processed in parallel from start to end.
+ * <p>
+ * The content hash of every sprint and user is stored in the output directory. A sprint or user whose hash did not change
+ * since the last export is not rendered again. Pages of sprints and users that no longer exist are removed.
+ * <p>
+ * Started with projecthub.export.directory set, the export runs once the application has started and, unless
+ * projecthub.export.exit is false, the application exits afterwards, e.g.
+ * <pre>java -jar projecthub.jar --projecthub.export.directory=site --server.port=0 --vaadin.launch-browser=false</pre>
+ */
+@Component
+public class StaticSiteExporter implements CommandLineRunner {
+    private static final String                         BURNDOWN_FILE    = "burn-down.svg";
+    private static final String                         CALENDAR_FILE    = "calendar.svg";
+    private static final String                         CSS_CLASS        = "scheduleWithMargin";
+    private static final String                         GANTT_FILE       = "gantt.svg";
+    private static final String                         HASH_FILE        = "export-hashes.properties";
+    private static final String                         INDEX_FILE       = "index.html";
+    private static final String                         THUMBNAIL_FILE   = "burn-down.png";
+    private static final int                            THUMBNAIL_HEIGHT = 120;
+    private static final int                            THUMBNAIL_WIDTH  = 192;
+    private static final Logger                         logger           = LoggerFactory.getLogger(StaticSiteExporter.class);
+    @Autowired
+    private              ConfigurableApplicationContext applicationContext;
+    @Autowired
+    private              ChartRenderingService          chartRenderingService;
+    @Autowired
+    private              Context                        context;
+    private final        DateUtil                       dateUtil         = new DateUtil();
+    @Value("${projecthub.export.directory:}")
+    private              String                         directory;
+    @Value("${projecthub.export.exit:true}")
+    private              boolean                        exit;
+    @Autowired
+    private              FeatureApi                     featureApi;
+    @Autowired
+    private              ObjectMapper                   objectMapper;
+    @Autowired
+    private              ProductApi                     productApi;
+    @Autowired
+    private              RenderedChartCache             renderedChartCache;
+    @Autowired
+    private              SprintApi                      sprintApi;
+    @Autowired
+    private              TaskApi                        taskApi;
+    @Autowired
+    private              UserApi                        userApi;
+    @Autowired
+    private              VersionApi                     versionApi;
+    @Autowired
+    private              WorklogApi                     worklogApi;
+
+    private static void appendContribution(StringBuilder html, Sprint sprint, BurnDownWork burnDownWork) {
+        if (burnDownWork.getAuthorCount() == 0) {
+            return;
+        }
+        html.append("<table>\n<tr><th>User</th><th>Worked</th><th>Remaining</th></tr>\n");
+        for (int author = 0; author < burnDownWork.getAuthorCount(); author++) {
+            User user = sprint.getuser(burnDownWork.getAuthorId(author));
+            html.append("<tr><td>").append(escape(user == null ? String.valueOf(burnDownWork.getAuthorId(author)) : user.getName()))
+                    .append("</td><td>").append(escape(DateUtil.createWorkDayDurationString(Duration.ofSeconds(burnDownWork.getWorked(author)), false, true, false)))
+                    .append("</td><td>").append(escape(DateUtil.createWorkDayDurationString(Duration.ofSeconds(burnDownWork.getRemaining(author)), false, true, false)))
+                    .append("</td></tr>\n");
+        }
+        html.append("</table>\n");
+    }
+
+    private static void appendRow(StringBuilder html, String name, String value) {
+        html.append("<tr><th>").append(escape(name)).append("</th><td>").append(escape(value)).append("</td></tr>\n");
+    }
+
+    private static void deleteExport(Path directory) {
+        try {
+            for (String file : List.of(BURNDOWN_FILE, CALENDAR_FILE, GANTT_FILE, INDEX_FILE, THUMBNAIL_FILE)) {
+                Files.deleteIfExists(directory.resolve(file));
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            logger.warn("Cannot remove {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static void endPage(StringBuilder html) {
+        html.append("</body>\n</html>\n");
+    }
+
+    private static String escape(String text) {
+        return text == null ? "" : HtmlUtils.htmlEscape(text);
+    }
+
+    /**
+     * Renders all sprints and users whose content hash changed since the last export into the directory
+     * and writes the index page. Data is loaded with the authentication of the calling thread.
+     *
+     * @param directory the output directory, created if it does not exist
+     * @return the number of rendered, skipped and failed sprints and users
+     */
+    public ExportResult export(Path directory) throws Exception {
+        long          time = System.currentTimeMillis();
+        LocalDateTime now  = DateUtil.offsetDateTimeToLocalDateTime(ParameterOptions.getNow());//falls back to the current time if no fixed time was set
+        Files.createDirectories(directory);
+        Properties                      oldHashes = loadHashes(directory);
+        Map<String, String>             hashes    = new TreeMap<>();
+        Map<String, Callable<Exported>> renderers = new LinkedHashMap<>();
+        GanttContext                    gc        = loadHierarchy();
+        int                             skipped   = 0;
+
+        for (Product product : gc.allProducts) {
+            for (Version version : product.getVersions()) {
+                for (Feature feature : version.getFeatures()) {
+                    for (Sprint sprint : feature.getSprints()) {
+                        String key = "sprint-" + sprint.getId();
+                        //the pool threads load the sprint with the authentication of the calling thread
+                        renderers.put(key, new DelegatingSecurityContextCallable<>(() -> exportSprint(directory, key, product, version, feature, sprint, now, oldHashes)));
+                    }
+                }
+            }
+        }
+        for (User user : gc.allUsers) {
+            String key  = "user-" + user.getId();
+            String hash = hash(new String(objectMapper.writeValueAsBytes(user), StandardCharsets.UTF_8), context.parameters.graphicsTheme.getClass().getName(), now.toLocalDate().toString());
+            if (isUnchanged(directory, key, hash, oldHashes)) {
+                hashes.put(key, hash);
+                skipped++;
+            } else {
+                renderers.put(key, () -> exportUser(directory.resolve(key), user, now, hash));
+            }
+        }
+
+        int rendered = 0;
+        int failed   = 0;
+        for (Map.Entry<String, Exported> entry : chartRenderingService.renderAll(renderers).entrySet()) {
+            Exported exported = entry.getValue();
+            if (exported == null) {
+                failed++;
+            } else {
+                hashes.put(entry.getKey(), exported.hash());
+                if (exported.rendered()) {
+                    rendered++;
+                } else {
+                    skipped++;
+                }
+            }
+        }
+        for (String key : oldHashes.stringPropertyNames()) {
+            if (!hashes.containsKey(key) && !renderers.containsKey(key)) {
+                deleteExport(directory.resolve(key));
+            }
+        }
+        writeIndex(directory, gc, now);
+        storeHashes(directory, hashes);
+        ExportResult result = new ExportResult(rendered, skipped, failed);
+        logger.info("exported {} to {} in {} ms", result, directory, System.currentTimeMillis() - time);
+        return result;
+    }
+
+    /**
+     * Loads, schedules and hashes one sprint and writes its page and charts, unless the hash did not change since the last export.
+     *
+     * @param directory the output directory
+     * @param key       the name of the sprint directory and its key in the hash file
+     * @param sprint    the sprint of the hierarchy, only used for its id and name
+     * @return the hash of the sprint and if it was rendered, null if it could not be exported
+     */
+    private Exported exportSprint(Path directory, String key, Product product, Version version, Feature feature, Sprint sprint, LocalDateTime now, Properties oldHashes) {
+        try {
+            Sprint scheduledSprint = loadSprint(sprint.getId(), now);
+            String hash            = hash(renderedChartCache.fingerprint("export", context, scheduledSprint, 0, now), product.getName(), version.getName(), feature.getName());
+            if (isUnchanged(directory, key, hash, oldHashes)) {
+                return new Exported(hash, false);
+            }
+            writeSprint(directory.resolve(key), product, version, feature, scheduledSprint, now);
+            return new Exported(hash, true);
+        } catch (Exception e) {
+            logger.error("Error exporting sprint " + sprint.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the calendar of one user.
+     *
+     * @return the hash of the rendered user, null if it could not be exported
+     */
+    private Exported exportUser(Path directory, User user, LocalDateTime now, String hash) {
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve(CALENDAR_FILE), render(new CalendarChart(context, now, user, CSS_CLASS, context.parameters.graphicsTheme), now));
+            return new Exported(hash, true);
+        } catch (Exception e) {
+            logger.error("Error exporting calendar of user " + user.getName(), e);
+            return null;
+        }
+    }
+
+    private static String hash(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isUnchanged(Path directory, String key, String hash, Properties oldHashes) {
+        return hash.equals(oldHashes.getProperty(key)) && Files.isDirectory(directory.resolve(key));
+    }
+
+    private static Properties loadHashes(Path directory) throws IOException {
+        Properties hashes = new Properties();
+        Path       file   = directory.resolve(HASH_FILE);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                hashes.load(in);
+            }
+        }
+        return hashes;
+    }
+
+    private GanttContext loadHierarchy() {
+        GanttContext gc = new GanttContext();
+        gc.allUsers    = userApi.getAll();
+        gc.allProducts = productApi.getAll();
+        gc.allVersions = versionApi.getAll();
+        gc.allFeatures = featureApi.getAll();
+        gc.allSprints  = sprintApi.getAll();
+        gc.initialize();
+        return gc;
+    }
+
+    /**
+     * Loads the sprint with its own user, task and worklog instances and schedules it, like the sprint board does.
+     */
+    private Sprint loadSprint(Long sprintId, LocalDateTime now) {
+        Sprint sprint = sprintApi.getById(sprintId);
+        sprint.initialize();
+        sprint.initUserMap(userApi.getAll(sprintId));
+        sprint.initTaskMap(taskApi.getAll(sprintId), worklogApi.getAll(sprintId));
+        if (sprint.getStart() != null) {
+            sprint.recalculate(now);
+        }
+        return sprint;
+    }
+
+    private static byte[] render(AbstractCanvas chart, LocalDateTime now) throws Exception {
+        ByteArrayOutputStream o = new ByteArrayOutputStream(64 * 1024);
+        chart.render(Util.generateCopyrightString(now), o);
+        return o.toByteArray();
+    }
+
+    /**
+     * Exports to projecthub.export.directory, if it is set, as a user that can read all data.
+     */
+    @Override
+    public void run(String... args) throws Exception {
+        if (directory == null || directory.isBlank()) {
+            return;
+        }
+        int             exitCode = 1;
+        SecurityContext security = SecurityContextHolder.createEmptyContext();
+        security.setAuthentication(new UsernamePasswordAuthenticationToken("static-site-exporter", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        SecurityContextHolder.setContext(security);
+        try {
+            exitCode = export(Path.of(directory)).failed() == 0 ? 0 : 1;
+        } catch (Exception e) {
+            logger.error("Error exporting to " + directory, e);
+            if (!exit) {
+                throw e;
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        if (exit) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(applicationContext, () -> code));
+        }
+    }
+
+    private static void startPage(StringBuilder html, String title) {
+        html.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n<title>").append(escape(title)).append("</title>\n");
+        html.append("<style>body{font-family:sans-serif} table{border-collapse:collapse} th,td{text-align:left;padding:2px 8px} img{margin:4px}</style>\n");
+        html.append("</head>\n<body>\n");
+    }
+
+    private static void storeHashes(Path directory, Map<String, String> hashes) throws IOException {
+        Properties properties = new Properties();
+        properties.putAll(hashes);
+        try (OutputStream out = Files.newOutputStream(directory.resolve(HASH_FILE))) {
+            properties.store(out, "content hash of every exported sprint and user, delete to export everything again");
+        }
+    }
+
+    /**
+     * The index page lists all sprints of the hierarchy with a thumbnail of their BurnDown chart and the calendars of all users.
+     */
+    private void writeIndex(Path directory, GanttContext gc, LocalDateTime now) throws IOException {
+        StringBuilder html = new StringBuilder();
+        startPage(html, "Portfolio");
+        html.append("<h1>Portfolio</h1>\n<p>").append(escape(dateUtil.createDateTimeString(now))).append("</p>\n");
+        for (Product product : gc.allProducts) {
+            html.append("<h2>").append(escape(product.getName())).append("</h2>\n");
+            for (Version version : product.getVersions()) {
+                for (Feature feature : version.getFeatures()) {
+                    html.append("<h3>").append(escape(version.getName())).append(" / ").append(escape(feature.getName())).append("</h3>\n");
+                    html.append("<table>\n<tr><th>Sprint</th><th>Status</th><th>Start</th><th>End</th><th>Burn-Down</th></tr>\n");
+                    for (Sprint sprint : feature.getSprints()) {
+                        String key = "sprint-" + sprint.getId();
+                        html.append("<tr><td><a href=\"").append(key).append('/').append(INDEX_FILE).append("\">").append(escape(sprint.getName())).append("</a></td>")
+                                .append("<td>").append(escape(String.valueOf(sprint.getStatus()))).append("</td>")
+                                .append("<td>").append(escape(dateUtil.createDateString(sprint.getStart()))).append("</td>")
+                                .append("<td>").append(escape(dateUtil.createDateString(sprint.getEnd()))).append("</td><td>");
+                        if (Files.exists(directory.resolve(key).resolve(THUMBNAIL_FILE))) {
+                            html.append("<a href=\"").append(key).append('/').append(INDEX_FILE).append("\"><img src=\"").append(key).append('/').append(THUMBNAIL_FILE).append("\"></a>");
+                        }
+                        html.append("</td></tr>\n");
+                    }
+                    html.append("</table>\n");
+                }
+            }
+        }
+        html.append("<h2>Calendars</h2>\n<ul>\n");
+        for (User user : gc.allUsers) {
+            html.append("<li><a href=\"user-").append(user.getId()).append('/').append(CALENDAR_FILE).append("\">").append(escape(user.getName())).append("</a></li>\n");
+        }
+        html.append("</ul>\n");
+        endPage(html);
+        Files.writeString(directory.resolve(INDEX_FILE), html);
+    }
+
+    /**
+     * Writes the page and the charts of one sprint.
+     */
+    private void writeSprint(Path directory, Product product, Version version, Feature feature, Sprint sprint, LocalDateTime now) throws Exception {
+        Files.createDirectories(directory);
+        boolean scheduled = sprint.getStart() != null;
+        if (scheduled) {
+            Files.write(directory.resolve(GANTT_FILE), render(RenderUtil.createGanttChart(context, sprint, now), now));
+            Files.write(directory.resolve(BURNDOWN_FILE), render(RenderUtil.createBurnDownChart(context, sprint, now), now));
+            try (OutputStream out = Files.newOutputStream(directory.resolve(THUMBNAIL_FILE))) {
+                RenderUtil.createBurnDownChart(context, sprint, now).renderPng(out, THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT);
+            }
+        }
+        StringBuilder html = new StringBuilder();
+        startPage(html, sprint.getName());
+        html.append("<p><a href=\"../").append(INDEX_FILE).append("\">Overview</a> / ").append(escape(product.getName())).append(" / ")
+                .append(escape(version.getName())).append(" / ").append(escape(feature.getName())).append("</p>\n");
+        html.append("<h1>").append(escape(sprint.getName())).append("</h1>\n");
+        html.append("<table>\n");
+        appendRow(html, "Status", String.valueOf(sprint.getStatus()));
+        appendRow(html, "Start", dateUtil.createDateString(sprint.getStart()));
+        appendRow(html, "End", dateUtil.createDateString(sprint.getEnd()));
+        appendRow(html, "Extrapolated Release Date", dateUtil.createDateString(sprint.getReleaseDate()));
+        BurnDownWork burnDownWork = sprint.getBurnDownWork();
+        appendRow(html, "First Punch-In Date", DateUtil.createDateString(burnDownWork.getFirstPunchIn(), dateUtil.dtfymd));
+        appendRow(html, "Last Punch-Out Date", DateUtil.createDateString(burnDownWork.getLastPunchOut(), dateUtil.dtfymd));
+        html.append("</table>\n");
+        appendContribution(html, sprint, burnDownWork);
+        if (scheduled) {
+            html.append("<img class=\"").append(CSS_CLASS).append("\" src=\"").append(BURNDOWN_FILE).append("\">\n");
+            html.append("<img class=\"").append(CSS_CLASS).append("\" src=\"").append(GANTT_FILE).append("\">\n");
+        } else {
+            html.append("<p>The sprint is not scheduled.</p>\n");
+        }
+        endPage(html);
+        Files.writeString(directory.resolve(INDEX_FILE), html);
+    }
+
+    /**
+     * @param rendered sprints and users that were rendered
+     * @param skipped  sprints and users that did not change since the last export
+     * @param failed   sprints and users that could not be rendered, they are rendered again by the next export
+     */
+    public record ExportResult(int rendered, int skipped, int failed) {
+    }
+
+    /**
+     * @param hash     the content hash of the sprint or user
+     * @param rendered false if the hash did not change since the last export and nothing was written
+     */
+    private record Exported(String hash, boolean rendered) {
+    }
+}
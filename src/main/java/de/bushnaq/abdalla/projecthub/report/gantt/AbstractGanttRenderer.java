@@ -23,6 +23,7 @@ import de.bushnaq.abdalla.projecthub.dto.Task;
 import de.bushnaq.abdalla.projecthub.dto.TaskMode;
 import de.bushnaq.abdalla.projecthub.dto.User;
 import de.bushnaq.abdalla.projecthub.report.AbstractRenderer;
+import de.bushnaq.abdalla.projecthub.report.calendar.DayClassifications;
 import de.bushnaq.abdalla.projecthub.report.dao.*;
 import de.bushnaq.abdalla.svg.util.ExtendedRectangle;
 import de.bushnaq.abdalla.svg.util.RectangleWithToolTip;
@@ -30,7 +31,6 @@ import de.bushnaq.abdalla.util.ColorUtil;
 import de.bushnaq.abdalla.util.GanttErrorHandler;
 import de.bushnaq.abdalla.util.TaskUtil;
 import de.bushnaq.abdalla.util.date.DateUtil;
-import net.sf.mpxj.ProjectCalendar;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -136,17 +136,17 @@ public abstract class AbstractGanttRenderer extends AbstractRenderer {
         } else {
             graphics2D.setColor(graphicsTheme.ganttTaskBorderColor);
         }
-        ProjectCalendar pc;
-        User            user = task.getAssignedUser();
+        DayClassifications dc;
+        User               user = task.getAssignedUser();
         if (user != null && user.getCalendar() != null) {
-            pc = user.getCalendar();
+            dc = user.getDayClassifications();
         } else {
-            pc = task.getEffectiveCalendar();
+            dc = task.getEffectiveDayClassifications();
         }
         int days = (int) Duration.between(task.getStart().truncatedTo(ChronoUnit.DAYS), task.getFinish().truncatedTo(ChronoUnit.DAYS)).toDays();
         for (int day = 0; day <= days; day++) {
             LocalDateTime currentDay = task.getStart().truncatedTo(ChronoUnit.DAYS).plusDays(day);
-            if (pc.isWorkingDate(currentDay.toLocalDate())) {
+            if (dc.isWorkingDate(currentDay.toLocalDate())) {
                 if (days == 0) {
                     //this is the left and right end
                     graphics2D.fillRect(x1, y - getTaskHeight() / 2 + TASK_BODY_BORDER, x2 - x1 + 1, 1);//upper -
@@ -610,18 +610,18 @@ public abstract class AbstractGanttRenderer extends AbstractRenderer {
                 //sometimes tasks are so small, that we cannot draw them.
 //                drawTick(task.getStart(), x1, y, TextAlignment.left);
 //                drawTick(task.getFinish(), x2, y, TextAlignment.right);
-                ProjectCalendar pc;
-                User            user = task.getAssignedUser();
+                DayClassifications dc;
+                User               user = task.getAssignedUser();
                 if (user != null && user.getCalendar() != null) {
-                    pc = user.getCalendar();
+                    dc = user.getDayClassifications();
                 } else {
-                    pc = task.getEffectiveCalendar();
+                    dc = task.getEffectiveDayClassifications();
                 }
                 int days = (int) Duration.between(task.getStart().truncatedTo(ChronoUnit.DAYS), task.getFinish().truncatedTo(ChronoUnit.DAYS)).toDays();
                 for (int day = 0; day <= days; day++) {
                     LocalDateTime currentDay = task.getStart().truncatedTo(ChronoUnit.DAYS).plusDays(day);
                     Shape         s;
-                    if (pc.isWorkingDate(currentDay.toLocalDate())) {
+                    if (dc.isWorkingDate(currentDay.toLocalDate())) {
                         graphics2D.setColor(fillColor);
                         if (days == 0) {
                             //this is the left and right end
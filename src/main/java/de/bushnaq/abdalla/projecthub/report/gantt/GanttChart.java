@@ -41,6 +41,7 @@ public class GanttChart extends AbstractChart {
 
     @Override
     protected void createReport() throws Exception {
+        getRenderers().getFirst().viewport = getViewport();
         getRenderers().getFirst().draw(graphics2D, 0, captionElement.height);
     }
 
@@ -18,16 +18,18 @@
 package de.bushnaq.abdalla.projecthub.report.gantt;
 
 import de.bushnaq.abdalla.projecthub.Context;
+import de.bushnaq.abdalla.projecthub.dto.Relation;
 import de.bushnaq.abdalla.projecthub.dto.Sprint;
 import de.bushnaq.abdalla.projecthub.dto.Task;
 import de.bushnaq.abdalla.projecthub.dto.User;
+import de.bushnaq.abdalla.projecthub.report.calendar.DayClassifications;
 import de.bushnaq.abdalla.projecthub.report.dao.*;
 import de.bushnaq.abdalla.svg.util.ExtendedGraphics2D;
+import de.bushnaq.abdalla.svg.util.PatternPaint;
 import de.bushnaq.abdalla.util.ErrorException;
 import de.bushnaq.abdalla.util.GanttErrorHandler;
 import de.bushnaq.abdalla.util.TaskUtil;
 import de.bushnaq.abdalla.util.date.DateUtil;
-import net.sf.mpxj.ProjectCalendar;
 import net.sf.mpxj.ProjectCalendarException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,7 +38,9 @@ import java.awt.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * renders a gantt chart using ms project mpp file as base
@@ -123,39 +127,83 @@ public class GanttRenderer extends AbstractGanttRenderer {
         drawGanttChart();
     }
 
+    /**
+     * Draws the grid of all task lanes as one pattern and the off days of the assigned users as one rectangle per run of equal days.
+     * The grid is drawn after the off days, so that the lines between the days of a run stay visible, and before the letters,
+     * as every letter carries its own tool tip.
+     * If only a tile of the chart is drawn, only the lanes and days of the tile are drawn.
+     */
     @Override
-    public void drawDayBars(LocalDate currentDay) {
-        int ganttUniqueId = 0;
-        for (Task task : sprint.getTasks()) {
-            ProjectCalendar pc   = task.getEffectiveCalendar();
-            Integer         lane = taskHeight.get(ganttUniqueId * 10000 + task.getId());
-            int             y    = lane + getTaskHeight() / 2;
-            int             x    = calculateDayX(currentDay);
-            int             y1   = y - getTaskHeight() / 2;
-            int             x1   = x - (calendarXAxes.dayOfWeek.getWidth() / 2 - 1);
-            {
-                //grid
-                graphics2D.setColor(graphicsTheme.ganttGridColor);
-                graphics2D.fillRect(x1 - 1, y1 - 1, calendarXAxes.dayOfWeek.getWidth(), 1);//top --
-                graphics2D.fillRect(x1 - 1, y1, 1, getTaskHeight());//left |
+    public void drawDayBars(LocalDate firstDay, LocalDate lastDay) {
+        List<Task> tasks = sprint.getTasks().stream().filter(GanttUtil::isValidTask).filter(task -> isLaneVisible(taskHeight.get(task.getId()), taskHeight.get(task.getId()))).toList();
+        if (tasks.isEmpty()) {
+            return;
+        }
+        int dayWidth = calendarXAxes.dayOfWeek.getWidth();
+        if (viewport != null) {
+            int x1 = calendarXAxes.calculateDayX1(firstDay) - 1;
+            lastDay  = DateUtil.min(lastDay, firstDay.plusDays(Math.floorDiv(viewport.x + viewport.width - x1, dayWidth)));
+            firstDay = firstDay.plusDays(Math.max(0, Math.floorDiv(viewport.x - x1, dayWidth)));
+            if (lastDay.isBefore(firstDay)) {
+                return;
+            }
+        }
+        int                              days       = DateUtil.calculateDays(firstDay, lastDay) + 1;
+        List<ProjectCalendarException[]> exceptions = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            DayClassifications         dc             = task.getEffectiveDayClassifications();
+            ProjectCalendarException[] taskExceptions = new ProjectCalendarException[days];
+            for (int day = 0; day < days; day++) {
+                taskExceptions[day] = GraphColorUtil.getException(graphicsTheme, dc, firstDay.plusDays(day));
+            }
+            exceptions.add(taskExceptions);
+        }
+        {
+            //background
+            for (int i = 0; i < tasks.size(); i++) {
+                DayClassifications dc       = tasks.get(i).getEffectiveDayClassifications();
+                int                y1       = taskHeight.get(tasks.get(i).getId());
+                int                runStart = -1;
+                Color              runColor = null;
+                for (int day = 0; day <= days; day++) {
+                    Color color = day < days && exceptions.get(i)[day] != null ? GraphColorUtil.getGanttDayStripeColor(graphicsTheme, dc, firstDay.plusDays(day)) : null;
+                    if (runStart != -1 && !Objects.equals(color, runColor)) {
+                        graphics2D.setColor(runColor);
+                        graphics2D.fillRect(calendarXAxes.calculateDayX1(firstDay.plusDays(runStart)), y1, (day - runStart) * dayWidth - 1, getTaskHeight());
+                        runStart = -1;
+                    }
+                    if (color != null && runStart == -1) {
+                        runStart = day;
+                        runColor = color;
+                    }
+                }
             }
-            {
-                //background
-                graphics2D.setColor(GraphColorUtil.getGanttDayStripeColor(graphicsTheme, pc, currentDay));
-                Shape s = new Rectangle(x1, y1, calendarXAxes.dayOfWeek.getWidth() - 1, getTaskHeight());
-
-                ProjectCalendarException exception = GraphColorUtil.getException(graphicsTheme, pc, currentDay);
-                if (exception != null) {
-                    String letter = GraphColorUtil.getOffDayLetter(exception);
+        }
+        {
+            //grid, every tile is the top and left line of one day of one lane
+            int   x1    = calendarXAxes.calculateDayX1(firstDay) - 1;
+            int   y1    = taskHeight.get(tasks.getFirst().getId()) - 1;
+            Paint paint = graphics2D.getPaint();
+            graphics2D.setPaint(new PatternPaint(new Rectangle(x1, y1, dayWidth, getTaskHeight() + 1), List.of(//
+                    new PatternPaint.Cell(0, 0, dayWidth, 1, graphicsTheme.ganttGridColor),//top --
+                    new PatternPaint.Cell(0, 1, 1, getTaskHeight(), graphicsTheme.ganttGridColor))));//left |
+            graphics2D.fillRect(x1, y1, days * dayWidth, tasks.size() * (getTaskHeight() + 1));
+            graphics2D.setPaint(paint);
+        }
+        {
+            //off day letters
+            graphics2D.setColor(Color.white);
+            graphics2D.setFont(NoneWorkingDayFont);
+            FontMetrics fm     = graphics2D.getFontMetrics();
+            int         yShift = fm.getAscent() - fm.getHeight() / 2 - 1;
+            for (int i = 0; i < tasks.size(); i++) {
+                int y = taskHeight.get(tasks.get(i).getId()) + getTaskHeight() / 2;
+                for (int day = 0; day < days; day++) {
+                    ProjectCalendarException exception = exceptions.get(i)[day];
+                    String                   letter    = GraphColorUtil.getOffDayLetter(exception);
                     if (letter != null) {
-                        graphics2D.fill(s);
-                        graphics2D.setColor(Color.white);
-                        graphics2D.setFont(NoneWorkingDayFont);
-                        FontMetrics fm      = graphics2D.getFontMetrics();
-                        int         yShift  = fm.getAscent() - fm.getHeight() / 2 - 1;
-                        int         xShift  = fm.stringWidth(letter) / 2;
-                        String      tooltip = createOffDayToolTip(exception);
-                        graphics2D.drawString(letter, x - xShift, y + yShift, tooltip);
+                        int xShift = fm.stringWidth(letter) / 2;
+                        graphics2D.drawString(letter, calculateDayX(firstDay.plusDays(day)) - xShift, y + yShift, createOffDayToolTip(exception));
                     }
                 }
             }
@@ -170,12 +218,39 @@ public class GanttRenderer extends AbstractGanttRenderer {
 
     protected void drawGanttChart(int yOffset) throws Exception {
         for (Task task : sprint.getTasks()) {
-            if (GanttUtil.isValidTask(task)) {
+            if (GanttUtil.isValidTask(task) && isVisible(task)) {
                 drawTask(0, task, true, true, false, false, null, null, true);
             }
         }
     }
 
+    /**
+     * @param y1 top of the first lane
+     * @param y2 top of the last lane
+     * @return true if the lanes are inside the drawn area, including one lane margin for markers that reach into the next lane
+     */
+    private boolean isLaneVisible(int y1, int y2) {
+        return viewport == null || (y2 + 2 * (getTaskHeight() + 1) > viewport.y && y1 - (getTaskHeight() + 1) < viewport.y + viewport.height);
+    }
+
+    /**
+     * A task is visible if its lane or any relation to one of its predecessors crosses the drawn area.
+     */
+    private boolean isVisible(Task task) {
+        int y1 = taskHeight.get(task.getId());
+        int y2 = y1;
+        if (task.getPredecessors() != null) {
+            for (Relation relation : task.getPredecessors()) {
+                Integer y = relation.isVisible() ? taskHeight.get(relation.getPredecessorId()) : null;
+                if (y != null) {
+                    y1 = Math.min(y1, y);
+                    y2 = Math.max(y2, y);
+                }
+            }
+        }
+        return isLaneVisible(y1, y2);
+    }
+
     private void processInit(String ganttFileName) throws Exception {
         initSize(0, 0, false);
         for (Task task : sprint.getTasks()) {
@@ -20,6 +20,7 @@ package de.bushnaq.abdalla.projecthub.repository;
 import de.bushnaq.abdalla.projecthub.dao.FeatureDAO;
 import org.springframework.data.repository.ListCrudRepository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public interface FeatureRepository extends ListCrudRepository<FeatureDAO, Long> {
@@ -32,4 +33,6 @@ public interface FeatureRepository extends ListCrudRepository<FeatureDAO, Long>
     FeatureDAO findByNameAndVersionId(String name, Long versionId);
 
     List<FeatureDAO> findByVersionId(Long versionId);
+
+    List<FeatureDAO> findByUpdatedAfter(OffsetDateTime since);
 }
\ No newline at end of file
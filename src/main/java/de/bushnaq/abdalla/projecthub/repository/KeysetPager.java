@@ -0,0 +1,207 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.repository;
+
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keyset (seek) pagination over JPA entities.
+ * <p>
+ * A page is addressed by an opaque cursor that holds the sort value and the id of the last row of the previous page.
+ * The database can therefore seek directly to the next row using the index instead of skipping over all previous rows.
+ * The id is always used as tie-breaker, so sorting by a non-unique column is stable.
+ * <p>
+ * Only properties that are listed in the {@link Definition} can be sorted by, all of them must be non-null columns.
+ */
+@Component
+public class KeysetPager {
+    public static final  int           MAX_LIMIT = 500;
+    private static final char          ESCAPE    = '!';
+    private static final String        ID        = "id";
+    @Autowired
+    private              EntityManager entityManager;
+
+    private void appendWhere(StringBuilder jpql, Definition<?> definition, Map<String, Object> scope, String filter) {
+        jpql.append(" WHERE 1=1");
+        for (String property : scope.keySet()) {
+            jpql.append(" AND e.").append(property).append(" = :scope_").append(property);
+        }
+        if (hasFilter(definition, filter)) {
+            jpql.append(" AND LOWER(e.").append(definition.filterProperty).append(") LIKE :filter ESCAPE '").append(ESCAPE).append("'");
+        }
+    }
+
+    /**
+     * Counts the rows matching the scope and filter.
+     *
+     * @param definition the paged entity
+     * @param scope      equality constraints, e.g. featureId, may be empty
+     * @param filter     case-insensitive 'contains' filter on the filter property, may be null
+     * @return number of matching rows
+     */
+    public <T> long count(Definition<T> definition, Map<String, Object> scope, String filter) {
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(e) FROM ").append(entityName(definition)).append(" e");
+        appendWhere(jpql, definition, scope, filter);
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        setWhereParameters(query, definition, scope, filter);
+        return query.getSingleResult();
+    }
+
+    private String createCursor(Object entity, String sort) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(entity);
+        String          cursor  = wrapper.getPropertyValue(ID) + ":" + wrapper.getPropertyValue(sort);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String entityName(Definition<?> definition) {
+        return entityManager.getMetamodel().entity(definition.entityClass).getName();
+    }
+
+    /**
+     * The filter is a plain text, wildcards typed by the user must match literally.
+     */
+    private static String escapeLike(String filter) {
+        StringBuilder escaped = new StringBuilder(filter.length());
+        for (char c : filter.toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static boolean hasFilter(Definition<?> definition, String filter) {
+        return definition.filterProperty != null && filter != null && !filter.isBlank();
+    }
+
+    /**
+     * Fetches one page.
+     *
+     * @param definition the paged entity
+     * @param scope      equality constraints, e.g. featureId, may be empty
+     * @param request    cursor, limit, sort and filter
+     * @return the page and the cursor to the next page
+     */
+    public <T> KeysetPage<T> page(Definition<T> definition, Map<String, Object> scope, KeysetPageRequest request) {
+        String sort = request.getSort() == null ? ID : request.getSort();
+        if (!sort.equals(ID) && !definition.sortProperties.contains(sort)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot sort by '" + sort + "'");
+        }
+        int    limit      = Math.max(1, Math.min(MAX_LIMIT, request.getLimit()));
+        String comparator = request.isAscending() ? ">" : "<";
+        String direction  = request.isAscending() ? "ASC" : "DESC";
+
+        Object[] cursor = request.getAfter() == null ? null : parseCursor(definition, sort, request.getAfter());
+
+        StringBuilder jpql = new StringBuilder("SELECT e FROM ").append(entityName(definition)).append(" e");
+        appendWhere(jpql, definition, scope, request.getFilter());
+        if (cursor != null) {
+            if (sort.equals(ID)) {
+                jpql.append(" AND e.id ").append(comparator).append(" :cursorId");
+            } else {
+                jpql.append(" AND (e.").append(sort).append(" ").append(comparator).append(" :cursorValue")
+                        .append(" OR (e.").append(sort).append(" = :cursorValue AND e.id ").append(comparator).append(" :cursorId))");
+            }
+        }
+        jpql.append(" ORDER BY ");
+        if (!sort.equals(ID)) {
+            jpql.append("e.").append(sort).append(" ").append(direction).append(", ");
+        }
+        jpql.append("e.id ").append(direction);
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), definition.entityClass);
+        setWhereParameters(query, definition, scope, request.getFilter());
+        if (cursor != null) {
+            query.setParameter("cursorId", cursor[0]);
+            if (!sort.equals(ID)) {
+                query.setParameter("cursorValue", cursor[1]);
+            }
+        } else if (request.getOffset() > 0) {
+            query.setFirstResult(request.getOffset());
+        }
+        //fetch one more row to know if there is a next page
+        query.setMaxResults(limit + 1);
+        List<T> items = query.getResultList();
+        if (items.size() <= limit) {
+            return new KeysetPage<>(items, null);
+        }
+        items = items.subList(0, limit);
+        return new KeysetPage<>(items, createCursor(items.getLast(), sort));
+    }
+
+    private Object[] parseCursor(Definition<?> definition, String sort, String after) {
+        try {
+            String decoded   = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            int    separator = decoded.indexOf(':');
+            Long   id        = Long.parseLong(decoded.substring(0, separator));
+            String value     = decoded.substring(separator + 1);
+            if (sort.equals(ID)) {
+                return new Object[]{id, id};
+            }
+            Class<?> type = entityManager.getMetamodel().entity(definition.entityClass).getAttribute(sort).getJavaType();
+            return new Object[]{id, parseValue(type, value)};
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor '" + after + "'", e);
+        }
+    }
+
+    private static Object parseValue(Class<?> type, String value) {
+        if (type == String.class) return value;
+        if (type == Long.class || type == long.class) return Long.parseLong(value);
+        if (type == Integer.class || type == int.class) return Integer.parseInt(value);
+        if (type == OffsetDateTime.class) return OffsetDateTime.parse(value);
+        if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+        if (type == LocalDate.class) return LocalDate.parse(value);
+        throw new IllegalArgumentException("Unsupported cursor type " + type.getName());
+    }
+
+    private static void setWhereParameters(TypedQuery<?> query, Definition<?> definition, Map<String, Object> scope, String filter) {
+        scope.forEach((property, value) -> query.setParameter("scope_" + property, value));
+        if (hasFilter(definition, filter)) {
+            query.setParameter("filter", "%" + escapeLike(filter.toLowerCase().trim()) + "%");
+        }
+    }
+
+    /**
+     * Describes how an entity can be paged.
+     *
+     * @param entityClass    the JPA entity
+     * @param filterProperty the property that the text filter is applied on, may be null
+     * @param sortProperties the non-null properties that can be used for sorting, id is always allowed
+     */
+    public record Definition<T>(Class<T> entityClass, String filterProperty, Set<String> sortProperties) {
+    }
+}
@@ -24,6 +24,7 @@ import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public interface OffDayRepository extends ListCrudRepository<OffDayDAO, Long> {
@@ -50,4 +51,6 @@ public interface OffDayRepository extends ListCrudRepository<OffDayDAO, Long> {
             @Param("lastDay") LocalDate lastDay,
             @Param("offDayId") Long offDayId
     );
+
+    List<OffDayDAO> findByUpdatedAfter(OffsetDateTime since);
 }
\ No newline at end of file
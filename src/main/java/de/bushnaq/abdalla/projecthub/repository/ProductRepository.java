@@ -20,8 +20,13 @@ package de.bushnaq.abdalla.projecthub.repository;
 import de.bushnaq.abdalla.projecthub.dao.ProductDAO;
 import org.springframework.data.repository.ListCrudRepository;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 public interface ProductRepository extends ListCrudRepository<ProductDAO, Long> {
     boolean existsByName(String name);
 
     ProductDAO findByName(String name);
+
+    List<ProductDAO> findByUpdatedAfter(OffsetDateTime since);
 }
\ No newline at end of file
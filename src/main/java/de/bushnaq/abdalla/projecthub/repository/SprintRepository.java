@@ -20,6 +20,7 @@ package de.bushnaq.abdalla.projecthub.repository;
 import de.bushnaq.abdalla.projecthub.dao.SprintDAO;
 import org.springframework.data.repository.ListCrudRepository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public interface SprintRepository extends ListCrudRepository<SprintDAO, Long> {
@@ -32,4 +33,6 @@ public interface SprintRepository extends ListCrudRepository<SprintDAO, Long> {
     SprintDAO findByName(String name);
 
     SprintDAO findByNameAndFeatureId(String name, Long featureId);
+
+    List<SprintDAO> findByUpdatedAfter(OffsetDateTime since);
 }
\ No newline at end of file
@@ -18,10 +18,16 @@
 package de.bushnaq.abdalla.projecthub.repository;
 
 import de.bushnaq.abdalla.projecthub.dao.TaskDAO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends ListCrudRepository<TaskDAO, Long> {
     List<TaskDAO> findAllByOrderByOrderIdAsc();
@@ -30,6 +36,20 @@ public interface TaskRepository extends ListCrudRepository<TaskDAO, Long> {
 
     List<TaskDAO> findBySprintIdOrderByOrderIdAsc(Long sprintId);
 
-    @Query("SELECT COALESCE(MAX(t.orderId), 0) FROM TaskDAO t")
-    Long findMaxOrderId();
+    @Query("SELECT COALESCE(MAX(t.orderId), 0) FROM TaskDAO t WHERE t.sprintId = :sprintId")
+    Long findMaxOrderIdBySprintId(@Param("sprintId") Long sprintId);
+
+    List<TaskDAO> findByUpdatedAfter(OffsetDateTime since);
+
+    /**
+     * Must be consumed and closed inside a transaction, rows are fetched from a database cursor in batches.
+     */
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<TaskDAO> streamAllByOrderByOrderIdAsc();
+
+    /**
+     * Must be consumed and closed inside a transaction, rows are fetched from a database cursor in batches.
+     */
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<TaskDAO> streamBySprintIdOrderByOrderIdAsc(Long sprintId);
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ package de.bushnaq.abdalla.projecthub.repository;
 import de.bushnaq.abdalla.projecthub.dao.VersionDAO;
 import org.springframework.data.repository.ListCrudRepository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public interface VersionRepository extends ListCrudRepository<VersionDAO, Long> {
@@ -32,4 +33,6 @@ public interface VersionRepository extends ListCrudRepository<VersionDAO, Long>
     VersionDAO findByNameAndProductId(String name, Long productId);
 
     List<VersionDAO> findByProductId(Long productId);
+
+    List<VersionDAO> findByUpdatedAfter(OffsetDateTime since);
 }
\ No newline at end of file
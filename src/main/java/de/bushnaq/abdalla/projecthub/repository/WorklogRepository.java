@@ -18,10 +18,29 @@
 package de.bushnaq.abdalla.projecthub.repository;
 
 import de.bushnaq.abdalla.projecthub.dao.WorklogDAO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.ListCrudRepository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface WorklogRepository extends ListCrudRepository<WorklogDAO, Long> {
     List<WorklogDAO> findBySprintId(Long sprintId);
+
+    List<WorklogDAO> findByUpdatedAfter(OffsetDateTime since);
+
+    /**
+     * Must be consumed and closed inside a transaction, rows are fetched from a database cursor in batches.
+     */
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<WorklogDAO> streamAllByOrderByIdAsc();
+
+    /**
+     * Must be consumed and closed inside a transaction, rows are fetched from a database cursor in batches.
+     */
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    Stream<WorklogDAO> streamBySprintIdOrderByIdAsc(Long sprintId);
 }
\ No newline at end of file
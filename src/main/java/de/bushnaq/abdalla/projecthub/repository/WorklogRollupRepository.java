@@ -0,0 +1,34 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.repository;
+
+import de.bushnaq.abdalla.projecthub.dao.WorklogRollupDAO;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.repository.ListCrudRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface WorklogRollupRepository extends ListCrudRepository<WorklogRollupDAO, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<WorklogRollupDAO> findBySprintIdAndAuthorIdAndDay(Long sprintId, Long authorId, LocalDate day);
+
+    List<WorklogRollupDAO> findBySprintIdOrderByDayAscAuthorIdAsc(Long sprintId);
+}
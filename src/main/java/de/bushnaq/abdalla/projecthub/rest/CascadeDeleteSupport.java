@@ -0,0 +1,73 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest;
+
+import de.bushnaq.abdalla.projecthub.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Deletes products, versions, features and sprints together with everything below them.
+ * <p>
+ * The hierarchy is only linked by ids, so jpa does not cascade these deletes.
+ * Every entity is removed through its repository, so that the {@link de.bushnaq.abdalla.projecthub.dao.TombstoneListener} reports it to the change feed.
+ */
+@Component
+public class CascadeDeleteSupport {
+    @Autowired
+    private FeatureRepository       featureRepository;
+    @Autowired
+    private ProductRepository       productRepository;
+    @Autowired
+    private SprintRepository        sprintRepository;
+    @Autowired
+    private TaskRepository          taskRepository;
+    @Autowired
+    private VersionRepository       versionRepository;
+    @Autowired
+    private WorklogRepository       worklogRepository;
+    @Autowired
+    private WorklogRollupRepository worklogRollupRepository;
+
+    @Transactional
+    public void deleteFeature(Long id) {
+        sprintRepository.findByFeatureId(id).forEach(sprint -> deleteSprint(sprint.getId()));
+        featureRepository.deleteById(id);
+    }
+
+    @Transactional
+    public void deleteProduct(Long id) {
+        versionRepository.findByProductId(id).forEach(version -> deleteVersion(version.getId()));
+        productRepository.deleteById(id);
+    }
+
+    @Transactional
+    public void deleteSprint(Long id) {
+        worklogRollupRepository.deleteAll(worklogRollupRepository.findBySprintIdOrderByDayAscAuthorIdAsc(id));
+        worklogRepository.deleteAll(worklogRepository.findBySprintId(id));
+        taskRepository.deleteAll(taskRepository.findBySprintId(id));
+        sprintRepository.deleteById(id);
+    }
+
+    @Transactional
+    public void deleteVersion(Long id) {
+        featureRepository.findByVersionId(id).forEach(feature -> deleteFeature(feature.getId()));
+        versionRepository.deleteById(id);
+    }
+}
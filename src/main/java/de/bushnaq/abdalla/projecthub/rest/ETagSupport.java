@@ -0,0 +1,124 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest;
+
+import de.bushnaq.abdalla.projecthub.dao.AbstractTimeAwareDAO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.OffsetDateTime;
+
+/**
+ * ETag and Last-Modified support for GET requests.
+ * <p>
+ * The tag of a collection is derived from the number of rows and the newest updated timestamp of the table,
+ * so it changes with every insert, update and delete without loading or serializing a single entity.
+ * The tag of a single entity is derived from its id and updated timestamp.
+ * <p>
+ * Entities that are serialized together with their children, like users with their availabilities, locations and off days,
+ * must pass the child tables as dependents, as changing a child does not touch the updated timestamp of the parent.
+ * <p>
+ * If a check method returns true, the response status is already set to 304 and the controller should return null.
+ */
+@Component
+public class ETagSupport {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    /**
+     * Checks a whole table.
+     *
+     * @param request          the current request
+     * @param entityClass      the entity that is returned
+     * @param dependentClasses child entities that are serialized with the entity
+     * @return true if the client has the current version
+     */
+    public boolean checkNotModified(WebRequest request, Class<? extends AbstractTimeAwareDAO> entityClass, Class<?>... dependentClasses) {
+        return checkNotModified(request, entityClass, null, null, dependentClasses);
+    }
+
+    /**
+     * Checks all rows of a table that have the given property value, e.g. all sprints of a feature.
+     *
+     * @param request          the current request
+     * @param entityClass      the entity that is returned
+     * @param property         the property to select the rows
+     * @param value            the value of the property
+     * @param dependentClasses child entities that are serialized with the entity
+     * @return true if the client has the current version
+     */
+    public boolean checkNotModified(WebRequest request, Class<? extends AbstractTimeAwareDAO> entityClass, String property, Object value, Class<?>... dependentClasses) {
+        Stamp stamp = queryStamp(entityClass, property, value);
+        for (Class<?> dependentClass : dependentClasses) {
+            stamp = stamp.combine(queryStamp(dependentClass, null, null));
+        }
+        return request.checkNotModified(stamp.tag, stamp.lastModified);
+    }
+
+    /**
+     * Checks a single entity.
+     *
+     * @param request          the current request
+     * @param entity           the entity that is returned
+     * @param id               the id of the entity
+     * @param dependentClasses child entities that are serialized with the entity
+     * @return true if the client has the current version
+     */
+    public boolean checkNotModified(WebRequest request, AbstractTimeAwareDAO entity, Long id, Class<?>... dependentClasses) {
+        Stamp stamp = new Stamp(id + "-" + toMicros(entity.getUpdated()), toMillis(entity.getUpdated()));
+        for (Class<?> dependentClass : dependentClasses) {
+            stamp = stamp.combine(queryStamp(dependentClass, null, null));
+        }
+        return request.checkNotModified(stamp.tag, stamp.lastModified);
+    }
+
+    private Stamp queryStamp(Class<?> entityClass, String property, Object value) {
+        String jpql = "SELECT COUNT(e), MAX(e.updated) FROM " + entityManager.getMetamodel().entity(entityClass).getName() + " e";
+        if (property != null) {
+            jpql += " WHERE e." + property + " = :value";
+        }
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql, Object[].class);
+        if (property != null) {
+            query.setParameter("value", value);
+        }
+        Object[]       result  = query.getSingleResult();
+        OffsetDateTime updated = (OffsetDateTime) result[1];
+        return new Stamp(result[0] + "-" + toMicros(updated), toMillis(updated));
+    }
+
+    /**
+     * The tag uses the full precision of the timestamp, two updates within the same millisecond must still result in different tags.
+     */
+    private static long toMicros(OffsetDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.toInstant().getEpochSecond() * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private static long toMillis(OffsetDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.toInstant().toEpochMilli();
+    }
+
+    private record Stamp(String tag, long lastModified) {
+        Stamp combine(Stamp other) {
+            return new Stamp(tag + "." + other.tag, Math.max(lastModified, other.lastModified));
+        }
+    }
+}
@@ -23,16 +23,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.awt.*;
@@ -44,6 +47,14 @@ import java.util.List;
 @Configuration
 public class JacksonConfig {
 
+    /**
+     * @param objectMapper the configured JSON object mapper
+     * @return a Smile (binary JSON) object mapper with the same modules, serializers and features
+     */
+    public static ObjectMapper createSmileObjectMapper(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(new SmileFactory());
+    }
+
     @Bean
     @Primary
     // Add this annotation to make this the primary ObjectMapper, otherwise we get conflict with hillaEndpointObjectMapper
@@ -74,6 +85,8 @@ public class JacksonConfig {
         objectMapper.registerModule(colorModule);
 
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Generate accessors with LambdaMetafactory instead of calling getters and setters by reflection
+        objectMapper.registerModule(new BlackbirdModule());
         return objectMapper;
     }
 
@@ -87,6 +100,8 @@ public class JacksonConfig {
                 MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
                 converter.setObjectMapper(objectMapper);
                 converters.add(converter);
+                // Binary JSON for clients that ask for it, e.g. AbstractApi, same configuration as the JSON mapper
+                converters.add(new MappingJackson2SmileHttpMessageConverter(createSmileObjectMapper(objectMapper)));
             }
         };
     }
@@ -0,0 +1,69 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes newline-delimited JSON (one entity per line) directly to the response.
+ * <p>
+ * Every row is serialized and detached from the persistence context as soon as it has been read from the database cursor,
+ * so the memory needed does not grow with the number of rows. The caller must keep the transaction open while writing.
+ */
+@Component
+public class NdjsonSupport {
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ObjectMapper  objectMapper;
+
+    /**
+     * @param rows     the rows, the stream is closed when all rows have been written
+     * @param type     the type of the rows
+     * @param response the response to write to
+     * @throws IOException if the client went away
+     */
+    public <T> void write(Stream<T> rows, Class<T> type, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ObjectWriter writer = objectMapper.writerFor(type);
+        try (rows) {
+            OutputStream out      = response.getOutputStream();
+            Iterator<T>  iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                out.write(writer.writeValueAsBytes(row));
+                out.write('\n');
+                entityManager.detach(row);
+            }
+            out.flush();
+        }
+    }
+}
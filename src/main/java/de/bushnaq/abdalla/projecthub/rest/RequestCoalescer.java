@@ -0,0 +1,132 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest;
+
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Single-flight execution of identical concurrent read requests.
+ * <p>
+ * If a request arrives while an identical one is still being computed, it waits for that computation and shares its result
+ * instead of running the same queries and serialization again. Requests are identical if their keys are equal, the key must
+ * contain everything the response depends on: path, query, the authorization scope of the caller and the negotiated format.
+ * Nothing is cached, as soon as the computation is done, the next request computes again.
+ * <p>
+ * The coalescing ratio is logged every projecthub.api.coalescing.log-interval requests.
+ * <p>
+ * Used by {@link RequestCoalescingFilter} for HTTP requests and by the in-process dispatcher for calls of the UI.
+ */
+@Component
+public class RequestCoalescer {
+    private static final Logger                                 logger      = LoggerFactory.getLogger(RequestCoalescer.class);
+    /**
+     * Number of requests that shared the result of another request.
+     */
+    @Getter
+    private final        AtomicLong                             coalesced   = new AtomicLong();
+    @Value("${projecthub.api.coalescing.enabled:true}")
+    private              boolean                                enabled     = true;
+    private final        Map<String, CompletableFuture<Object>> inFlight    = new ConcurrentHashMap<>();
+    @Value("${projecthub.api.coalescing.log-interval:1000}")
+    private              long                                   logInterval = 1000;
+    /**
+     * Number of requests that were candidates for coalescing.
+     */
+    @Getter
+    private final        AtomicLong                             requests    = new AtomicLong();
+
+    /**
+     * Runs the computation, unless an identical one is already running, in which case its result is returned.
+     *
+     * @param key         identifies the request
+     * @param computation computes the response
+     * @return the result of the computation, the same instance for all coalesced requests, it must not be modified
+     * @throws Exception the exception of the computation
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Callable<T> computation) throws Exception {
+        if (!enabled) {
+            return computation.call();
+        }
+        long count = requests.incrementAndGet();
+        if (logInterval > 0 && count % logInterval == 0) {
+            logger.info("coalesced {} of {} requests ({}%)", coalesced.get(), count, String.format("%.1f", getCoalescingRatio() * 100));
+        }
+        CompletableFuture<Object> future   = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            try {
+                return (T) existing.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception exception) {
+                    throw exception;
+                }
+                throw (Error) e.getCause();
+            }
+        }
+        try {
+            T result = computation.call();
+            future.complete(result);
+            return result;
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * @return share of the requests that did not have to be computed
+     */
+    public double getCoalescingRatio() {
+        long total = requests.get();
+        return total == 0 ? 0 : (double) coalesced.get() / total;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param authentication the caller
+     * @return the part of the key that describes what the caller is allowed to see
+     */
+    public static String scope(Authentication authentication) {
+        if (authentication == null) {
+            return "anonymous";
+        }
+        return authentication.getName() + authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().collect(Collectors.joining(",", "[", "]"));
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesces identical concurrent GET requests to the rest api, see {@link RequestCoalescer}.
+ * <p>
+ * The first request is executed with a buffered response, all identical requests that arrive while it is running
+ * get a copy of its status, headers and body. Streaming endpoints are excluded, as buffering would defeat their purpose.
+ * The filter runs after the security filter chain, so the authorization scope of the caller is known.
+ */
+@Component
+public class RequestCoalescingFilter implements Filter {
+    private static final String           API_PATH = "/api/";
+    @Autowired
+    private              RequestCoalescer coalescer;
+
+    private static String createKey(HttpServletRequest request) {
+        return request.getRequestURI()
+                + "?" + request.getQueryString()
+                + "|" + RequestCoalescer.scope(SecurityContextHolder.getContext().getAuthentication())
+                + "|" + request.getHeader(HttpHeaders.ACCEPT)
+                + "|" + request.getHeader(HttpHeaders.IF_NONE_MATCH)
+                + "|" + request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest httpRequest) || !(response instanceof HttpServletResponse httpResponse) || !isCoalescible(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CapturedResponse captured;
+        try {
+            captured = coalescer.execute(createKey(httpRequest), () -> {
+                ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(httpResponse);
+                chain.doFilter(request, wrapper);
+                return CapturedResponse.of(wrapper);
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+        if (!httpResponse.isCommitted()) {
+            captured.writeTo(httpResponse);
+        }
+    }
+
+    private boolean isCoalescible(HttpServletRequest request) {
+        if (!coalescer.isEnabled() || !"GET".equals(request.getMethod()) || !request.getRequestURI().contains(API_PATH) || request.getRequestURI().endsWith("/stream")) {
+            return false;
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept == null || !accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+
+    /**
+     * Status, headers and body of a response, without the cookies, which belong to the session of the first caller only.
+     */
+    private record CapturedResponse(int status, List<Map.Entry<String, String>> headers, String contentType, byte[] body) {
+        static CapturedResponse of(ContentCachingResponseWrapper wrapper) {
+            List<Map.Entry<String, String>> headers = new ArrayList<>();
+            for (String name : wrapper.getHeaderNames()) {
+                if (!name.equalsIgnoreCase(HttpHeaders.SET_COOKIE) && !name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)) {
+                    for (String value : wrapper.getHeaders(name)) {
+                        headers.add(Map.entry(name, value));
+                    }
+                }
+            }
+            return new CapturedResponse(wrapper.getStatus(), headers, wrapper.getContentType(), wrapper.getContentAsByteArray());
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            for (Map.Entry<String, String> header : headers) {
+                if (!response.containsHeader(header.getKey()) || !response.getHeaders(header.getKey()).contains(header.getValue())) {
+                    response.addHeader(header.getKey(), header.getValue());
+                }
+            }
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
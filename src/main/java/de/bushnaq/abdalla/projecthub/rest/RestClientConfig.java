@@ -17,19 +17,80 @@
 
 package de.bushnaq.abdalla.projecthub.rest;
 
+import de.bushnaq.abdalla.projecthub.rest.api.InProcessDispatcher;
+import de.bushnaq.abdalla.projecthub.rest.api.InProcessRestTemplate;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.time.Duration;
 
 @Configuration
 public class RestClientConfig {
+    @Value("${projecthub.api.http.compression:true}")
+    private boolean  compression;
+    @Value("${projecthub.api.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+    @Value("${projecthub.api.http.keep-alive:60s}")
+    private Duration keepAlive;
+    @Value("${projecthub.api.http.max-connections:50}")
+    private int      maxConnections;
+    @Value("${projecthub.api.http.max-connections-per-route:20}")
+    private int      maxConnectionsPerRoute;
+    @Value("${projecthub.api.http.response-timeout:60s}")
+    private Duration responseTimeout;
+
+    /**
+     * Pooled HTTP client for all api calls that are not dispatched in-process.
+     * Connections are kept alive and reused, so parallel loads and save loops do not open a new connection per call.
+     * If compression is enabled, the client asks for gzip and decompresses transparently.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient apiHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .build();
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive));
+        if (!compression) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Calls of the UI to this server are dispatched in-process, see {@link InProcessDispatcher}.
+     * All other calls use the pooled {@link #apiHttpClient()}.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate template = new RestTemplate();
+    public RestTemplate restTemplate(InProcessDispatcher dispatcher, CloseableHttpClient apiHttpClient) {
+        RestTemplate template = new InProcessRestTemplate(dispatcher);
+        template.setRequestFactory(new HttpComponentsClientHttpRequestFactory(apiHttpClient));
         template.setErrorHandler(new DefaultResponseErrorHandler() {
             @Override
             public boolean hasError(ClientHttpResponse response) throws IOException {
@@ -39,4 +100,4 @@ public class RestClientConfig {
         });
         return template;
     }
-}
\ No newline at end of file
+}
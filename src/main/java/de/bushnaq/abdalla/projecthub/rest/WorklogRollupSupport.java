@@ -0,0 +1,123 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest;
+
+import de.bushnaq.abdalla.projecthub.dao.WorklogDAO;
+import de.bushnaq.abdalla.projecthub.dao.WorklogRollupDAO;
+import de.bushnaq.abdalla.projecthub.repository.WorklogRepository;
+import de.bushnaq.abdalla.projecthub.repository.WorklogRollupRepository;
+import de.bushnaq.abdalla.util.date.DateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Maintains the per sprint, author and day worklog rollups.
+ * <p>
+ * Every change of a worklog is applied as delta to its rollup row within the transaction of the change,
+ * the row is locked while it is updated, so that concurrent worklogs of the same author and day do not lose updates.
+ * A missing row is created up front in its own transaction, so that concurrent first worklogs do not both insert it.
+ * The day of a worklog is its start converted to the server time zone, which is also how the burn down chart assigns worklogs to days.
+ */
+@Component
+public class WorklogRollupSupport {
+    private static final Logger                     logger = LoggerFactory.getLogger(WorklogRollupSupport.class);
+    @Autowired
+    private              PlatformTransactionManager transactionManager;
+    @Autowired
+    private              WorklogRepository          worklogRepository;
+    @Autowired
+    private              WorklogRollupRepository    worklogRollupRepository;
+
+    /**
+     * Adds the worklog to its rollup.
+     *
+     * @param worklog the saved worklog
+     */
+    @Transactional
+    public void add(WorklogDAO worklog) {
+        WorklogRollupDAO rollup = lock(worklog.getSprintId(), worklog.getAuthorId(), dayOf(worklog));
+        rollup.setTimeSpent(rollup.getTimeSpent().plus(worklog.getTimeSpent()));
+        rollup.setWorklogCount(rollup.getWorklogCount() + 1);
+        worklogRollupRepository.save(rollup);
+    }
+
+    private static LocalDate dayOf(WorklogDAO worklog) {
+        return DateUtil.toDayPrecision(worklog.getStart()).toLocalDate();
+    }
+
+    /**
+     * Rollups are only maintained by the worklog controller, worklogs that existed before the rollup table was introduced are rolled up once at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (worklogRollupRepository.count() == 0 && worklogRepository.count() != 0) {
+            long time = System.currentTimeMillis();
+            worklogRepository.findAll().forEach(this::add);
+            logger.info("rolled up {} worklogs in {} ms", worklogRepository.count(), System.currentTimeMillis() - time);
+        }
+    }
+
+    /**
+     * Locks the rollup row of the author and day, the row is created first if it does not exist yet.
+     * <p>
+     * The row is created empty in a transaction of its own, so that it is visible to concurrent transactions right away.
+     * If a concurrent transaction created the row first, the unique constraint rejects our insert and we lock the existing row instead.
+     */
+    private WorklogRollupDAO lock(Long sprintId, Long authorId, LocalDate day) {
+        return worklogRollupRepository.findBySprintIdAndAuthorIdAndDay(sprintId, authorId, day).orElseGet(() -> {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            try {
+                transactionTemplate.executeWithoutResult(status -> worklogRollupRepository.save(new WorklogRollupDAO(sprintId, authorId, day)));
+            } catch (DataIntegrityViolationException e) {
+                logger.debug("rollup of sprint {} author {} day {} was created concurrently", sprintId, authorId, day);
+            }
+            return worklogRollupRepository.findBySprintIdAndAuthorIdAndDay(sprintId, authorId, day).orElseThrow();
+        });
+    }
+
+    /**
+     * Removes the worklog from its rollup, the rollup is deleted together with the last worklog of that author and day.
+     *
+     * @param worklog the worklog as it is stored before the change
+     */
+    @Transactional
+    public void remove(WorklogDAO worklog) {
+        worklogRollupRepository.findBySprintIdAndAuthorIdAndDay(worklog.getSprintId(), worklog.getAuthorId(), dayOf(worklog)).ifPresent(rollup -> {
+            if (rollup.getWorklogCount() <= 1) {
+                worklogRollupRepository.delete(rollup);
+            } else {
+                rollup.setTimeSpent(rollup.getTimeSpent().minus(worklog.getTimeSpent()));
+                rollup.setWorklogCount(rollup.getWorklogCount() - 1);
+                worklogRollupRepository.save(rollup);
+            }
+        });
+    }
+}
@@ -18,8 +18,11 @@
 package de.bushnaq.abdalla.projecthub.rest.api;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
 import de.bushnaq.abdalla.projecthub.rest.ErrorResponse;
+import de.bushnaq.abdalla.projecthub.rest.JacksonConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,8 +30,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -41,10 +49,16 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerErrorException;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.util.Base64;
-import java.util.Collection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -52,7 +66,13 @@ import java.util.stream.Collectors;
  */
 //@Service
 public class AbstractApi {
-    private static final Logger logger = LoggerFactory.getLogger(AbstractApi.class);
+    public static final  MediaType                                              APPLICATION_SMILE          = new MediaType("application", "x-jackson-smile");
+    public static final  String                                                 FORMAT_JSON                = "json";
+    public static final  String                                                 FORMAT_SMILE               = "smile";
+    private static final Duration                                               ACCESS_TOKEN_EXPIRY_MARGIN = Duration.ofSeconds(30);
+    private static final Map<OAuth2AuthenticationToken, OAuth2AuthorizedClient> authorizedClients          = Collections.synchronizedMap(new WeakHashMap<>());//shared by all api instances
+    private static final Logger                                                 logger                     = LoggerFactory.getLogger(AbstractApi.class);
+    private final        ResponseCache                                          responseCache              = new ResponseCache(256);
 
     @Autowired(required = false)
     protected OAuth2AuthorizedClientService authorizedClientService;
@@ -60,10 +80,13 @@ public class AbstractApi {
     private   String                        configuredBaseUrl;
     @Autowired(required = false)
     private   Environment                   environment;
+    @Value("${projecthub.api.format:smile}")
+    private   String                        format = FORMAT_SMILE;
     protected ObjectMapper                  objectMapper;
     @Value("${server.port:8080}")
     private   int                           port;
     protected RestTemplate                  restTemplate;
+    private   ObjectMapper                  smileObjectMapper;
 
     /**
      * used for uni tests to enforce in-memory db.
@@ -110,9 +133,7 @@ public class AbstractApi {
 
             // Check if the authentication is OAuth2/OIDC
             if (authentication instanceof OAuth2AuthenticationToken oauth2Token && authorizedClientService != null) {
-                OAuth2AuthorizedClient client = authorizedClientService.loadAuthorizedClient(
-                        oauth2Token.getAuthorizedClientRegistrationId(),
-                        oauth2Token.getName());
+                OAuth2AuthorizedClient client = getAuthorizedClient(oauth2Token);
 
                 if (client != null && client.getAccessToken() != null) {
                     // Use OAuth2 Bearer Token authentication
@@ -134,9 +155,7 @@ public class AbstractApi {
                         logger.warn("Access token value is empty or null");
                     }
 
-                    // Ensure we're setting Content-Type for JSON properly
-                    headers.set("Content-Type", "application/json");
-                    headers.set("Accept", "application/json");
+                    setContentHeaders(headers);
 
                     return headers;
                 } else {
@@ -156,8 +175,7 @@ public class AbstractApi {
             String authHeader  = "Basic " + new String(encodedAuth);
 
             headers.set("Authorization", authHeader);
-            headers.set("Content-Type", "application/json");
-            headers.set("Accept", "application/json");
+            setContentHeaders(headers);
 
             // For basic auth, we can optionally include roles in a custom header for debugging
             headers.set("X-User-Roles", roles);
@@ -183,6 +201,44 @@ public class AbstractApi {
         return new HttpEntity<>(createAuthHeaders());
     }
 
+    /**
+     * Creates the url of a count request.
+     *
+     * @param path   path relative to the base url, e.g. /product/count
+     * @param filter optional text filter
+     * @return the url
+     */
+    protected URI createCountUri(String path, String filter) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(getBaseUrl() + path);
+        if (filter != null && !filter.isBlank()) {
+            builder.queryParam("filter", filter);
+        }
+        return builder.encode().build().toUri();
+    }
+
+    /**
+     * Creates the url of a keyset page request.
+     *
+     * @param path    path relative to the base url, e.g. /product/page
+     * @param request the page parameters
+     * @return the builder, so that subclasses can add their scope parameters
+     */
+    protected UriComponentsBuilder createPageUri(String path, KeysetPageRequest request) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(getBaseUrl() + path)
+                .queryParam("limit", request.getLimit())
+                .queryParam("sort", request.getSort())
+                .queryParam("ascending", request.isAscending());
+        if (request.getAfter() != null) {
+            builder.queryParam("after", request.getAfter());
+        } else if (request.getOffset() > 0) {
+            builder.queryParam("offset", request.getOffset());
+        }
+        if (request.getFilter() != null && !request.getFilter().isBlank()) {
+            builder.queryParam("filter", request.getFilter());
+        }
+        return builder;
+    }
+
     protected <T> T executeWithErrorHandling(RestOperationWithResult<T> operation) {
         try {
             return operation.execute();
@@ -234,6 +290,76 @@ public class AbstractApi {
         return configuredBaseUrl;
     }
 
+    /**
+     * GET request that honours the ETag of the server.
+     * The last response of every url is cached per user and revalidated with If-None-Match,
+     * if the server answers with 304 Not Modified, the cached body is deserialized instead of transferring it again.
+     * Requests that are dispatched in-process bypass the cache.
+     *
+     * @param responseType the type of the response body
+     * @param url          the url template
+     * @param uriVariables the variables of the url template
+     * @return the response body
+     */
+    protected <T> T getWithETag(Class<T> responseType, String url, Object... uriVariables) {
+        URI                 uri            = restTemplate.getUriTemplateHandler().expand(url, uriVariables);
+        HttpEntity<?>       requestEntity  = createHttpEntity();
+        if (restTemplate instanceof InProcessRestTemplate inProcessRestTemplate && inProcessRestTemplate.canDispatch(uri, HttpMethod.GET, requestEntity)) {
+            //no transfer to save, the controller result is converted directly
+            return executeWithErrorHandling(() -> restTemplate.exchange(uri, HttpMethod.GET, requestEntity, responseType).getBody());
+        }
+        Authentication      authentication = SecurityContextHolder.getContext().getAuthentication();
+        String              key            = (authentication != null ? authentication.getName() : "") + " " + uri;
+        ResponseCache.Entry cached         = responseCache.get(key);
+        HttpHeaders         headers        = createAuthHeaders();
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.eTag());
+        }
+        return executeWithErrorHandling(() -> {
+            ResponseEntity<byte[]> response = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+            byte[]                 body;
+            MediaType              contentType;
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+                body        = cached.body();
+                contentType = cached.contentType();
+            } else {
+                body        = response.getBody();
+                contentType = response.getHeaders().getContentType();
+                String eTag = response.getHeaders().getETag();
+                if (eTag != null && body != null) {
+                    responseCache.put(key, new ResponseCache.Entry(eTag, body, contentType));
+                }
+            }
+            try {
+                ObjectMapper mapper = contentType != null && APPLICATION_SMILE.isCompatibleWith(contentType) ? smileObjectMapper : objectMapper;
+                return body == null ? null : mapper.readValue(body, responseType);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * The authorized client is cached per authentication, which lives as long as the session of the user,
+     * so that the authorized client service is only asked once per session and again when the access token expires.
+     *
+     * @param oauth2Token the authentication of the user
+     * @return the authorized client or null
+     */
+    private OAuth2AuthorizedClient getAuthorizedClient(OAuth2AuthenticationToken oauth2Token) {
+        OAuth2AuthorizedClient client = authorizedClients.get(oauth2Token);
+        if (client == null || client.getAccessToken() == null || client.getAccessToken().getExpiresAt() == null
+                || client.getAccessToken().getExpiresAt().isBefore(Instant.now().plus(ACCESS_TOKEN_EXPIRY_MARGIN))) {
+            client = authorizedClientService.loadAuthorizedClient(oauth2Token.getAuthorizedClientRegistrationId(), oauth2Token.getName());
+            if (client != null) {
+                authorizedClients.put(oauth2Token, client);
+            } else {
+                authorizedClients.remove(oauth2Token);
+            }
+        }
+        return client;
+    }
+
     private void handleExceptions(HttpClientErrorException e) {
         try {
             // Handle authentication/authorization errors specifically for test cases
@@ -262,9 +388,55 @@ public class AbstractApi {
         this.restTemplate.setErrorHandler(new DefaultResponseErrorHandler());
         // Configure message converters for JSON
         restTemplate.getMessageConverters().clear();
+        // Raw bytes for responses that are cached by getWithETag, must come first, as jackson would try to parse byte[] itself
+        restTemplate.getMessageConverters().add(new ByteArrayHttpMessageConverter());
         MappingJackson2HttpMessageConverter messageConverter = new MappingJackson2HttpMessageConverter();
         messageConverter.setObjectMapper(objectMapper);
         restTemplate.getMessageConverters().add(messageConverter);
+        // Binary JSON, chosen by the content type and accept headers of createAuthHeaders
+        smileObjectMapper = JacksonConfig.createSmileObjectMapper(objectMapper);
+        restTemplate.getMessageConverters().add(new MappingJackson2SmileHttpMessageConverter(smileObjectMapper));
+    }
+
+    /**
+     * Request and response bodies are sent as Smile (binary JSON) if enabled,
+     * JSON stays acceptable, so that the client still understands servers that only speak JSON.
+     */
+    private void setContentHeaders(HttpHeaders headers) {
+        if (FORMAT_SMILE.equals(format)) {
+            headers.setContentType(APPLICATION_SMILE);
+            headers.set(HttpHeaders.ACCEPT, APPLICATION_SMILE + ", " + MediaType.APPLICATION_JSON + ";q=0.9");
+        } else {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**
+     * GET request of a newline-delimited JSON list.
+     * Every row is deserialized and handed to the consumer as soon as it has been received,
+     * so the whole list is never held in memory, neither as bytes nor as objects.
+     * The request is always sent over HTTP, as there is nothing to save in-process.
+     *
+     * @param uri      the url of the stream endpoint
+     * @param type     the type of the rows
+     * @param consumer receives the rows in the order of the response
+     * @return number of rows received
+     */
+    protected <T> long stream(URI uri, Class<T> type, Consumer<? super T> consumer) {
+        HttpHeaders headers = createAuthHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        headers.remove(HttpHeaders.CONTENT_TYPE);
+        return executeWithErrorHandling(() -> restTemplate.execute(uri, HttpMethod.GET, request -> request.getHeaders().putAll(headers), response -> {
+            long count = 0;
+            try (MappingIterator<T> iterator = objectMapper.readerFor(type).readValues(response.getBody())) {
+                while (iterator.hasNextValue()) {
+                    consumer.accept(iterator.nextValue());
+                    count++;
+                }
+            }
+            return count;
+        }));
     }
 
     @FunctionalInterface
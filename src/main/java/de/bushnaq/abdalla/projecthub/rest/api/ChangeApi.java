@@ -0,0 +1,66 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bushnaq.abdalla.projecthub.dto.ChangeSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.OffsetDateTime;
+
+@Service
+public class ChangeApi extends AbstractApi {
+
+    public ChangeApi(RestTemplate restTemplate, ObjectMapper objectMapper, String baseUrl) {
+        super(restTemplate, objectMapper, baseUrl);
+    }
+
+    @Autowired
+    public ChangeApi(RestTemplate restTemplate, ObjectMapper objectMapper) {
+        super(restTemplate, objectMapper);
+    }
+
+    public ChangeApi() {
+
+    }
+
+    /**
+     * Get all entities that have been created, updated or deleted after since.
+     *
+     * @param since the until of the previous change set
+     * @return the changes, pass its until to the next call
+     */
+    public ChangeSet getChanges(OffsetDateTime since) {
+        ResponseEntity<ChangeSet> response = executeWithErrorHandling(() -> restTemplate.exchange(
+                UriComponentsBuilder.fromUriString(getBaseUrl() + "/changes")
+                        .queryParam("since", "{since}")
+                        .encode()
+                        .buildAndExpand(since.toString())
+                        .toUri(),
+                HttpMethod.GET,
+                createHttpEntity(),
+                ChangeSet.class
+        ));
+        return response.getBody();
+    }
+}
@@ -55,35 +55,15 @@ public class FeatureApi extends AbstractApi {
     }
 
     public List<Feature> getAll() {
-        ResponseEntity<Feature[]> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/feature",
-                HttpMethod.GET,
-                createHttpEntity(),
-                Feature[].class
-        ));
-        return Arrays.asList(response.getBody());
+        return Arrays.asList(getWithETag(Feature[].class, getBaseUrl() + "/feature"));
     }
 
     public List<Feature> getAll(Long versionId) {
-        ResponseEntity<Feature[]> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/feature/version/{versionId}",
-                HttpMethod.GET,
-                createHttpEntity(),
-                Feature[].class,
-                versionId
-        ));
-        return Arrays.asList(response.getBody());
+        return Arrays.asList(getWithETag(Feature[].class, getBaseUrl() + "/feature/version/{versionId}", versionId));
     }
 
     public Feature getById(Long id) {
-        ResponseEntity<Feature> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/feature/{id}",
-                HttpMethod.GET,
-                createHttpEntity(),
-                Feature.class,
-                id
-        ));
-        return response.getBody();
+        return getWithETag(Feature.class, getBaseUrl() + "/feature/{id}", id);
     }
 
     public Feature persist(Feature feature) {
@@ -0,0 +1,490 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import de.bushnaq.abdalla.projecthub.rest.GlobalExceptionHandler;
+import de.bushnaq.abdalla.projecthub.rest.RequestCoalescer;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.env.Environment;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.http.*;
+import org.springframework.http.server.PathContainer;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.condition.ConsumesRequestCondition;
+import org.springframework.web.servlet.mvc.condition.NameValueExpression;
+import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Dispatches rest calls of the Vaadin UI directly to the controller methods of the same application.
+ * <p>
+ * The UI and the rest controllers run in the same JVM, sending every call through the HTTP loopback costs a socket round trip,
+ * JSON text serialization on the server and parsing on the client. The dispatcher resolves the controller method from the
+ * Spring MVC request mappings, binds path variables, query parameters and the request body, invokes the method and converts
+ * the returned entity directly into the requested dto type using a Jackson token buffer without producing JSON text.
+ * <p>
+ * A mapping only matches if its params, headers, consumes and produces conditions match the request, like they would over HTTP.
+ * Mappings with a custom condition or with parameters that cannot be bound without a servlet request,
+ * for example a {@link jakarta.servlet.http.HttpServletResponse}, are never dispatched in-process and are sent over HTTP.
+ * <p>
+ * Security is enforced by the {@link org.springframework.security.access.prepost.PreAuthorize} annotations of the controllers,
+ * using the authentication of the calling thread. As the security filter chain is not involved, an unauthenticated caller is
+ * rejected here with 401. Exceptions are mapped by the {@link GlobalExceptionHandler} and thrown as
+ * {@link HttpClientErrorException}, so the api classes see exactly the same errors as over HTTP.
+ * <p>
+ * The transport is selected by projecthub.api.transport:
+ * <ul>
+ * <li>auto (default): in-process if the url points to this server on the loopback interface, otherwise HTTP.</li>
+ * <li>in-process: in-process for every url that matches a controller.</li>
+ * <li>http: always HTTP.</li>
+ * </ul>
+ */
+@Component
+public class InProcessDispatcher {
+    public static final  String                         TRANSPORT_AUTO                 = "auto";
+    public static final  String                         TRANSPORT_HTTP                 = "http";
+    public static final  String                         TRANSPORT_IN_PROCESS           = "in-process";
+    private static final Set<String>                    LOOPBACK_HOSTS                 = Set.of("localhost", "127.0.0.1", "[::1]", "::1");
+    @Autowired
+    private              ApplicationContext             applicationContext;
+    private final        ConversionService              conversionService              = new DefaultFormattingConversionService();
+    @Autowired(required = false)
+    private              EntityManagerFactory           entityManagerFactory;
+    @Autowired
+    private              RequestCoalescer               coalescer;
+    @Autowired
+    private              Environment                    environment;
+    private              GlobalExceptionHandler         exceptionHandler;
+    private final        ExceptionHandlerMethodResolver exceptionHandlerMethodResolver = new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
+    @Autowired
+    private              ObjectMapper                   objectMapper;
+    private final        ParameterNameDiscoverer        parameterNameDiscoverer        = new DefaultParameterNameDiscoverer();
+    private volatile     List<Route>                    routes;
+    @Value("${projecthub.api.transport:auto}")
+    private              String                         transport;
+
+    private Object[] bindArguments(Route route, Map<String, String> uriVariables, MultiValueMap<String, String> queryParams, HttpEntity<?> requestEntity, WebRequest webRequest) {
+        MethodParameter[] parameters = route.handlerMethod().getMethodParameters();
+        Object[]          arguments  = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            MethodParameter parameter = parameters[i];
+            parameter.initParameterNameDiscovery(parameterNameDiscoverer);
+            PathVariable pathVariable = parameter.getParameterAnnotation(PathVariable.class);
+            RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+            RequestBody  requestBody  = parameter.getParameterAnnotation(RequestBody.class);
+            if (WebRequest.class.isAssignableFrom(parameter.getParameterType())) {
+                arguments[i] = webRequest;
+            } else if (pathVariable != null) {
+                String name = pathVariable.name().isEmpty() ? parameter.getParameterName() : pathVariable.name();
+                arguments[i] = convert(uriVariables.get(name), parameter);
+            } else if (requestParam != null) {
+                String       name   = requestParam.name().isEmpty() ? parameter.getParameterName() : requestParam.name();
+                List<String> values = queryParams.get(name);
+                if (values == null || values.isEmpty()) {
+                    if (!ValueConstants.DEFAULT_NONE.equals(requestParam.defaultValue())) {
+                        arguments[i] = convert(requestParam.defaultValue(), parameter);
+                    } else if (requestParam.required()) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Required parameter '" + name + "' is not present");
+                    }
+                } else {
+                    arguments[i] = convert(values.size() == 1 ? values.getFirst() : values.toArray(new String[0]), parameter);
+                }
+            } else if (requestBody != null) {
+                Object body = requestEntity == null ? null : requestEntity.getBody();
+                if (body == null && requestBody.required()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Required request body is missing");
+                }
+                arguments[i] = body == null ? null : objectMapper.convertValue(body, objectMapper.constructType(parameter.getGenericParameterType()));
+            } else {
+                throw new IllegalStateException("Cannot bind parameter '" + parameter.getParameterName() + "' of " + route.handlerMethod().getShortLogMessage());
+            }
+        }
+        return arguments;
+    }
+
+    /**
+     * Opens an EntityManager for the duration of the call, like the open-in-view interceptor does for HTTP requests,
+     * so that lazy associations can still be loaded while the result is converted.
+     *
+     * @return true if a new EntityManager was bound to the thread
+     */
+    private boolean bindEntityManager() {
+        if (entityManagerFactory == null || TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            return false;
+        }
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManagerFactory.createEntityManager()));
+        return true;
+    }
+
+    private static int compare(Route route, Route other) {
+        int result = PathPattern.SPECIFICITY_COMPARATOR.compare(route.pattern(), other.pattern());
+        return result != 0 ? result : Integer.compare(countConditions(other.info()), countConditions(route.info()));
+    }
+
+    private Object convert(Object value, MethodParameter parameter) {
+        if (value == null) {
+            return null;
+        }
+        return conversionService.convert(value, TypeDescriptor.forObject(value), new TypeDescriptor(parameter));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T convertBody(Object body, JavaType responseType) throws IOException {
+        Class<?> rawClass = responseType.getRawClass();
+        if (body == null || rawClass == Void.class || rawClass == void.class) {
+            return null;
+        }
+        if (rawClass == byte[].class) {
+            return (T) objectMapper.writeValueAsBytes(body);
+        }
+        if (body instanceof TokenBuffer buffer) {
+            try (JsonParser parser = buffer.asParser(objectMapper)) {
+                return objectMapper.readValue(parser, responseType);
+            }
+        }
+        return objectMapper.convertValue(body, responseType);
+    }
+
+    private static int countConditions(RequestMappingInfo info) {
+        return info.getParamsCondition().getExpressions().size() + info.getHeadersCondition().getExpressions().size()
+                + info.getConsumesCondition().getExpressions().size() + info.getProducesCondition().getExpressions().size();
+    }
+
+    private HttpStatusCodeException createException(HttpStatusCode status, Object body) throws JsonProcessingException {
+        byte[]      bytes   = body == null ? new byte[0] : objectMapper.writeValueAsBytes(body);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String statusText = status instanceof HttpStatus httpStatus ? httpStatus.getReasonPhrase() : "";
+        if (status.is5xxServerError()) {
+            return HttpServerErrorException.create(status, statusText, headers, bytes, StandardCharsets.UTF_8);
+        }
+        return HttpClientErrorException.create(status, statusText, headers, bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<Route> createRoutes() {
+        List<Route>                  list    = new ArrayList<>();
+        RequestMappingHandlerMapping mapping = applicationContext.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+            RequestMappingInfo info          = entry.getKey();
+            HandlerMethod      handlerMethod = entry.getValue();
+            if (info.getPathPatternsCondition() == null || !AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), RestController.class)) {
+                continue;
+            }
+            //routes that cannot be dispatched are kept, so that they still win over less specific patterns
+            boolean       dispatchable = info.getCustomCondition() == null && isBindable(handlerMethod);
+            HandlerMethod resolved     = handlerMethod.createWithResolvedBean();
+            for (PathPattern pattern : info.getPathPatternsCondition().getPatterns()) {
+                list.add(new Route(pattern, info.getMethodsCondition().getMethods(), info, resolved, dispatchable));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Invokes the controller method of the route.
+     * <p>
+     * Identical concurrent GET calls are coalesced by the {@link RequestCoalescer}, the result of the controller is then
+     * buffered once and every caller converts its own copy. Calls within a transaction are never coalesced,
+     * as they might see uncommitted changes of their own transaction.
+     *
+     * @param route         the route returned by {@link #findRoute(URI, HttpMethod, HttpEntity)}
+     * @param uri           the request url
+     * @param requestEntity the request body and headers, may be null
+     * @param responseType  the type the response body is converted to
+     * @return the response
+     * @throws HttpClientErrorException if the controller answered with a 4xx status
+     * @throws HttpServerErrorException if the controller answered with a 5xx status
+     */
+    <T> ResponseEntity<T> dispatch(Route route, URI uri, HttpEntity<?> requestEntity, Type responseType) {
+        JavaType       javaType       = objectMapper.constructType(responseType);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            if (route.methods().contains(RequestMethod.GET) && coalescer.isEnabled() && !TransactionSynchronizationManager.isActualTransactionActive()) {
+                Result result = coalescer.execute(uri + "|" + RequestCoalescer.scope(authentication), () -> invoke(route, uri, requestEntity, authentication, null));
+                T      body   = convertBody(result.body(), javaType);
+                return new ResponseEntity<>(body, result.status());
+            }
+            Result result = invoke(route, uri, requestEntity, authentication, javaType);
+            @SuppressWarnings("unchecked")
+            T body = (T) result.body();
+            return new ResponseEntity<>(body, result.status());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Finds the controller method that would handle the request.
+     * If several patterns match, the most specific one wins, between equal patterns the mapping with more conditions wins.
+     *
+     * @param uri           the request url
+     * @param method        the request method
+     * @param requestEntity the request body and headers, may be null
+     * @return the route or null if the request must be sent over HTTP
+     */
+    Route findRoute(URI uri, HttpMethod method, HttpEntity<?> requestEntity) {
+        if (!isInProcess(uri)) {
+            return null;
+        }
+        PathContainer                 path          = PathContainer.parsePath(getPath(uri));
+        RequestMethod                 requestMethod = RequestMethod.valueOf(method.name());
+        MultiValueMap<String, String> queryParams   = getQueryParams(uri);
+        HttpHeaders                   headers       = requestEntity == null ? new HttpHeaders() : requestEntity.getHeaders();
+        boolean                       hasBody       = requestEntity != null && requestEntity.hasBody();
+        Route                         best          = null;
+        for (Route route : getRoutes()) {
+            if ((route.methods().isEmpty() || route.methods().contains(requestMethod)) && route.pattern().matches(path)
+                    && matchesConditions(route.info(), queryParams, headers, hasBody)
+                    && (best == null || compare(route, best) < 0)) {
+                best = route;
+            }
+        }
+        return best != null && best.dispatchable() ? best : null;
+    }
+
+    private String getPath(URI uri) {
+        String path        = uri.getRawPath();
+        String contextPath = environment.getProperty("server.servlet.context-path", "");
+        return !contextPath.isEmpty() && path.startsWith(contextPath) ? path.substring(contextPath.length()) : path;
+    }
+
+    private static int getPort(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equals(uri.getScheme()) ? 443 : 80;
+    }
+
+    private static MultiValueMap<String, String> getQueryParams(URI uri) {
+        MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<>();
+        UriComponentsBuilder.fromUri(uri).build().getQueryParams().forEach((name, values) -> {
+            for (String value : values) {
+                queryParams.add(UriUtils.decode(name, StandardCharsets.UTF_8), value == null ? "" : UriUtils.decode(value, StandardCharsets.UTF_8));
+            }
+        });
+        return queryParams;
+    }
+
+    private List<Route> getRoutes() {
+        if (routes == null) {
+            routes = createRoutes();
+        }
+        return routes;
+    }
+
+    private int getServerPort() {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        return port != null ? port : environment.getProperty("server.port", Integer.class, 8080);
+    }
+
+    /**
+     * Maps the exception the same way the {@link GlobalExceptionHandler} does for HTTP requests.
+     */
+    private <R> R handleException(Throwable throwable) throws JsonProcessingException, IllegalAccessException {
+        if (!(throwable instanceof Exception exception)) {
+            throw (Error) throwable;
+        }
+        Method method = exceptionHandlerMethodResolver.resolveMethodByThrowable(exception);
+        if (method == null) {
+            throw new IllegalStateException(exception);
+        }
+        if (exceptionHandler == null) {
+            exceptionHandler = applicationContext.getBean(GlobalExceptionHandler.class);
+        }
+        ResponseEntity<?> response;
+        try {
+            response = (ResponseEntity<?>) method.invoke(exceptionHandler, exception);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getTargetException());
+        }
+        throw createException(response.getStatusCode(), response.getBody());
+    }
+
+    /**
+     * Invokes the controller method and converts the result while the EntityManager is still open.
+     *
+     * @param responseType the type the body is converted to, null to serialize it into a token buffer that can be shared with coalesced calls
+     */
+    private Result invoke(Route route, URI uri, HttpEntity<?> requestEntity, Authentication authentication, JavaType responseType) throws IOException, IllegalAccessException {
+        boolean bound = bindEntityManager();
+        try {
+            if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+                return handleException(new AuthenticationCredentialsNotFoundException("An Authentication object was not found in the SecurityContext"));
+            }
+            Map<String, String>           uriVariables = route.pattern().matchAndExtract(PathContainer.parsePath(getPath(uri))).getUriVariables();
+            MultiValueMap<String, String> queryParams  = getQueryParams(uri);
+            HttpHeaders                   headers      = requestEntity == null ? new HttpHeaders() : requestEntity.getHeaders();
+            Object                        result;
+            try {
+                Object[] arguments = bindArguments(route, uriVariables, queryParams, requestEntity, new InProcessWebRequest(queryParams, headers, authentication));
+                result = route.handlerMethod().getBridgedMethod().invoke(route.handlerMethod().getBean(), arguments);
+            } catch (InvocationTargetException e) {
+                return handleException(e.getTargetException());
+            } catch (RuntimeException e) {
+                return handleException(e);
+            }
+            HttpStatusCode status = HttpStatus.OK;
+            if (result instanceof ResponseEntity<?> responseEntity) {
+                status = responseEntity.getStatusCode();
+                result = responseEntity.getBody();
+                if (status.isError()) {
+                    throw createException(status, result);
+                }
+            }
+            if (result instanceof Optional<?> optional) {
+                result = optional.orElse(null);
+            }
+            if (responseType != null) {
+                return new Result(status, convertBody(result, responseType));
+            }
+            if (result == null) {
+                return new Result(status, null);
+            }
+            TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+            objectMapper.writeValue(buffer, result);
+            return new Result(status, buffer);
+        } finally {
+            if (bound) {
+                unbindEntityManager();
+            }
+        }
+    }
+
+    /**
+     * @return true if every parameter of the controller method is bound by {@link #bindArguments}
+     */
+    private static boolean isBindable(HandlerMethod handlerMethod) {
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            if (!WebRequest.class.isAssignableFrom(parameter.getParameterType()) && !parameter.hasParameterAnnotation(PathVariable.class)
+                    && !parameter.hasParameterAnnotation(RequestParam.class) && !parameter.hasParameterAnnotation(RequestBody.class)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param uri the request url
+     * @return true if requests to this url are dispatched in-process, provided a controller matches
+     */
+    public boolean isInProcess(URI uri) {
+        return switch (transport) {
+            case TRANSPORT_HTTP -> false;
+            case TRANSPORT_IN_PROCESS -> true;
+            default -> uri.getHost() != null && LOOPBACK_HOSTS.contains(uri.getHost()) && getPort(uri) == getServerPort();
+        };
+    }
+
+    /**
+     * Evaluates the params, headers, consumes and produces conditions of the mapping the same way Spring MVC does.
+     */
+    private static boolean matchesConditions(RequestMappingInfo info, MultiValueMap<String, String> queryParams, HttpHeaders headers, boolean hasBody) {
+        for (NameValueExpression<String> expression : info.getParamsCondition().getExpressions()) {
+            if (!matchesExpression(expression, queryParams.containsKey(expression.getName()), queryParams.getFirst(expression.getName()))) {
+                return false;
+            }
+        }
+        for (NameValueExpression<String> expression : info.getHeadersCondition().getExpressions()) {
+            if (!matchesExpression(expression, headers.containsKey(expression.getName()), headers.getFirst(expression.getName()))) {
+                return false;
+            }
+        }
+        ConsumesRequestCondition consumes = info.getConsumesCondition();
+        if (!consumes.isEmpty() && (hasBody || consumes.isBodyRequired())) {
+            MediaType contentType = headers.getContentType() != null ? headers.getContentType() : MediaType.APPLICATION_OCTET_STREAM;
+            if (consumes.getExpressions().stream().noneMatch(expression -> expression.getMediaType().includes(contentType) != expression.isNegated())) {
+                return false;
+            }
+        }
+        ProducesRequestCondition produces = info.getProducesCondition();
+        if (!produces.isEmpty()) {
+            List<MediaType> accept = headers.getAccept().isEmpty() ? List.of(MediaType.ALL) : headers.getAccept();
+            return produces.getExpressions().stream().anyMatch(expression -> accept.stream().anyMatch(expression.getMediaType()::isCompatibleWith) != expression.isNegated());
+        }
+        return true;
+    }
+
+    private static boolean matchesExpression(NameValueExpression<String> expression, boolean present, String value) {
+        boolean matches = expression.getValue() == null ? present : present && expression.getValue().equals(value);
+        return matches != expression.isNegated();
+    }
+
+    private void unbindEntityManager() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        EntityManagerFactoryUtils.closeEntityManager(holder.getEntityManager());
+    }
+
+    /**
+     * Status and body returned by a controller method, the body is a token buffer if the call was coalesced.
+     */
+    private record Result(HttpStatusCode status, Object body) {
+    }
+
+    /**
+     * A controller method together with one of its url patterns.
+     *
+     * @param dispatchable false if the request must be sent over HTTP, as the mapping has a custom condition or parameters that cannot be bound in-process
+     */
+    record Route(PathPattern pattern, Set<RequestMethod> methods, RequestMappingInfo info, HandlerMethod handlerMethod, boolean dispatchable) {
+    }
+}
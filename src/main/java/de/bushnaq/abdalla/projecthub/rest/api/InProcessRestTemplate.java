@@ -0,0 +1,96 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.api;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * RestTemplate that hands requests to the local server over to the {@link InProcessDispatcher}
+ * and sends all other requests over HTTP.
+ * <p>
+ * Only the exchange methods are intercepted, as these are the only ones used by the api classes.
+ */
+public class InProcessRestTemplate extends RestTemplate {
+    private final InProcessDispatcher dispatcher;
+
+    public InProcessRestTemplate(InProcessDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * @param url           the request url
+     * @param method        the request method
+     * @param requestEntity the request body and headers, may be null
+     * @return true if the request will be dispatched in-process
+     */
+    public boolean canDispatch(URI url, HttpMethod method, HttpEntity<?> requestEntity) {
+        return dispatcher.findRoute(url, method, requestEntity) != null;
+    }
+
+    /**
+     * @return the response or null if the request must be sent over HTTP
+     */
+    private <T> ResponseEntity<T> dispatch(URI url, HttpMethod method, HttpEntity<?> requestEntity, Type responseType) {
+        InProcessDispatcher.Route route = dispatcher.findRoute(url, method, requestEntity);
+        if (route == null) {
+            return null;
+        }
+        return dispatcher.dispatch(route, url, requestEntity, responseType);
+    }
+
+    @Override
+    public <T> ResponseEntity<T> exchange(String url, HttpMethod method, HttpEntity<?> requestEntity, Class<T> responseType, Object... uriVariables) throws RestClientException {
+        return exchange(getUriTemplateHandler().expand(url, uriVariables), method, requestEntity, responseType);
+    }
+
+    @Override
+    public <T> ResponseEntity<T> exchange(String url, HttpMethod method, HttpEntity<?> requestEntity, Class<T> responseType, Map<String, ?> uriVariables) throws RestClientException {
+        return exchange(getUriTemplateHandler().expand(url, uriVariables), method, requestEntity, responseType);
+    }
+
+    @Override
+    public <T> ResponseEntity<T> exchange(URI url, HttpMethod method, HttpEntity<?> requestEntity, Class<T> responseType) throws RestClientException {
+        ResponseEntity<T> response = dispatch(url, method, requestEntity, responseType);
+        return response != null ? response : super.exchange(url, method, requestEntity, responseType);
+    }
+
+    @Override
+    public <T> ResponseEntity<T> exchange(String url, HttpMethod method, HttpEntity<?> requestEntity, ParameterizedTypeReference<T> responseType, Object... uriVariables) throws RestClientException {
+        return exchange(getUriTemplateHandler().expand(url, uriVariables), method, requestEntity, responseType);
+    }
+
+    @Override
+    public <T> ResponseEntity<T> exchange(String url, HttpMethod method, HttpEntity<?> requestEntity, ParameterizedTypeReference<T> responseType, Map<String, ?> uriVariables) throws RestClientException {
+        return exchange(getUriTemplateHandler().expand(url, uriVariables), method, requestEntity, responseType);
+    }
+
+    @Override
+    public <T> ResponseEntity<T> exchange(URI url, HttpMethod method, HttpEntity<?> requestEntity, ParameterizedTypeReference<T> responseType) throws RestClientException {
+        ResponseEntity<T> response = dispatch(url, method, requestEntity, responseType.getType());
+        return response != null ? response : super.exchange(url, method, requestEntity, responseType);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.api;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.context.request.WebRequest;
+
+import java.security.Principal;
+import java.util.*;
+
+/**
+ * {@link WebRequest} of a call that is dispatched by the {@link InProcessDispatcher}.
+ * <p>
+ * There is no client side cache of deserialized objects, so the ETag checks of the controllers always report modified.
+ */
+class InProcessWebRequest implements WebRequest {
+    private final Map<String, Object>           attributes = new HashMap<>();
+    private final Authentication                authentication;
+    private final HttpHeaders                   headers;
+    private final MultiValueMap<String, String> queryParams;
+
+    InProcessWebRequest(MultiValueMap<String, String> queryParams, HttpHeaders headers, Authentication authentication) {
+        this.queryParams    = queryParams;
+        this.headers        = headers;
+        this.authentication = authentication;
+    }
+
+    @Override
+    public boolean checkNotModified(long lastModifiedTimestamp) {
+        return false;
+    }
+
+    @Override
+    public boolean checkNotModified(String eTag) {
+        return false;
+    }
+
+    @Override
+    public boolean checkNotModified(String eTag, long lastModifiedTimestamp) {
+        return false;
+    }
+
+    @Override
+    public Object getAttribute(String name, int scope) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public String[] getAttributeNames(int scope) {
+        return attributes.keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public String getContextPath() {
+        return "";
+    }
+
+    @Override
+    public String getDescription(boolean includeClientInfo) {
+        return "in-process" + (includeClientInfo ? ";user=" + getRemoteUser() : "");
+    }
+
+    @Override
+    public String getHeader(String headerName) {
+        return headers.getFirst(headerName);
+    }
+
+    @Override
+    public Iterator<String> getHeaderNames() {
+        return headers.keySet().iterator();
+    }
+
+    @Override
+    public String[] getHeaderValues(String headerName) {
+        List<String> values = headers.get(headerName);
+        return values == null ? null : values.toArray(new String[0]);
+    }
+
+    @Override
+    public Locale getLocale() {
+        return Locale.getDefault();
+    }
+
+    @Override
+    public String getParameter(String paramName) {
+        return queryParams.getFirst(paramName);
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        Map<String, String[]> map = new LinkedHashMap<>();
+        queryParams.forEach((name, values) -> map.put(name, values.toArray(new String[0])));
+        return map;
+    }
+
+    @Override
+    public Iterator<String> getParameterNames() {
+        return queryParams.keySet().iterator();
+    }
+
+    @Override
+    public String[] getParameterValues(String paramName) {
+        List<String> values = queryParams.get(paramName);
+        return values == null ? null : values.toArray(new String[0]);
+    }
+
+    @Override
+    public String getRemoteUser() {
+        return authentication.getName();
+    }
+
+    @Override
+    public String getSessionId() {
+        return "";
+    }
+
+    @Override
+    public Object getSessionMutex() {
+        return this;
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return authentication;
+    }
+
+    @Override
+    public boolean isSecure() {
+        return true;
+    }
+
+    @Override
+    public boolean isUserInRole(String role) {
+        String authority = role.startsWith("ROLE_") ? role : "ROLE_" + role;
+        for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
+            if (authority.equals(grantedAuthority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback, int scope) {
+    }
+
+    @Override
+    public void removeAttribute(String name, int scope) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public Object resolveReference(String key) {
+        return null;
+    }
+
+    @Override
+    public void setAttribute(String name, Object value, int scope) {
+        attributes.put(name, value);
+    }
+}
@@ -18,8 +18,11 @@
 package de.bushnaq.abdalla.projecthub.rest.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
 import de.bushnaq.abdalla.projecthub.dto.Product;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -44,6 +47,22 @@ public class ProductApi extends AbstractApi {
 
     }
 
+    /**
+     * Number of products matching the filter.
+     *
+     * @param filter optional text filter, may be null
+     * @return number of products
+     */
+    public long count(String filter) {
+        ResponseEntity<Long> response = executeWithErrorHandling(() -> restTemplate.exchange(
+                createCountUri("/product/count", filter),
+                HttpMethod.GET,
+                createHttpEntity(),
+                Long.class
+        ));
+        return response.getBody();
+    }
+
     public void deleteById(Long id) {
         executeWithErrorHandling(() -> restTemplate.exchange(
                 getBaseUrl() + "/product/{id}",
@@ -55,22 +74,26 @@ public class ProductApi extends AbstractApi {
     }
 
     public List<Product> getAll() {
-        ResponseEntity<Product[]> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/product",
-                HttpMethod.GET,
-                createHttpEntity(),
-                Product[].class
-        ));
-        return Arrays.asList(response.getBody());
+        return Arrays.asList(getWithETag(Product[].class, getBaseUrl() + "/product"));
     }
 
     public Product getById(Long id) {
-        ResponseEntity<Product> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/product/{id}",
+        return getWithETag(Product.class, getBaseUrl() + "/product/{id}", id);
+    }
+
+    /**
+     * Fetch one keyset page of products.
+     *
+     * @param request cursor, limit, sort and filter
+     * @return the page and the cursor to the next page
+     */
+    public KeysetPage<Product> getPage(KeysetPageRequest request) {
+        ResponseEntity<KeysetPage<Product>> response = executeWithErrorHandling(() -> restTemplate.exchange(
+                createPageUri("/product/page", request).encode().build().toUri(),
                 HttpMethod.GET,
                 createHttpEntity(),
-                Product.class,
-                id
+                new ParameterizedTypeReference<KeysetPage<Product>>() {
+                }
         ));
         return response.getBody();
     }
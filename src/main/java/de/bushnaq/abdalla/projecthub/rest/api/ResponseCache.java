@@ -0,0 +1,61 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.api;
+
+import org.springframework.http.MediaType;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small least recently used cache of GET response bodies together with their ETag.
+ * <p>
+ * The raw body is kept instead of the deserialized objects, so that every caller still gets its own instances
+ * and can modify them without affecting other callers.
+ */
+public class ResponseCache {
+    private final Map<String, Entry> entries;
+
+    public ResponseCache(int maxEntries) {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public record Entry(String eTag, byte[] body, MediaType contentType) {
+    }
+}
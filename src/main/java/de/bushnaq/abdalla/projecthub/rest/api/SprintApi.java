@@ -18,12 +18,16 @@
 package de.bushnaq.abdalla.projecthub.rest.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
 import de.bushnaq.abdalla.projecthub.dto.Sprint;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Arrays;
 import java.util.List;
@@ -44,6 +48,24 @@ public class SprintApi extends AbstractApi {
 
     }
 
+    /**
+     * Number of sprints matching the filter.
+     *
+     * @param featureId optional feature scope, may be null
+     * @param filter    optional text filter on the name, may be null
+     * @return number of sprints
+     */
+    public long count(Long featureId, String filter) {
+        String path = featureId == null ? "/sprint/count" : "/sprint/count?featureId=" + featureId;
+        ResponseEntity<Long> response = executeWithErrorHandling(() -> restTemplate.exchange(
+                createCountUri(path, filter),
+                HttpMethod.GET,
+                createHttpEntity(),
+                Long.class
+        ));
+        return response.getBody();
+    }
+
     public void deleteById(long id) {
         executeWithErrorHandling(() -> restTemplate.exchange(
                 getBaseUrl() + "/sprint/{id}",
@@ -55,33 +77,35 @@ public class SprintApi extends AbstractApi {
     }
 
     public List<Sprint> getAll() {
-        ResponseEntity<Sprint[]> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/sprint",
-                HttpMethod.GET,
-                createHttpEntity(),
-                Sprint[].class
-        ));
-        return Arrays.asList(response.getBody());
+        return Arrays.asList(getWithETag(Sprint[].class, getBaseUrl() + "/sprint"));
     }
 
     public List<Sprint> getAll(Long featureId) {
-        ResponseEntity<Sprint[]> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/sprint/feature/{featureId}",
-                HttpMethod.GET,
-                createHttpEntity(),
-                Sprint[].class,
-                featureId
-        ));
-        return Arrays.asList(response.getBody());
+        return Arrays.asList(getWithETag(Sprint[].class, getBaseUrl() + "/sprint/feature/{featureId}", featureId));
     }
 
     public Sprint getById(Long id) {
-        ResponseEntity<Sprint> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/sprint/{id}",
+        return getWithETag(Sprint.class, getBaseUrl() + "/sprint/{id}", id);
+    }
+
+    /**
+     * Fetch one keyset page of sprints.
+     *
+     * @param featureId optional feature scope, may be null
+     * @param request   cursor, limit, sort and filter
+     * @return the page and the cursor to the next page
+     */
+    public KeysetPage<Sprint> getPage(Long featureId, KeysetPageRequest request) {
+        UriComponentsBuilder builder = createPageUri("/sprint/page", request);
+        if (featureId != null) {
+            builder.queryParam("featureId", featureId);
+        }
+        ResponseEntity<KeysetPage<Sprint>> response = executeWithErrorHandling(() -> restTemplate.exchange(
+                builder.encode().build().toUri(),
                 HttpMethod.GET,
                 createHttpEntity(),
-                Sprint.class,
-                id
+                new ParameterizedTypeReference<KeysetPage<Sprint>>() {
+                }
         ));
         return response.getBody();
     }
@@ -24,10 +24,12 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class TaskApi extends AbstractApi {
@@ -106,6 +108,21 @@ public class TaskApi extends AbstractApi {
         return response.getBody();
     }
 
+    /**
+     * Stream all tasks, or all tasks of one sprint, in constant memory.
+     *
+     * @param sprintId optional sprint scope, may be null
+     * @param consumer receives the tasks ordered by orderId
+     * @return number of tasks
+     */
+    public long stream(Long sprintId, Consumer<? super Task> consumer) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(getBaseUrl() + "/task/stream");
+        if (sprintId != null) {
+            builder.queryParam("sprintId", sprintId);
+        }
+        return stream(builder.encode().build().toUri(), Task.class, consumer);
+    }
+
     public void update(Task task) {
         executeWithErrorHandling(() -> restTemplate.exchange(
                 getBaseUrl() + "/task",
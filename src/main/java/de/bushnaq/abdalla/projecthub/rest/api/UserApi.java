@@ -18,8 +18,11 @@
 package de.bushnaq.abdalla.projecthub.rest.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
 import de.bushnaq.abdalla.projecthub.dto.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -44,6 +47,22 @@ public class UserApi extends AbstractApi {
 
     }
 
+    /**
+     * Number of users matching the filter.
+     *
+     * @param filter optional text filter, may be null
+     * @return number of users
+     */
+    public long count(String filter) {
+        ResponseEntity<Long> response = executeWithErrorHandling(() -> restTemplate.exchange(
+                createCountUri("/user/count", filter),
+                HttpMethod.GET,
+                createHttpEntity(),
+                Long.class
+        ));
+        return response.getBody();
+    }
+
     public void deleteById(Long id) {
         executeWithErrorHandling(() -> restTemplate.exchange(
                 getBaseUrl() + "/user/{id}",
@@ -55,13 +74,7 @@ public class UserApi extends AbstractApi {
     }
 
     public List<User> getAll() {
-        ResponseEntity<User[]> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/user",
-                HttpMethod.GET,
-                createHttpEntity(),
-                User[].class
-        ));
-        return Arrays.asList(response.getBody());
+        return Arrays.asList(getWithETag(User[].class, getBaseUrl() + "/user"));
     }
 
     /**
@@ -93,23 +106,33 @@ public class UserApi extends AbstractApi {
     }
 
     public User getById(Long id) {
+        return getWithETag(User.class, getBaseUrl() + "/user/{id}", id);
+    }
+
+    public User getByName(String name) {
         ResponseEntity<User> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/user/{id}",
+                getBaseUrl() + "/user/name/{name}",
                 HttpMethod.GET,
                 createHttpEntity(),
                 User.class,
-                id
+                name
         ));
         return response.getBody();
     }
 
-    public User getByName(String name) {
-        ResponseEntity<User> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/user/name/{name}",
+    /**
+     * Fetch one keyset page of users.
+     *
+     * @param request cursor, limit, sort and filter
+     * @return the page and the cursor to the next page
+     */
+    public KeysetPage<User> getPage(KeysetPageRequest request) {
+        ResponseEntity<KeysetPage<User>> response = executeWithErrorHandling(() -> restTemplate.exchange(
+                createPageUri("/user/page", request).encode().build().toUri(),
                 HttpMethod.GET,
                 createHttpEntity(),
-                User.class,
-                name
+                new ParameterizedTypeReference<KeysetPage<User>>() {
+                }
         ));
         return response.getBody();
     }
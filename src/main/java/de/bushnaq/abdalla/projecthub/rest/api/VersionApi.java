@@ -55,35 +55,15 @@ public class VersionApi extends AbstractApi {
     }
 
     public List<Version> getAll() {
-        ResponseEntity<Version[]> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/version",
-                HttpMethod.GET,
-                createHttpEntity(),
-                Version[].class
-        ));
-        return Arrays.asList(response.getBody());
+        return Arrays.asList(getWithETag(Version[].class, getBaseUrl() + "/version"));
     }
 
     public List<Version> getAll(Long productId) {
-        ResponseEntity<Version[]> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/version/product/{productId}",
-                HttpMethod.GET,
-                createHttpEntity(),
-                Version[].class,
-                productId
-        ));
-        return Arrays.asList(response.getBody());
+        return Arrays.asList(getWithETag(Version[].class, getBaseUrl() + "/version/product/{productId}", productId));
     }
 
     public Version getById(Long id) {
-        ResponseEntity<Version> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/version/{id}",
-                HttpMethod.GET,
-                createHttpEntity(),
-                Version.class,
-                id
-        ));
-        return response.getBody();
+        return getWithETag(Version.class, getBaseUrl() + "/version/{id}", id);
     }
 
     public Version persist(Version version) {
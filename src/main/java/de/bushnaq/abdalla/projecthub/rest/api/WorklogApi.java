@@ -18,15 +18,21 @@
 package de.bushnaq.abdalla.projecthub.rest.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
 import de.bushnaq.abdalla.projecthub.dto.Worklog;
+import de.bushnaq.abdalla.projecthub.dto.WorklogRollup;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class WorklogApi extends AbstractApi {
@@ -44,6 +50,24 @@ public class WorklogApi extends AbstractApi {
 
     }
 
+    /**
+     * Number of worklogs matching the filter.
+     *
+     * @param sprintId optional sprint scope, may be null
+     * @param filter   optional text filter on the comment, may be null
+     * @return number of worklogs
+     */
+    public long count(Long sprintId, String filter) {
+        String path = sprintId == null ? "/worklog/count" : "/worklog/count?sprintId=" + sprintId;
+        ResponseEntity<Long> response = executeWithErrorHandling(() -> restTemplate.exchange(
+                createCountUri(path, filter),
+                HttpMethod.GET,
+                createHttpEntity(),
+                Long.class
+        ));
+        return response.getBody();
+    }
+
     public void deleteById(Long id) {
         executeWithErrorHandling(() -> restTemplate.exchange(
                 getBaseUrl() + "/worklog/{id}",
@@ -55,37 +79,49 @@ public class WorklogApi extends AbstractApi {
     }
 
     public List<Worklog> getAll() {
-        ResponseEntity<Worklog[]> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/worklog",
-                HttpMethod.GET,
-                createHttpEntity(),
-                Worklog[].class
-        ));
-        return Arrays.asList(response.getBody());
+        return Arrays.asList(getWithETag(Worklog[].class, getBaseUrl() + "/worklog"));
     }
 
     public List<Worklog> getAll(Long sprintId) {
-        ResponseEntity<Worklog[]> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/worklog/sprint/{sprintId}",
-                HttpMethod.GET,
-                createHttpEntity(),
-                Worklog[].class,
-                sprintId
-        ));
-        return Arrays.asList(response.getBody());
+        return Arrays.asList(getWithETag(Worklog[].class, getBaseUrl() + "/worklog/sprint/{sprintId}", sprintId));
     }
 
     public Worklog getById(Long id) {
-        ResponseEntity<Worklog> response = executeWithErrorHandling(() -> restTemplate.exchange(
-                getBaseUrl() + "/worklog/{id}",
+        return getWithETag(Worklog.class, getBaseUrl() + "/worklog/{id}", id);
+    }
+
+    /**
+     * Fetch one keyset page of worklogs.
+     *
+     * @param sprintId optional sprint scope, may be null
+     * @param request  cursor, limit, sort and filter
+     * @return the page and the cursor to the next page
+     */
+    public KeysetPage<Worklog> getPage(Long sprintId, KeysetPageRequest request) {
+        UriComponentsBuilder builder = createPageUri("/worklog/page", request);
+        if (sprintId != null) {
+            builder.queryParam("sprintId", sprintId);
+        }
+        ResponseEntity<KeysetPage<Worklog>> response = executeWithErrorHandling(() -> restTemplate.exchange(
+                builder.encode().build().toUri(),
                 HttpMethod.GET,
                 createHttpEntity(),
-                Worklog.class,
-                id
+                new ParameterizedTypeReference<KeysetPage<Worklog>>() {
+                }
         ));
         return response.getBody();
     }
 
+    /**
+     * Time spent per author and day of one sprint.
+     *
+     * @param sprintId the sprint
+     * @return one rollup per author and day, ordered by day and author
+     */
+    public List<WorklogRollup> getRollups(Long sprintId) {
+        return Arrays.asList(getWithETag(WorklogRollup[].class, getBaseUrl() + "/worklog/rollup/sprint/{sprintId}", sprintId));
+    }
+
     public Worklog persist(Worklog worklog) {
         ResponseEntity<Worklog> response = executeWithErrorHandling(() -> restTemplate.exchange(
                 getBaseUrl() + "/worklog",
@@ -96,6 +132,21 @@ public class WorklogApi extends AbstractApi {
         return response.getBody();
     }
 
+    /**
+     * Stream all worklogs, or all worklogs of one sprint, in constant memory.
+     *
+     * @param sprintId optional sprint scope, may be null
+     * @param consumer receives the worklogs ordered by id
+     * @return number of worklogs
+     */
+    public long stream(Long sprintId, Consumer<? super Worklog> consumer) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(getBaseUrl() + "/worklog/stream");
+        if (sprintId != null) {
+            builder.queryParam("sprintId", sprintId);
+        }
+        return stream(builder.encode().build().toUri(), Worklog.class, consumer);
+    }
+
     public void update(Worklog worklog) {
         executeWithErrorHandling(() -> restTemplate.exchange(
                 getBaseUrl() + "/worklog",
@@ -0,0 +1,90 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.controller;
+
+import de.bushnaq.abdalla.projecthub.dao.ChangeSetDAO;
+import de.bushnaq.abdalla.projecthub.dao.OffDayDAO;
+import de.bushnaq.abdalla.projecthub.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+
+/**
+ * Change feed that allows a client to keep a local mirror up to date.
+ * <p>
+ * The client loads everything once, remembers until and afterwards only asks for the changes since then.
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+    /**
+     * Rows are stamped when they are flushed, but become visible when their transaction commits.
+     * until is moved this far into the past, so that a transaction that is still running is not missed by the next request.
+     */
+    private static final Duration            COMMIT_DELAY = Duration.ofSeconds(5);
+    @Autowired
+    private              FeatureRepository   featureRepository;
+    @Autowired
+    private              OffDayRepository    offDayRepository;
+    @Autowired
+    private              ProductRepository   productRepository;
+    @Autowired
+    private              SprintRepository    sprintRepository;
+    @Autowired
+    private              TaskRepository      taskRepository;
+    @Autowired
+    private              TombstoneRepository tombstoneRepository;
+    @Autowired
+    private              VersionRepository   versionRepository;
+    @Autowired
+    private              WorklogRepository   worklogRepository;
+
+    /**
+     * All products, versions, features, sprints, tasks, worklogs and off days that have been created, updated or deleted after since.
+     *
+     * @param since the until of the previous change set
+     * @return the changes
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Transactional(readOnly = true)
+    public ChangeSetDAO getChanges(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since) {
+        ChangeSetDAO changeSet = new ChangeSetDAO();
+        changeSet.setUntil(OffsetDateTime.now().minus(COMMIT_DELAY));
+        changeSet.setProducts(productRepository.findByUpdatedAfter(since));
+        changeSet.setVersions(versionRepository.findByUpdatedAfter(since));
+        changeSet.setFeatures(featureRepository.findByUpdatedAfter(since));
+        changeSet.setSprints(sprintRepository.findByUpdatedAfter(since));
+        changeSet.setTasks(taskRepository.findByUpdatedAfter(since));
+        changeSet.setWorklogs(worklogRepository.findByUpdatedAfter(since));
+        for (OffDayDAO offDay : offDayRepository.findByUpdatedAfter(since)) {
+            changeSet.getOffDays().computeIfAbsent(offDay.getUser().getId(), k -> new ArrayList<>()).add(offDay);
+        }
+        changeSet.setDeleted(tombstoneRepository.findByDeletedAfter(since));
+        return changeSet;
+    }
+}
@@ -20,11 +20,15 @@ package de.bushnaq.abdalla.projecthub.rest.controller;
 import de.bushnaq.abdalla.projecthub.dao.FeatureDAO;
 import de.bushnaq.abdalla.projecthub.repository.FeatureRepository;
 import de.bushnaq.abdalla.projecthub.repository.VersionRepository;
+import de.bushnaq.abdalla.projecthub.rest.CascadeDeleteSupport;
+import de.bushnaq.abdalla.projecthub.rest.ETagSupport;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -34,31 +38,46 @@ import java.util.List;
 public class FeatureController {
 
     @Autowired
-    private FeatureRepository featureRepository;
+    private CascadeDeleteSupport cascadeDeleteSupport;
     @Autowired
-    private VersionRepository versionRepository;
+    private ETagSupport          eTagSupport;
+    @Autowired
+    private FeatureRepository    featureRepository;
+    @Autowired
+    private VersionRepository    versionRepository;
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public void delete(@PathVariable Long id) {
-        featureRepository.deleteById(id);
+        cascadeDeleteSupport.deleteFeature(id);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<FeatureDAO> get(@PathVariable Long id) {
-        return featureRepository.findById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<FeatureDAO> get(@PathVariable Long id, WebRequest request) {
+        return featureRepository.findById(id)
+                .map(feature -> eTagSupport.checkNotModified(request, feature, id)
+                        ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).<FeatureDAO>build()
+                        : ResponseEntity.ok(feature))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/version/{versionId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public List<FeatureDAO> getAll(@PathVariable Long versionId) {
+    public List<FeatureDAO> getAll(@PathVariable Long versionId, WebRequest request) {
+        if (eTagSupport.checkNotModified(request, FeatureDAO.class, "versionId", versionId)) {
+            return null;
+        }
         return featureRepository.findByVersionId(versionId);
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public List<FeatureDAO> getAll() {
+    public List<FeatureDAO> getAll(WebRequest request) {
+        if (eTagSupport.checkNotModified(request, FeatureDAO.class)) {
+            return null;
+        }
         return featureRepository.findAll();
     }
 
@@ -18,43 +18,94 @@
 package de.bushnaq.abdalla.projecthub.rest.controller;
 
 import de.bushnaq.abdalla.projecthub.dao.ProductDAO;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
+import de.bushnaq.abdalla.projecthub.repository.KeysetPager;
 import de.bushnaq.abdalla.projecthub.repository.ProductRepository;
+import de.bushnaq.abdalla.projecthub.rest.CascadeDeleteSupport;
+import de.bushnaq.abdalla.projecthub.rest.ETagSupport;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/product")
 public class ProductController {
 
+    private static final KeysetPager.Definition<ProductDAO> PAGE_DEFINITION = new KeysetPager.Definition<>(ProductDAO.class, "name", Set.of("name", "created", "updated"));
+    @Autowired
+    private CascadeDeleteSupport cascadeDeleteSupport;
+    @Autowired
+    private ETagSupport          eTagSupport;
+    @Autowired
+    private KeysetPager          keysetPager;
+
     @Autowired
     private ProductRepository productRepository;
 
+    /**
+     * Number of products matching the filter.
+     *
+     * @param filter optional case-insensitive filter on the name
+     * @return number of matching products
+     */
+    @GetMapping("/count")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public long count(@RequestParam(required = false) String filter) {
+        return keysetPager.count(PAGE_DEFINITION, Map.of(), filter);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public void delete(@PathVariable Long id) {
-        productRepository.deleteById(id);
+        cascadeDeleteSupport.deleteProduct(id);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public Optional<ProductDAO> get(@PathVariable Long id) {
+    public Optional<ProductDAO> get(@PathVariable Long id, WebRequest request) {
         ProductDAO productEntity = productRepository.findById(id).orElseThrow();
+        if (eTagSupport.checkNotModified(request, productEntity, id)) {
+            return null;
+        }
         return Optional.of(productEntity);
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public List<ProductDAO> getAll() {
+    public List<ProductDAO> getAll(WebRequest request) {
+        if (eTagSupport.checkNotModified(request, ProductDAO.class)) {
+            return null;
+        }
         return productRepository.findAll();
     }
 
-    @PostMapping(consumes = "application/json;charset=UTF-8", produces = "application/json;charset=UTF-8")
+    /**
+     * One page of products using keyset pagination.
+     * Pass the nextCursor of the previous page as 'after' to get the following page, offset is only used if no cursor is given.
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public KeysetPage<ProductDAO> getPage(@RequestParam(required = false) String after,
+                                          @RequestParam(defaultValue = "0") int offset,
+                                          @RequestParam(defaultValue = "50") int limit,
+                                          @RequestParam(defaultValue = "id") String sort,
+                                          @RequestParam(defaultValue = "true") boolean ascending,
+                                          @RequestParam(required = false) String filter) {
+        return keysetPager.page(PAGE_DEFINITION, Map.of(), new KeysetPageRequest(after, offset, limit, sort, ascending, filter));
+    }
+
+    @PostMapping()
     @PreAuthorize("hasRole('ADMIN')")
     public ProductDAO save(@RequestBody ProductDAO product) {
         // Check if a product with the same name already exists
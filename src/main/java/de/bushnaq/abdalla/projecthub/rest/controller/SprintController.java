@@ -18,50 +18,105 @@
 package de.bushnaq.abdalla.projecthub.rest.controller;
 
 import de.bushnaq.abdalla.projecthub.dao.SprintDAO;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
 import de.bushnaq.abdalla.projecthub.repository.FeatureRepository;
+import de.bushnaq.abdalla.projecthub.repository.KeysetPager;
 import de.bushnaq.abdalla.projecthub.repository.SprintRepository;
+import de.bushnaq.abdalla.projecthub.rest.CascadeDeleteSupport;
+import de.bushnaq.abdalla.projecthub.rest.ETagSupport;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/sprint")
 public class SprintController {
 
+    private static final KeysetPager.Definition<SprintDAO> PAGE_DEFINITION = new KeysetPager.Definition<>(SprintDAO.class, "name", Set.of("name", "created", "updated"));
     @Autowired
-    private FeatureRepository featureRepository;
+    private              CascadeDeleteSupport              cascadeDeleteSupport;
     @Autowired
-    private SprintRepository  sprintRepository;
+    private              ETagSupport                       eTagSupport;
+    @Autowired
+    private              FeatureRepository                 featureRepository;
+    @Autowired
+    private              KeysetPager                       keysetPager;
+    @Autowired
+    private              SprintRepository                  sprintRepository;
+
+    /**
+     * Number of sprints matching the filter.
+     *
+     * @param featureId optional feature scope
+     * @param filter    optional case-insensitive filter on the name
+     * @return number of matching sprints
+     */
+    @GetMapping("/count")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public long count(@RequestParam(required = false) Long featureId, @RequestParam(required = false) String filter) {
+        return keysetPager.count(PAGE_DEFINITION, featureId == null ? Map.of() : Map.of("featureId", featureId), filter);
+    }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public void delete(@PathVariable Long id) {
-        sprintRepository.deleteById(id);
+        cascadeDeleteSupport.deleteSprint(id);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public SprintDAO get(@PathVariable Long id) {
+    public SprintDAO get(@PathVariable Long id, WebRequest request) {
         SprintDAO sprintEntity = sprintRepository.findById(id).orElseThrow();
+        if (eTagSupport.checkNotModified(request, sprintEntity, id)) {
+            return null;
+        }
         return sprintEntity;
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public List<SprintDAO> getAll() {
+    public List<SprintDAO> getAll(WebRequest request) {
+        if (eTagSupport.checkNotModified(request, SprintDAO.class)) {
+            return null;
+        }
         return sprintRepository.findAll();
     }
 
     @GetMapping("/feature/{featureId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public List<SprintDAO> getAll(@PathVariable Long featureId) {
+    public List<SprintDAO> getAll(@PathVariable Long featureId, WebRequest request) {
+        if (eTagSupport.checkNotModified(request, SprintDAO.class, "featureId", featureId)) {
+            return null;
+        }
         return sprintRepository.findByFeatureId(featureId);
     }
 
+    /**
+     * One page of sprints using keyset pagination.
+     * Pass the nextCursor of the previous page as 'after' to get the following page, offset is only used if no cursor is given.
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public KeysetPage<SprintDAO> getPage(@RequestParam(required = false) Long featureId,
+                                         @RequestParam(required = false) String after,
+                                         @RequestParam(defaultValue = "0") int offset,
+                                         @RequestParam(defaultValue = "50") int limit,
+                                         @RequestParam(defaultValue = "id") String sort,
+                                         @RequestParam(defaultValue = "true") boolean ascending,
+                                         @RequestParam(required = false) String filter) {
+        return keysetPager.page(PAGE_DEFINITION, featureId == null ? Map.of() : Map.of("featureId", featureId), new KeysetPageRequest(after, offset, limit, sort, ascending, filter));
+    }
+
     @PostMapping()
     @PreAuthorize("hasRole('ADMIN')")
     public SprintDAO save(@RequestBody SprintDAO sprintDAO) {
@@ -19,12 +19,20 @@ package de.bushnaq.abdalla.projecthub.rest.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import de.bushnaq.abdalla.projecthub.dao.TaskDAO;
+import de.bushnaq.abdalla.projecthub.dto.Task;
 import de.bushnaq.abdalla.projecthub.repository.SprintRepository;
 import de.bushnaq.abdalla.projecthub.repository.TaskRepository;
+import de.bushnaq.abdalla.projecthub.rest.NdjsonSupport;
+import de.bushnaq.abdalla.projecthub.rest.SprintDataChangedEvent;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,14 +41,21 @@ import java.util.Optional;
 public class TaskController {
 
     @Autowired
-    private SprintRepository sprintRepository;
+    private ApplicationEventPublisher eventPublisher;
     @Autowired
-    private TaskRepository   taskRepository;
+    private NdjsonSupport             ndjsonSupport;
+    @Autowired
+    private SprintRepository          sprintRepository;
+    @Autowired
+    private TaskRepository            taskRepository;
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public void delete(@PathVariable Long id) {
+        Optional<Long> sprintId = taskRepository.findById(id).map(TaskDAO::getSprintId);
         taskRepository.deleteById(id);
+        sprintId.ifPresent(value -> eventPublisher.publishEvent(new SprintDataChangedEvent(value)));
     }
 
     @GetMapping("/{id}")
@@ -65,17 +80,31 @@ public class TaskController {
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public TaskDAO save(@RequestBody TaskDAO task) {
-        // Assign the next available orderId if not set or set to 0
+        // Append to the end of the sprint if orderId is not set or set to 0, leave a gap so that tasks can be moved in between
         if (task.getOrderId() == null || task.getOrderId() == 0L) {
-            Long maxOrderId = taskRepository.findMaxOrderId();
-            task.setOrderId(maxOrderId + 1);
+            Long maxOrderId = taskRepository.findMaxOrderIdBySprintId(task.getSprintId());
+            task.setOrderId(maxOrderId + Task.ORDER_ID_GAP);
         }
-        return taskRepository.save(task);
+        TaskDAO saved = taskRepository.save(task);
+        eventPublisher.publishEvent(new SprintDataChangedEvent(saved.getSprintId()));
+        return saved;
+    }
+
+    /**
+     * All tasks, or all tasks of one sprint, ordered by orderId as newline-delimited JSON.
+     * The rows are written while they are read from the database, so even huge sprints are transferred in constant memory.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Transactional(readOnly = true)
+    public void stream(@RequestParam(required = false) Long sprintId, HttpServletResponse response) throws IOException {
+        ndjsonSupport.write(sprintId == null ? taskRepository.streamAllByOrderByOrderIdAsc() : taskRepository.streamBySprintIdOrderByOrderIdAsc(sprintId), TaskDAO.class, response);
     }
 
     @PutMapping()
     @PreAuthorize("hasRole('ADMIN')")
     public void update(@RequestBody TaskDAO task) {
         taskRepository.save(task);
+        eventPublisher.publishEvent(new SprintDataChangedEvent(task.getSprintId()));
     }
 }
\ No newline at end of file
@@ -18,22 +18,42 @@
 package de.bushnaq.abdalla.projecthub.rest.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import de.bushnaq.abdalla.projecthub.dao.AvailabilityDAO;
+import de.bushnaq.abdalla.projecthub.dao.LocationDAO;
+import de.bushnaq.abdalla.projecthub.dao.OffDayDAO;
 import de.bushnaq.abdalla.projecthub.dao.UserDAO;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
+import de.bushnaq.abdalla.projecthub.repository.KeysetPager;
 import de.bushnaq.abdalla.projecthub.repository.LocationRepository;
 import de.bushnaq.abdalla.projecthub.repository.UserRepository;
+import de.bushnaq.abdalla.projecthub.rest.ETagSupport;
 import de.bushnaq.abdalla.projecthub.rest.debug.DebugUtil;
+import de.bushnaq.abdalla.projecthub.security.CachingAuthenticationManager;
 import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/user")
 public class UserController {
 
+    private static final KeysetPager.Definition<UserDAO> PAGE_DEFINITION = new KeysetPager.Definition<>(UserDAO.class, "name", Set.of("name", "email", "created", "updated"));
+    @Autowired
+    private CachingAuthenticationManager authenticationManager;
+    @Autowired
+    private ETagSupport eTagSupport;
+    @Autowired
+    private KeysetPager keysetPager;
+
     @Autowired
     DebugUtil debugUtil;
 
@@ -46,17 +66,40 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    /**
+     * Number of users matching the filter.
+     *
+     * @param filter optional case-insensitive filter on the name
+     * @return number of matching users
+     */
+    @GetMapping("/count")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public long count(@RequestParam(required = false) String filter) {
+        return keysetPager.count(PAGE_DEFINITION, Map.of(), filter);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public void delete(@PathVariable Long id) {
+        userRepository.findById(id).ifPresent(this::evictCredentials);
         userRepository.deleteById(id);
     }
 
+    /**
+     * Cached credentials of a changed or deleted user must not be accepted anymore, the user may authenticate by name or email.
+     */
+    private void evictCredentials(UserDAO user) {
+        authenticationManager.evict(user.getName());
+        authenticationManager.evict(user.getEmail());
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<UserDAO> get(@PathVariable Long id) throws JsonProcessingException {
+    public ResponseEntity<UserDAO> get(@PathVariable Long id, WebRequest request) throws JsonProcessingException {
         return userRepository.findById(id)
-                .map(ResponseEntity::ok)
+                .map(user -> eTagSupport.checkNotModified(request, user, id, AvailabilityDAO.class, LocationDAO.class, OffDayDAO.class)
+                        ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).<UserDAO>build()
+                        : ResponseEntity.ok(user))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -68,7 +111,10 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public List<UserDAO> getAll() {
+    public List<UserDAO> getAll(WebRequest request) {
+        if (eTagSupport.checkNotModified(request, UserDAO.class, AvailabilityDAO.class, LocationDAO.class, OffDayDAO.class)) {
+            return null;
+        }
         return userRepository.findAll();
     }
 
@@ -88,9 +134,25 @@ public class UserController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    @PostMapping(consumes = "application/json", produces = "application/json")
+    /**
+     * One page of users using keyset pagination.
+     * Pass the nextCursor of the previous page as 'after' to get the following page, offset is only used if no cursor is given.
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public KeysetPage<UserDAO> getPage(@RequestParam(required = false) String after,
+                                       @RequestParam(defaultValue = "0") int offset,
+                                       @RequestParam(defaultValue = "50") int limit,
+                                       @RequestParam(defaultValue = "id") String sort,
+                                       @RequestParam(defaultValue = "true") boolean ascending,
+                                       @RequestParam(required = false) String filter) {
+        return keysetPager.page(PAGE_DEFINITION, Map.of(), new KeysetPageRequest(after, offset, limit, sort, ascending, filter));
+    }
+
+    @PostMapping()
     @PreAuthorize("hasRole('ADMIN')")
     public UserDAO save(@RequestBody UserDAO user) {
+        evictCredentials(user);
         return userRepository.save(user);
     }
 
@@ -109,6 +171,10 @@ public class UserController {
     @PutMapping()
     @PreAuthorize("hasRole('ADMIN')")
     public void update(@RequestBody UserDAO user) {
+        if (user.getId() != null) {
+            userRepository.findById(user.getId()).ifPresent(this::evictCredentials);
+        }
+        evictCredentials(user);
         userRepository.save(user);
     }
 }
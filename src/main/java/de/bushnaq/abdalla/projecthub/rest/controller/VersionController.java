@@ -20,11 +20,15 @@ package de.bushnaq.abdalla.projecthub.rest.controller;
 import de.bushnaq.abdalla.projecthub.dao.VersionDAO;
 import de.bushnaq.abdalla.projecthub.repository.ProductRepository;
 import de.bushnaq.abdalla.projecthub.repository.VersionRepository;
+import de.bushnaq.abdalla.projecthub.rest.CascadeDeleteSupport;
+import de.bushnaq.abdalla.projecthub.rest.ETagSupport;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -34,32 +38,46 @@ import java.util.List;
 public class VersionController {
 
     @Autowired
-    private ProductRepository productRepository;
+    private CascadeDeleteSupport cascadeDeleteSupport;
     @Autowired
-    private VersionRepository versionRepository;
+    private ETagSupport          eTagSupport;
+    @Autowired
+    private ProductRepository    productRepository;
+    @Autowired
+    private VersionRepository    versionRepository;
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public void delete(@PathVariable Long id) {
-        versionRepository.deleteById(id);
+        cascadeDeleteSupport.deleteVersion(id);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<VersionDAO> get(@PathVariable Long id) {
-        return versionRepository.findById(id).map(ResponseEntity::ok)
+    public ResponseEntity<VersionDAO> get(@PathVariable Long id, WebRequest request) {
+        return versionRepository.findById(id)
+                .map(version -> eTagSupport.checkNotModified(request, version, id)
+                        ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).<VersionDAO>build()
+                        : ResponseEntity.ok(version))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/product/{productId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public List<VersionDAO> getAll(@PathVariable Long productId) {
+    public List<VersionDAO> getAll(@PathVariable Long productId, WebRequest request) {
+        if (eTagSupport.checkNotModified(request, VersionDAO.class, "productId", productId)) {
+            return null;
+        }
         return versionRepository.findByProductId(productId);
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public List<VersionDAO> getAll() {
+    public List<VersionDAO> getAll(WebRequest request) {
+        if (eTagSupport.checkNotModified(request, VersionDAO.class)) {
+            return null;
+        }
         return versionRepository.findAll();
     }
 
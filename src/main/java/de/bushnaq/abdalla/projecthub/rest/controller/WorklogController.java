@@ -19,50 +19,154 @@ package de.bushnaq.abdalla.projecthub.rest.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import de.bushnaq.abdalla.projecthub.dao.WorklogDAO;
+import de.bushnaq.abdalla.projecthub.dao.WorklogRollupDAO;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
+import de.bushnaq.abdalla.projecthub.repository.KeysetPager;
 import de.bushnaq.abdalla.projecthub.repository.WorklogRepository;
+import de.bushnaq.abdalla.projecthub.repository.WorklogRollupRepository;
+import de.bushnaq.abdalla.projecthub.rest.ETagSupport;
+import de.bushnaq.abdalla.projecthub.rest.NdjsonSupport;
+import de.bushnaq.abdalla.projecthub.rest.SprintDataChangedEvent;
+import de.bushnaq.abdalla.projecthub.rest.WorklogRollupSupport;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/worklog")
 public class WorklogController {
 
+    private static final KeysetPager.Definition<WorklogDAO> PAGE_DEFINITION = new KeysetPager.Definition<>(WorklogDAO.class, "comment", Set.of("start", "created", "updated"));
     @Autowired
-    private WorklogRepository worklogRepository;
+    private              ETagSupport                        eTagSupport;
+    @Autowired
+    private              ApplicationEventPublisher          eventPublisher;
+    @Autowired
+    private              KeysetPager                        keysetPager;
+    @Autowired
+    private              NdjsonSupport                      ndjsonSupport;
+    @Autowired
+    private              WorklogRepository                  worklogRepository;
+    @Autowired
+    private              WorklogRollupRepository            worklogRollupRepository;
+    @Autowired
+    private              WorklogRollupSupport               worklogRollupSupport;
+
+    /**
+     * Number of worklogs matching the filter.
+     *
+     * @param sprintId  optional sprint scope
+     * @param filter optional case-insensitive filter on the comment
+     * @return number of matching worklogs
+     */
+    @GetMapping("/count")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public long count(@RequestParam(required = false) Long sprintId, @RequestParam(required = false) String filter) {
+        return keysetPager.count(PAGE_DEFINITION, sprintId == null ? Map.of() : Map.of("sprintId", sprintId), filter);
+    }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public void delete(@PathVariable Long id) {
+        Optional<WorklogDAO> worklog = worklogRepository.findById(id);
+        worklog.ifPresent(worklogRollupSupport::remove);
         worklogRepository.deleteById(id);
+        worklog.ifPresent(value -> eventPublisher.publishEvent(new SprintDataChangedEvent(value.getSprintId())));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public Optional<WorklogDAO> get(@PathVariable Long id) throws JsonProcessingException {
+    public Optional<WorklogDAO> get(@PathVariable Long id, WebRequest request) throws JsonProcessingException {
         Optional<WorklogDAO> task = worklogRepository.findById(id);
+        if (task.isPresent() && eTagSupport.checkNotModified(request, task.get(), id)) {
+            return null;
+        }
         return task;
     }
 
     @GetMapping()
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public List<WorklogDAO> getAll() {
+    public List<WorklogDAO> getAll(WebRequest request) {
+        if (eTagSupport.checkNotModified(request, WorklogDAO.class)) {
+            return null;
+        }
         return worklogRepository.findAll();
     }
 
     @GetMapping("/sprint/{sprintId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public List<WorklogDAO> getBySprintId(@PathVariable Long sprintId) {
+    public List<WorklogDAO> getBySprintId(@PathVariable Long sprintId, WebRequest request) {
+        if (eTagSupport.checkNotModified(request, WorklogDAO.class, "sprintId", sprintId)) {
+            return null;
+        }
         return worklogRepository.findBySprintId(sprintId);
     }
 
+    /**
+     * One page of worklogs using keyset pagination.
+     * Pass the nextCursor of the previous page as 'after' to get the following page, offset is only used if no cursor is given.
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public KeysetPage<WorklogDAO> getPage(@RequestParam(required = false) Long sprintId,
+                                          @RequestParam(required = false) String after,
+                                          @RequestParam(defaultValue = "0") int offset,
+                                          @RequestParam(defaultValue = "50") int limit,
+                                          @RequestParam(defaultValue = "id") String sort,
+                                          @RequestParam(defaultValue = "true") boolean ascending,
+                                          @RequestParam(required = false) String filter) {
+        return keysetPager.page(PAGE_DEFINITION, sprintId == null ? Map.of() : Map.of("sprintId", sprintId), new KeysetPageRequest(after, offset, limit, sort, ascending, filter));
+    }
+
+    /**
+     * Time spent per author and day of one sprint, ordered by day and author.
+     * This is all the burn down chart and the sprint statistics need, without transferring every single worklog.
+     */
+    @GetMapping("/rollup/sprint/{sprintId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public List<WorklogRollupDAO> getRollupsBySprintId(@PathVariable Long sprintId, WebRequest request) {
+        if (eTagSupport.checkNotModified(request, WorklogRollupDAO.class, "sprintId", sprintId)) {
+            return null;
+        }
+        return worklogRollupRepository.findBySprintIdOrderByDayAscAuthorIdAsc(sprintId);
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public WorklogDAO save(@RequestBody WorklogDAO worklog) {
-        return worklogRepository.save(worklog);
+        if (worklog.getId() != null) {
+            //an update, the previous values have to be removed from the rollup first
+            worklogRepository.findById(worklog.getId()).ifPresent(worklogRollupSupport::remove);
+        }
+        WorklogDAO saved = worklogRepository.save(worklog);
+        worklogRollupSupport.add(saved);
+        eventPublisher.publishEvent(new SprintDataChangedEvent(saved.getSprintId()));
+        return saved;
+    }
+
+    /**
+     * All worklogs, or all worklogs of one sprint, as newline-delimited JSON.
+     * The rows are written while they are read from the database, so millions of worklogs are transferred in constant memory.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Transactional(readOnly = true)
+    public void stream(@RequestParam(required = false) Long sprintId, HttpServletResponse response) throws IOException {
+        ndjsonSupport.write(sprintId == null ? worklogRepository.streamAllByOrderByIdAsc() : worklogRepository.streamBySprintIdOrderByIdAsc(sprintId), WorklogDAO.class, response);
     }
 
 }
\ No newline at end of file
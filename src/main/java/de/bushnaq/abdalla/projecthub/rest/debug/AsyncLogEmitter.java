@@ -0,0 +1,69 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.debug;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Formats and writes log messages on a background thread, so that the request thread only pays for capturing the data.
+ * <p>
+ * The queue is bounded, if the logger cannot keep up, messages are dropped instead of slowing down or exhausting the server.
+ */
+@Component
+public class AsyncLogEmitter {
+    private static final int                QUEUE_SIZE = 1024;
+    private static final Logger             logger     = LoggerFactory.getLogger(AsyncLogEmitter.class);
+    private final        AtomicLong         dropped    = new AtomicLong();
+    private final        ThreadPoolExecutor executor;
+
+    public AsyncLogEmitter() {
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+            Thread thread = new Thread(runnable, "http-log");
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, pool) -> dropped.incrementAndGet());
+    }
+
+    /**
+     * @param message formats the message, it is only called on the background thread
+     */
+    public void emit(Logger target, Supplier<String> message) {
+        executor.execute(() -> {
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                logger.warn("dropped {} http log messages", lost);
+            }
+            target.info(message.get());
+        });
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.debug;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Configuration of the http request and response logging of {@link RequestLoggingFilter}.
+ * <p>
+ * Logging is disabled by default and can be enabled with projecthub.http-logging.enabled or {@link DebugUtil#DEBUG}.
+ * Sample rates are given per path pattern, e.g. '/api/worklog/**=0.01,/api/**=1', the first matching pattern wins,
+ * paths that match no pattern use the default sample rate.
+ */
+@Component
+public class HttpLogSettings {
+    private final AntPathMatcher   pathMatcher = new AntPathMatcher();
+    @Value("${projecthub.http-logging.default-sample-rate:1.0}")
+    private       double           defaultSampleRate;
+    @Value("${projecthub.http-logging.enabled:false}")
+    private       boolean          enabled;
+    /**
+     * Only the first bytes of every request and response body are captured.
+     */
+    @Getter
+    @Value("${projecthub.http-logging.max-body-bytes:2048}")
+    private       int              maxBodyBytes;
+    private final List<SampleRate> sampleRates = new ArrayList<>();
+    @Value("${projecthub.http-logging.sample-rates:}")
+    private       String           sampleRatesProperty;
+
+    @PostConstruct
+    void initialize() {
+        for (String entry : sampleRatesProperty.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator > 0) {
+                sampleRates.add(new SampleRate(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim())));
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled || DebugUtil.DEBUG;
+    }
+
+    /**
+     * @param path the path of the request
+     * @return true if this request should be logged
+     */
+    public boolean sample(String path) {
+        double rate = defaultSampleRate;
+        for (SampleRate sampleRate : sampleRates) {
+            if (pathMatcher.match(sampleRate.pattern(), path)) {
+                rate = sampleRate.rate();
+                break;
+            }
+        }
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private record SampleRate(String pattern, double rate) {
+    }
+}
@@ -21,21 +21,33 @@ package de.bushnaq.abdalla.projecthub.rest.debug;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.*;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.stream.Collectors;
 
+/**
+ * Logs sampled http requests and responses.
+ * <p>
+ * If logging is disabled or the request is not sampled, the request is passed on untouched, nothing is wrapped or buffered.
+ * Otherwise, the bodies are not read upfront, the wrappers copy only the first {@link HttpLogSettings#getMaxBodyBytes()} bytes
+ * while the application reads the request and writes the response. Formatting and writing the log message happens
+ * asynchronously in {@link AsyncLogEmitter}.
+ */
 @Component
 public class RequestLoggingFilter implements Filter {
 
-    private static final Logger logger = LoggerFactory.getLogger(RequestLoggingFilter.class);
+    private static final Logger          logger = LoggerFactory.getLogger(RequestLoggingFilter.class);
+    @Autowired
+    private              AsyncLogEmitter emitter;
+    @Autowired
+    private              HttpLogSettings settings;
 
     @Override
     public void destroy() {
@@ -45,16 +57,30 @@ public class RequestLoggingFilter implements Filter {
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
-        if (request instanceof HttpServletRequest httpRequest) {
-            CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(httpRequest);
-            String                       body          = cachedRequest.getRequestBody();
-            String                       requestURL    = httpRequest.getRequestURL().toString();
-            if (DebugUtil.DEBUG) {
-                System.out.format("Received JSON request: %s %s\n", requestURL, body);
-            }
-            chain.doFilter(cachedRequest, response);
-        } else {
+        if (!settings.isEnabled()
+                || !(request instanceof HttpServletRequest httpRequest)
+                || !(response instanceof HttpServletResponse httpResponse)
+                || !settings.sample(httpRequest.getRequestURI())) {
             chain.doFilter(request, response);
+            return;
+        }
+        CapturingRequest  capturingRequest  = new CapturingRequest(httpRequest, settings.getMaxBodyBytes());
+        CapturingResponse capturingResponse = new CapturingResponse(httpResponse, settings.getMaxBodyBytes());
+        long              start             = System.nanoTime();
+        try {
+            chain.doFilter(capturingRequest, capturingResponse);
+        } finally {
+            capturingResponse.flushWriter();
+            long         micros       = (System.nanoTime() - start) / 1000;
+            String       method       = httpRequest.getMethod();
+            String       uri          = httpRequest.getQueryString() == null ? httpRequest.getRequestURI() : httpRequest.getRequestURI() + "?" + httpRequest.getQueryString();
+            int          status       = httpResponse.getStatus();
+            String       requestType  = httpRequest.getContentType();
+            String       responseType = httpResponse.getContentType();
+            CappedBuffer requestBody  = capturingRequest.body;
+            CappedBuffer responseBody = capturingResponse.body;
+            emitter.emit(logger, () -> String.format("%s %s %d %dus request=%s response=%s", method, uri, status, micros,
+                    requestBody.format(requestType), responseBody.format(responseType)));
         }
     }
 
@@ -63,50 +89,176 @@ public class RequestLoggingFilter implements Filter {
         // Initialization code, if needed
     }
 
-    private static class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+    /**
+     * Keeps the first bytes of a body and counts the rest.
+     */
+    private static class CappedBuffer {
+        private final byte[] bytes;
+        private       int    count;
+        private       long   total;
 
-        private final String requestBody;
+        CappedBuffer(int maxBytes) {
+            bytes = new byte[maxBytes];
+        }
+
+        String format(String contentType) {
+            if (total == 0) {
+                return "-";
+            }
+            if (contentType != null && !contentType.contains("json") && !contentType.startsWith("text")) {
+                return "<" + total + " bytes " + contentType + ">";
+            }
+            String text = new String(bytes, 0, count, StandardCharsets.UTF_8);
+            return total > count ? text + "...<" + total + " bytes>" : text;
+        }
+
+        void write(int b) {
+            if (count < bytes.length) {
+                bytes[count++] = (byte) b;
+            }
+            total++;
+        }
 
-        public CachedBodyHttpServletRequest(HttpServletRequest request) throws IOException {
+        void write(byte[] b, int off, int len) {
+            int copy = Math.min(len, bytes.length - count);
+            if (copy > 0) {
+                System.arraycopy(b, off, bytes, count, copy);
+                count += copy;
+            }
+            total += len;
+        }
+    }
+
+    private static class CapturingRequest extends HttpServletRequestWrapper {
+        private final CappedBuffer       body;
+        private       ServletInputStream inputStream;
+        private       BufferedReader     reader;
+
+        CapturingRequest(HttpServletRequest request, int maxBytes) {
             super(request);
-            this.requestBody = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))
-                    .lines()
-                    .collect(Collectors.joining("\n"));
+            body = new CappedBuffer(maxBytes);
         }
 
         @Override
         public ServletInputStream getInputStream() throws IOException {
-            ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(requestBody.getBytes(StandardCharsets.UTF_8));
-            return new ServletInputStream() {
-                @Override
-                public boolean isFinished() {
-                    return byteArrayInputStream.available() == 0;
-                }
-
-                @Override
-                public boolean isReady() {
-                    return true;
-                }
-
-                @Override
-                public int read() throws IOException {
-                    return byteArrayInputStream.read();
-                }
-
-                @Override
-                public void setReadListener(ReadListener readListener) {
-                    // No implementation needed
-                }
-            };
+            if (inputStream == null) {
+                ServletInputStream delegate = super.getInputStream();
+                inputStream = new ServletInputStream() {
+                    @Override
+                    public boolean isFinished() {
+                        return delegate.isFinished();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public int read() throws IOException {
+                        int b = delegate.read();
+                        if (b != -1) {
+                            body.write(b);
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        int read = delegate.read(b, off, len);
+                        if (read > 0) {
+                            body.write(b, off, read);
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public void setReadListener(ReadListener readListener) {
+                        delegate.setReadListener(readListener);
+                    }
+                };
+            }
+            return inputStream;
         }
 
         @Override
         public BufferedReader getReader() throws IOException {
-            return new BufferedReader(new InputStreamReader(this.getInputStream(), StandardCharsets.UTF_8));
+            if (reader == null) {
+                String         encoding = getCharacterEncoding();
+                Charset        charset  = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+            }
+            return reader;
+        }
+    }
+
+    private static class CapturingResponse extends HttpServletResponseWrapper {
+        private final CappedBuffer        body;
+        private       ServletOutputStream outputStream;
+        private       PrintWriter         writer;
+
+        CapturingResponse(HttpServletResponse response, int maxBytes) {
+            super(response);
+            body = new CappedBuffer(maxBytes);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        /**
+         * The container does not know our writer, anything the application left in it must be passed on.
+         */
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
         }
 
-        public String getRequestBody() {
-            return this.requestBody;
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        delegate.setWriteListener(writeListener);
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        body.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        body.write(b, off, len);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())), false);
+            }
+            return writer;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,115 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.security;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers successfully verified username/password credentials for a short time.
+ * <p>
+ * Every REST call of the UI that is sent over HTTP carries basic authentication, verifying the BCrypt hash of the password
+ * is deliberately expensive and would be paid for every single call. Credentials that match a cached entry are accepted
+ * without asking the delegate again, so the cost is paid once per time to live instead of once per request.
+ * <p>
+ * Only a salted SHA-256 hash of the password is kept, the salt is generated at startup and never leaves the process.
+ * A failed authentication leaves the entry untouched, otherwise anybody could force the expensive check for any user by
+ * sending a wrong password. Entries of users that have been changed or deleted are removed with {@link #evict(String)}.
+ */
+public class CachingAuthenticationManager implements AuthenticationManager {
+    private static final int                   MAX_ENTRIES = 1000;
+    private final        AuthenticationManager delegate;
+    private final        Map<String, Entry>    entries     = new ConcurrentHashMap<>();
+    private final        byte[]                salt        = new byte[32];
+    private final        long                  timeToLive;
+
+    public CachingAuthenticationManager(AuthenticationManager delegate, Duration timeToLive) {
+        this.delegate   = delegate;
+        this.timeToLive = timeToLive.toMillis();
+        new SecureRandom().nextBytes(salt);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken) || authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+        String username = authentication.getName();
+        byte[] hash     = hash(username, authentication.getCredentials().toString());
+        long   now      = System.currentTimeMillis();
+        Entry  entry    = entries.get(username);
+        if (entry != null && entry.expires() > now && MessageDigest.isEqual(entry.hash(), hash)) {
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(entry.result().getPrincipal(), null, entry.result().getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.values().removeIf(e -> e.expires() <= now);
+            }
+            if (entries.size() < MAX_ENTRIES) {
+                entries.put(username, new Entry(hash, result, now + timeToLive));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forget all verified credentials, e.g. after passwords or roles have been changed.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Forget the verified credentials of one user, e.g. after the user has been changed or deleted.
+     *
+     * @param username the name the user authenticates with
+     */
+    public void evict(String username) {
+        if (username != null) {
+            entries.remove(username);
+        }
+    }
+
+    private byte[] hash(String username, String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            digest.update(username.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return digest.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(byte[] hash, Authentication result, long expires) {
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.security;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers successfully validated bearer tokens until they expire.
+ * <p>
+ * Every REST call with a bearer token verifies the signature of the JWT, parses its claims and maps the roles to authorities.
+ * A token that matches a cached entry is accepted without asking the delegate again, so the cost is paid once per token
+ * instead of once per request. An entry never outlives the expiry of its token, nor the given time to live.
+ * <p>
+ * The key is the SHA-256 hash of the token, the token itself is not kept as key.
+ */
+public class CachingJwtAuthenticationManager implements AuthenticationManager {
+    private static final int                   MAX_ENTRIES = 1000;
+    private final        AuthenticationManager delegate;
+    private final        Map<String, Entry>    entries     = new ConcurrentHashMap<>();
+    private final        long                  timeToLive;
+
+    public CachingJwtAuthenticationManager(AuthenticationManager delegate, Duration timeToLive) {
+        this.delegate   = delegate;
+        this.timeToLive = timeToLive.toMillis();
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) {
+            return delegate.authenticate(authentication);
+        }
+        String key   = hash(bearer.getToken());
+        long   now   = System.currentTimeMillis();
+        Entry  entry = entries.get(key);
+        if (entry != null) {
+            if (entry.expires() > now) {
+                JwtAuthenticationToken result = new JwtAuthenticationToken(entry.result().getToken(), entry.result().getAuthorities(), entry.result().getName());
+                result.setDetails(authentication.getDetails());
+                return result;
+            }
+            entries.remove(key);
+        }
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            if (result instanceof JwtAuthenticationToken jwtResult && result.isAuthenticated()) {
+                if (entries.size() >= MAX_ENTRIES) {
+                    entries.values().removeIf(e -> e.expires() <= now);
+                }
+                if (entries.size() < MAX_ENTRIES) {
+                    entries.put(key, new Entry(jwtResult, expires(jwtResult.getToken(), now)));
+                }
+            }
+            return result;
+        } catch (AuthenticationException e) {
+            entries.remove(key);
+            throw e;
+        }
+    }
+
+    /**
+     * Forget all validated tokens, e.g. after a signing key has been revoked.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private long expires(Jwt jwt, long now) {
+        long expires = now + timeToLive;
+        if (jwt.getExpiresAt() != null) {
+            expires = Math.min(expires, jwt.getExpiresAt().toEpochMilli());
+        }
+        return expires;
+    }
+
+    private static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(JwtAuthenticationToken result, long expires) {
+    }
+}
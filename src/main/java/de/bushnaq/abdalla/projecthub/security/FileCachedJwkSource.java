@@ -0,0 +1,176 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Source of the public keys that the signatures of bearer tokens are verified with.
+ * <p>
+ * The key set of the identity provider is kept in memory for at most the maximum age, after that it is fetched again,
+ * so keys that the identity provider has removed are not accepted anymore. It is also fetched again if a token refers
+ * to a key that is not known, e.g. after the keys have been rotated. Fetches are attempted at most once per refresh interval.
+ * <p>
+ * Every fetched key set is written to a file. The file is only read if the identity provider cannot be reached,
+ * e.g. after a restart while it is down, so tokens can still be verified with the last known keys.
+ * <p>
+ * If no jwk set url is configured, it is discovered from the openid configuration of the issuer when it is needed the first time.
+ */
+public class FileCachedJwkSource implements JWKSource<SecurityContext> {
+    private static final int      CONNECT_TIMEOUT = 5000;
+    private static final int      READ_TIMEOUT    = 5000;
+    private static final int      SIZE_LIMIT      = 512 * 1024;
+    private final        Path     cacheFile;
+    private final        String   issuer;
+    private volatile     JWKSet   jwkSet;
+    private volatile     String   jwkSetUri;
+    private volatile     long     lastAttempt;
+    private volatile     long     lastFetch;
+    private final        Logger   logger          = LoggerFactory.getLogger(FileCachedJwkSource.class);
+    private final        long     maxAge;
+    private final        long     refreshInterval;
+
+    /**
+     * @param issuer          the issuer, used to discover the jwk set url, may be null if the url is given
+     * @param jwkSetUri       the url of the jwk set, may be null to discover it
+     * @param cacheFile       the file the key set is persisted in
+     * @param refreshInterval minimum time between two attempts to fetch the key set
+     * @param maxAge          time after which a fetched key set is fetched again
+     */
+    public FileCachedJwkSource(String issuer, String jwkSetUri, Path cacheFile, Duration refreshInterval, Duration maxAge) {
+        this.issuer          = issuer == null || issuer.isBlank() ? null : issuer;
+        this.jwkSetUri       = jwkSetUri == null || jwkSetUri.isBlank() ? null : jwkSetUri;
+        this.cacheFile       = cacheFile;
+        this.refreshInterval = refreshInterval.toMillis();
+        this.maxAge          = maxAge.toMillis();
+    }
+
+    private String discoverJwkSetUri() throws IOException {
+        URL url = URI.create(issuer.replaceAll("/$", "") + "/.well-known/openid-configuration").toURL();
+        try (InputStream in = url.openStream()) {
+            JsonNode jwksUri = new ObjectMapper().readTree(in).get("jwks_uri");
+            if (jwksUri == null) {
+                throw new IOException("openid configuration of " + issuer + " does not contain a jwks_uri");
+            }
+            return jwksUri.asText();
+        }
+    }
+
+    /**
+     * Fetches the key set from the identity provider, if it cannot be reached, the known keys or the keys of the file are used.
+     *
+     * @param known the key set the caller has seen
+     * @return the current key set, never null
+     */
+    private synchronized JWKSet fetch(JWKSet known) throws KeySourceException {
+        if (jwkSet != known) {
+            return jwkSet;//another thread has fetched in the meantime
+        }
+        long now = System.currentTimeMillis();
+        if (known != null && now - lastAttempt < refreshInterval) {
+            return known;
+        }
+        lastAttempt = now;
+        try {
+            if (jwkSetUri == null) {
+                jwkSetUri = discoverJwkSetUri();
+            }
+            JWKSet fetched = JWKSet.load(URI.create(jwkSetUri).toURL(), CONNECT_TIMEOUT, READ_TIMEOUT, SIZE_LIMIT).toPublicJWKSet();
+            save(fetched);
+            jwkSet    = fetched;
+            lastFetch = now;
+            return fetched;
+        } catch (IOException | ParseException e) {
+            if (known == null) {
+                known = load();
+            }
+            if (known != null) {
+                logger.warn("cannot fetch jwk set from {}, keeping the known keys: {}", jwkSetUri != null ? jwkSetUri : issuer, e.getMessage());
+                return known;
+            }
+            throw new KeySourceException("Cannot fetch jwk set of " + (jwkSetUri != null ? jwkSetUri : issuer), e);
+        }
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        JWKSet known = jwkSet;
+        if (known == null || System.currentTimeMillis() - lastFetch >= maxAge) {
+            known = fetch(known);
+        }
+        List<JWK> keys = jwkSelector.select(known);
+        if (keys.isEmpty()) {
+            JWKSet fetched = fetch(known);
+            if (fetched != known) {
+                keys = jwkSelector.select(fetched);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Only used if the identity provider cannot be reached, the keys of the file never count as fetched.
+     */
+    private synchronized JWKSet load() {
+        if (jwkSet == null && Files.isRegularFile(cacheFile)) {
+            try {
+                jwkSet = JWKSet.parse(Files.readString(cacheFile, StandardCharsets.UTF_8));
+                logger.info("loaded {} cached jwk keys from {}", jwkSet.getKeys().size(), cacheFile);
+            } catch (IOException | ParseException e) {
+                logger.warn("ignoring unreadable jwk cache file {}: {}", cacheFile, e.getMessage());
+            }
+        }
+        return jwkSet;
+    }
+
+    /**
+     * Writes to a temporary file first, so that a crash never leaves a truncated file behind.
+     */
+    private void save(JWKSet keys) {
+        try {
+            Path parent = cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+            Files.writeString(temp, keys.toString(true), StandardCharsets.UTF_8);
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("cannot write jwk cache file {}: {}", cacheFile, e.getMessage());
+        }
+    }
+}
@@ -17,24 +17,40 @@
 
 package de.bushnaq.abdalla.projecthub.security;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -49,7 +65,10 @@ import java.util.Set;
 @ConditionalOnProperty(name = "spring.security.oauth2.client.registration.keycloak.client-id")
 public class OidcApiSecurityConfig {
 
-    private final Logger logger = LoggerFactory.getLogger(OidcApiSecurityConfig.class);
+    private static final Duration JWKS_MAX_AGE                 = Duration.ofMinutes(5);
+    private static final Duration JWKS_REFRESH_INTERVAL        = Duration.ofSeconds(30);
+    private static final Duration VALIDATED_TOKEN_TIME_TO_LIVE = Duration.ofMinutes(5);
+    private final        Logger   logger                       = LoggerFactory.getLogger(OidcApiSecurityConfig.class);
 
     /**
      * Configures Spring Security for REST API endpoints.
@@ -57,7 +76,7 @@ public class OidcApiSecurityConfig {
      */
     @Bean
     @Order(1) // Higher precedence than the Vaadin security filter chain
-    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http, ObjectProvider<JwtDecoder> jwtDecoder) throws Exception {
         logger.info(">>> Configuring security chain (1/4) JWT security for REST API endpoints");
 
         // Configure security for REST API endpoints
@@ -75,14 +94,60 @@ public class OidcApiSecurityConfig {
                 .httpBasic() // Add HTTP Basic Authentication support
                 .and()
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt
-                                .jwtAuthenticationConverter(jwtAuthenticationConverter())
-                        )
+                        .jwt(jwt -> {
+                            JwtDecoder decoder = jwtDecoder.getIfAvailable();
+                            if (decoder != null) {
+                                jwt.authenticationManager(jwtAuthenticationManager(decoder));
+                            } else {
+                                jwt.jwtAuthenticationConverter(jwtAuthenticationConverter());
+                            }
+                        })
                 );
 
         return http.build();
     }
 
+    /**
+     * Verifies bearer tokens with the keys of the issuer, the keys are fetched again after {@link #JWKS_MAX_AGE}
+     * and the file is used if the identity provider cannot be reached, see {@link FileCachedJwkSource}.
+     * Either the issuer or the jwk set url is enough, without an issuer, tokens of any issuer are accepted.
+     */
+    @Bean
+    @ConditionalOnExpression("'${spring.security.oauth2.resourceserver.jwt.issuer-uri:}' != '' or '${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}' != ''")
+    public JwtDecoder jwtDecoder(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:}") String issuer,
+                                 @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri:}") String jwkSetUri,
+                                 @Value("${projecthub.security.jwks-cache-file:./jwks-cache.json}") String jwksCacheFile) {
+        String expectedIssuer = issuer.isBlank() ? null : issuer;
+        return createJwtDecoder(new FileCachedJwkSource(expectedIssuer, jwkSetUri, Path.of(jwksCacheFile), JWKS_REFRESH_INTERVAL, JWKS_MAX_AGE), expectedIssuer);
+    }
+
+    /**
+     * Creates a decoder that verifies the signature with the keys of the source and validates expiry and issuer.
+     *
+     * @param jwkSource the keys
+     * @param issuer    the expected issuer, may be null to accept any issuer
+     */
+    public static JwtDecoder createJwtDecoder(JWKSource<SecurityContext> jwkSource, String issuer) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(Set.of(JWSAlgorithm.RS256, JWSAlgorithm.RS384, JWSAlgorithm.RS512, JWSAlgorithm.ES256), jwkSource));
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+            // claims are validated by the JwtDecoder validators
+        });
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(issuer == null ? JwtValidators.createDefault() : JwtValidators.createDefaultWithIssuer(issuer));
+        return decoder;
+    }
+
+    /**
+     * Validated tokens are cached until they expire, repeated requests with the same token skip the signature verification,
+     * see {@link CachingJwtAuthenticationManager}.
+     */
+    private AuthenticationManager jwtAuthenticationManager(JwtDecoder decoder) {
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(decoder);
+        provider.setJwtAuthenticationConverter(jwtAuthenticationConverter());
+        return new CachingJwtAuthenticationManager(new ProviderManager(provider), VALIDATED_TOKEN_TIME_TO_LIVE);
+    }
+
     /**
      * Extract Keycloak roles from token/userinfo claims and add them as Spring Security authorities.
      */
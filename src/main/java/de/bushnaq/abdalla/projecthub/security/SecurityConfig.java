@@ -27,7 +27,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.annotation.Order;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -44,17 +43,20 @@ import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.time.Duration;
+
 @EnableWebSecurity
 @EnableMethodSecurity(securedEnabled = true, prePostEnabled = true)
 @Configuration
 public class SecurityConfig extends VaadinWebSecurity {
+    private static final Duration CREDENTIAL_CACHE_TIME_TO_LIVE = Duration.ofMinutes(5);
     Logger logger = LoggerFactory.getLogger(this.getClass());
 
     @Autowired
     private SecurityUserDetailsService userDetailsService;
 
     @Bean
-    public AuthenticationManager authenticationManager() {
+    public CachingAuthenticationManager authenticationManager() {
         // Create authentication provider for the test users
         DaoAuthenticationProvider testProvider = new DaoAuthenticationProvider();
         testProvider.setPasswordEncoder(passwordEncoder());
@@ -65,8 +67,8 @@ public class SecurityConfig extends VaadinWebSecurity {
         regularProvider.setPasswordEncoder(passwordEncoder());
         regularProvider.setUserDetailsService(userDetailsService);
 
-        // Return a provider manager with both providers
-        return new ProviderManager(testProvider, regularProvider);
+        // Return a provider manager with both providers, verified credentials are cached so that BCrypt runs once per user and not per api call
+        return new CachingAuthenticationManager(new ProviderManager(testProvider, regularProvider), CREDENTIAL_CACHE_TIME_TO_LIVE);
     }
 
     /**
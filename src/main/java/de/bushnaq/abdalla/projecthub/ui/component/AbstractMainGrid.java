@@ -243,19 +243,7 @@ public abstract class AbstractMainGrid<T> extends Main {
             globalFilter.setWidth("250px");
 
             // Add global filter change listener
-            globalFilter.addValueChangeListener(e -> {
-                ListDataProvider<T> dataProvider = (ListDataProvider<T>) grid.getDataProvider();
-                String              filterValue  = e.getValue().toLowerCase().trim();
-
-                if (filterValue.isEmpty()) {
-                    dataProvider.clearFilters();
-                } else {
-                    dataProvider.setFilter(item -> {
-                        String searchText = globalFilterFunction.apply(item);
-                        return searchText != null && searchText.toLowerCase().contains(filterValue);
-                    });
-                }
-            });
+            globalFilter.addValueChangeListener(e -> VaadinUtil.setGridTextFilter(grid, e.getValue(), globalFilterFunction));
 
             rightLayout.add(globalFilter);
         }
@@ -459,6 +447,16 @@ public abstract class AbstractMainGrid<T> extends Main {
 
     protected abstract void initGrid(Clock clock);
 
+    /**
+     * Replaces the in-memory data provider with a lazy one that loads the rows page by page from the server.
+     * Must be called before the header is created, as the row counter listens to the data provider of the grid.
+     *
+     * @param keysetDataProvider the lazy data provider
+     */
+    protected void setKeysetDataProvider(KeysetDataProvider<T> keysetDataProvider) {
+        grid.setDataProvider(keysetDataProvider);
+    }
+
     /**
      * Updates a row counter component with the current visible row count vs total rows
      *
@@ -473,17 +471,23 @@ public abstract class AbstractMainGrid<T> extends Main {
         int totalSize;
         int filteredSize;
 
-        // Handle ListDataProvider
-        ListDataProvider<T> listProvider = (ListDataProvider<T>) dataProvider;
-        totalSize = listProvider.getItems().size();
-
-        // Handle the case when no filter is applied yet (filter is null)
-        if (listProvider.getFilter() == null) {
-            filteredSize = totalSize;
+        if (dataProvider instanceof KeysetDataProvider<T> keysetProvider) {
+            // Handle KeysetDataProvider, the server counts the rows
+            totalSize    = keysetProvider.getTotalCount();
+            filteredSize = keysetProvider.getFilteredCount();
         } else {
-            filteredSize = listProvider.getItems().stream()
-                    .filter(item -> listProvider.getFilter().test(item))
-                    .toList().size();
+            // Handle ListDataProvider
+            ListDataProvider<T> listProvider = (ListDataProvider<T>) dataProvider;
+            totalSize = listProvider.getItems().size();
+
+            // Handle the case when no filter is applied yet (filter is null)
+            if (listProvider.getFilter() == null) {
+                filteredSize = totalSize;
+            } else {
+                filteredSize = listProvider.getItems().stream()
+                        .filter(item -> listProvider.getFilter().test(item))
+                        .toList().size();
+            }
         }
 
         String text = String.format("Showing %d of %d rows", filteredSize, totalSize);
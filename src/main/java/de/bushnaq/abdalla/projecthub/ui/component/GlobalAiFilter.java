@@ -32,10 +32,10 @@ import com.vaadin.flow.component.notification.NotificationVariant;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.textfield.TextField;
-import com.vaadin.flow.data.provider.ListDataProvider;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import de.bushnaq.abdalla.projecthub.ai.AiFilterGenerator;
 import de.bushnaq.abdalla.projecthub.ai.AiFilterService;
+import de.bushnaq.abdalla.projecthub.ui.util.VaadinUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -126,8 +126,7 @@ public class GlobalAiFilter<T> extends HorizontalLayout {
     }
 
     private void applySearchQuery(Pattern regexPattern) {
-        ListDataProvider<T> dataProvider = (ListDataProvider<T>) grid.getDataProvider();
-        dataProvider.setFilter(item -> {
+        VaadinUtil.setGridFilter(grid, item -> {
                     try {
                         String json = filterMapper.writerWithDefaultPrettyPrinter().writeValueAsString(item);
                         // Apply the LLM-generated regex pattern
@@ -142,8 +141,7 @@ public class GlobalAiFilter<T> extends HorizontalLayout {
     }
 
     private void clearFilters() {
-        ListDataProvider<T> dataProvider = (ListDataProvider<T>) grid.getDataProvider();
-        dataProvider.clearFilters();
+        VaadinUtil.setGridFilter(grid, null);
         statusSpan.setVisible(false);
     }
 
@@ -208,9 +206,8 @@ public class GlobalAiFilter<T> extends HorizontalLayout {
             switch (filterType) {
                 case JAVASCRIPT: {
                     // Parse the query using JavaScript generation
-                    String              javascriptFunction = aiFilterService.parseQuery(searchValue, entityType, filterType);
-                    ListDataProvider<T> dataProvider       = (ListDataProvider<T>) grid.getDataProvider();
-                    dataProvider.setFilter(item -> {
+                    String javascriptFunction = aiFilterService.parseQuery(searchValue, entityType, filterType);
+                    VaadinUtil.setGridFilter(grid, item -> {
 //                                    String json = filterMapper.writerWithDefaultPrettyPrinter().writeValueAsString(item);
                                 // Apply the LLM-generated regex pattern
                                 return aiFilterService.applyJavaScriptSearchQuery(javascriptFunction, item, LocalDate.now());
@@ -230,9 +227,8 @@ public class GlobalAiFilter<T> extends HorizontalLayout {
                     // Parse the query using Java generation and get compiled predicate
                     var javaPredicate = aiFilterService.parseQueryToPredicate(searchValue, entityType, LocalDate.now());
 //                        List<T>             filtered      = testProducts.stream().filter(javaPredicate).collect(Collectors.toList());
-                    ListDataProvider<T> dataProvider = (ListDataProvider<T>) grid.getDataProvider();
 //                        dataProvider.setFilter(javaPredicate);
-                    dataProvider.setFilter(javaPredicate::test
+                    VaadinUtil.setGridFilter(grid, javaPredicate::test
                     );
 
 //                        System.out.println("\n=== Products matched by Java filter ===");
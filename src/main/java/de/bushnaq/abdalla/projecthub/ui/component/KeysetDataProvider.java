@@ -0,0 +1,189 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.ui.component;
+
+import com.vaadin.flow.data.provider.AbstractBackEndDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.SortDirection;
+import com.vaadin.flow.function.SerializablePredicate;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Lazy grid data provider that fetches rows page by page from a keyset paginated rest endpoint.
+ * <p>
+ * The grid requests rows by offset, the cursor returned with every page is remembered for the offset that follows it,
+ * so that scrolling down is served by an index seek instead of an offset scan. Jumping to a position that was never
+ * visited falls back to the offset.
+ * <p>
+ * A text filter is evaluated by the server. An in-memory predicate, as generated by the {@link GlobalAiFilter},
+ * cannot be evaluated by the server. In that case all pages are fetched once and the predicate is applied to them.
+ */
+public class KeysetDataProvider<T> extends AbstractBackEndDataProvider<T, Void> {
+    private static final int                      PAGE_SIZE = 200;
+    private final        CountFetcher             countFetcher;
+    private final        Map<String, String>      cursors   = new HashMap<>();//sort, filter and offset -> cursor
+    private              SerializablePredicate<T> filter;
+    private              List<T>                  filteredItems;//all rows matching the predicate
+    private              String                   filteredItemsSort;
+    private final        PageFetcher<T>           pageFetcher;
+    private              String                   textFilter;
+    private              Long                     totalCount;
+
+    public KeysetDataProvider(PageFetcher<T> pageFetcher, CountFetcher countFetcher) {
+        this.pageFetcher  = pageFetcher;
+        this.countFetcher = countFetcher;
+    }
+
+    /**
+     * Remove text filter and predicate.
+     */
+    public void clearFilters() {
+        this.filter     = null;
+        this.textFilter = null;
+        refreshAll();
+    }
+
+    private static String cursorKey(String sort, boolean ascending, String textFilter, int offset) {
+        return sort + ":" + ascending + ":" + textFilter + ":" + offset;
+    }
+
+    @Override
+    protected Stream<T> fetchFromBackEnd(Query<T, Void> query) {
+        String  sort      = getSort(query);
+        boolean ascending = isAscending(query);
+        if (filter != null) {
+            return getFilteredItems(sort, ascending).stream().skip(query.getOffset()).limit(query.getLimit());
+        }
+        List<T> items  = new ArrayList<>(query.getLimit());
+        int     offset = query.getOffset();
+        while (items.size() < query.getLimit()) {
+            String            after   = cursors.get(cursorKey(sort, ascending, textFilter, offset));
+            KeysetPageRequest request = new KeysetPageRequest(after, offset, query.getLimit() - items.size(), sort, ascending, textFilter);
+            KeysetPage<T>     page    = pageFetcher.fetch(request);
+            items.addAll(page.getItems());
+            offset += page.getItems().size();
+            if (page.getNextCursor() == null || page.getItems().isEmpty()) {
+                break;
+            }
+            cursors.put(cursorKey(sort, ascending, textFilter, offset), page.getNextCursor());
+        }
+        return items.stream();
+    }
+
+    private List<T> getFilteredItems(String sort, boolean ascending) {
+        String key = sort + ":" + ascending;
+        if (filteredItems == null || !key.equals(filteredItemsSort)) {
+            List<T> items = new ArrayList<>();
+            String  after = null;
+            do {
+                KeysetPage<T> page = pageFetcher.fetch(new KeysetPageRequest(after, 0, PAGE_SIZE, sort, ascending, textFilter));
+                page.getItems().stream().filter(filter).forEach(items::add);
+                after = page.getNextCursor();
+            } while (after != null);
+            filteredItems     = items;
+            filteredItemsSort = key;
+        }
+        return filteredItems;
+    }
+
+    /**
+     * @return number of rows matching the current filters
+     */
+    public int getFilteredCount() {
+        if (filter != null && filteredItems != null) {
+            return filteredItems.size();
+        }
+        return sizeInBackEnd(new Query<>());
+    }
+
+    public SerializablePredicate<T> getFilter() {
+        return filter;
+    }
+
+    private static String getSort(Query<?, ?> query) {
+        return query.getSortOrders().isEmpty() ? "id" : query.getSortOrders().getFirst().getSorted();
+    }
+
+    /**
+     * @return number of rows without any filter
+     */
+    public int getTotalCount() {
+        if (totalCount == null) {
+            totalCount = countFetcher.count(null);
+        }
+        return totalCount.intValue();
+    }
+
+    private static boolean isAscending(Query<?, ?> query) {
+        return query.getSortOrders().isEmpty() || query.getSortOrders().getFirst().getDirection() == SortDirection.ASCENDING;
+    }
+
+    @Override
+    public void refreshAll() {
+        cursors.clear();
+        filteredItems = null;
+        totalCount    = null;
+        super.refreshAll();
+    }
+
+    /**
+     * Set an in-memory predicate, null removes it.
+     * As the server cannot evaluate the predicate, all rows are loaded once when the grid requests data.
+     */
+    public void setFilter(SerializablePredicate<T> filter) {
+        this.filter = filter;
+        refreshAll();
+    }
+
+    /**
+     * Set a case-insensitive text filter that is evaluated by the server, null removes it.
+     */
+    public void setTextFilter(String textFilter) {
+        this.textFilter = (textFilter == null || textFilter.isBlank()) ? null : textFilter;
+        refreshAll();
+    }
+
+    @Override
+    protected int sizeInBackEnd(Query<T, Void> query) {
+        if (filter != null) {
+            return getFilteredItems(getSort(query), isAscending(query)).size();
+        }
+        if (textFilter == null) {
+            return getTotalCount();
+        }
+        return (int) countFetcher.count(textFilter);
+    }
+
+    @FunctionalInterface
+    public interface CountFetcher extends Serializable {
+        long count(String textFilter);
+    }
+
+    @FunctionalInterface
+    public interface PageFetcher<T> extends Serializable {
+        KeysetPage<T> fetch(KeysetPageRequest request);
+    }
+}
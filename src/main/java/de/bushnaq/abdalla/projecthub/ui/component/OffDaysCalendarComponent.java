@@ -30,17 +30,13 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import de.bushnaq.abdalla.projecthub.ParameterOptions;
-import de.bushnaq.abdalla.projecthub.dto.OffDay;
 import de.bushnaq.abdalla.projecthub.dto.OffDayType;
 import de.bushnaq.abdalla.projecthub.dto.User;
+import de.bushnaq.abdalla.projecthub.report.calendar.DayClassifications;
 import lombok.Getter;
-import net.sf.mpxj.ProjectCalendar;
-import net.sf.mpxj.ProjectCalendarException;
 
 import java.time.LocalDate;
 import java.time.Month;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Consumer;
 
 /**
@@ -49,30 +45,29 @@ import java.util.function.Consumer;
  */
 public class OffDaysCalendarComponent extends VerticalLayout {
 
-    public static final  String                     CALENDAR_NEXT_YEAR_BTN              = "calendar-next-year-btn";
-    public static final  String                     CALENDAR_PREV_YEAR_BTN              = "calendar-prev-year-btn";
-    private static final String                     CLASS_FILLING_DAY                   = "calendar-filling-day";
-    private static final String                     CLASS_HOLIDAY_DAY                   = "calendar-holiday-day";
-    private static final String                     CLASS_MONTH_NAME                    = "calendar-month-name";
-    private static final String                     CLASS_NORMAL_DAY                    = "calendar-normal-day";
-    private static final String                     CLASS_SICK_DAY                      = "calendar-sick-day";
-    private static final String                     CLASS_TODAY                         = "calendar-today";
-    private static final String                     CLASS_TRIP_DAY                      = "calendar-trip-day";
-    private static final String                     CLASS_VACATION_DAY                  = "calendar-vacation-day";
-    private static final String                     CLASS_WEEKEND_DAY                   = "calendar-weekend-day";
-    private static final String                     DAY_SIZE_PX                         = "36px"; // Increased from 24px (50% larger)
-    private static final String                     LEGEND_ITEM_ID_PREFIX               = "calendar-legend-item-";
-    public static final  String                     LEGEND_ITEM_ID_PREFIX_BUSINESS_TRIP = "calendar-legend-item-business-trip";
-    public static final  String                     LEGEND_ITEM_ID_PREFIX_HOLIDAY       = "calendar-legend-item-holiday";
-    public static final  String                     LEGEND_ITEM_ID_PREFIX_SICK_LEAVE    = "calendar-legend-item-sick-leave";
-    public static final  String                     LEGEND_ITEM_ID_PREFIX_VACATION      = "calendar-legend-item-vacation";
-    private static final int                        MONTHS_PER_ROW                      = 4;
+    public static final  String              CALENDAR_NEXT_YEAR_BTN              = "calendar-next-year-btn";
+    public static final  String              CALENDAR_PREV_YEAR_BTN              = "calendar-prev-year-btn";
+    private static final String              CLASS_FILLING_DAY                   = "calendar-filling-day";
+    private static final String              CLASS_HOLIDAY_DAY                   = "calendar-holiday-day";
+    private static final String              CLASS_MONTH_NAME                    = "calendar-month-name";
+    private static final String              CLASS_NORMAL_DAY                    = "calendar-normal-day";
+    private static final String              CLASS_SICK_DAY                      = "calendar-sick-day";
+    private static final String              CLASS_TODAY                         = "calendar-today";
+    private static final String              CLASS_TRIP_DAY                      = "calendar-trip-day";
+    private static final String              CLASS_VACATION_DAY                  = "calendar-vacation-day";
+    private static final String              CLASS_WEEKEND_DAY                   = "calendar-weekend-day";
+    private static final String              DAY_SIZE_PX                         = "36px"; // Increased from 24px (50% larger)
+    private static final String              LEGEND_ITEM_ID_PREFIX               = "calendar-legend-item-";
+    public static final  String              LEGEND_ITEM_ID_PREFIX_BUSINESS_TRIP = "calendar-legend-item-business-trip";
+    public static final  String              LEGEND_ITEM_ID_PREFIX_HOLIDAY       = "calendar-legend-item-holiday";
+    public static final  String              LEGEND_ITEM_ID_PREFIX_SICK_LEAVE    = "calendar-legend-item-sick-leave";
+    public static final  String              LEGEND_ITEM_ID_PREFIX_VACATION      = "calendar-legend-item-vacation";
+    private static final int                 MONTHS_PER_ROW                      = 4;
     @Getter
-    private              int                        currentYear;
-    private final        Consumer<LocalDate>        dayClickHandler;
-    private final        Map<LocalDate, OffDayType> offDayMap                           = new HashMap<>();
-    private              User                       user;
-    private              Consumer<Integer>          yearChangeHandler;
+    private              int                 currentYear;
+    private final        Consumer<LocalDate> dayClickHandler;
+    private              User                user;
+    private              Consumer<Integer>   yearChangeHandler;
 
     /**
      * Creates a new year calendar component for the given user and year.
@@ -98,29 +93,6 @@ public class OffDaysCalendarComponent extends VerticalLayout {
                 .set("flex-grow", "0");
     }
 
-    /**
-     * Builds a map of dates to off day types for quick lookup.
-     */
-    private void buildOffDayMap() {
-        offDayMap.clear();
-
-        for (OffDay offDay : user.getOffDays()) {
-            LocalDate  start = offDay.getFirstDay();
-            LocalDate  end   = offDay.getLastDay();
-            OffDayType type  = offDay.getType();
-
-            // Add each day in the range to the map
-            LocalDate current = start;
-            while (!current.isAfter(end)) {
-                // Only include days for the current year
-                if (current.getYear() == currentYear) {
-                    offDayMap.put(current, type);
-                }
-                current = current.plusDays(1);
-            }
-        }
-    }
-
     /**
      * Creates a component representing a single day in the calendar.
      */
@@ -150,26 +122,21 @@ public class OffDaysCalendarComponent extends VerticalLayout {
         if (isFillingDay) {
             dayComponent.addClassName(CLASS_FILLING_DAY);
         } else {
-            // Use the user's calendar directly to determine the day type
-            ProjectCalendar calendar = user.getCalendar();
+            // Use the classification of the user's calendar to determine the day type
+            DayClassifications days = user.getDayClassifications();
 
             // Check if it's a weekend or special day
             if (!isFillingDay) {
-                ProjectCalendarException exception = calendar.getException(date);
+                OffDayType offDayType = days.getOffDayType(date);
 
-                if (exception != null) {
+                if (offDayType != null) {
                     // This is a special day (vacation, sick, holiday, trip)
-                    String name = exception.getName();
-
-                    if (name.equals(OffDayType.VACATION.name())) {
-                        dayComponent.addClassName(CLASS_VACATION_DAY);
-                    } else if (name.equals(OffDayType.SICK.name())) {
-                        dayComponent.addClassName(CLASS_SICK_DAY);
-                    } else if (name.equals(OffDayType.TRIP.name())) {
-                        dayComponent.addClassName(CLASS_TRIP_DAY);
-                    } else {
-                        dayComponent.addClassName(CLASS_HOLIDAY_DAY);
-                    }
+                    dayComponent.addClassName(switch (offDayType) {
+                        case VACATION -> CLASS_VACATION_DAY;
+                        case SICK -> CLASS_SICK_DAY;
+                        case TRIP -> CLASS_TRIP_DAY;
+                        case HOLIDAY -> CLASS_HOLIDAY_DAY;
+                    });
 
                     // Make special days clickable for editing
                     dayComponent.getStyle().set("cursor", "pointer");
@@ -178,7 +145,7 @@ public class OffDaysCalendarComponent extends VerticalLayout {
                             dayClickHandler.accept(date);
                         }
                     });
-                } else if (!calendar.isWorkingDay(date.getDayOfWeek())) {
+                } else if (days.isWeekend(date)) {
                     // Weekend based on calendar definition
                     dayComponent.addClassName(CLASS_WEEKEND_DAY);
                 } else {
@@ -365,8 +332,7 @@ public class OffDaysCalendarComponent extends VerticalLayout {
      * Checks if a date falls on a weekend based on the user's calendar.
      */
     private boolean isWeekend(LocalDate date) {
-        ProjectCalendar calendar = user.getCalendar();
-        return !calendar.isWorkingDay(date.getDayOfWeek());
+        return user.getDayClassifications().isWeekend(date);
     }
 
     /**
@@ -404,8 +370,6 @@ public class OffDaysCalendarComponent extends VerticalLayout {
         }
         // Clear previous content
         removeAll();
-        // Build the off day map for quick lookup
-        buildOffDayMap();
         // Create year navigation header
         add(createYearHeader());
         // Create the calendar grid (3 rows x 4 months each)
@@ -0,0 +1,161 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.ui.component;
+
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.Svg;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Paragraph;
+import elemental.json.JsonArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Shows a large svg chart as a grid of tiles that are rendered on demand while the user scrolls.
+ * <p>
+ * Only the tiles that intersect the visible part of the scroll container, plus one tile around it, are requested from the
+ * {@link TileRenderer}, so the first paint depends on the size of the viewport instead of the size of the chart.
+ * Every tile is a separate svg document that is placed at its position inside a container of the full chart size,
+ * so that the scroll bars behave like for one large chart. Tiles that were shown once are kept.
+ */
+public class TiledSvgViewer extends Div {
+    private static final int          DEFAULT_VIEWPORT_HEIGHT = 800;//used until the client reported its size
+    private static final int          DEFAULT_VIEWPORT_WIDTH  = 1600;
+    private static final Logger       logger                  = LoggerFactory.getLogger(TiledSvgViewer.class);
+    private final        int          chartHeight;
+    private final        int          chartWidth;
+    private final        Div          content                 = new Div();
+    private final        Set<Long>    renderedTiles           = new HashSet<>();//row << 32 | column
+    private final        TileRenderer tileRenderer;
+    private final        int          tileHeight;
+    private final        int          tileWidth;
+
+    /**
+     * @param chartWidth   width of the whole chart
+     * @param chartHeight  height of the whole chart
+     * @param tileWidth    width of one tile
+     * @param tileHeight   height of one tile
+     * @param tileRenderer renders the svg document of a tile
+     */
+    public TiledSvgViewer(int chartWidth, int chartHeight, int tileWidth, int tileHeight, TileRenderer tileRenderer) {
+        this.chartWidth   = chartWidth;
+        this.chartHeight  = chartHeight;
+        this.tileWidth    = tileWidth;
+        this.tileHeight   = tileHeight;
+        this.tileRenderer = tileRenderer;
+        getStyle()
+                .set("overflow", "auto")
+                .set("max-width", "100%")
+                .set("max-height", "80vh")
+                .set("width", chartWidth + "px");
+        content.getStyle()
+                .set("position", "relative")
+                .set("width", chartWidth + "px")
+                .set("height", chartHeight + "px");
+        add(content);
+        getElement().addEventListener("scroll", event -> showTiles(//
+                        (int) event.getEventData().getNumber("element.scrollLeft"),//
+                        (int) event.getEventData().getNumber("element.scrollTop"),//
+                        (int) event.getEventData().getNumber("element.clientWidth"),//
+                        (int) event.getEventData().getNumber("element.clientHeight")))//
+                .addEventData("element.scrollLeft")
+                .addEventData("element.scrollTop")
+                .addEventData("element.clientWidth")
+                .addEventData("element.clientHeight")
+                .debounce(100);
+        showTiles(0, 0, DEFAULT_VIEWPORT_WIDTH, DEFAULT_VIEWPORT_HEIGHT);
+    }
+
+    public int getChartHeight() {
+        return chartHeight;
+    }
+
+    public int getChartWidth() {
+        return chartWidth;
+    }
+
+    /**
+     * @return number of tiles that have been rendered so far
+     */
+    public int getRenderedTileCount() {
+        return renderedTiles.size();
+    }
+
+    @Override
+    protected void onAttach(AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        //the viewport might be larger than the default, e.g. on a large screen
+        getElement().executeJs("return [this.scrollLeft, this.scrollTop, this.clientWidth, this.clientHeight]")
+                .then(JsonArray.class, size -> showTiles((int) size.getNumber(0), (int) size.getNumber(1), (int) size.getNumber(2), (int) size.getNumber(3)));
+    }
+
+    private void showTile(int column, int row) {
+        if (!renderedTiles.add(((long) row << 32) | column)) {
+            return;
+        }
+        int x      = column * tileWidth;
+        int y      = row * tileHeight;
+        int width  = Math.min(tileWidth, chartWidth - x);
+        int height = Math.min(tileHeight, chartHeight - y);
+        Div tile   = new Div();
+        tile.getStyle()
+                .set("position", "absolute")
+                .set("left", x + "px")
+                .set("top", y + "px")
+                .set("width", width + "px")
+                .set("height", height + "px")
+                .set("line-height", "0");
+        try {
+            tile.add(new Svg(new String(tileRenderer.render(x, y, width, height), StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            logger.error("Error rendering tile " + column + "/" + row, e);
+            tile.add(new Paragraph("Error rendering tile: " + e.getMessage()));
+        }
+        content.add(tile);
+    }
+
+    /**
+     * Renders all tiles that intersect the visible area plus one tile around it.
+     */
+    void showTiles(int scrollLeft, int scrollTop, int viewportWidth, int viewportHeight) {
+        int columns     = (chartWidth + tileWidth - 1) / tileWidth;
+        int rows        = (chartHeight + tileHeight - 1) / tileHeight;
+        int firstColumn = Math.max(0, scrollLeft / tileWidth - 1);
+        int lastColumn  = Math.min(columns - 1, (scrollLeft + Math.max(1, viewportWidth)) / tileWidth + 1);
+        int firstRow    = Math.max(0, scrollTop / tileHeight - 1);
+        int lastRow     = Math.min(rows - 1, (scrollTop + Math.max(1, viewportHeight)) / tileHeight + 1);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                showTile(column, row);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface TileRenderer extends Serializable {
+        /**
+         * @return the svg document of the area of the chart, UTF-8 encoded
+         */
+        byte[] render(int x, int y, int width, int height) throws Exception;
+    }
+}
@@ -30,6 +30,7 @@ import com.vaadin.flow.component.textfield.TextField;
 import de.bushnaq.abdalla.projecthub.dto.Relation;
 import de.bushnaq.abdalla.projecthub.dto.Sprint;
 import de.bushnaq.abdalla.projecthub.dto.Task;
+import de.bushnaq.abdalla.projecthub.ui.util.TaskOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,7 +47,7 @@ public class DependencyDialog extends Dialog {
     private final SaveCallback        saveCallback;
     private final Sprint              sprint;
     private final Task                task;
-    private final List<Task>          taskOrder;
+    private final TaskOrder           taskOrder;
 
     /**
      * Creates a dialog for editing task dependencies.
@@ -56,13 +57,13 @@ public class DependencyDialog extends Dialog {
      * @param taskOrder    The ordered list of all tasks in the sprint
      * @param saveCallback Callback that receives the updated task and selected task IDs
      */
-    public DependencyDialog(Task task, Sprint sprint, List<Task> taskOrder, SaveCallback saveCallback) {
+    public DependencyDialog(Task task, Sprint sprint, TaskOrder taskOrder, SaveCallback saveCallback) {
         this.task         = task;
         this.sprint       = sprint;
         this.taskOrder    = taskOrder;
         this.saveCallback = saveCallback;
 
-        setHeaderTitle("Edit Dependencies for Task #" + task.getOrderId());
+        setHeaderTitle("Edit Dependencies for Task #" + getTaskNumber(task));
         setWidth("600px");
         setHeight("500px");
 
@@ -98,7 +99,7 @@ public class DependencyDialog extends Dialog {
             Checkbox checkbox = new Checkbox();
 
             // Format label: "5 - Implement login feature"
-            String label = String.format("%d - %s", t.getOrderId(), t.getName());
+            String label = String.format("%d - %s", getTaskNumber(t), t.getName());
 
             // Calculate indentation depth
             int depth        = t.getHierarchyDepth();
@@ -189,13 +190,13 @@ public class DependencyDialog extends Dialog {
                     });
                 } else {
                     // Parse comma-separated values
-                    Set<Long> orderIds = parseOrderIds(value);
+                    Set<Integer> numbers = parseTaskNumbers(value);
 
                     // Update checkboxes based on parsed IDs
                     for (Task t : taskOrder) {
                         Checkbox cb = checkboxMap.get(t.getId());
                         if (cb != null && cb.isEnabled()) {
-                            cb.setValue(orderIds.contains(t.getOrderId()));
+                            cb.setValue(numbers.contains(getTaskNumber(t)));
                         }
                     }
                 }
@@ -214,7 +215,7 @@ public class DependencyDialog extends Dialog {
                                     Checkbox checkbox = checkboxMap.get(task1.getId());
                                     return checkbox != null && checkbox.isEnabled() && checkbox.getValue();
                                 })
-                                .map(task1 -> String.valueOf(task1.getOrderId()))
+                                .map(task1 -> String.valueOf(getTaskNumber(task1)))
                                 .collect(Collectors.joining(", "));
                         quickEditField.setValue(newValue);
                     }
@@ -237,7 +238,7 @@ public class DependencyDialog extends Dialog {
     }
 
     /**
-     * Get the dependency text for display (comma-separated orderIds of visible predecessors)
+     * Get the dependency text for display (comma-separated task numbers of visible predecessors)
      */
     private String getDependencyText() {
         List<Relation> relations = task.getPredecessors();
@@ -249,32 +250,39 @@ public class DependencyDialog extends Dialog {
                 .filter(Relation::isVisible) // Only show visible dependencies
                 .map(relation -> {
                     Task predecessor = sprint.getTaskById(relation.getPredecessorId());
-                    return predecessor != null ? String.valueOf(predecessor.getOrderId()) : "";
+                    return predecessor != null ? String.valueOf(getTaskNumber(predecessor)) : "";
                 })
-                .filter(orderId -> !orderId.isEmpty())
+                .filter(number -> !number.isEmpty())
                 .collect(Collectors.joining(", "));
     }
 
     /**
-     * Parse comma-separated order IDs from a string
+     * The number shown to the user, the 1-based position of the task in the sprint.
      */
-    private Set<Long> parseOrderIds(String input) {
-        Set<Long> orderIds = new HashSet<>();
+    private int getTaskNumber(Task t) {
+        return taskOrder.getTaskNumber(t);
+    }
+
+    /**
+     * Parse comma-separated task numbers from a string
+     */
+    private Set<Integer> parseTaskNumbers(String input) {
+        Set<Integer> numbers = new HashSet<>();
         if (input == null || input.trim().isEmpty()) {
-            return orderIds;
+            return numbers;
         }
 
         String[] parts = input.split(",");
         for (String part : parts) {
             try {
-                Long orderId = Long.parseLong(part.trim());
-                orderIds.add(orderId);
+                Integer number = Integer.parseInt(part.trim());
+                numbers.add(number);
             } catch (NumberFormatException e) {
                 // Ignore invalid numbers
-                logger.warn("Invalid order ID in input: {}", part.trim());
+                logger.warn("Invalid task number in input: {}", part.trim());
             }
         }
-        return orderIds;
+        return numbers;
     }
 
     /**
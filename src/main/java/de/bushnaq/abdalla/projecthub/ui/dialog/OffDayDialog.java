@@ -32,8 +32,6 @@ import de.bushnaq.abdalla.projecthub.dto.OffDayType;
 import de.bushnaq.abdalla.projecthub.dto.User;
 import de.bushnaq.abdalla.projecthub.rest.api.OffDayApi;
 import de.bushnaq.abdalla.projecthub.ui.util.VaadinUtil;
-import net.sf.mpxj.ProjectCalendar;
-import net.sf.mpxj.ProjectCalendarException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -149,18 +147,8 @@ public class OffDayDialog extends Dialog {
      * @return true if the date is a holiday, false otherwise
      */
     private boolean isHoliday(LocalDate date) {
-        ProjectCalendar          calendar  = user.getCalendar();
-        ProjectCalendarException exception = calendar.getException(date);
-        if (exception == null) {
-            return false;
-        }
-
-        String name = exception.getName();
-        // Check if it's NOT a user off-day type (vacation, sick, or trip)
-        // If it's an exception but not one of these types, it's a holiday
-        return !name.equals(OffDayType.VACATION.name())
-                && !name.equals(OffDayType.SICK.name())
-                && !name.equals(OffDayType.TRIP.name());
+        // If it's an exception but not a user off-day type (vacation, sick, or trip), it's a holiday
+        return user.getDayClassifications().getOffDayType(date) == OffDayType.HOLIDAY;
     }
 
     /**
@@ -170,8 +158,7 @@ public class OffDayDialog extends Dialog {
      * @return true if the date is a weekend, false otherwise
      */
     private boolean isWeekend(LocalDate date) {
-        ProjectCalendar calendar = user.getCalendar();
-        return !calendar.isWorkingDay(date.getDayOfWeek());
+        return user.getDayClassifications().isWeekend(date);
     }
 
     private void save() {
@@ -0,0 +1,150 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.ui.util;
+
+import de.bushnaq.abdalla.profiler.Profiler;
+import de.bushnaq.abdalla.profiler.SampleType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Renders independent charts concurrently.
+ * <p>
+ * Rendering is cpu bound, so the charts are rendered on a fixed pool of platform threads, by default one per processor.
+ * Every chart must create its own canvas and with it its own ExtendedGraphics2D, only the font metrics cache is shared.
+ * Every chart is measured in its own Profiler scope, the Profiler of the pool thread is reset before and after the chart,
+ * so that no samples leak from one chart into the next.
+ * <p>
+ * Views submit the charts of a page and wait for all of them, batch report generation uses {@link #renderAll(Map)}.
+ */
+@Component
+public class ChartRenderingService {
+    private static final Logger          logger     = LoggerFactory.getLogger(ChartRenderingService.class);
+    private static final AtomicInteger   poolNumber = new AtomicInteger();
+    private              ExecutorService executorService;
+    @Value("${projecthub.ui.chart-rendering.threads:0}")
+    private              int             threads;
+
+    public ChartRenderingService() {
+    }
+
+    public ChartRenderingService(int threads) {
+        this.threads = threads;
+        initialize();
+    }
+
+    /**
+     * @return number of charts that are rendered at the same time
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    @PostConstruct
+    void initialize() {
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        String name = "chart-renderer-" + poolNumber.incrementAndGet() + "-";
+        executorService = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name(name, 0).daemon(true).factory());
+    }
+
+    private static <T> T render(String name, Callable<T> renderer) throws Exception {
+        Profiler.reset();
+        try (Profiler pc = new Profiler("chart " + name, SampleType.CPU)) {
+            return renderer.call();
+        } finally {
+            Profiler.reset();
+        }
+    }
+
+    /**
+     * Renders all charts concurrently and waits for them.
+     *
+     * @param renderers the chart renderers by name
+     * @return the charts by name, in the order of the renderers
+     * @throws Exception the exception of the first chart that failed
+     */
+    public <T> Map<String, T> renderAll(Map<String, Callable<T>> renderers) throws Exception {
+        List<CompletableFuture<T>> futures = new ArrayList<>(renderers.size());
+        renderers.forEach((name, renderer) -> futures.add(submit(name, renderer)));
+        Map<String, T> charts = new LinkedHashMap<>();
+        int            i      = 0;
+        for (String name : renderers.keySet()) {
+            charts.put(name, waitFor(futures.get(i++)));
+        }
+        return charts;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Renders one chart asynchronously.
+     *
+     * @param name     name of the chart, used for the Profiler scope and the log
+     * @param renderer creates and renders the chart, must not share its canvas with other charts
+     * @return the future chart
+     */
+    public <T> CompletableFuture<T> submit(String name, Callable<T> renderer) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return render(name, renderer);
+            } catch (Exception e) {
+                logger.error("Error rendering " + name + " chart", e);
+                throw new CompletionException(e);
+            }
+        }, executorService);
+    }
+
+    /**
+     * Waits for a chart that was submitted and unwraps the exception of the renderer.
+     *
+     * @param future the future chart
+     * @return the chart
+     * @throws Exception the exception thrown by the renderer
+     */
+    public static <T> T waitFor(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
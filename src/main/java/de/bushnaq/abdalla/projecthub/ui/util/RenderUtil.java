@@ -21,24 +21,60 @@ import com.vaadin.flow.component.Svg;
 import de.bushnaq.abdalla.projecthub.Context;
 import de.bushnaq.abdalla.projecthub.ParameterOptions;
 import de.bushnaq.abdalla.projecthub.dto.Sprint;
+import de.bushnaq.abdalla.projecthub.report.AbstractCanvas;
 import de.bushnaq.abdalla.projecthub.report.burndown.BurnDownChart;
 import de.bushnaq.abdalla.projecthub.report.burndown.RenderDao;
 import de.bushnaq.abdalla.projecthub.report.gantt.GanttChart;
+import de.bushnaq.abdalla.projecthub.ui.component.TiledSvgViewer;
+import de.bushnaq.abdalla.projecthub.ui.util.RenderedChartCache.RenderedChart;
 import de.bushnaq.abdalla.util.Util;
 import de.bushnaq.abdalla.util.date.DateUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.awt.*;
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class RenderUtil {
-    public static final String BURNDOWN_CHART = "burndown-chart";
-    public static final String GANTT_CHART    = "gantt-chart";
-    final static        Logger logger         = LoggerFactory.getLogger(RenderUtil.class);
+    public static final  String BURNDOWN_CHART        = "burndown-chart";
+    private static final int    BURNDOWN_CHART_HEIGHT = 400;
+    private static final int    BURNDOWN_CHART_WIDTH  = 640;
+    public static final  String GANTT_CHART           = "gantt-chart";
+    public static final  int    GANTT_TILE_HEIGHT     = 30 * 18;//30 task lanes
+    public static final  int    GANTT_TILE_WIDTH      = 5 * 7 * 20;//5 weeks
+    final static         Logger logger                = LoggerFactory.getLogger(RenderUtil.class);
+
+    /**
+     * Creates the BurnDown chart of the given sprint as shown on the sprint board.
+     *
+     * @param context the application context
+     * @param sprint  the initialized and recalculated sprint
+     * @param now     the time the sprint was recalculated for
+     * @return the chart, ready to be rendered
+     */
+    public static BurnDownChart createBurnDownChart(Context context, Sprint sprint, LocalDateTime now) throws Exception {
+        RenderDao dao = createRenderDao(context, sprint, "burn-down", now, BURNDOWN_CHART_WIDTH, BURNDOWN_CHART_HEIGHT, "sprint-" + sprint.getId() + "/sprint.html");
+        return new BurnDownChart("/", dao);
+    }
+
+    /**
+     * Creates the Gantt chart of the given sprint as shown on the sprint board.
+     *
+     * @param context the application context
+     * @param sprint  the initialized and recalculated sprint
+     * @param now     the time the sprint was recalculated for
+     * @return the chart, ready to be rendered
+     */
+    public static GanttChart createGanttChart(Context context, Sprint sprint, LocalDateTime now) throws Exception {
+        List<Throwable> exceptions = new ArrayList<>();
+        return new GanttChart(context, "", "/", "Gantt Chart", sprint.getName() + "-gant-chart", exceptions, now, false, sprint/*, 1887, 1000*/, "scheduleWithMargin", context.parameters.graphicsTheme);
+    }
 
     private static RenderDao createRenderDao(Context context, Sprint sprint, String column, LocalDateTime now, int chartWidth, int chartHeight, String link) {
         RenderDao dao = new RenderDao();
@@ -57,45 +93,122 @@ public class RenderUtil {
         dao.estimatedWorstWork = null;
         dao.maxWorked          = DateUtil.add(sprint.getWorked(), sprint.getRemaining());
         dao.remaining          = sprint.getRemaining();
-        dao.worklog            = sprint.getWorklogs();
         dao.worklogRemaining   = sprint.getWorklogRemaining();
+        dao.worklogRollup      = sprint.getWorklogRollups();
         dao.cssClass           = "scheduleWithMargin";
         dao.graphicsTheme      = context.parameters.graphicsTheme;
         return dao;
     }
 
+    /**
+     * Generates a png image of the BurnDown chart of the given sprint that fits into the given size, e.g. as thumbnail in an overview.
+     * The image is only rendered if the cache does not already contain it for the current state of the sprint.
+     *
+     * @param context the application context
+     * @param sprint  the sprint for which to generate the BurnDown chart
+     * @param width   maximum width of the image in pixel
+     * @param height  maximum height of the image in pixel
+     * @param cache   the rendered chart cache
+     * @return the png image and its size
+     */
+    public static RenderedChart generateBurnDownChartPng(Context context, Sprint sprint, int width, int height, RenderedChartCache cache) throws Exception {
+        LocalDateTime now         = DateUtil.offsetDateTimeToLocalDateTime(ParameterOptions.getNow());
+        String        fingerprint = cache.fingerprint(BURNDOWN_CHART + "-png-" + height, context, sprint, width, now);
+        return cache.getOrRender(sprint.getId(), fingerprint, () -> renderPng(createBurnDownChart(context, sprint, now), width, height));
+    }
+
     /**
      * Generates a BurnDown chart SVG for the given sprint and updates the provided Svg component.
+     * The chart is only rendered if the cache does not already contain it for the current state of the sprint.
      *
      * @param context the application context
      * @param sprint  the sprint for which to generate the BurnDown chart
      * @param svg     the Svg component to update with the BurnDown chart
-     * @throws Exception if an error occurs during BurnDown chart generation
+     * @param cache   the rendered chart cache
+     * @return the rendered chart, null if it could not be rendered
      */
-    public static void generateBurnDownChartSvg(Context context, Sprint sprint, Svg svg) throws Exception {
-        List<Throwable> exceptions = new ArrayList<>();
-        RenderDao       dao        = createRenderDao(context, sprint, "burn-down", ParameterOptions.getLocalNow(), 640, 400, "sprint-" + sprint.getId() + "/sprint.html");
-        BurnDownChart   chart      = new BurnDownChart("/", dao);
-        RenderUtil.renderSvg(chart, svg);
+    public static RenderedChart generateBurnDownChartSvg(Context context, Sprint sprint, Svg svg, RenderedChartCache cache) throws Exception {
+        LocalDateTime now         = DateUtil.offsetDateTimeToLocalDateTime(ParameterOptions.getNow());
+        String        fingerprint = cache.fingerprint(BURNDOWN_CHART, context, sprint, BURNDOWN_CHART_WIDTH, now);
+        RenderedChart chart       = renderSvg(sprint, fingerprint, cache, svg, "Burn-Down", () -> {
+            BurnDownChart burnDownChart = createBurnDownChart(context, sprint, now);
+            return new RenderedChart(render(burnDownChart).toByteArray(), burnDownChart.getChartWidth(), burnDownChart.getChartHeight());
+        });
         svg.setId(BURNDOWN_CHART);
+        return chart;
+    }
+
+    /**
+     * Generates a png image of the Gantt chart of the given sprint that fits into the given size, e.g. as thumbnail in an overview.
+     * The image is only rendered if the cache does not already contain it for the current state of the sprint.
+     *
+     * @param context the application context
+     * @param sprint  the sprint for which to generate the Gantt chart
+     * @param width   maximum width of the image in pixel
+     * @param height  maximum height of the image in pixel
+     * @param cache   the rendered chart cache
+     * @return the png image and its size
+     */
+    public static RenderedChart generateGanttChartPng(Context context, Sprint sprint, int width, int height, RenderedChartCache cache) throws Exception {
+        LocalDateTime now         = DateUtil.offsetDateTimeToLocalDateTime(ParameterOptions.getNow());
+        String        fingerprint = cache.fingerprint(GANTT_CHART + "-png-" + height, context, sprint, width, now);
+        return cache.getOrRender(sprint.getId(), fingerprint, () -> renderPng(createGanttChart(context, sprint, now), width, height));
     }
 
     /**
      * Generates a Gantt chart SVG for the given sprint and updates the provided Svg component.
+     * The chart is only rendered if the cache does not already contain it for the current state of the sprint.
      *
      * @param context the application context
      * @param sprint  the sprint for which to generate the Gantt chart
      * @param svg     the Svg component to update with the Gantt chart
-     * @throws Exception if an error occurs during Gantt chart generation
+     * @param cache   the rendered chart cache
+     * @return the rendered chart, null if it could not be rendered
      */
-    public static GanttChart generateGanttChartSvg(Context context, Sprint sprint, Svg svg) throws Exception {
-        List<Throwable> exceptions = new ArrayList<>();
-        GanttChart      chart      = new GanttChart(context, "", "/", "Gantt Chart", sprint.getName() + "-gant-chart", exceptions, ParameterOptions.getLocalNow(), false, sprint/*, 1887, 1000*/, "scheduleWithMargin", context.parameters.graphicsTheme);
-        RenderUtil.renderSvg(chart, svg);
+    public static RenderedChart generateGanttChartSvg(Context context, Sprint sprint, Svg svg, RenderedChartCache cache) throws Exception {
+        LocalDateTime now         = DateUtil.offsetDateTimeToLocalDateTime(ParameterOptions.getNow());
+        String        fingerprint = cache.fingerprint(GANTT_CHART, context, sprint, 0, now);
+        RenderedChart chart       = renderSvg(sprint, fingerprint, cache, svg, "gantt", () -> {
+            GanttChart ganttChart = createGanttChart(context, sprint, now);
+            return new RenderedChart(render(ganttChart).toByteArray(), ganttChart.getChartWidth(), ganttChart.getChartHeight());
+        });
         svg.setId(GANTT_CHART);
         return chart;
     }
 
+    /**
+     * Generates a viewer that renders the Gantt chart of the given sprint tile by tile while the user scrolls.
+     * The size of the chart and every tile are cached like a whole chart, the chart is only created if a tile is not cached.
+     *
+     * @param context the application context
+     * @param sprint  the sprint for which to generate the Gantt chart
+     * @param cache   the rendered chart cache
+     * @return the viewer showing the tiles in view
+     */
+    public static TiledSvgViewer generateGanttChartTiles(Context context, Sprint sprint, RenderedChartCache cache) throws Exception {
+        LocalDateTime               now          = DateUtil.offsetDateTimeToLocalDateTime(ParameterOptions.getNow());
+        String                      fingerprint  = cache.fingerprint(GANTT_CHART, context, sprint, 0, now);
+        AtomicReference<GanttChart> ganttChart   = new AtomicReference<>();//created by the first tile that is not cached
+        Callable<GanttChart>        chartFactory = () -> {
+            if (ganttChart.get() == null) {
+                ganttChart.set(createGanttChart(context, sprint, now));
+            }
+            return ganttChart.get();
+        };
+        RenderedChart size = cache.getOrRender(sprint.getId(), fingerprint + "-size", () -> {
+            GanttChart chart = chartFactory.call();
+            return new RenderedChart(new byte[0], chart.getChartWidth(), chart.getChartHeight());
+        });
+        TiledSvgViewer viewer = new TiledSvgViewer(size.width(), size.height(), GANTT_TILE_WIDTH, GANTT_TILE_HEIGHT, (x, y, width, height) ->
+                cache.getOrRender(sprint.getId(), fingerprint + "-tile-" + x + "-" + y + "-" + width + "-" + height, () -> {
+                    ByteArrayOutputStream o = new ByteArrayOutputStream(64 * 1024);
+                    chartFactory.call().renderTile(o, new Rectangle(x, y, width, height));
+                    return new RenderedChart(o.toByteArray(), width, height);
+                }).svg());
+        viewer.setId(GANTT_CHART);
+        return viewer;
+    }
+
     /**
      * Renders a BurnDownChart to a ByteArrayOutputStream.
      *
@@ -139,34 +252,39 @@ public class RenderUtil {
     }
 
     /**
-     * Renders a BurnDownChart to a Svg component.
+     * Renders a chart as png image, the level of detail is chosen by the scale of the image.
      *
-     * @param chart the BurnDownChart to render
-     * @param svg   the Svg component to update or create
+     * @param chart  the chart to render
+     * @param width  maximum width of the image in pixel
+     * @param height maximum height of the image in pixel
+     * @return the png image and its size
      */
-    private static void renderSvg(BurnDownChart chart, Svg svg) {
-        try (ByteArrayOutputStream outputStream = render(chart)) {
-            String svgString = outputStream.toString(StandardCharsets.UTF_8);
-            // Update existing Svg with new content
-            svg.setSvg(svgString);
-        } catch (Exception e) {
-            logger.error("Error creating Burn-Down chart", e);
-        }
+    private static RenderedChart renderPng(AbstractCanvas chart, int width, int height) throws Exception {
+        ByteArrayOutputStream o    = new ByteArrayOutputStream(16 * 1024);
+        Dimension             size = chart.renderPng(o, width, height);
+        return new RenderedChart(o.toByteArray(), size.width, size.height);
     }
 
     /**
-     * Renders a Gantt chart to a Svg component.
+     * Takes the chart from the cache or renders it and updates the Svg component.
      *
-     * @param chart the GanttChart to render
-     * @param svg   the Svg component to update
+     * @param sprint      the sprint of the chart
+     * @param fingerprint fingerprint of the chart
+     * @param cache       the rendered chart cache
+     * @param svg         the Svg component to update
+     * @param name        name of the chart used in the error log
+     * @param renderer    renders the chart if it is not cached
+     * @return the chart, null if it could not be rendered
      */
-    private static void renderSvg(GanttChart chart, Svg svg) {
-        try (ByteArrayOutputStream outputStream = render(chart)) {
-            String svgString = outputStream.toString(StandardCharsets.UTF_8);
+    private static RenderedChart renderSvg(Sprint sprint, String fingerprint, RenderedChartCache cache, Svg svg, String name, Callable<RenderedChart> renderer) {
+        try {
+            RenderedChart chart = cache.getOrRender(sprint.getId(), fingerprint, renderer);
             // Update existing Svg with new content
-            svg.setSvg(svgString);
+            svg.setSvg(new String(chart.svg(), StandardCharsets.UTF_8));
+            return chart;
         } catch (Exception e) {
-            logger.error("Error creating gantt chart", e);
+            logger.error("Error creating " + name + " chart", e);
+            return null;
         }
     }
 
@@ -0,0 +1,264 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.ui.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.bushnaq.abdalla.projecthub.Context;
+import de.bushnaq.abdalla.projecthub.dto.Sprint;
+import de.bushnaq.abdalla.projecthub.rest.SprintDataChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * Keeps rendered charts, so that showing a board again does not render its charts again as long as the sprint did not change.
+ * <p>
+ * A chart is addressed by a fingerprint of the chart type, the graphics theme, the target width, the current date and
+ * the scheduled sprint with its users, tasks and worklogs. The extrapolated release date depends on the current time
+ * and is only part of the fingerprint with the precision of a day, which is also the precision the charts show it with.
+ * <p>
+ * The first tier is a least recently used cache in memory. If projecthub.ui.chart-cache.directory is set, charts are also
+ * written to that directory, so that they survive a restart. Saving or deleting a task or worklog removes all charts
+ * of its sprint from both tiers, as their fingerprint can never match again.
+ */
+@Component
+public class RenderedChartCache {
+    private static final String                     FILE_EXTENSION = ".chart";
+    private static final Logger                     logger         = LoggerFactory.getLogger(RenderedChartCache.class);
+    @Value("${projecthub.ui.chart-cache.directory:}")
+    private              String                     directory;
+    private              Map<String, RenderedChart> entries;//sprint id and fingerprint -> chart
+    private              long                       hits;
+    @Value("${projecthub.ui.chart-cache.max-entries:2000}")
+    private              int                        maxEntries;
+    private              long                       misses;
+    @Autowired
+    private              ObjectMapper               objectMapper;
+
+    public RenderedChartCache() {
+    }
+
+    public RenderedChartCache(ObjectMapper objectMapper, int maxEntries, String directory) {
+        this.objectMapper = objectMapper;
+        this.maxEntries   = maxEntries;
+        this.directory    = directory;
+        initialize();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Removes all charts of the sprint from memory and disk.
+     */
+    public void evict(Long sprintId) {
+        String prefix = key(sprintId, "");
+        synchronized (this) {
+            entries.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+        if (isDiskEnabled()) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(Path.of(directory), prefix + "*" + FILE_EXTENSION)) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException e) {
+                logger.warn("Cannot remove cached charts of sprint {}: {}", sprintId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @param chartType the kind of chart, e.g. gantt or burn-down
+     * @param context   provides the graphics theme
+     * @param sprint    the initialized and recalculated sprint
+     * @param width     the requested width of the chart, 0 if the chart determines its own width
+     * @param now       the time the sprint was recalculated for
+     * @return the fingerprint of everything the rendered chart depends on
+     */
+    public String fingerprint(String chartType, Context context, Sprint sprint, int width, LocalDateTime now) {
+        try {
+            ObjectNode sprintNode = objectMapper.valueToTree(sprint);
+            if (sprint.getReleaseDate() != null) {
+                sprintNode.put("releaseDate", sprint.getReleaseDate().toLocalDate().toString());
+            }
+            List<Long> userIds = new ArrayList<>(sprint.getUserMap().keySet());
+            Collections.sort(userIds);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((chartType + ":" + context.parameters.graphicsTheme.getClass().getName() + ":" + width + ":" + now.toLocalDate()).getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(sprintNode));
+            digest.update(objectMapper.writeValueAsBytes(userIds.stream().map(sprint.getUserMap()::get).toList()));
+            digest.update(objectMapper.writeValueAsBytes(sprint.getTasks()));
+            digest.update(objectMapper.writeValueAsBytes(sprint.getWorklogs()));
+            digest.update(objectMapper.writeValueAsBytes(sprint.getWorklogRollups()));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the cached chart, or null if there is none for this fingerprint
+     */
+    public RenderedChart get(Long sprintId, String fingerprint) {
+        String key = key(sprintId, fingerprint);
+        synchronized (this) {
+            RenderedChart chart = entries.get(key);
+            if (chart != null) {
+                hits++;
+                return chart;
+            }
+        }
+        RenderedChart chart = readFile(key);
+        synchronized (this) {
+            if (chart != null) {
+                hits++;
+                entries.put(key, chart);
+            } else {
+                misses++;
+            }
+        }
+        return chart;
+    }
+
+    public synchronized double getHitRatio() {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    /**
+     * Returns the cached chart or renders and caches it.
+     * Two sessions that miss at the same time both render, which is cheaper than blocking one session on the other.
+     */
+    public RenderedChart getOrRender(Long sprintId, String fingerprint, Callable<RenderedChart> renderer) throws Exception {
+        RenderedChart chart = get(sprintId, fingerprint);
+        if (chart == null) {
+            chart = renderer.call();
+            put(sprintId, fingerprint, chart);
+        }
+        return chart;
+    }
+
+    @PostConstruct
+    void initialize() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RenderedChart> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        if (isDiskEnabled()) {
+            try {
+                Files.createDirectories(Path.of(directory));
+            } catch (IOException e) {
+                logger.warn("Cannot create chart cache directory {}, charts are only cached in memory: {}", directory, e.getMessage());
+                directory = null;
+            }
+        }
+    }
+
+    private boolean isDiskEnabled() {
+        return directory != null && !directory.isBlank();
+    }
+
+    private static String key(Long sprintId, String fingerprint) {
+        return "sprint-" + sprintId + "-" + fingerprint;
+    }
+
+    @EventListener
+    public void onSprintDataChanged(SprintDataChangedEvent event) {
+        if (event.sprintId() != null) {
+            evict(event.sprintId());
+        }
+    }
+
+    public void put(Long sprintId, String fingerprint, RenderedChart chart) {
+        String key = key(sprintId, fingerprint);
+        synchronized (this) {
+            entries.put(key, chart);
+        }
+        writeFile(key, chart);
+    }
+
+    private RenderedChart readFile(String key) {
+        if (!isDiskEnabled()) {
+            return null;
+        }
+        Path file = Path.of(directory, key + FILE_EXTENSION);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int    width  = in.readInt();
+            int    height = in.readInt();
+            byte[] svg    = in.readAllBytes();
+            return new RenderedChart(svg, width, height);
+        } catch (IOException e) {
+            logger.warn("Cannot read cached chart {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Written to a temporary file first, so that a concurrent reader never sees a partial chart.
+     */
+    private void writeFile(String key, RenderedChart chart) {
+        if (!isDiskEnabled()) {
+            return;
+        }
+        Path file = Path.of(directory, key + FILE_EXTENSION);
+        try {
+            Path temp = Files.createTempFile(Path.of(directory), key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(chart.width());
+                out.writeInt(chart.height());
+                out.write(chart.svg());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Cannot write cached chart {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * A rendered svg chart.
+     *
+     * @param svg    the svg document, UTF-8 encoded, or the png image of a thumbnail
+     * @param width  width of the chart in pixel
+     * @param height height of the chart in pixel
+     */
+    public record RenderedChart(byte[] svg, int width, int height) {
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.ui.util;
+
+import de.bushnaq.abdalla.projecthub.dto.Task;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * The tasks of a sprint in the order they are shown in the task list.
+ * <p>
+ * The position of every task is kept in a map that is rebuilt whenever the order changes, so that numbering a row
+ * does not search the whole list. Tasks are mapped by identity, as unsaved tasks have no id yet and would all be equal.
+ */
+public class TaskOrder implements Iterable<Task> {
+    private final Map<Task, Integer> positions = new IdentityHashMap<>();
+    private final List<Task>         tasks;
+
+    public TaskOrder(Collection<Task> tasks) {
+        this.tasks = new ArrayList<>(tasks);
+        reindex();
+    }
+
+    public void add(Task task) {
+        positions.put(task, tasks.size());
+        tasks.add(task);
+    }
+
+    public Task get(int index) {
+        return tasks.get(index);
+    }
+
+    /**
+     * The number shown to the user, the 1-based position of the task in the sprint.
+     * orderIds contain gaps and are therefore not shown to the user.
+     */
+    public int getTaskNumber(Task task) {
+        return indexOf(task) + 1;
+    }
+
+    /**
+     * The list that backs this order, it must not be modified by the caller.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public int indexOf(Task task) {
+        Integer index = positions.get(task);
+        return index == null ? -1 : index;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return Collections.unmodifiableList(tasks).iterator();
+    }
+
+    /**
+     * Move a task to a new position.
+     * Only the moved task gets a new orderId between its new neighbors, all tasks are renumbered only if there is no gap left.
+     *
+     * @param fromIndex current position of the task
+     * @param toIndex   new position of the task
+     * @return the tasks whose orderId has changed
+     */
+    public List<Task> move(int fromIndex, int toIndex) {
+        if (fromIndex == toIndex || fromIndex < 0 || toIndex < 0 || fromIndex >= tasks.size() || toIndex >= tasks.size()) {
+            return List.of();
+        }
+        Task movedTask = tasks.remove(fromIndex);
+        tasks.add(toIndex, movedTask);
+        reindex();
+
+        Task previous = toIndex > 0 ? tasks.get(toIndex - 1) : null;
+        Task next     = toIndex + 1 < tasks.size() ? tasks.get(toIndex + 1) : null;
+        Long orderId  = orderIdBetween(previous, next);
+        if (orderId != null) {
+            movedTask.setOrderId(orderId);
+            return List.of(movedTask);
+        }
+        return rebalanceOrderIds();
+    }
+
+    /**
+     * The orderId in the middle between two neighboring tasks.
+     *
+     * @param previous the task before, null if moved to the top
+     * @param next     the task after, null if moved to the bottom
+     * @return the new orderId or null if there is no gap left
+     */
+    static Long orderIdBetween(Task previous, Task next) {
+        long lower = previous == null ? 0 : previous.getOrderId();
+        if (next == null) {
+            return lower + Task.ORDER_ID_GAP;
+        }
+        long upper = next.getOrderId();
+        if (upper - lower < 2) {
+            return null;
+        }
+        return lower + (upper - lower) / 2;
+    }
+
+    /**
+     * Renumber all tasks with the default gap, only needed once the gap between two neighbors is used up.
+     *
+     * @return the tasks whose orderId has changed
+     */
+    List<Task> rebalanceOrderIds() {
+        List<Task> changed = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task    = tasks.get(i);
+            long orderId = (i + 1) * Task.ORDER_ID_GAP;
+            if (task.getOrderId() != orderId) {
+                task.setOrderId(orderId);
+                changed.add(task);
+            }
+        }
+        return changed;
+    }
+
+    private void reindex() {
+        positions.clear();
+        for (int i = 0; i < tasks.size(); i++) {
+            positions.put(tasks.get(i), i);
+        }
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    public Stream<Task> stream() {
+        return tasks.stream();
+    }
+}
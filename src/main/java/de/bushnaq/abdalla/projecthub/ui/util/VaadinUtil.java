@@ -32,6 +32,8 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.provider.ListDataProvider;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.function.SerializablePredicate;
+import de.bushnaq.abdalla.projecthub.ui.component.KeysetDataProvider;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -197,8 +199,7 @@ public final class VaadinUtil {
 
         // Add filter change listener
         filterField.addValueChangeListener(e -> {
-            ListDataProvider<T> dataProvider = (ListDataProvider<T>) grid.getDataProvider();
-            dataProvider.setFilter(item -> {
+            setGridFilter(grid, item -> {
                 String value = filterFunction.apply(item);
                 return value != null &&
                         value.toLowerCase().contains(e.getValue().toLowerCase());
@@ -455,6 +456,56 @@ public final class VaadinUtil {
         return createDialogHeader(title, new Icon(icon));
     }
 
+    /**
+     * Applies an in-memory filter to the grid, independent of the data provider being a ListDataProvider or a lazy KeysetDataProvider.
+     *
+     * @param <T>    The type of items in the grid
+     * @param grid   The grid to filter
+     * @param filter The filter, null removes any filter
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void setGridFilter(Grid<T> grid, SerializablePredicate<T> filter) {
+        if (grid.getDataProvider() instanceof KeysetDataProvider<?> keysetDataProvider) {
+            if (filter == null) {
+                keysetDataProvider.clearFilters();
+            } else {
+                ((KeysetDataProvider<T>) keysetDataProvider).setFilter(filter);
+            }
+        } else {
+            ListDataProvider<T> dataProvider = (ListDataProvider<T>) grid.getDataProvider();
+            if (filter == null) {
+                dataProvider.clearFilters();
+            } else {
+                dataProvider.setFilter(filter);
+            }
+        }
+    }
+
+    /**
+     * Applies a case-insensitive text filter to the grid.
+     * A lazy KeysetDataProvider lets the server evaluate the filter, so that only the matching rows are loaded.
+     * A ListDataProvider matches the filter against the text returned by the filter function.
+     *
+     * @param <T>            The type of items in the grid
+     * @param grid           The grid to filter
+     * @param text           The text to search for, null or blank removes the filter
+     * @param filterFunction Function returning the searchable text of an item
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void setGridTextFilter(Grid<T> grid, String text, Function<T, String> filterFunction) {
+        String filterValue = text == null ? "" : text.toLowerCase().trim();
+        if (grid.getDataProvider() instanceof KeysetDataProvider<?> keysetDataProvider) {
+            keysetDataProvider.setTextFilter(filterValue);
+        } else if (filterValue.isEmpty()) {
+            setGridFilter(grid, null);
+        } else {
+            setGridFilter(grid, item -> {
+                String searchText = filterFunction.apply(item);
+                return searchText != null && searchText.toLowerCase().contains(filterValue);
+            });
+        }
+    }
+
     /**
      * Functional interface for create button click handlers
      */
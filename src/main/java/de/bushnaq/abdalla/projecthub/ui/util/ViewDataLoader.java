@@ -0,0 +1,93 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.ui.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executes the blocking data loading of the views.
+ * <p>
+ * The views load sprints, users, tasks and worklogs in parallel. These tasks block on rest calls and the database,
+ * so they must not run on the common ForkJoin pool, where they would starve parallel streams and everything else that uses it.
+ * The security context of the calling thread is propagated to the task and removed afterward.
+ * <p>
+ * By default, a fixed pool of platform threads is used, with projecthub.ui.loader.virtual-threads every task gets its own virtual thread.
+ * The option follows spring.threads.virtual.enabled, which also switches the tomcat request threads to virtual threads.
+ */
+@Component
+public class ViewDataLoader {
+    private static final AtomicInteger   poolNumber = new AtomicInteger();
+    /**
+     * Executor that propagates the security context, can be passed to CompletableFuture methods.
+     */
+    @Getter
+    private              Executor        executor;
+    private              ExecutorService executorService;
+    @Value("${projecthub.ui.loader.threads:16}")
+    private              int             threads;
+    @Value("${projecthub.ui.loader.virtual-threads:${spring.threads.virtual.enabled:false}}")
+    private              boolean         virtualThreads;
+
+    public ViewDataLoader() {
+    }
+
+    public ViewDataLoader(boolean virtualThreads, int threads) {
+        this.virtualThreads = virtualThreads;
+        this.threads        = threads;
+        initialize();
+    }
+
+    @PostConstruct
+    void initialize() {
+        String name = "view-loader-" + poolNumber.incrementAndGet() + "-";
+        if (virtualThreads) {
+            executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name, 0).factory());
+        } else {
+            executorService = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name(name, 0).daemon(true).factory());
+        }
+        executor = new DelegatingSecurityContextExecutor(executorService);
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Runs the supplier asynchronously with the security context of the calling thread.
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+}
@@ -21,6 +21,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.*;
@@ -31,6 +33,7 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.progressbar.ProgressBar;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.router.*;
+import com.vaadin.flow.server.Command;
 import com.vaadin.flow.theme.lumo.LumoUtility;
 import de.bushnaq.abdalla.projecthub.Context;
 import de.bushnaq.abdalla.projecthub.ParameterOptions;
@@ -38,21 +41,22 @@ import de.bushnaq.abdalla.projecthub.ai.SprintInsightsGenerator;
 import de.bushnaq.abdalla.projecthub.dto.Sprint;
 import de.bushnaq.abdalla.projecthub.dto.Task;
 import de.bushnaq.abdalla.projecthub.dto.User;
-import de.bushnaq.abdalla.projecthub.dto.Worklog;
+import de.bushnaq.abdalla.projecthub.dto.WorklogRollup;
 import de.bushnaq.abdalla.projecthub.rest.api.*;
 import de.bushnaq.abdalla.projecthub.ui.MainLayout;
+import de.bushnaq.abdalla.projecthub.ui.util.ViewDataLoader;
+import de.bushnaq.abdalla.util.date.DateUtil;
 import jakarta.annotation.security.PermitAll;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
@@ -61,7 +65,8 @@ import java.util.concurrent.ExecutionException;
 @Menu(order = 0, icon = "vaadin:lightbulb", title = "Insights")
 @PermitAll // When security is enabled, allow all authenticated users
 public class InsightsView extends Main implements AfterNavigationObserver {
-
+    private static final int MAX_PARALLEL_SPRINTS = 4;
+    private static final int POLL_INTERVAL        = 500;//ms
     @Autowired
     protected Context context;
     //    private final        FeatureApi featureApi;
@@ -82,11 +87,16 @@ public class InsightsView extends Main implements AfterNavigationObserver {
     // AI Insights Components
     @Autowired
     private       SprintInsightsGenerator sprintInsightsGenerator;
+    private       Span                    sprintLoadingStatus;
     List<SprintStatistics> sprintStatistics = new ArrayList<>();
-    private final TaskApi    taskApi;
-    private final UserApi    userApi;
-    private final VersionApi versionApi;
-    private final WorklogApi worklogApi;
+    @Autowired
+    private       SprintStatisticsCache   sprintStatisticsCache;
+    private final TaskApi        taskApi;
+    private final UserApi        userApi;
+    private final VersionApi     versionApi;
+    @Autowired
+    private       ViewDataLoader viewDataLoader;
+    private final WorklogApi     worklogApi;
 
     public InsightsView(WorklogApi worklogApi, TaskApi taskApi, SprintApi sprintApi, ProductApi productApi, VersionApi versionApi, FeatureApi featureApi, UserApi userApi, Clock clock) {
         this.worklogApi = worklogApi;
@@ -96,7 +106,7 @@ public class InsightsView extends Main implements AfterNavigationObserver {
         this.versionApi = versionApi;
 //        this.featureApi = featureApi;
         this.userApi = userApi;
-        this.now     = ParameterOptions.getLocalNow();
+        this.now     = DateUtil.offsetDateTimeToLocalDateTime(ParameterOptions.getNow());
 
         pageTitle = new H2("Sprint Insights");
         pageTitle.addClassNames(
@@ -122,7 +132,17 @@ public class InsightsView extends Main implements AfterNavigationObserver {
                     }
                 });
         loadData();
-        generateJson();
+    }
+
+    /**
+     * Runs the update in the UI, unless the user has left the page in the meantime.
+     */
+    private void access(UI ui, Command command) {
+        try {
+            ui.access(command);
+        } catch (UIDetachedException e) {
+            logger.info("insights page closed before all sprints were loaded");
+        }
     }
 
     private void createControlsSection() {
@@ -163,7 +183,11 @@ public class InsightsView extends Main implements AfterNavigationObserver {
         loadingIndicator.setVisible(false);
         loadingIndicator.setWidthFull();
 
-        controlsSection.add(description, questionField, buttonsLayout, loadingIndicator);
+        // Sprint loading progress
+        sprintLoadingStatus = new Span();
+        sprintLoadingStatus.addClassNames(LumoUtility.TextColor.SECONDARY, LumoUtility.FontSize.SMALL);
+
+        controlsSection.add(description, questionField, buttonsLayout, loadingIndicator, sprintLoadingStatus);
         mainLayout.add(controlsSection);
     }
 
@@ -258,9 +282,10 @@ public class InsightsView extends Main implements AfterNavigationObserver {
             return;
         }
 
+        generateJson();
         setLoadingState(true);
 
-        CompletableFuture<String> insightsFuture = CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<String> insightsFuture = viewDataLoader.supplyAsync(() -> {
             try {
                 logger.info("Starting comprehensive insights generation...");
                 String question = questionField.getValue();
@@ -316,9 +341,10 @@ public class InsightsView extends Main implements AfterNavigationObserver {
             return;
         }
 
+        generateJson();
         setLoadingState(true);
 
-        CompletableFuture<String> summaryFuture = CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<String> summaryFuture = viewDataLoader.supplyAsync(() -> {
             try {
                 logger.info("Starting quick summary generation...");
                 String result = sprintInsightsGenerator.generateQuickSummary(jsonString);
@@ -360,84 +386,78 @@ public class InsightsView extends Main implements AfterNavigationObserver {
         createInsightsSection();
     }
 
+    /**
+     * Loads all sprints with at most {@link #MAX_PARALLEL_SPRINTS} in flight.
+     * <p>
+     * Every sprint is added to the page as soon as it is scheduled, the UI polls for these updates until all sprints are loaded.
+     * The loading is composed asynchronously, no loader thread is blocked waiting for another one.
+     */
     private void loadData() {
-        // Capture the security context from the current thread
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        List<Sprint> sprintIds = sprintApi.getAll();
-
-        for (Sprint sprint : sprintIds) {
-            sprintStatistics.add(new SprintStatistics(loadSprintData(authentication, sprint.getId()), now));
+        List<Sprint> sprints = sprintApi.getAll();
+        UI           ui      = UI.getCurrent();
+        if (sprints.isEmpty()) {
+            return;
         }
+        long                   time             = System.currentTimeMillis();
+        SprintStatistics[]     loadedStatistics = new SprintStatistics[sprints.size()];
+        int[]                  loaded           = new int[1];
+        int                    lanes            = Math.min(MAX_PARALLEL_SPRINTS, sprints.size());
+        CompletableFuture<?>[] laneFutures      = new CompletableFuture<?>[lanes];
+        Arrays.fill(laneFutures, CompletableFuture.completedFuture(null));
+        for (int i = 0; i < sprints.size(); i++) {
+            int  index    = i;
+            Long sprintId = sprints.get(i).getId();
+            laneFutures[i % lanes] = laneFutures[i % lanes]
+                    .thenCompose(v -> loadSprintStatistics(sprintId))
+                    .exceptionally(e -> {
+                        logger.error("Error loading sprint {}", sprintId, e);
+                        return null;
+                    })
+                    .thenAccept(statistics -> access(ui, () -> {
+                        loadedStatistics[index] = statistics;
+                        loaded[0]++;
+                        sprintStatistics = Arrays.stream(loadedStatistics).filter(Objects::nonNull).toList();
+                        updateSprintLoadingState(loaded[0], sprints.size());
+                    }));
+        }
+        ui.setPollInterval(POLL_INTERVAL);
+        updateSprintLoadingState(0, sprints.size());
+        CompletableFuture.allOf(laneFutures).whenComplete((v, e) -> access(ui, () -> {
+            ui.setPollInterval(-1);
+            logger.info("{} sprints loaded in {} ms", sprints.size(), System.currentTimeMillis() - time);
+        }));
     }
 
-    private Sprint loadSprintData(Authentication authentication, Long sprintId) {
-        Sprint sprint = null;
-        long   time   = System.currentTimeMillis();
-        // Load in parallel with security context propagation
-        CompletableFuture<Sprint> sprintFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                Sprint s = sprintApi.getById(sprintId);
-                s.initialize();
-                return s;
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
+    /**
+     * Loads the sprint, its users, tasks and worklogs in parallel and schedules it, unless the cache already has the statistics.
+     */
+    private CompletableFuture<SprintStatistics> loadSprintStatistics(Long sprintId) {
+        CompletableFuture<Sprint>              sprintFuture         = viewDataLoader.supplyAsync(() -> sprintApi.getById(sprintId));
+        CompletableFuture<List<User>>          usersFuture          = viewDataLoader.supplyAsync(() -> userApi.getAll(sprintId));
+        CompletableFuture<List<Task>>          tasksFuture          = viewDataLoader.supplyAsync(() -> taskApi.getAll(sprintId));
+        CompletableFuture<List<WorklogRollup>> worklogRollupsFuture = viewDataLoader.supplyAsync(() -> worklogApi.getRollups(sprintId));
+        return CompletableFuture.allOf(sprintFuture, usersFuture, tasksFuture, worklogRollupsFuture).thenApplyAsync(v -> {
+            long                time           = System.currentTimeMillis();
+            Sprint              sprint         = sprintFuture.join();
+            List<User>          users          = usersFuture.join();
+            List<Task>          tasks          = tasksFuture.join();
+            List<WorklogRollup> worklogRollups = worklogRollupsFuture.join();
+            String              fingerprint    = sprintStatisticsCache.fingerprint(now, sprint, users, tasks, worklogRollups);
+            SprintStatistics    statistics     = sprintStatisticsCache.get(sprintId, fingerprint);
+            if (statistics != null) {
+                logger.info("reused schedule of sprint {}", sprint.getName());
+                return statistics;
             }
-        });
-
-        CompletableFuture<List<User>> usersFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                return userApi.getAll(sprintId);
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
-            }
-        });
-
-        CompletableFuture<List<Task>> tasksFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                return taskApi.getAll(sprintId);
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
-            }
-        });
-
-        CompletableFuture<List<Worklog>> worklogsFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                return worklogApi.getAll(sprintId);
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
-            }
-        });
-
-        // Wait for all futures and combine results
-        try {
-            sprint = sprintFuture.get();
-            logger.info("sprint loaded and initialized in {} ms", System.currentTimeMillis() - time);
-            time = System.currentTimeMillis();
-            sprint.initUserMap(usersFuture.get());
-            sprint.initTaskMap(tasksFuture.get(), worklogsFuture.get());
-            logger.info("sprint user, task and worklog maps initialized in {} ms", System.currentTimeMillis() - time);
-            sprint.recalculate(ParameterOptions.getLocalNow());
-        } catch (InterruptedException | ExecutionException e) {
-            logger.error("Error loading sprint data", e);
-        }
-        return sprint;
+            sprint.initialize();
+            sprint.initUserMap(users);
+            sprint.initTaskMap(tasks, null);
+            sprint.initWorklogRollups(worklogRollups);
+            sprint.recalculate(now);
+            statistics = new SprintStatistics(sprint, now);
+            sprintStatisticsCache.put(sprintId, fingerprint, statistics);
+            logger.info("sprint {} scheduled in {} ms", sprint.getName(), System.currentTimeMillis() - time);
+            return statistics;
+        }, viewDataLoader.getExecutor());
     }
 
     private void setLoadingState(boolean loading) {
@@ -451,4 +471,8 @@ public class InsightsView extends Main implements AfterNavigationObserver {
             generateInsightsButton.setText("Generate Comprehensive Insights");
         }
     }
+
+    private void updateSprintLoadingState(int loaded, int total) {
+        sprintLoadingStatus.setText(loaded < total ? String.format("Loaded %d of %d sprints...", loaded, total) : String.format("Loaded %d sprints", total));
+    }
 }
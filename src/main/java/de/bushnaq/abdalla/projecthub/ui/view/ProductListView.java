@@ -30,6 +30,7 @@ import de.bushnaq.abdalla.projecthub.dto.Product;
 import de.bushnaq.abdalla.projecthub.rest.api.ProductApi;
 import de.bushnaq.abdalla.projecthub.ui.MainLayout;
 import de.bushnaq.abdalla.projecthub.ui.component.AbstractMainGrid;
+import de.bushnaq.abdalla.projecthub.ui.component.KeysetDataProvider;
 import de.bushnaq.abdalla.projecthub.ui.dialog.ConfirmDialog;
 import de.bushnaq.abdalla.projecthub.ui.dialog.ProductDialog;
 import de.bushnaq.abdalla.projecthub.ui.util.VaadinUtil;
@@ -64,6 +65,7 @@ public class ProductListView extends AbstractMainGrid<Product> implements AfterN
     public ProductListView(ProductApi productApi, Clock clock, AiFilterService aiFilterService, ObjectMapper mapper) {
         super(clock);
         this.productApi = productApi;
+        setKeysetDataProvider(new KeysetDataProvider<>(productApi::getPage, productApi::count));
 
         add(
                 createSmartHeader(
@@ -158,6 +160,7 @@ public class ProductListView extends AbstractMainGrid<Product> implements AfterN
 
         {
             Grid.Column<Product> keyColumn = grid.addColumn(Product::getKey);
+            keyColumn.setSortProperty("id");
             VaadinUtil.addSimpleHeader(keyColumn, "Key", VaadinIcon.KEY);
         }
         {
@@ -171,15 +174,18 @@ public class ProductListView extends AbstractMainGrid<Product> implements AfterN
             // Configure a custom comparator to properly sort by the name property
             nameColumn.setComparator((product1, product2) ->
                     product1.getName().compareToIgnoreCase(product2.getName()));
+            nameColumn.setSortProperty("name");
 
             VaadinUtil.addSimpleHeader(nameColumn, "Name", VaadinIcon.CUBE);
         }
         {
             Grid.Column<Product> createdColumn = grid.addColumn(product -> dateTimeFormatter.format(product.getCreated()));
+            createdColumn.setSortProperty("created");
             VaadinUtil.addSimpleHeader(createdColumn, "Created", VaadinIcon.CALENDAR);
         }
         {
             Grid.Column<Product> updatedColumn = grid.addColumn(product -> dateTimeFormatter.format(product.getUpdated()));
+            updatedColumn.setSortProperty("updated");
             VaadinUtil.addSimpleHeader(updatedColumn, "Updated", VaadinIcon.CALENDAR);
         }
         // Add actions column using VaadinUtil
@@ -227,8 +233,6 @@ public class ProductListView extends AbstractMainGrid<Product> implements AfterN
     }
 
     private void refreshGrid() {
-        dataProvider.getItems().clear();
-        dataProvider.getItems().addAll(productApi.getAll());
-        dataProvider.refreshAll();
+        grid.getDataProvider().refreshAll();
     }
 }
@@ -26,13 +26,16 @@ import com.vaadin.flow.theme.lumo.LumoUtility;
 import de.bushnaq.abdalla.projecthub.Context;
 import de.bushnaq.abdalla.projecthub.ParameterOptions;
 import de.bushnaq.abdalla.projecthub.dto.*;
-import de.bushnaq.abdalla.projecthub.report.gantt.GanttChart;
 import de.bushnaq.abdalla.projecthub.report.gantt.GanttUtil;
 import de.bushnaq.abdalla.projecthub.report.html.util.HtmlUtil;
 import de.bushnaq.abdalla.projecthub.rest.api.*;
 import de.bushnaq.abdalla.projecthub.ui.HtmlColor;
 import de.bushnaq.abdalla.projecthub.ui.MainLayout;
+import de.bushnaq.abdalla.projecthub.ui.component.TiledSvgViewer;
+import de.bushnaq.abdalla.projecthub.ui.util.ChartRenderingService;
 import de.bushnaq.abdalla.projecthub.ui.util.RenderUtil;
+import de.bushnaq.abdalla.projecthub.ui.util.RenderedChartCache;
+import de.bushnaq.abdalla.projecthub.ui.util.ViewDataLoader;
 import de.bushnaq.abdalla.util.GanttErrorHandler;
 import de.bushnaq.abdalla.util.date.DateUtil;
 import de.bushnaq.abdalla.util.date.ReportUtil;
@@ -40,9 +43,6 @@ import jakarta.annotation.security.PermitAll;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.Clock;
 import java.time.Duration;
@@ -62,30 +62,36 @@ import java.util.function.Function;
 @PageTitle("Sprint Quality Board")
 @PermitAll // When security is enabled, allow all authenticated users
 public class SprintQualityBoard extends Main implements AfterNavigationObserver {
-    public static final String            SPRINT_GRID_NAME_PREFIX = "sprint-grid-name-";
-    private final       Clock             clock;
+    public static final String                SPRINT_GRID_NAME_PREFIX = "sprint-grid-name-";
     @Autowired
-    protected           Context           context;
-    private final       LocalDateTime     created;
-    private final       GanttErrorHandler eh                      = new GanttErrorHandler();
-    private final       FeatureApi        featureApi;
-    private             Long              featureId;
-    private             GanttUtil         ganttUtil;
-    private final       HtmlUtil          htmlUtil                = new HtmlUtil();
-    final               Logger            logger                  = LoggerFactory.getLogger(this.getClass());
-    private final       LocalDateTime     now;
-    private final       H2                pageTitle;
-    private final       ProductApi        productApi;
-    private             Long              productId;
-    private             Sprint            sprint;
-    private final       SprintApi         sprintApi;
-    private             Long              sprintId;
-    private             SprintStatistics  sprintStatistics;
-    private final       TaskApi           taskApi;
-    private final       UserApi           userApi;
-    private final       VersionApi        versionApi;
-    private             Long              versionId;
-    private final       WorklogApi        worklogApi;
+    private             ChartRenderingService chartRenderingService;
+    private final       Clock                 clock;
+    @Autowired
+    protected           Context               context;
+    private final       LocalDateTime         created;
+    private final       GanttErrorHandler     eh                      = new GanttErrorHandler();
+    private final       FeatureApi            featureApi;
+    private             Long                  featureId;
+    private             GanttUtil             ganttUtil;
+    private final       HtmlUtil              htmlUtil                = new HtmlUtil();
+    final               Logger                logger                  = LoggerFactory.getLogger(this.getClass());
+    private final       LocalDateTime         now;
+    private final       H2                    pageTitle;
+    private final       ProductApi            productApi;
+    private             Long                  productId;
+    @Autowired
+    private             RenderedChartCache    renderedChartCache;
+    private             Sprint                sprint;
+    private final       SprintApi             sprintApi;
+    private             Long                  sprintId;
+    private             SprintStatistics      sprintStatistics;
+    private final       TaskApi               taskApi;
+    private final       UserApi               userApi;
+    private final       VersionApi            versionApi;
+    private             Long                  versionId;
+    @Autowired
+    private             ViewDataLoader        viewDataLoader;
+    private final       WorklogApi            worklogApi;
 
     public SprintQualityBoard(WorklogApi worklogApi, TaskApi taskApi, SprintApi sprintApi, ProductApi productApi, VersionApi versionApi, FeatureApi featureApi, UserApi userApi, Clock clock) {
         created         = LocalDateTime.now(clock);
@@ -197,8 +203,17 @@ public class SprintQualityBoard extends Main implements AfterNavigationObserver
             return;
         } else {
 //        renderBurnDownChart();
-            createSprintDetailsLayout();
-            createGanttChart();
+            //- the charts are independent, render them concurrently
+            long                              time       = System.currentTimeMillis();
+            CompletableFuture<Svg>            burnDown   = chartRenderingService.submit("burn-down", () -> {
+                Svg svg = new Svg();
+                RenderUtil.generateBurnDownChartSvg(context, sprint, svg, renderedChartCache);
+                return svg;
+            });
+            CompletableFuture<TiledSvgViewer> ganttChart = chartRenderingService.submit("gantt", () -> RenderUtil.generateGanttChartTiles(context, sprint, renderedChartCache));
+            createSprintDetailsLayout(burnDown);
+            createGanttChart(ganttChart);
+            logger.info("charts generated in {} ms", System.currentTimeMillis() - time);
         }
         logTime();
     }
@@ -246,26 +261,19 @@ public class SprintQualityBoard extends Main implements AfterNavigationObserver
         return createFieldDisplay(label, value, null);
     }
 
-    private void createGanttChart() {
+    private void createGanttChart(CompletableFuture<TiledSvgViewer> ganttChart) {
         try {
-            long       time  = System.currentTimeMillis();
-            Div        div   = new Div();
-            Svg        svg   = new Svg();
-            GanttChart chart = RenderUtil.generateGanttChartSvg(context, sprint, svg);
-            svg.getStyle()//.set("object-fit", "contain") // Maintain aspect ratio
-                    .set("margin-top", "var(--lumo-space-m)");
-            svg.setClassName("qtip-shadow");
-            div.setWidth(chart.getChartWidth() + "px");
-            div.add(svg);
-            add(div);
-            logger.info("Gantt chart generated in {} ms", System.currentTimeMillis() - time);
+            TiledSvgViewer chart = ChartRenderingService.waitFor(ganttChart);
+            chart.getStyle().set("margin-top", "var(--lumo-space-m)");
+            chart.addClassName("qtip-shadow");
+            add(chart);
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
             add(new Paragraph("Error generating gantt chart: " + e.getMessage()));
         }
     }
 
-    private void createSprintDetailsLayout() {
+    private void createSprintDetailsLayout(CompletableFuture<Svg> burnDown) {
         final DateTimeFormatter dtfymd = DateTimeFormatter.ofPattern("yyyy.MM.dd");
 
         // Create a container with CSS Grid layout
@@ -321,8 +329,8 @@ public class SprintQualityBoard extends Main implements AfterNavigationObserver
 
 
         // forth row
-        gridContainer.add(createFieldDisplay("4.1", "a"));//column 1
-        gridContainer.add(createFieldDisplay("4.2", "b"));//column 2
+        gridContainer.add(createFieldDisplay("First Punch-In Date", DateUtil.createDateString(sprint.getBurnDownWork().getFirstPunchIn(), dtfymd)));//column 1
+        gridContainer.add(createFieldDisplay("Last Punch-Out Date", DateUtil.createDateString(sprint.getBurnDownWork().getLastPunchOut(), dtfymd)));//column 2
         gridContainer.add(createFieldDisplay("4.3", "a"));//column 3
         gridContainer.add(createFieldDisplay("4.4", "b"));//column 4
         gridContainer.add(createFieldDisplay("4.6", "a"));//column 6
@@ -337,14 +345,11 @@ public class SprintQualityBoard extends Main implements AfterNavigationObserver
                 .set("background-color", "var(--lumo-base-color)");
 
         try {
-            long time = System.currentTimeMillis();
-            Svg  svg  = new Svg();
-            RenderUtil.generateBurnDownChartSvg(context, sprint, svg);
+            Svg svg = ChartRenderingService.waitFor(burnDown);
             svg.getStyle().set("object-fit", "contain") // Maintain aspect ratio
                     .set("margin-top", "var(--lumo-space-m)");
             svg.setClassName("qtip-shadow");
             spanningColumn.add(svg);
-            logger.info("Burndown chart generated in {} ms", System.currentTimeMillis() - time);
         } catch (Exception e) {
             spanningColumn.add(new Paragraph("Error loading burndown chart: " + e.getMessage()));
         }
@@ -384,60 +389,18 @@ public class SprintQualityBoard extends Main implements AfterNavigationObserver
         //- populate grid with tasks of the sprint
         long time = System.currentTimeMillis();
 
-        // Capture the security context from the current thread
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        // Load in parallel with security context propagation
-        CompletableFuture<Sprint> sprintFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                Sprint s = sprintApi.getById(sprintId);
-                s.initialize();
-                return s;
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
-            }
+        // Load in parallel, the loader propagates the security context
+        CompletableFuture<Sprint> sprintFuture = viewDataLoader.supplyAsync(() -> {
+            Sprint s = sprintApi.getById(sprintId);
+            s.initialize();
+            return s;
         });
 
-        CompletableFuture<List<User>> usersFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                return userApi.getAll(sprintId);
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
-
-            }
-        });
+        CompletableFuture<List<User>> usersFuture = viewDataLoader.supplyAsync(() -> userApi.getAll(sprintId));
 
-        CompletableFuture<List<Task>> tasksFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                return taskApi.getAll(sprintId);
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
-            }
-        });
+        CompletableFuture<List<Task>> tasksFuture = viewDataLoader.supplyAsync(() -> taskApi.getAll(sprintId));
 
-        CompletableFuture<List<Worklog>> worklogsFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                return worklogApi.getAll(sprintId);
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
-            }
-        });
+        CompletableFuture<List<WorklogRollup>> worklogRollupsFuture = viewDataLoader.supplyAsync(() -> worklogApi.getRollups(sprintId));
 
         // Wait for all futures and combine results
         try {
@@ -445,7 +408,8 @@ public class SprintQualityBoard extends Main implements AfterNavigationObserver
             logger.info("sprint loaded and initialized in {} ms", System.currentTimeMillis() - time);
             time = System.currentTimeMillis();
             sprint.initUserMap(usersFuture.get());
-            sprint.initTaskMap(tasksFuture.get(), worklogsFuture.get());
+            sprint.initTaskMap(tasksFuture.get(), null);
+            sprint.initWorklogRollups(worklogRollupsFuture.get());
             logger.info("sprint user, task and worklog maps initialized in {} ms", System.currentTimeMillis() - time);
             if (sprint.getStart() != null) {
                 sprint.recalculate(ParameterOptions.getLocalNow());
@@ -19,6 +19,7 @@ package de.bushnaq.abdalla.projecthub.ui.view;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import de.bushnaq.abdalla.projecthub.dto.Sprint;
+import de.bushnaq.abdalla.projecthub.report.burndown.BurnDownWork;
 import de.bushnaq.abdalla.projecthub.ui.HtmlColor;
 import de.bushnaq.abdalla.util.date.DateUtil;
 import de.bushnaq.abdalla.util.date.ReportUtil;
@@ -56,7 +57,9 @@ public class SprintStatistics {
     private final        String            extrapolatedReleaseDate;
     private final        String            extrapolatedScheduleDelay;
     private final        String            extrapolatedStatus;
+    private final        String            firstPunchIn;
     private final        boolean           isActualReleaseDate;//- if ture, the sprint has been completed, extrapolatedReleaseDate is actual release date, otherwise extrapolatedReleaseDate is an extrapolated date
+    private final        String            lastPunchOut;
     private final        String            optimalEfficiency;
     @JsonIgnore
     private final        Duration          originalEstimation;
@@ -109,6 +112,11 @@ public class SprintStatistics {
         this.isActualReleaseDate     = sprint.getRemaining() == null || sprint.getRemaining().equals(Duration.ZERO);
         this.extrapolatedReleaseDate = DateUtil.createDateString(sprint.getReleaseDate(), DATE_FORMATTER);
 
+        // Worklog dates
+        BurnDownWork burnDownWork = sprint.getBurnDownWork();
+        this.firstPunchIn = DateUtil.createDateString(burnDownWork.getFirstPunchIn(), DATE_FORMATTER);
+        this.lastPunchOut = DateUtil.createDateString(burnDownWork.getLastPunchOut(), DATE_FORMATTER);
+
         // Formatted display strings
         this.effortSpentDisplay     = DateUtil.createDurationString(sprint.getWorked(), false, true, false);
         this.effortEstimateDisplay  = DateUtil.createWorkDayDurationString(effortEstimate, false, true, false);
@@ -0,0 +1,92 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.ui.view;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bushnaq.abdalla.projecthub.ParameterOptions;
+import de.bushnaq.abdalla.util.date.DateUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the statistics of scheduled sprints, so that leveling the resources and recalculating a sprint
+ * that has not changed since the last time can be skipped.
+ * <p>
+ * An entry is only valid for the same fingerprint, which covers the sprint, its users, tasks and worklogs and the time
+ * the sprint was scheduled at. The statistics are immutable and can be shared by all sessions.
+ */
+@Component
+public class SprintStatisticsCache {
+    private static final int              MAX_ENTRIES = 200;
+    private final        Map<Long, Entry> entries     = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    @Autowired
+    private              ObjectMapper     objectMapper;
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * The fingerprint is a hash of the serialized inputs, as neither tasks nor the children of users,
+     * like availabilities and off days, carry an updated timestamp that could be used instead.
+     *
+     * @param now    the time the sprint is scheduled at, the current time if null
+     * @param inputs the sprint, its users, tasks and worklogs as they were loaded, before the sprint is initialized
+     * @return a fingerprint that changes if anything the schedule depends on changes
+     */
+    public String fingerprint(LocalDateTime now, Object... inputs) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            LocalDateTime time   = now != null ? now : DateUtil.offsetDateTimeToLocalDateTime(ParameterOptions.getNow());
+            digest.update(time.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(inputs));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the cached statistics, or null if there are none for this fingerprint
+     */
+    public synchronized SprintStatistics get(Long sprintId, String fingerprint) {
+        Entry entry = entries.get(sprintId);
+        return entry != null && entry.fingerprint().equals(fingerprint) ? entry.statistics() : null;
+    }
+
+    public synchronized void put(Long sprintId, String fingerprint, SprintStatistics statistics) {
+        entries.put(sprintId, new Entry(fingerprint, statistics));
+    }
+
+    private record Entry(String fingerprint, SprintStatistics statistics) {
+    }
+}
@@ -17,7 +17,6 @@
 
 package de.bushnaq.abdalla.projecthub.ui.view;
 
-import com.vaadin.flow.component.Svg;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
@@ -41,8 +40,12 @@ import de.bushnaq.abdalla.projecthub.dto.*;
 import de.bushnaq.abdalla.projecthub.report.gantt.GanttUtil;
 import de.bushnaq.abdalla.projecthub.rest.api.*;
 import de.bushnaq.abdalla.projecthub.ui.MainLayout;
+import de.bushnaq.abdalla.projecthub.ui.component.TiledSvgViewer;
 import de.bushnaq.abdalla.projecthub.ui.dialog.DependencyDialog;
 import de.bushnaq.abdalla.projecthub.ui.util.RenderUtil;
+import de.bushnaq.abdalla.projecthub.ui.util.RenderedChartCache;
+import de.bushnaq.abdalla.projecthub.ui.util.TaskOrder;
+import de.bushnaq.abdalla.projecthub.ui.util.ViewDataLoader;
 import de.bushnaq.abdalla.util.GanttErrorHandler;
 import de.bushnaq.abdalla.util.date.DateUtil;
 import jakarta.annotation.security.PermitAll;
@@ -51,7 +54,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.PrintWriter;
@@ -72,43 +74,47 @@ import java.util.stream.Collectors;
 @PermitAll // When security is enabled, allow all authenticated users
 @RolesAllowed({"USER", "ADMIN"}) // Allow access to users with specific roles
 public class TaskListView extends Main implements AfterNavigationObserver {
-    public static final String            CANCEL_BUTTON_ID           = "cancel-tasks-button";
-    public static final String            CREATE_MILESTONE_BUTTON_ID = "create-milestone-button";
-    public static final String            CREATE_STORY_BUTTON_ID     = "create-story-button";
-    public static final String            CREATE_TASK_BUTTON_ID      = "create-task-button";
-    public static final String            EDIT_BUTTON_ID             = "edit-tasks-button";
-    public static final String            SAVE_BUTTON_ID             = "save-tasks-button";
-    public static final String            TASK_GRID_NAME_PREFIX      = "task-grid-name-";
-    public static final String            TASK_LIST_PAGE_TITLE       = "task-list-page-title";
-    private             Button            cancelButton;
-    private final       Clock             clock;
+    public static final String             CANCEL_BUTTON_ID           = "cancel-tasks-button";
+    public static final String             CREATE_MILESTONE_BUTTON_ID = "create-milestone-button";
+    public static final String             CREATE_STORY_BUTTON_ID     = "create-story-button";
+    public static final String             CREATE_TASK_BUTTON_ID      = "create-task-button";
+    public static final String             EDIT_BUTTON_ID             = "edit-tasks-button";
+    public static final String             SAVE_BUTTON_ID             = "save-tasks-button";
+    public static final String             TASK_GRID_NAME_PREFIX      = "task-grid-name-";
+    public static final String             TASK_LIST_PAGE_TITLE       = "task-list-page-title";
+    private             Button             cancelButton;
+    private final       Clock              clock;
     @Autowired
-    protected           Context           context;
-    private             Task              draggedTask;          // Track the currently dragged task
-    private final       DateTimeFormatter dtfymdhm                   = DateTimeFormatter.ofPattern("yyyy.MMM.dd HH:mm");
-    private             Button            editButton;
-    private final       GanttErrorHandler eh                         = new GanttErrorHandler();
-    private final       FeatureApi        featureApi;
-    private             Long              featureId;
-    private final       Svg               ganttChart                 = new Svg();
-    private             GanttUtil         ganttUtil;
-    private             Grid<Task>        grid;
-    private final       HorizontalLayout  headerLayout;
-    private             boolean           isEditMode                 = false;// Edit mode state management
-    private final       Logger            logger                     = LoggerFactory.getLogger(this.getClass());
-    private final       Set<Task>         modifiedTasks              = new HashSet<>();
-    private final       ProductApi        productApi;
-    private             Long              productId;
-    private             Button            saveButton;
-    private             Sprint            sprint;
-    private final       SprintApi         sprintApi;
-    private             Long              sprintId;
-    private final       TaskApi           taskApi;
-    private             List<Task>        taskOrder                  = new ArrayList<>(); // Track current order in memory
-    private final       UserApi           userApi;
-    private final       VersionApi        versionApi;
-    private             Long              versionId;
-    private final       WorklogApi        worklogApi;
+    protected           Context            context;
+    private             Task               draggedTask;          // Track the currently dragged task
+    private final       DateTimeFormatter  dtfymdhm                   = DateTimeFormatter.ofPattern("yyyy.MMM.dd HH:mm");
+    private             Button             editButton;
+    private final       GanttErrorHandler  eh                         = new GanttErrorHandler();
+    private final       FeatureApi         featureApi;
+    private             Long               featureId;
+    private             TiledSvgViewer     ganttChart;
+    private             GanttUtil          ganttUtil;
+    private             Grid<Task>         grid;
+    private final       HorizontalLayout   headerLayout;
+    private             boolean            isEditMode                 = false;// Edit mode state management
+    private final       Logger             logger                     = LoggerFactory.getLogger(this.getClass());
+    private final       Set<Task>          modifiedTasks              = new HashSet<>();
+    private final       ProductApi         productApi;
+    private             Long               productId;
+    @Autowired
+    private             RenderedChartCache renderedChartCache;
+    private             Button             saveButton;
+    private             Sprint             sprint;
+    private final       SprintApi          sprintApi;
+    private             Long               sprintId;
+    private final       TaskApi            taskApi;
+    private             TaskOrder          taskOrder                  = new TaskOrder(List.of()); // Track current order in memory
+    private final       UserApi            userApi;
+    private final       VersionApi         versionApi;
+    private             Long               versionId;
+    @Autowired
+    private             ViewDataLoader     viewDataLoader;
+    private final       WorklogApi         worklogApi;
 
     public TaskListView(WorklogApi worklogApi, TaskApi taskApi, SprintApi sprintApi, ProductApi productApi, VersionApi versionApi, FeatureApi featureApi, UserApi userApi, Clock clock) {
         this.worklogApi = worklogApi;
@@ -391,7 +397,7 @@ public class TaskListView extends Main implements AfterNavigationObserver {
         {
 //            Grid.Column<Task> id = grid.addColumn(Task::getOrderId).setHeader("ID").setAutoWidth(true);
 //            id.setId("task-grid-id-column");
-            grid.addColumn(Task::getOrderId).setHeader("#").setAutoWidth(true).setId("task-grid-#-column");
+            grid.addColumn(this::getTaskNumber).setHeader("#").setAutoWidth(true).setId("task-grid-#-column");
         }
         //Dependency
         {
@@ -467,7 +473,7 @@ public class TaskListView extends Main implements AfterNavigationObserver {
         }
         //Parent
         {
-            grid.addColumn(task -> task.getParentTask() != null ? task.getParentTask().getOrderId() : "").setHeader("Parent").setAutoWidth(true);
+            grid.addColumn(task -> task.getParentTask() != null ? getTaskNumber(task.getParentTask()) : "").setHeader("Parent").setAutoWidth(true);
         }
         //name - Editable for all task types, with icon on the left
         {
@@ -787,10 +793,10 @@ public class TaskListView extends Main implements AfterNavigationObserver {
      * Create a new Milestone task
      */
     private void createMilestone() {
-        long nextOrderId = sprint.getNextOrderId();
+        int nextNumber = sprint.getTasks().size() + 1;
 
         Task task = new Task();
-        task.setName("New Milestone-" + nextOrderId);
+        task.setName("New Milestone-" + nextNumber);
         task.setSprint(sprint);
         task.setSprintId(sprint.getId());
         task.setMilestone(true);
@@ -805,10 +811,10 @@ public class TaskListView extends Main implements AfterNavigationObserver {
      * Create a new Story task
      */
     private void createStory() {
-        long nextOrderId = sprint.getNextOrderId();
+        int nextNumber = sprint.getTasks().size() + 1;
 
         Task task = new Task();
-        task.setName("New Story-" + nextOrderId);
+        task.setName("New Story-" + nextNumber);
         task.setSprint(sprint);
         task.setSprintId(sprint.getId());
 
@@ -821,10 +827,10 @@ public class TaskListView extends Main implements AfterNavigationObserver {
      * Create a new Task with default estimates
      */
     private void createTask() {
-        long nextOrderId = sprint.getNextOrderId();
+        int nextNumber = sprint.getTasks().size() + 1;
 
         Task task = new Task();
-        task.setName("New Task-" + nextOrderId);
+        task.setName("New Task-" + nextNumber);
         task.setSprint(sprint);
         task.setSprintId(sprint.getId());
         sprint.addTask(task);
@@ -1054,22 +1060,14 @@ public class TaskListView extends Main implements AfterNavigationObserver {
     private void generateGanttChart() {
         try {
             long time = System.currentTimeMillis();
-            RenderUtil.generateGanttChartSvg(context, sprint, ganttChart);
-
-            // Configure Gantt chart for proper scrolling display
-            ganttChart.getStyle()
-                    .set("margin-top", "var(--lumo-space-m)")
-                    .set("max-width", "100%")
-                    .set("height", "auto")
-                    .set("display", "block");
-
-            // Add the chart in a container div for better scrolling behavior
-            Div chartContainer = new Div(ganttChart);
-            chartContainer.getStyle()
-                    .set("overflow-x", "auto")
-                    .set("width", "100%");
-
-            add(chartContainer);
+            if (ganttChart != null) {
+                remove(ganttChart);
+                ganttChart = null;
+            }
+            // only the tiles in view are rendered, the rest follows while scrolling
+            ganttChart = RenderUtil.generateGanttChartTiles(context, sprint, renderedChartCache);
+            ganttChart.getStyle().set("margin-top", "var(--lumo-space-m)");
+            add(ganttChart);
             logger.info("Gantt chart generated in {} ms", System.currentTimeMillis() - time);
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
@@ -1090,7 +1088,7 @@ public class TaskListView extends Main implements AfterNavigationObserver {
     }
 
     /**
-     * Get the dependency text for display (comma-separated orderIds of visible predecessors)
+     * Get the dependency text for display (comma-separated task numbers of visible predecessors)
      */
     private String getDependencyText(Task task) {
         List<Relation> relations = task.getPredecessors();
@@ -1102,13 +1100,17 @@ public class TaskListView extends Main implements AfterNavigationObserver {
                 .filter(Relation::isVisible) // Only show visible dependencies
                 .map(relation -> {
                     Task predecessor = sprint.getTaskById(relation.getPredecessorId());
-                    return predecessor != null ? String.valueOf(predecessor.getOrderId()) : "";
+                    return predecessor != null ? String.valueOf(getTaskNumber(predecessor)) : "";
                 })
-                .filter(orderId -> !orderId.isEmpty())
+                .filter(number -> !number.isEmpty())
                 .collect(Collectors.joining(", "));
     }
 
 
+    private int getTaskNumber(Task task) {
+        return taskOrder.getTaskNumber(task);
+    }
+
     /**
      * Get the currently logged-in user's name or email.
      * Copied from MainLayout for consistency.
@@ -1221,60 +1223,18 @@ public class TaskListView extends Main implements AfterNavigationObserver {
         //- populate grid with tasks of the sprint
         long time = System.currentTimeMillis();
 
-        // Capture the security context from the current thread
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        // Load in parallel with security context propagation
-        CompletableFuture<Sprint> sprintFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                Sprint s = sprintApi.getById(sprintId);
-                s.initialize();
-                return s;
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
-            }
+        // Load in parallel, the loader propagates the security context
+        CompletableFuture<Sprint> sprintFuture = viewDataLoader.supplyAsync(() -> {
+            Sprint s = sprintApi.getById(sprintId);
+            s.initialize();
+            return s;
         });
 
-        CompletableFuture<List<User>> usersFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                return userApi.getAll(sprintId);
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
-
-            }
-        });
+        CompletableFuture<List<User>> usersFuture = viewDataLoader.supplyAsync(() -> userApi.getAll(sprintId));
 
-        CompletableFuture<List<Task>> tasksFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                return taskApi.getAll(sprintId);
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
-            }
-        });
+        CompletableFuture<List<Task>> tasksFuture = viewDataLoader.supplyAsync(() -> taskApi.getAll(sprintId));
 
-        CompletableFuture<List<Worklog>> worklogsFuture = CompletableFuture.supplyAsync(() -> {
-            // Set security context in this thread
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
-            SecurityContextHolder.setContext(context);
-            try {
-                return worklogApi.getAll(sprintId);
-            } finally {
-                SecurityContextHolder.clearContext();// Clear the security context after execution
-            }
-        });
+        CompletableFuture<List<Worklog>> worklogsFuture = viewDataLoader.supplyAsync(() -> worklogApi.getAll(sprintId));
 
         // Wait for all futures and combine results
         try {
@@ -1301,28 +1261,12 @@ public class TaskListView extends Main implements AfterNavigationObserver {
     }
 
     /**
-     * Move a task to a new position and recalculate all orderIds
+     * Move a task to a new position.
+     * Only the moved task gets a new orderId between its new neighbors, all tasks are renumbered only if there is no gap left.
      */
     private void moveTask(int fromIndex, int toIndex) {
-        if (fromIndex == toIndex || fromIndex < 0 || toIndex < 0 ||
-                fromIndex >= taskOrder.size() || toIndex >= taskOrder.size()) {
-            return;
-        }
-
         logger.info("Moving task from index {} to {}", fromIndex, toIndex);
-
-        // Remove task from old position
-        Task movedTask = taskOrder.remove(fromIndex);
-
-        // Insert at new position
-        taskOrder.add(toIndex, movedTask);
-
-        // Recalculate orderIds for all tasks based on their new positions
-        for (int i = 0; i < taskOrder.size(); i++) {
-            Task task = taskOrder.get(i);
-            task.setOrderId((long) i);
-            markTaskAsModified(task);
-        }
+        taskOrder.move(fromIndex, toIndex).forEach(this::markTaskAsModified);
 
         // Refresh the grid to show new order
         grid.getDataProvider().refreshAll();
@@ -1370,8 +1314,8 @@ public class TaskListView extends Main implements AfterNavigationObserver {
      */
     private void refreshGrid() {
         // Update taskOrder list with current sprint tasks
-        taskOrder = new ArrayList<>(sprint.getTasks());
-        grid.setItems(taskOrder);
+        taskOrder = new TaskOrder(sprint.getTasks());
+        grid.setItems(taskOrder.getTasks());
         generateGanttChart();
     }
 
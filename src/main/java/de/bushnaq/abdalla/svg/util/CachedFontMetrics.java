@@ -0,0 +1,162 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.svg.util;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineMetrics;
+import java.awt.geom.Rectangle2D;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Font metrics that remember the width and bounds of the strings they measured, all other metrics are taken from the wrapped metrics.
+ * <p>
+ * Created by the {@link TextMetricsCache}. Reading a cached measurement does not lock, as several charts can be rendered at the same time.
+ * Once the maximum number of strings is measured, further strings are measured without being cached.
+ */
+public class CachedFontMetrics extends FontMetrics {
+    private final Map<String, Rectangle2D> bounds = new ConcurrentHashMap<>();
+    private final FontMetrics              fontMetrics;
+    private final LongAdder                hits   = new LongAdder();
+    private final int                      maxEntries;
+    private final LongAdder                misses = new LongAdder();
+    private final Map<String, Integer>     widths = new ConcurrentHashMap<>();
+
+    CachedFontMetrics(FontMetrics fontMetrics, int maxEntries) {
+        super(fontMetrics.getFont());
+        this.fontMetrics = fontMetrics;
+        this.maxEntries  = maxEntries;
+    }
+
+    @Override
+    public int charWidth(char ch) {
+        return fontMetrics.charWidth(ch);
+    }
+
+    @Override
+    public int charWidth(int codePoint) {
+        return fontMetrics.charWidth(codePoint);
+    }
+
+    @Override
+    public int charsWidth(char[] data, int off, int len) {
+        return fontMetrics.charsWidth(data, off, len);
+    }
+
+    @Override
+    public int getAscent() {
+        return fontMetrics.getAscent();
+    }
+
+    @Override
+    public int getDescent() {
+        return fontMetrics.getDescent();
+    }
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        return fontMetrics.getFontRenderContext();
+    }
+
+    @Override
+    public int getHeight() {
+        return fontMetrics.getHeight();
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public int getLeading() {
+        return fontMetrics.getLeading();
+    }
+
+    @Override
+    public LineMetrics getLineMetrics(String str, Graphics context) {
+        return fontMetrics.getLineMetrics(str, context);
+    }
+
+    @Override
+    public int getMaxAdvance() {
+        return fontMetrics.getMaxAdvance();
+    }
+
+    @Override
+    public int getMaxAscent() {
+        return fontMetrics.getMaxAscent();
+    }
+
+    @Override
+    public int getMaxDescent() {
+        return fontMetrics.getMaxDescent();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Bounds depend on the context, they are only cached if the context measures like these metrics.
+     *
+     * @return a copy of the cached bounds, the caller may modify it
+     */
+    @Override
+    public Rectangle2D getStringBounds(String str, Graphics context) {
+        if (context instanceof Graphics2D g2 && !getFontRenderContext().equals(g2.getFontRenderContext())) {
+            return fontMetrics.getStringBounds(str, context);
+        }
+        Rectangle2D cached = bounds.get(str);
+        if (cached != null) {
+            hits.increment();
+            return (Rectangle2D) cached.clone();
+        }
+        misses.increment();
+        Rectangle2D measured = fontMetrics.getStringBounds(str, context);
+        if (bounds.size() < maxEntries) {
+            bounds.put(str, (Rectangle2D) measured.clone());
+        }
+        return measured;
+    }
+
+    @Override
+    public int[] getWidths() {
+        return fontMetrics.getWidths();
+    }
+
+    int size() {
+        return Math.max(widths.size(), bounds.size());
+    }
+
+    @Override
+    public int stringWidth(String str) {
+        Integer cached = widths.get(str);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        int measured = fontMetrics.stringWidth(str);
+        if (widths.size() < maxEntries) {
+            widths.put(str, measured);
+        }
+        return measured;
+    }
+}
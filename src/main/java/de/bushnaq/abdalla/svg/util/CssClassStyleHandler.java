@@ -0,0 +1,109 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.svg.util;
+
+import org.apache.batik.svggen.DefaultStyleHandler;
+import org.apache.batik.svggen.SVGGeneratorContext;
+import org.apache.batik.svggen.SVGSyntax;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes the style of the Batik generator as CSS classes instead of repeating it on every group and element.
+ * <p>
+ * A chart switches between a few graphic contexts thousands of times, with this handler every distinct style is written
+ * once into a style sheet and the elements only reference it. Call {@link #appendStyleSheet(Element)} with the root
+ * of the document before streaming it.
+ */
+public class CssClassStyleHandler extends DefaultStyleHandler implements SVGSyntax {
+    private final Map<String, String> classNames = new LinkedHashMap<>();//css declarations -> class name
+    private final String              prefix;
+
+    /**
+     * @param prefix prefix of the class names, unique for the document, as the style sheet of an svg that is part of a html page applies to the whole page
+     */
+    public CssClassStyleHandler(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Adds the style sheet with all classes to the document.
+     *
+     * @param root the svg element of the document
+     */
+    public void appendStyleSheet(Element root) {
+        StringBuilder css = new StringBuilder();
+        classNames.forEach((declarations, className) -> css.append('.').append(className).append('{').append(declarations).append("}\n"));
+        Document document = root.getOwnerDocument();
+        Element  style    = document.createElementNS(SVG_NAMESPACE_URI, SVG_STYLE_TAG);
+        style.setAttributeNS(null, SVG_TYPE_ATTRIBUTE, "text/css");
+        style.appendChild(document.createCDATASection(css.toString()));
+        Element defs = document.createElementNS(SVG_NAMESPACE_URI, SVG_DEFS_TAG);
+        defs.appendChild(style);
+        root.insertBefore(defs, root.getFirstChild());
+    }
+
+    /**
+     * @return a short random prefix for the class names and ids of one document
+     */
+    public static String createPrefix() {
+        return "s" + Long.toString(ThreadLocalRandom.current().nextLong(36L * 36 * 36 * 36 * 36), 36) + "-";
+    }
+
+    public int getClassCount() {
+        return classNames.size();
+    }
+
+    /**
+     * Lets the default handler decide which properties apply to the element and moves them into a class.
+     * The svg element keeps its default style, as embedding pages add their own class to it.
+     */
+    @Override
+    public void setStyle(Element element, Map styleMap, SVGGeneratorContext generatorContext) {
+        super.setStyle(element, styleMap, generatorContext);
+        if (SVG_SVG_TAG.equals(element.getTagName())) {
+            return;
+        }
+        List<String> names = new ArrayList<>();
+        for (Object name : styleMap.keySet()) {
+            names.add((String) name);
+        }
+        Collections.sort(names);
+        StringBuilder declarations = new StringBuilder();
+        for (String name : names) {
+            String value = element.getAttributeNS(null, name);
+            if (!value.isEmpty()) {
+                declarations.append(name).append(':').append(value).append(';');
+                element.removeAttributeNS(null, name);
+            }
+        }
+        if (declarations.isEmpty()) {
+            return;
+        }
+        String className = classNames.get(declarations.toString());
+        if (className == null) {
+            className = prefix + classNames.size();
+            classNames.put(declarations.toString(), className);
+        }
+        String classes = element.getAttributeNS(null, SVG_CLASS_ATTRIBUTE);
+        element.setAttributeNS(null, SVG_CLASS_ATTRIBUTE, classes.isEmpty() ? className : classes + " " + className);
+    }
+}
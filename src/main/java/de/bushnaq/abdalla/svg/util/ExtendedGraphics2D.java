@@ -28,11 +28,14 @@ import java.awt.image.ImageObserver;
 import java.awt.image.RenderedImage;
 import java.awt.image.renderable.RenderableImage;
 import java.text.AttributedCharacterIterator;
+import java.util.HashMap;
 import java.util.Map;
 
 public class ExtendedGraphics2D extends Graphics2D {
 
-    private final Graphics2D graphics;
+    private static volatile TextMetricsCache       textMetricsCache = new TextMetricsCache(10_000);//shared by all charts, null measures every string again
+    private final           Map<Font, FontMetrics> fontMetrics      = new HashMap<>();//metrics of this graphics, valid until hints or transform change
+    private final           Graphics2D             graphics;
 
     public ExtendedGraphics2D(Graphics2D graphics) {
         this.graphics = graphics;
@@ -40,6 +43,7 @@ public class ExtendedGraphics2D extends Graphics2D {
 
     public void addRenderingHints(Map<?, ?> hints) {
         graphics.addRenderingHints(hints);
+        fontMetrics.clear();
     }
 
     public void clearRect(int x, int y, int width, int height) {
@@ -174,6 +178,8 @@ public class ExtendedGraphics2D extends Graphics2D {
     public void drawString(String str, int x, int y, String toolTip) {
         if (graphics instanceof ExtendedSvgGraphics2D) {
             ((ExtendedSvgGraphics2D) graphics).drawString(str, x, y, toolTip);
+        } else if (graphics instanceof StreamingSvgGraphics2D) {
+            ((StreamingSvgGraphics2D) graphics).drawString(str, x, y, toolTip);
         } else {
             graphics.drawString(str, x, y);
         }
@@ -182,6 +188,8 @@ public class ExtendedGraphics2D extends Graphics2D {
     public void drawString(String str, int x, int y, String toolTip, String link) {
         if (graphics instanceof ExtendedSvgGraphics2D) {
             ((ExtendedSvgGraphics2D) graphics).drawString(str, x, y, toolTip, link);
+        } else if (graphics instanceof StreamingSvgGraphics2D) {
+            ((StreamingSvgGraphics2D) graphics).drawString(str, x, y, toolTip, link);
         } else {
             graphics.drawString(str, x, y);
         }
@@ -202,6 +210,8 @@ public class ExtendedGraphics2D extends Graphics2D {
     public void drawStringWithLink(String str, int x, int y, String link) {
         if (graphics instanceof ExtendedSvgGraphics2D) {
             ((ExtendedSvgGraphics2D) graphics).drawStringWithLink(str, x, y, link);
+        } else if (graphics instanceof StreamingSvgGraphics2D) {
+            ((StreamingSvgGraphics2D) graphics).drawStringWithLink(str, x, y, link);
         } else {
             graphics.drawString(str, x, y);
         }
@@ -284,11 +294,18 @@ public class ExtendedGraphics2D extends Graphics2D {
     }
 
     public FontMetrics getFontMetrics() {
-        return graphics.getFontMetrics();
+        return getFontMetrics(graphics.getFont());
     }
 
+    /**
+     * String widths and bounds of the returned metrics are cached in the shared {@link TextMetricsCache}.
+     */
     public FontMetrics getFontMetrics(Font f) {
-        return graphics.getFontMetrics(f);
+        TextMetricsCache cache = textMetricsCache;
+        if (cache == null) {
+            return graphics.getFontMetrics(f);
+        }
+        return fontMetrics.computeIfAbsent(f, font -> cache.getFontMetrics(graphics.getFontMetrics(font)));
     }
 
     public FontRenderContext getFontRenderContext() {
@@ -311,6 +328,10 @@ public class ExtendedGraphics2D extends Graphics2D {
         return graphics.getStroke();
     }
 
+    public static TextMetricsCache getTextMetricsCache() {
+        return textMetricsCache;
+    }
+
     public AffineTransform getTransform() {
         return graphics.getTransform();
     }
@@ -329,14 +350,17 @@ public class ExtendedGraphics2D extends Graphics2D {
 
     public void rotate(double theta) {
         graphics.rotate(theta);
+        fontMetrics.clear();
     }
 
     public void rotate(double theta, double x, double y) {
         graphics.rotate(theta, x, y);
+        fontMetrics.clear();
     }
 
     public void scale(double sx, double sy) {
         graphics.scale(sx, sy);
+        fontMetrics.clear();
     }
 
     public void setBackground(Color color) {
@@ -373,18 +397,28 @@ public class ExtendedGraphics2D extends Graphics2D {
 
     public void setRenderingHint(Key hintKey, Object hintValue) {
         graphics.setRenderingHint(hintKey, hintValue);
+        fontMetrics.clear();
     }
 
     public void setRenderingHints(Map<?, ?> hints) {
         graphics.setRenderingHints(hints);
+        fontMetrics.clear();
     }
 
     public void setStroke(Stroke s) {
         graphics.setStroke(s);
     }
 
+    /**
+     * @param textMetricsCache the cache shared by all charts, null to measure every string again
+     */
+    public static void setTextMetricsCache(TextMetricsCache textMetricsCache) {
+        ExtendedGraphics2D.textMetricsCache = textMetricsCache;
+    }
+
     public void setTransform(AffineTransform Tx) {
         graphics.setTransform(Tx);
+        fontMetrics.clear();
     }
 
     public void setXORMode(Color c1) {
@@ -393,6 +427,7 @@ public class ExtendedGraphics2D extends Graphics2D {
 
     public void shear(double shx, double shy) {
         graphics.shear(shx, shy);
+        fontMetrics.clear();
     }
 
     public String toString() {
@@ -401,6 +436,7 @@ public class ExtendedGraphics2D extends Graphics2D {
 
     public void transform(AffineTransform Tx) {
         graphics.transform(Tx);
+        fontMetrics.clear();
     }
 
     public void translate(int x, int y) {
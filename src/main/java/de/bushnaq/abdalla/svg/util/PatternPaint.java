@@ -0,0 +1,82 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.svg.util;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Paint that repeats a tile of filled rectangles in both directions, like the weekend stripes or the grid of a chart.
+ * <p>
+ * Raster graphics paint it as the {@link TexturePaint} it is. The svg backends write the tile once as a vector pattern
+ * into the definitions of the document and reference it from every shape that is filled with an equal paint,
+ * so a whole calendar can be filled with one element instead of one element per day.
+ */
+public class PatternPaint extends TexturePaint {
+    private final List<Cell> cells;
+    private final Rectangle  tile;
+
+    /**
+     * @param tile  position and size of one tile in user space, the pattern repeats from there
+     * @param cells filled rectangles relative to the tile, the tile is transparent where there is no cell
+     */
+    public PatternPaint(Rectangle tile, List<Cell> cells) {
+        super(createImage(tile, cells), tile);
+        this.tile  = new Rectangle(tile);
+        this.cells = List.copyOf(cells);
+    }
+
+    private static BufferedImage createImage(Rectangle tile, List<Cell> cells) {
+        BufferedImage image    = new BufferedImage(tile.width, tile.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D    graphics = image.createGraphics();
+        for (Cell cell : cells) {
+            graphics.setColor(cell.color());
+            graphics.fillRect(cell.x(), cell.y(), cell.width(), cell.height());
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PatternPaint that)) return false;
+        return tile.equals(that.tile) && cells.equals(that.cells);
+    }
+
+    public List<Cell> getCells() {
+        return cells;
+    }
+
+    public Rectangle getTile() {
+        return new Rectangle(tile);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tile, cells);
+    }
+
+    /**
+     * A filled rectangle of the tile.
+     */
+    public record Cell(int x, int y, int width, int height, Color color) {
+    }
+}
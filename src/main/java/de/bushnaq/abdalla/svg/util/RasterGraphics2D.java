@@ -0,0 +1,573 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.svg.util;
+
+import java.awt.*;
+import java.awt.RenderingHints.Key;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.util.Map;
+
+/**
+ * Graphics2D that draws into an image and applies {@link LevelOfDetail} rules, so that the existing renderers can produce
+ * small png thumbnails and previews instead of svg documents.
+ * <p>
+ * A thumbnail is a scaled down chart. Most of its text would be too small to read and the many one pixel wide lines
+ * and bars of a chart would smear into gray noise. So a thumbnail skips text below a minimum height,
+ * drops solid rectangles that are thinner than half a pixel, snaps the others to whole pixels
+ * and merges consecutive rectangles of the same color that touch each other into one fill.
+ * <p>
+ * Call {@link #dispose()} or {@link #flush()} after drawing, as the last merged rectangle is only filled then.
+ */
+public class RasterGraphics2D extends Graphics2D {
+    private final Graphics2D    graphics;
+    private final LevelOfDetail levelOfDetail;
+    private       Color         pendingColor;//color of the merged rectangle, null if there is none
+    private       int           pendingX1, pendingY1, pendingX2, pendingY2;//merged rectangle in device space, exclusive end
+
+    /**
+     * @param graphics      graphics of the image
+     * @param levelOfDetail the rules to apply
+     */
+    public RasterGraphics2D(Graphics2D graphics, LevelOfDetail levelOfDetail) {
+        this.graphics      = graphics;
+        this.levelOfDetail = levelOfDetail;
+        Object antialiasing = levelOfDetail.antialiasing() ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF;
+        Object rendering    = levelOfDetail.antialiasing() ? RenderingHints.VALUE_RENDER_QUALITY : RenderingHints.VALUE_RENDER_SPEED;
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, rendering);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, levelOfDetail.antialiasing() ? RenderingHints.VALUE_TEXT_ANTIALIAS_ON : RenderingHints.VALUE_TEXT_ANTIALIAS_OFF);
+        graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+    }
+
+    @Override
+    public void addRenderingHints(Map<?, ?> hints) {
+        graphics.addRenderingHints(hints);
+    }
+
+    @Override
+    public void clearRect(int x, int y, int width, int height) {
+        flush();
+        graphics.clearRect(x, y, width, height);
+    }
+
+    @Override
+    public void clip(Shape s) {
+        flush();
+        graphics.clip(s);
+    }
+
+    @Override
+    public void clipRect(int x, int y, int width, int height) {
+        flush();
+        graphics.clipRect(x, y, width, height);
+    }
+
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+        flush();
+        graphics.copyArea(x, y, width, height, dx, dy);
+    }
+
+    @Override
+    public Graphics create() {
+        flush();
+        return new RasterGraphics2D((Graphics2D) graphics.create(), levelOfDetail);
+    }
+
+    @Override
+    public void dispose() {
+        flush();
+        graphics.dispose();
+    }
+
+    @Override
+    public void draw(Shape s) {
+        flush();
+        graphics.draw(s);
+    }
+
+    @Override
+    public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        flush();
+        graphics.drawArc(x, y, width, height, startAngle, arcAngle);
+    }
+
+    @Override
+    public void drawGlyphVector(GlyphVector g, float x, float y) {
+        if (isReadable(g.getFont())) {
+            flush();
+            graphics.drawGlyphVector(g, x, y);
+        }
+    }
+
+    @Override
+    public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+        flush();
+        return graphics.drawImage(img, xform, obs);
+    }
+
+    @Override
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+        flush();
+        graphics.drawImage(img, op, x, y);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+        flush();
+        return graphics.drawImage(img, x, y, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+        flush();
+        return graphics.drawImage(img, x, y, width, height, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+        flush();
+        return graphics.drawImage(img, x, y, bgcolor, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+        flush();
+        return graphics.drawImage(img, x, y, width, height, bgcolor, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+        flush();
+        return graphics.drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, Color bgcolor, ImageObserver observer) {
+        flush();
+        return graphics.drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, bgcolor, observer);
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        flush();
+        graphics.drawLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        flush();
+        graphics.drawOval(x, y, width, height);
+    }
+
+    @Override
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        flush();
+        graphics.drawPolygon(xPoints, yPoints, nPoints);
+    }
+
+    @Override
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+        flush();
+        graphics.drawPolyline(xPoints, yPoints, nPoints);
+    }
+
+    @Override
+    public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+        flush();
+        graphics.drawRenderableImage(img, xform);
+    }
+
+    @Override
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+        flush();
+        graphics.drawRenderedImage(img, xform);
+    }
+
+    @Override
+    public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        flush();
+        graphics.drawRoundRect(x, y, width, height, arcWidth, arcHeight);
+    }
+
+    @Override
+    public void drawString(String str, int x, int y) {
+        if (isReadable(graphics.getFont())) {
+            flush();
+            graphics.drawString(str, x, y);
+        }
+    }
+
+    @Override
+    public void drawString(String str, float x, float y) {
+        if (isReadable(graphics.getFont())) {
+            flush();
+            graphics.drawString(str, x, y);
+        }
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+        if (isReadable(graphics.getFont())) {
+            flush();
+            graphics.drawString(iterator, x, y);
+        }
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+        if (isReadable(graphics.getFont())) {
+            flush();
+            graphics.drawString(iterator, x, y);
+        }
+    }
+
+    @Override
+    public void fill(Shape s) {
+        if (s instanceof Rectangle2D r && fillMerged(r.getX(), r.getY(), r.getWidth(), r.getHeight())) {
+            return;
+        }
+        flush();
+        graphics.fill(s);
+    }
+
+    @Override
+    public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        flush();
+        graphics.fillArc(x, y, width, height, startAngle, arcAngle);
+    }
+
+    /**
+     * Snaps the rectangle to whole pixels and merges it with the previous one, if the level of detail asks for it.
+     *
+     * @return false if the rectangle must be filled as it is
+     */
+    private boolean fillMerged(double x, double y, double width, double height) {
+        AffineTransform t = graphics.getTransform();
+        if (!levelOfDetail.mergeBars() || !(graphics.getPaint() instanceof Color color)//
+                || (t.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_UNIFORM_SCALE | AffineTransform.TYPE_GENERAL_SCALE)) != 0) {
+            return false;
+        }
+        double dx1 = t.getScaleX() * x + t.getTranslateX();
+        double dx2 = t.getScaleX() * (x + width) + t.getTranslateX();
+        double dy1 = t.getScaleY() * y + t.getTranslateY();
+        double dy2 = t.getScaleY() * (y + height) + t.getTranslateY();
+        if (Math.abs(dx2 - dx1) < 0.5 || Math.abs(dy2 - dy1) < 0.5) {
+            return true;//thinner than half a pixel
+        }
+        int x1 = (int) Math.round(Math.min(dx1, dx2));
+        int x2 = Math.max(x1 + 1, (int) Math.round(Math.max(dx1, dx2)));
+        int y1 = (int) Math.round(Math.min(dy1, dy2));
+        int y2 = Math.max(y1 + 1, (int) Math.round(Math.max(dy1, dy2)));
+        if (color.equals(pendingColor)) {
+            if (y1 == pendingY1 && y2 == pendingY2 && x1 <= pendingX2 && x2 >= pendingX1) {
+                //same rows, touching or overlapping
+                pendingX1 = Math.min(pendingX1, x1);
+                pendingX2 = Math.max(pendingX2, x2);
+                return true;
+            }
+            if (x1 == pendingX1 && x2 == pendingX2 && y1 <= pendingY2 && y2 >= pendingY1) {
+                //same columns, touching or overlapping
+                pendingY1 = Math.min(pendingY1, y1);
+                pendingY2 = Math.max(pendingY2, y2);
+                return true;
+            }
+        }
+        flush();
+        pendingColor = color;
+        pendingX1    = x1;
+        pendingY1    = y1;
+        pendingX2    = x2;
+        pendingY2    = y2;
+        return true;
+    }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) {
+        flush();
+        graphics.fillOval(x, y, width, height);
+    }
+
+    @Override
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        flush();
+        graphics.fillPolygon(xPoints, yPoints, nPoints);
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        if (fillMerged(x, y, width, height)) {
+            return;
+        }
+        flush();
+        graphics.fillRect(x, y, width, height);
+    }
+
+    @Override
+    public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        flush();
+        graphics.fillRoundRect(x, y, width, height, arcWidth, arcHeight);
+    }
+
+    /**
+     * Fills the merged rectangle that is still pending.
+     */
+    public void flush() {
+        if (pendingColor == null) {
+            return;
+        }
+        AffineTransform transform = graphics.getTransform();
+        Paint           paint     = graphics.getPaint();
+        graphics.setTransform(new AffineTransform());
+        graphics.setColor(pendingColor);
+        graphics.fillRect(pendingX1, pendingY1, pendingX2 - pendingX1, pendingY2 - pendingY1);
+        graphics.setPaint(paint);
+        graphics.setTransform(transform);
+        pendingColor = null;
+    }
+
+    @Override
+    public Color getBackground() {
+        return graphics.getBackground();
+    }
+
+    @Override
+    public Shape getClip() {
+        return graphics.getClip();
+    }
+
+    @Override
+    public Rectangle getClipBounds() {
+        return graphics.getClipBounds();
+    }
+
+    @Override
+    public Color getColor() {
+        return graphics.getColor();
+    }
+
+    @Override
+    public Composite getComposite() {
+        return graphics.getComposite();
+    }
+
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return graphics.getDeviceConfiguration();
+    }
+
+    @Override
+    public Font getFont() {
+        return graphics.getFont();
+    }
+
+    @Override
+    public FontMetrics getFontMetrics(Font f) {
+        return graphics.getFontMetrics(f);
+    }
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        return graphics.getFontRenderContext();
+    }
+
+    public LevelOfDetail getLevelOfDetail() {
+        return levelOfDetail;
+    }
+
+    @Override
+    public Paint getPaint() {
+        return graphics.getPaint();
+    }
+
+    @Override
+    public Object getRenderingHint(Key hintKey) {
+        return graphics.getRenderingHint(hintKey);
+    }
+
+    @Override
+    public RenderingHints getRenderingHints() {
+        return graphics.getRenderingHints();
+    }
+
+    @Override
+    public Stroke getStroke() {
+        return graphics.getStroke();
+    }
+
+    @Override
+    public AffineTransform getTransform() {
+        return graphics.getTransform();
+    }
+
+    @Override
+    public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+        return graphics.hit(rect, s, onStroke);
+    }
+
+    /**
+     * @return true if text of this font is at least as high as the level of detail requires
+     */
+    private boolean isReadable(Font font) {
+        if (levelOfDetail.minTextHeight() <= 0) {
+            return true;
+        }
+        double scale = Math.sqrt(Math.abs(graphics.getTransform().getDeterminant()));
+        return font.getSize2D() * scale >= levelOfDetail.minTextHeight();
+    }
+
+    @Override
+    public void rotate(double theta) {
+        graphics.rotate(theta);
+    }
+
+    @Override
+    public void rotate(double theta, double x, double y) {
+        graphics.rotate(theta, x, y);
+    }
+
+    @Override
+    public void scale(double sx, double sy) {
+        graphics.scale(sx, sy);
+    }
+
+    @Override
+    public void setBackground(Color color) {
+        graphics.setBackground(color);
+    }
+
+    @Override
+    public void setClip(int x, int y, int width, int height) {
+        flush();
+        graphics.setClip(x, y, width, height);
+    }
+
+    @Override
+    public void setClip(Shape clip) {
+        flush();
+        graphics.setClip(clip);
+    }
+
+    @Override
+    public void setColor(Color c) {
+        graphics.setColor(c);
+    }
+
+    @Override
+    public void setComposite(Composite comp) {
+        flush();
+        graphics.setComposite(comp);
+    }
+
+    @Override
+    public void setFont(Font font) {
+        graphics.setFont(font);
+    }
+
+    @Override
+    public void setPaint(Paint paint) {
+        graphics.setPaint(paint);
+    }
+
+    @Override
+    public void setPaintMode() {
+        flush();
+        graphics.setPaintMode();
+    }
+
+    @Override
+    public void setRenderingHint(Key hintKey, Object hintValue) {
+        graphics.setRenderingHint(hintKey, hintValue);
+    }
+
+    @Override
+    public void setRenderingHints(Map<?, ?> hints) {
+        graphics.setRenderingHints(hints);
+    }
+
+    @Override
+    public void setStroke(Stroke s) {
+        graphics.setStroke(s);
+    }
+
+    @Override
+    public void setTransform(AffineTransform Tx) {
+        graphics.setTransform(Tx);
+    }
+
+    @Override
+    public void setXORMode(Color c1) {
+        flush();
+        graphics.setXORMode(c1);
+    }
+
+    @Override
+    public void shear(double shx, double shy) {
+        graphics.shear(shx, shy);
+    }
+
+    @Override
+    public void transform(AffineTransform Tx) {
+        graphics.transform(Tx);
+    }
+
+    @Override
+    public void translate(int x, int y) {
+        graphics.translate(x, y);
+    }
+
+    @Override
+    public void translate(double tx, double ty) {
+        graphics.translate(tx, ty);
+    }
+
+    /**
+     * Rules that trade detail for size and speed.
+     *
+     * @param minTextHeight text with a smaller font size in pixel is skipped, 0 draws all text
+     * @param mergeBars     skip solid rectangles thinner than half a pixel, snap the others to whole pixels and merge touching ones of the same color
+     * @param antialiasing  antialias shapes and text
+     */
+    public record LevelOfDetail(float minTextHeight, boolean mergeBars, boolean antialiasing) {
+        /**
+         * Everything is drawn like in the svg chart.
+         */
+        public static final LevelOfDetail PREVIEW   = new LevelOfDetail(0, false, true);
+        /**
+         * A small image that shows the shape of the chart, text smaller than 6 pixel is skipped.
+         */
+        public static final LevelOfDetail THUMBNAIL = new LevelOfDetail(6, true, false);
+
+        /**
+         * @param scale the scale of the image relative to the chart
+         * @return the thumbnail rules for images that are less than half the size of the chart, otherwise the preview rules
+         */
+        public static LevelOfDetail forScale(double scale) {
+            return scale < 0.5 ? THUMBNAIL : PREVIEW;
+        }
+    }
+}
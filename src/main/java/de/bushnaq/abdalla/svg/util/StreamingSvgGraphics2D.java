@@ -0,0 +1,1071 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.svg.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.RenderingHints.Key;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.io.*;
+import java.math.BigDecimal;
+import java.text.AttributedCharacterIterator;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Graphics2D that writes svg elements straight to a writer while the renderers draw.
+ * <p>
+ * The Batik generator keeps every element in a DOM until the chart is complete and serializes it afterward,
+ * this backend only keeps the current graphic context, so memory use does not grow with the size of the chart.
+ * <p>
+ * The output follows the Batik generator with the {@link CssClassStyleHandler}. Consecutive elements that share a graphic context
+ * are grouped and the group references the context as CSS class, links and tooltips are written like {@link ExtendedSvgGraphics2D} does.
+ * As the style sheet is only complete at the end, it is written after the elements.
+ * Clips are kept in device space and transforms are written on every element, so that a clip is never affected by a later transform.
+ * <p>
+ * Solid colors and {@link PatternPaint} are supported as paint, gradients and textures are approximated by a solid color. Call {@link #endDocument()} after drawing to close the svg document.
+ * <p>
+ * If a visible area is set, elements that lie completely outside of it are not written at all,
+ * so that the size of a tile of a large chart depends on the tile and not on the chart.
+ */
+public class StreamingSvgGraphics2D extends Graphics2D {
+    private static final Color               DEFAULT_COLOR  = Color.black;
+    private static final Font                DEFAULT_FONT   = new Font(Font.DIALOG, Font.PLAIN, 12);
+    private static final Map<String, String> LOGICAL_FONTS  = Map.of(//
+            "dialog", "sans-serif",//
+            "dialoginput", "monospace",//
+            "monospaced", "monospace",//
+            "sansserif", "sans-serif",//
+            "serif", "serif");
+    private static final AtomicBoolean       PAINT_WARNED   = new AtomicBoolean();//unsupported paints are only logged once
+    private static final Logger              logger         = LoggerFactory.getLogger(StreamingSvgGraphics2D.class);
+    private              Color               background     = Color.white;
+    private              Shape               clip;//device space
+    private              Color               color          = DEFAULT_COLOR;
+    private              Composite           composite      = AlphaComposite.SrcOver;
+    private              Font                font           = DEFAULT_FONT;
+    private final        Graphics2D          metrics;
+    private final        Output              output;
+    private              PatternPaint        pattern;//null if the paint is the color
+    private final        RenderingHints      renderingHints;
+    private              Stroke              stroke         = new BasicStroke();
+    private              String              style;//style of the current graphic context, null if it has to be recomputed
+    private              AffineTransform     transform      = new AffineTransform();
+
+    /**
+     * Writes the svg header, all elements drawn afterward are written immediately.
+     *
+     * @param writer destination of the svg document, it is buffered if it is not already
+     * @param width  canvas width
+     * @param height canvas height
+     */
+    public StreamingSvgGraphics2D(Writer writer, int width, int height) {
+        this.output         = new Output(writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, 64 * 1024), CssClassStyleHandler.createPrefix());
+        this.metrics        = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        this.renderingHints = new RenderingHints(null);
+        output.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n\n"//
+                + "<!DOCTYPE svg PUBLIC '-//W3C//DTD SVG 1.0//EN'\n"//
+                + "          'http://www.w3.org/TR/2001/REC-SVG-20010904/DTD/svg10.dtd'>\n"//
+                + "<svg xmlns:xlink=\"http://www.w3.org/1999/xlink\" style=\"fill-opacity:1; color-rendering:auto; color-interpolation:auto; text-rendering:auto; stroke:black; stroke-linecap:square; stroke-miterlimit:10; shape-rendering:auto; stroke-opacity:1; fill:black; stroke-dasharray:none; font-weight:normal; stroke-width:1; font-family:&apos;Dialog&apos;; font-style:normal; stroke-linejoin:miter; font-size:12px; stroke-dashoffset:0; image-rendering:auto;\""//
+                + " width=\"" + width + "\" height=\"" + height + "\" xmlns=\"http://www.w3.org/2000/svg\"\n"//
+                + "><!--Generated by the streaming Graphics2D SVG Generator--><defs id=\"genericDefs\"\n/>");
+    }
+
+    private StreamingSvgGraphics2D(StreamingSvgGraphics2D g) {
+        this.output         = g.output;
+        this.metrics        = g.metrics;
+        this.renderingHints = (RenderingHints) g.renderingHints.clone();
+        this.background     = g.background;
+        this.clip           = g.clip;
+        this.color          = g.color;
+        this.composite      = g.composite;
+        this.font           = g.font;
+        this.pattern        = g.pattern;
+        this.stroke         = g.stroke;
+        this.transform      = new AffineTransform(g.transform);
+    }
+
+    @Override
+    public void addRenderingHints(Map<?, ?> hints) {
+        renderingHints.putAll(hints);
+    }
+
+    private static void appendAttribute(StringBuilder sb, String name, String value) {
+        sb.append(' ').append(name).append("=\"");
+        escape(sb, value);
+        sb.append('"');
+    }
+
+    private static void appendColor(StringBuilder sb, Color c) {
+        sb.append("rgb(").append(c.getRed()).append(',').append(c.getGreen()).append(',').append(c.getBlue()).append(')');
+    }
+
+    private static void appendPath(StringBuilder sb, PathIterator iterator) {
+        double[] c = new double[6];
+        while (!iterator.isDone()) {
+            if (sb.charAt(sb.length() - 1) != '"') {
+                sb.append(' ');
+            }
+            switch (iterator.currentSegment(c)) {
+                case PathIterator.SEG_MOVETO -> sb.append('M').append(format(c[0])).append(' ').append(format(c[1]));
+                case PathIterator.SEG_LINETO -> sb.append('L').append(format(c[0])).append(' ').append(format(c[1]));
+                case PathIterator.SEG_QUADTO -> sb.append('Q').append(format(c[0])).append(' ').append(format(c[1])).append(' ')//
+                        .append(format(c[2])).append(' ').append(format(c[3]));
+                case PathIterator.SEG_CUBICTO -> sb.append('C').append(format(c[0])).append(' ').append(format(c[1])).append(' ')//
+                        .append(format(c[2])).append(' ').append(format(c[3])).append(' ').append(format(c[4])).append(' ').append(format(c[5]));
+                case PathIterator.SEG_CLOSE -> sb.append('Z');
+            }
+            iterator.next();
+        }
+    }
+
+    /**
+     * Appends the svg element of a shape without closing it, so that more attributes can be added.
+     */
+    private static void appendShape(StringBuilder sb, Shape shape, boolean fill) {
+        if (shape instanceof Rectangle2D r) {
+            sb.append("<rect x=\"").append(format(r.getX())).append("\" y=\"").append(format(r.getY()))//
+                    .append("\" width=\"").append(format(r.getWidth())).append("\" height=\"").append(format(r.getHeight())).append('"');
+        } else if (shape instanceof Line2D l) {
+            sb.append("<line x1=\"").append(format(l.getX1())).append("\" y1=\"").append(format(l.getY1()))//
+                    .append("\" x2=\"").append(format(l.getX2())).append("\" y2=\"").append(format(l.getY2())).append('"');
+        } else if (shape instanceof Ellipse2D e && e.getWidth() == e.getHeight()) {
+            sb.append("<circle r=\"").append(format(e.getWidth() / 2)).append("\" cx=\"").append(format(e.getCenterX()))//
+                    .append("\" cy=\"").append(format(e.getCenterY())).append('"');
+        } else if (shape instanceof Ellipse2D e) {
+            sb.append("<ellipse rx=\"").append(format(e.getWidth() / 2)).append("\" ry=\"").append(format(e.getHeight() / 2))//
+                    .append("\" cx=\"").append(format(e.getCenterX())).append("\" cy=\"").append(format(e.getCenterY())).append('"');
+        } else if (shape instanceof Polygon p) {
+            sb.append("<polygon");
+            if (fill) {
+                sb.append(" fill-rule=\"evenodd\"");
+            }
+            sb.append(" points=\"");
+            for (int i = 0; i < p.npoints; i++) {
+                if (i > 0) {
+                    sb.append(' ');
+                }
+                sb.append(p.xpoints[i]).append(',').append(p.ypoints[i]);
+            }
+            sb.append('"');
+        } else {
+            PathIterator iterator = shape.getPathIterator(null);
+            sb.append("<path");
+            if (fill && iterator.getWindingRule() == PathIterator.WIND_EVEN_ODD) {
+                sb.append(" fill-rule=\"evenodd\"");
+            }
+            sb.append(" d=\"");
+            appendPath(sb, iterator);
+            sb.append('"');
+        }
+    }
+
+    private static void appendTransform(StringBuilder sb, AffineTransform t) {
+        if (!t.isIdentity()) {
+            sb.append(" transform=\"matrix(").append(format(t.getScaleX())).append(' ').append(format(t.getShearY())).append(' ')//
+                    .append(format(t.getShearX())).append(' ').append(format(t.getScaleY())).append(' ')//
+                    .append(format(t.getTranslateX())).append(' ').append(format(t.getTranslateY())).append(")\"");
+        }
+    }
+
+    @Override
+    public void clearRect(int x, int y, int width, int height) {
+        Color c = color;
+        setColor(background);
+        fillRect(x, y, width, height);
+        setColor(c);
+    }
+
+    @Override
+    public void clip(Shape s) {
+        if (s == null) {
+            setClip(null);
+            return;
+        }
+        Shape deviceShape = toDevice(s);
+        if (clip == null) {
+            setDeviceClip(deviceShape);
+        } else if (clip instanceof Rectangle2D r1 && deviceShape instanceof Rectangle2D r2) {
+            setDeviceClip(r1.createIntersection(r2));
+        } else {
+            Area area = new Area(clip);
+            area.intersect(new Area(deviceShape));
+            setDeviceClip(area);
+        }
+    }
+
+    @Override
+    public void clipRect(int x, int y, int width, int height) {
+        clip(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+        //an svg document cannot read back what was drawn
+    }
+
+    @Override
+    public Graphics create() {
+        return new StreamingSvgGraphics2D(this);
+    }
+
+    @Override
+    public void dispose() {
+        //the document is closed by endDocument
+    }
+
+    @Override
+    public void draw(Shape s) {
+        if (stroke instanceof BasicStroke) {
+            writeShape(s, false);
+        } else {
+            writeShape(stroke.createStrokedShape(s), true);
+        }
+    }
+
+    @Override
+    public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        draw(new Arc2D.Float(x, y, width, height, startAngle, arcAngle, Arc2D.OPEN));
+    }
+
+    @Override
+    public void drawGlyphVector(GlyphVector g, float x, float y) {
+        fill(g.getOutline(x, y));
+    }
+
+    @Override
+    public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+        BufferedImage image = toBufferedImage(img);
+        if (image == null) {
+            return false;
+        }
+        AffineTransform t = new AffineTransform(transform);
+        if (xform != null) {
+            t.concatenate(xform);
+        }
+        writeImage(image, 0, 0, image.getWidth(), image.getHeight(), t);
+        return true;
+    }
+
+    @Override
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+        drawImage(op == null ? img : op.filter(img, null), x, y, null);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+        BufferedImage image = toBufferedImage(img);
+        if (image == null) {
+            return false;
+        }
+        writeImage(image, x, y, image.getWidth(), image.getHeight(), transform);
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+        BufferedImage image = toBufferedImage(img);
+        if (image == null) {
+            return false;
+        }
+        writeImage(image, x, y, width, height, transform);
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+        BufferedImage image = toBufferedImage(img);
+        if (image == null) {
+            return false;
+        }
+        return drawImage(img, x, y, image.getWidth(), image.getHeight(), bgcolor, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+        if (bgcolor != null) {
+            Color c = color;
+            setColor(bgcolor);
+            fillRect(x, y, width, height);
+            setColor(c);
+        }
+        return drawImage(img, x, y, width, height, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, ImageObserver observer) {
+        BufferedImage image = toBufferedImage(img);
+        if (image == null) {
+            return false;
+        }
+        BufferedImage region = image.getSubimage(Math.min(sx1, sx2), Math.min(sy1, sy2), Math.abs(sx2 - sx1), Math.abs(sy2 - sy1));
+        writeImage(region, Math.min(dx1, dx2), Math.min(dy1, dy2), Math.abs(dx2 - dx1), Math.abs(dy2 - dy1), transform);
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, Color bgcolor, ImageObserver observer) {
+        if (bgcolor != null) {
+            Color c = color;
+            setColor(bgcolor);
+            fillRect(Math.min(dx1, dx2), Math.min(dy1, dy2), Math.abs(dx2 - dx1), Math.abs(dy2 - dy1));
+            setColor(c);
+        }
+        return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, observer);
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        draw(new Line2D.Float(x1, y1, x2, y2));
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        draw(new Ellipse2D.Float(x, y, width, height));
+    }
+
+    @Override
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        draw(new Polygon(xPoints, yPoints, nPoints));
+    }
+
+    @Override
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+        if (nPoints < 2) {
+            return;
+        }
+        Path2D.Float path = new Path2D.Float();
+        path.moveTo(xPoints[0], yPoints[0]);
+        for (int i = 1; i < nPoints; i++) {
+            path.lineTo(xPoints[i], yPoints[i]);
+        }
+        draw(path);
+    }
+
+    @Override
+    public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+        drawRenderedImage(img.createDefaultRendering(), xform);
+    }
+
+    @Override
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+        if (img instanceof BufferedImage image) {
+            drawImage(image, xform, null);
+        } else {
+            BufferedImage image = new BufferedImage(img.getColorModel(), img.copyData(null), img.getColorModel().isAlphaPremultiplied(), null);
+            drawImage(image, xform, null);
+        }
+    }
+
+    @Override
+    public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        draw(new RoundRectangle2D.Float(x, y, width, height, arcWidth, arcHeight));
+    }
+
+    @Override
+    public void drawString(String str, int x, int y) {
+        writeText(str, x, y, null, null);
+    }
+
+    @Override
+    public void drawString(String str, float x, float y) {
+        writeText(str, x, y, null, null);
+    }
+
+    public void drawString(String str, float x, float y, String toolTip) {
+        writeText(str, x, y, toolTip, null);
+    }
+
+    public void drawString(String str, float x, float y, String toolTip, String link) {
+        writeText(str, x, y, toolTip, link);
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+        drawString(iterator, (float) x, (float) y);
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+        StringBuilder sb = new StringBuilder();
+        for (char c = iterator.first(); c != AttributedCharacterIterator.DONE; c = iterator.next()) {
+            sb.append(c);
+        }
+        writeText(sb.toString(), x, y, null, null);
+    }
+
+    public void drawStringWithLink(String str, float x, float y, String link) {
+        writeText(str, x, y, null, link);
+    }
+
+    /**
+     * Closes the svg document and flushes the writer. The writer itself is not closed.
+     */
+    public void endDocument() throws IOException {
+        output.closeGroup();
+        output.writeStyleSheet();
+        output.write("</svg\n>\n");
+        output.writer.flush();
+    }
+
+    private static void escape(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> sb.append("&lt;");
+                case '>' -> sb.append("&gt;");
+                case '&' -> sb.append("&amp;");
+                case '"' -> sb.append("&quot;");
+                case '\'' -> sb.append("&apos;");
+                default -> sb.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void fill(Shape s) {
+        writeShape(s, true);
+    }
+
+    @Override
+    public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        fill(new Arc2D.Float(x, y, width, height, startAngle, arcAngle, Arc2D.PIE));
+    }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) {
+        fill(new Ellipse2D.Float(x, y, width, height));
+    }
+
+    @Override
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        fill(new Polygon(xPoints, yPoints, nPoints));
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        if (width > 0 && height > 0) {
+            fill(new Rectangle(x, y, width, height));
+        }
+    }
+
+    @Override
+    public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        fill(new RoundRectangle2D.Float(x, y, width, height, arcWidth, arcHeight));
+    }
+
+    /**
+     * Formats like the Batik generator, integers without fraction and at most four fraction digits otherwise.
+     */
+    private static String format(double value) {
+        if (value == (long) value) {
+            return Long.toString((long) value);
+        }
+        String s = BigDecimal.valueOf(Math.round(value * 10_000) / 10_000.0).stripTrailingZeros().toPlainString();
+        return s.equals("-0") ? "0" : s;
+    }
+
+    @Override
+    public Color getBackground() {
+        return background;
+    }
+
+    @Override
+    public Shape getClip() {
+        if (clip == null) {
+            return null;
+        }
+        if (transform.isIdentity()) {
+            return clip instanceof Rectangle2D r ? (Shape) r.clone() : new Area(clip);
+        }
+        try {
+            return transform.createInverse().createTransformedShape(clip);
+        } catch (NoninvertibleTransformException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Rectangle getClipBounds() {
+        Shape c = getClip();
+        return c == null ? null : c.getBounds();
+    }
+
+    @Override
+    public Color getColor() {
+        return color;
+    }
+
+    @Override
+    public Composite getComposite() {
+        return composite;
+    }
+
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return metrics.getDeviceConfiguration();
+    }
+
+    @Override
+    public Font getFont() {
+        return font;
+    }
+
+    /**
+     * Same metrics as the Batik generator, which measures with a default image graphics, ignoring the rendering hints.
+     */
+    @Override
+    public FontMetrics getFontMetrics(Font f) {
+        return metrics.getFontMetrics(f);
+    }
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        Object antialiasing      = renderingHints.get(RenderingHints.KEY_TEXT_ANTIALIASING);
+        Object fractionalMetrics = renderingHints.get(RenderingHints.KEY_FRACTIONALMETRICS);
+        return new FontRenderContext(new AffineTransform(), //
+                antialiasing == null ? RenderingHints.VALUE_TEXT_ANTIALIAS_DEFAULT : antialiasing, //
+                fractionalMetrics == null ? RenderingHints.VALUE_FRACTIONALMETRICS_DEFAULT : fractionalMetrics);
+    }
+
+    @Override
+    public Paint getPaint() {
+        return pattern != null ? pattern : color;
+    }
+
+    @Override
+    public Object getRenderingHint(Key hintKey) {
+        return renderingHints.get(hintKey);
+    }
+
+    @Override
+    public RenderingHints getRenderingHints() {
+        return (RenderingHints) renderingHints.clone();
+    }
+
+    @Override
+    public Stroke getStroke() {
+        return stroke;
+    }
+
+    /**
+     * The style of a group with the current graphic context, only values that differ from the defaults on the svg element are listed.
+     */
+    private String getStyle() {
+        if (style != null) {
+            return style;
+        }
+        StringBuilder sb = new StringBuilder();
+        if (pattern != null) {
+            String id = output.patternId(pattern);
+            sb.append("fill:url(#").append(id).append("); stroke:url(#").append(id).append("); ");
+        } else if (!color.equals(DEFAULT_COLOR) || color.getAlpha() != 255) {
+            sb.append("fill:");
+            appendColor(sb, color);
+            sb.append("; stroke:");
+            appendColor(sb, color);
+            sb.append("; ");
+        }
+        if (pattern == null && color.getAlpha() != 255) {
+            String opacity = format(color.getAlpha() / 255.0);
+            sb.append("fill-opacity:").append(opacity).append("; stroke-opacity:").append(opacity).append("; ");
+        }
+        if (composite instanceof AlphaComposite a && a.getAlpha() != 1f) {
+            sb.append("opacity:").append(format(a.getAlpha())).append("; ");
+        }
+        if (stroke instanceof BasicStroke s) {
+            if (s.getLineWidth() != 1f) {
+                sb.append("stroke-width:").append(format(s.getLineWidth())).append("; ");
+            }
+            switch (s.getEndCap()) {
+                case BasicStroke.CAP_BUTT -> sb.append("stroke-linecap:butt; ");
+                case BasicStroke.CAP_ROUND -> sb.append("stroke-linecap:round; ");
+                default -> {
+                }
+            }
+            switch (s.getLineJoin()) {
+                case BasicStroke.JOIN_BEVEL -> sb.append("stroke-linejoin:bevel; ");
+                case BasicStroke.JOIN_ROUND -> sb.append("stroke-linejoin:round; ");
+                default -> {
+                }
+            }
+            if (s.getLineJoin() == BasicStroke.JOIN_MITER && s.getMiterLimit() != 10f) {
+                sb.append("stroke-miterlimit:").append(format(s.getMiterLimit())).append("; ");
+            }
+            if (s.getDashArray() != null) {
+                sb.append("stroke-dasharray:");
+                float[] dashArray = s.getDashArray();
+                for (int i = 0; i < dashArray.length; i++) {
+                    sb.append(i == 0 ? "" : ",").append(format(dashArray[i]));
+                }
+                sb.append("; ");
+                if (s.getDashPhase() != 0f) {
+                    sb.append("stroke-dashoffset:").append(format(s.getDashPhase())).append("; ");
+                }
+            }
+        }
+        if (!font.getName().equalsIgnoreCase(DEFAULT_FONT.getName())) {
+            String family = LOGICAL_FONTS.get(font.getName().toLowerCase());
+            sb.append("font-family:").append(family != null ? family : "'" + font.getFamily() + "'").append("; ");
+        }
+        if (font.getSize2D() != DEFAULT_FONT.getSize2D()) {
+            sb.append("font-size:").append(format(font.getSize2D())).append("px; ");
+        }
+        if (font.isBold()) {
+            sb.append("font-weight:bold; ");
+        }
+        if (font.isItalic()) {
+            sb.append("font-style:italic; ");
+        }
+        if (clip != null) {
+            sb.append("clip-path:url(#").append(output.clipPathId(clip)).append("); ");
+        }
+        style = sb.toString().trim();
+        return style;
+    }
+
+    @Override
+    public AffineTransform getTransform() {
+        return new AffineTransform(transform);
+    }
+
+    @Override
+    public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+        if (onStroke) {
+            s = stroke.createStrokedShape(s);
+        }
+        return transform.createTransformedShape(s).intersects(rect);
+    }
+
+    private void invalidateStyle() {
+        style = null;
+    }
+
+    /**
+     * @param bounds bounds of the element in user space
+     * @param t      transform of the element
+     * @param margin extent of the element beyond its bounds, like half the stroke width or anti-aliasing
+     * @return true if the element cannot touch the visible area or the clip
+     */
+    private boolean isOutside(Rectangle2D bounds, AffineTransform t, double margin) {
+        if (output.visibleArea == null) {
+            return false;
+        }
+        Rectangle2D device = t.createTransformedShape(bounds).getBounds2D();
+        device.setRect(device.getX() - margin, device.getY() - margin, device.getWidth() + 2 * margin, device.getHeight() + 2 * margin);
+        return !device.intersects(output.visibleArea) || (clip != null && !clip.intersects(device));
+    }
+
+    @Override
+    public void rotate(double theta) {
+        transform.rotate(theta);
+    }
+
+    @Override
+    public void rotate(double theta, double x, double y) {
+        transform.rotate(theta, x, y);
+    }
+
+    @Override
+    public void scale(double sx, double sy) {
+        transform.scale(sx, sy);
+    }
+
+    @Override
+    public void setBackground(Color color) {
+        this.background = color;
+    }
+
+    @Override
+    public void setClip(int x, int y, int width, int height) {
+        setClip(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public void setClip(Shape clip) {
+        setDeviceClip(clip == null ? null : toDevice(clip));
+    }
+
+    @Override
+    public void setColor(Color c) {
+        if (c != null && (pattern != null || !c.equals(color))) {
+            color   = c;
+            pattern = null;
+            invalidateStyle();
+        }
+    }
+
+    @Override
+    public void setComposite(Composite comp) {
+        if (comp != null) {
+            composite = comp;
+            invalidateStyle();
+        }
+    }
+
+    private void setDeviceClip(Shape deviceClip) {
+        clip = deviceClip;
+        invalidateStyle();
+    }
+
+    @Override
+    public void setFont(Font font) {
+        if (font != null && !font.equals(this.font)) {
+            this.font = font;
+            invalidateStyle();
+        }
+    }
+
+    @Override
+    public void setPaint(Paint paint) {
+        if (paint == null) {
+            return;
+        }
+        if (paint instanceof PatternPaint p) {
+            if (!p.equals(pattern)) {
+                pattern = p;
+                invalidateStyle();
+            }
+        } else if (paint instanceof Color c) {
+            setColor(c);
+        } else {
+            if (PAINT_WARNED.compareAndSet(false, true)) {
+                logger.warn("{} is not supported by the streaming svg backend and is approximated by a solid color", paint.getClass().getName());
+            }
+            switch (paint) {
+                case GradientPaint g -> setColor(g.getColor1());
+                case MultipleGradientPaint g -> setColor(g.getColors()[0]);
+                case TexturePaint t -> setColor(new Color(t.getImage().getRGB(0, 0), true));
+                default -> {//keep the current color
+                }
+            }
+        }
+    }
+
+    @Override
+    public void setPaintMode() {
+        setComposite(AlphaComposite.SrcOver);
+    }
+
+    @Override
+    public void setRenderingHint(Key hintKey, Object hintValue) {
+        renderingHints.put(hintKey, hintValue);
+    }
+
+    @Override
+    public void setRenderingHints(Map<?, ?> hints) {
+        renderingHints.clear();
+        renderingHints.putAll(hints);
+    }
+
+    @Override
+    public void setStroke(Stroke s) {
+        if (s != null && !s.equals(stroke)) {
+            stroke = s;
+            invalidateStyle();
+        }
+    }
+
+    @Override
+    public void setTransform(AffineTransform Tx) {
+        transform = new AffineTransform(Tx);
+    }
+
+    /**
+     * Elements that lie completely outside of the area are not written.
+     *
+     * @param visibleArea area in device space, null to write every element
+     */
+    public void setVisibleArea(Rectangle visibleArea) {
+        output.visibleArea = visibleArea == null ? null : new Rectangle(visibleArea);
+    }
+
+    @Override
+    public void setXORMode(Color c1) {
+        //not supported by svg, keep painting
+    }
+
+    @Override
+    public void shear(double shx, double shy) {
+        transform.shear(shx, shy);
+    }
+
+    private static BufferedImage toBufferedImage(Image img) {
+        if (img instanceof BufferedImage image) {
+            return image;
+        }
+        int width  = img.getWidth(null);
+        int height = img.getHeight(null);
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D    g     = image.createGraphics();
+        g.drawImage(img, 0, 0, null);
+        g.dispose();
+        return image;
+    }
+
+    /**
+     * Rectangles stay rectangles as long as the transform is a translation, so that they result in a simple clip path.
+     */
+    private Shape toDevice(Shape s) {
+        if (s instanceof Rectangle2D r && transform.getType() <= AffineTransform.TYPE_TRANSLATION) {
+            Rectangle2D device = (Rectangle2D) r.clone();
+            device.setRect(r.getX() + transform.getTranslateX(), r.getY() + transform.getTranslateY(), r.getWidth(), r.getHeight());
+            return device;
+        }
+        return transform.createTransformedShape(s);
+    }
+
+    @Override
+    public void transform(AffineTransform Tx) {
+        transform.concatenate(Tx);
+    }
+
+    @Override
+    public void translate(int x, int y) {
+        transform.translate(x, y);
+    }
+
+    @Override
+    public void translate(double tx, double ty) {
+        transform.translate(tx, ty);
+    }
+
+    private void writeElement(StringBuilder element, String link) {
+        output.openGroup(getStyle());
+        if (link != null) {
+            StringBuilder anchor = new StringBuilder();
+            anchor.append("<a");
+            appendAttribute(anchor, "xlink:href", link);
+            anchor.append("\n      >");
+            output.write(anchor.append(element).append("</a\n    >").toString());
+        } else {
+            output.write(element.toString());
+        }
+    }
+
+    private void writeImage(BufferedImage image, int x, int y, int width, int height, AffineTransform t) {
+        if (isOutside(new Rectangle(x, y, width, height), t, 0)) {
+            return;
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", png);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("<image x=\"").append(x).append("\" y=\"").append(y).append("\" width=\"").append(width).append("\" height=\"").append(height)//
+                .append("\" preserveAspectRatio=\"none\" xlink:href=\"data:image/png;base64,").append(Base64.getEncoder().encodeToString(png.toByteArray())).append('"');
+        appendTransform(sb, t);
+        sb.append("\n    />");
+        writeElement(sb, null);
+    }
+
+    private void writeShape(Shape shape, boolean fill) {
+        if (isOutside(shape.getBounds2D(), transform, fill ? 1 : 1 + (stroke instanceof BasicStroke b ? b.getLineWidth() : 0))) {
+            return;
+        }
+        String  link    = null;
+        String  toolTip = null;
+        boolean visible = true;
+        if (shape instanceof ExtendedRectangle r) {
+            link    = r.getLink();
+            toolTip = r.getToolTip();
+            visible = r.isVisible();
+        } else if (shape instanceof ExtendedPolygon p) {
+            link    = p.getLink();
+            toolTip = p.getToolTip();
+            visible = p.isVisible();
+            if (link == null && toolTip != null && toolTip.isEmpty()) {
+                toolTip = null;
+            }
+        } else if (shape instanceof RectangleWithToolTip r) {
+            toolTip = r.getTitle();
+        } else if (shape instanceof RectangleWithLink r) {
+            link = r.getLink();
+        }
+        StringBuilder sb = new StringBuilder(128);
+        appendShape(sb, shape, fill);
+        appendAttribute(sb, "class", output.className(fill ? "stroke:none;" : "fill:none;"));
+        appendTransform(sb, transform);
+        if (!visible) {
+            sb.append(" fill-opacity=\"0\"");
+        }
+        if (toolTip != null) {
+            appendAttribute(sb, "alt", toolTip);
+        }
+        sb.append("\n    />");
+        writeElement(sb, link);
+    }
+
+    private void writeText(String str, float x, float y, String toolTip, String link) {
+        if (str == null || str.isEmpty()) {
+            return;
+        }
+        AffineTransform t             = transform;
+        AffineTransform fontTransform = font.getTransform();
+        if (!fontTransform.isIdentity()) {
+            //the font transform applies about the origin of the text
+            t = new AffineTransform(transform);
+            t.translate(x, y);
+            t.concatenate(fontTransform);
+            t.translate(-x, -y);
+        }
+        FontMetrics fm = metrics.getFontMetrics(font);
+        if (isOutside(new Rectangle2D.Float(x, y - fm.getAscent(), fm.stringWidth(str), fm.getHeight()), t, 1)) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder(64 + str.length());
+        sb.append("<text x=\"").append(format(x)).append("\" y=\"").append(format(y)).append("\" xml:space=\"preserve\"");
+        appendAttribute(sb, "class", output.className("stroke:none;"));
+        appendTransform(sb, t);
+        if (toolTip != null) {
+            appendAttribute(sb, "alt", toolTip);
+        }
+        sb.append("\n    >");
+        escape(sb, str);
+        sb.append("</text\n    >");
+        writeElement(sb, link);
+    }
+
+    /**
+     * State shared by all graphics created from the same document.
+     */
+    private static final class Output {
+        private final Map<String, String>       classNames  = new LinkedHashMap<>();//css declarations -> class name
+        private final Map<Shape, String>        clipPathIds = new HashMap<>();
+        private       String                    groupStyle;//style of the open group, null if no group is open
+        private final Map<PatternPaint, String> patternIds  = new HashMap<>();
+        private final String                    prefix;//prefix of class names, clip path and pattern ids
+        private       Rectangle                 visibleArea;//device space, null if every element is written
+        private final Writer                    writer;
+
+        private Output(Writer writer, String prefix) {
+            this.writer = writer;
+            this.prefix = prefix;
+        }
+
+        private String className(String declarations) {
+            String className = classNames.get(declarations);
+            if (className == null) {
+                className = prefix + classNames.size();
+                classNames.put(declarations, className);
+            }
+            return className;
+        }
+
+        /**
+         * Identical clips share one clip path, the definition is written the first time a clip is used.
+         */
+        private String clipPathId(Shape clip) {
+            String id = clipPathIds.get(clip);
+            if (id == null) {
+                id = prefix + "clipPath" + (clipPathIds.size() + 1);
+                clipPathIds.put(clip instanceof Rectangle2D r ? (Shape) r.clone() : clip, id);
+                closeGroup();
+                StringBuilder sb = new StringBuilder();
+                sb.append("<defs\n  ><clipPath clipPathUnits=\"userSpaceOnUse\" id=\"").append(id).append("\"\n    >");
+                appendShape(sb, clip, true);
+                sb.append("\n  /></clipPath\n></defs\n>");
+                write(sb.toString());
+            }
+            return id;
+        }
+
+        private void closeGroup() {
+            if (groupStyle != null) {
+                write("</g\n>");
+                groupStyle = null;
+            }
+        }
+
+        private void openGroup(String style) {
+            if (style.equals(groupStyle)) {
+                return;
+            }
+            closeGroup();
+            write(style.isEmpty() ? "<g\n  >" : "<g class=\"" + className(style) + "\"\n  >");
+            groupStyle = style;
+        }
+
+        /**
+         * Equal pattern paints share one pattern, the definition is written the first time a paint is used.
+         */
+        private String patternId(PatternPaint paint) {
+            String id = patternIds.get(paint);
+            if (id == null) {
+                id = prefix + "pattern" + (patternIds.size() + 1);
+                patternIds.put(paint, id);
+                closeGroup();
+                Rectangle     tile = paint.getTile();
+                StringBuilder sb   = new StringBuilder();
+                sb.append("<defs\n  ><pattern id=\"").append(id).append("\" patternUnits=\"userSpaceOnUse\" x=\"").append(tile.x).append("\" y=\"").append(tile.y)//
+                        .append("\" width=\"").append(tile.width).append("\" height=\"").append(tile.height).append("\"\n    >");
+                for (PatternPaint.Cell cell : paint.getCells()) {
+                    if (cell.width() > 0 && cell.height() > 0) {
+                        sb.append("<rect x=\"").append(cell.x()).append("\" y=\"").append(cell.y()).append("\" width=\"").append(cell.width()).append("\" height=\"").append(cell.height())//
+                                .append("\" style=\"stroke:none; fill:");
+                        appendColor(sb, cell.color());
+                        if (cell.color().getAlpha() != 255) {
+                            sb.append("; fill-opacity:").append(format(cell.color().getAlpha() / 255.0));
+                        }
+                        sb.append(";\"\n      />");
+                    }
+                }
+                sb.append("</pattern\n  ></defs\n>");
+                write(sb.toString());
+            }
+            return id;
+        }
+
+        private void write(String s) {
+            try {
+                writer.write(s);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * The style sheet applies to the whole document, no matter where it is placed.
+         */
+        private void writeStyleSheet() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("<defs\n  ><style type=\"text/css\"\n    ><![CDATA[\n");
+            classNames.forEach((declarations, className) -> sb.append('.').append(className).append('{').append(declarations).append("}\n"));
+            sb.append("]]></style\n  ></defs\n>");
+            write(sb.toString());
+        }
+    }
+}
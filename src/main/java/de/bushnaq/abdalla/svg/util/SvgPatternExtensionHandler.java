@@ -0,0 +1,82 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.svg.util;
+
+import org.apache.batik.svggen.DefaultExtensionHandler;
+import org.apache.batik.svggen.SVGGeneratorContext;
+import org.apache.batik.svggen.SVGPaintDescriptor;
+import org.apache.batik.svggen.SVGSyntax;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.awt.*;
+
+/**
+ * Lets the Batik generator write a {@link PatternPaint} as vector pattern instead of an embedded image.
+ * <p>
+ * Batik keeps the descriptor of every paint it has converted, so all shapes filled with an equal paint reference the same pattern.
+ */
+public class SvgPatternExtensionHandler extends DefaultExtensionHandler implements SVGSyntax {
+    private final String idPrefix;
+
+    /**
+     * @param idPrefix prefix of the pattern ids, unique for the document, as several charts can be part of the same html page
+     */
+    public SvgPatternExtensionHandler(String idPrefix) {
+        this.idPrefix = idPrefix;
+    }
+
+    static String toRgb(Color color) {
+        return "rgb(" + color.getRed() + "," + color.getGreen() + "," + color.getBlue() + ")";
+    }
+
+    @Override
+    public SVGPaintDescriptor handlePaint(Paint paint, SVGGeneratorContext generatorContext) {
+        if (!(paint instanceof PatternPaint patternPaint)) {
+            return null;
+        }
+        Document  document = generatorContext.getDOMFactory();
+        Rectangle tile     = patternPaint.getTile();
+        String    id       = generatorContext.getIDGenerator().generateID(idPrefix + "pattern");
+        Element   pattern  = document.createElementNS(SVG_NAMESPACE_URI, SVG_PATTERN_TAG);
+        pattern.setAttributeNS(null, SVG_ID_ATTRIBUTE, id);
+        pattern.setAttributeNS(null, SVG_PATTERN_UNITS_ATTRIBUTE, SVG_USER_SPACE_ON_USE_VALUE);
+        pattern.setAttributeNS(null, SVG_X_ATTRIBUTE, String.valueOf(tile.x));
+        pattern.setAttributeNS(null, SVG_Y_ATTRIBUTE, String.valueOf(tile.y));
+        pattern.setAttributeNS(null, SVG_WIDTH_ATTRIBUTE, String.valueOf(tile.width));
+        pattern.setAttributeNS(null, SVG_HEIGHT_ATTRIBUTE, String.valueOf(tile.height));
+        for (PatternPaint.Cell cell : patternPaint.getCells()) {
+            if (cell.width() <= 0 || cell.height() <= 0) {
+                continue;
+            }
+            Element rect = document.createElementNS(SVG_NAMESPACE_URI, SVG_RECT_TAG);
+            rect.setAttributeNS(null, SVG_X_ATTRIBUTE, String.valueOf(cell.x()));
+            rect.setAttributeNS(null, SVG_Y_ATTRIBUTE, String.valueOf(cell.y()));
+            rect.setAttributeNS(null, SVG_WIDTH_ATTRIBUTE, String.valueOf(cell.width()));
+            rect.setAttributeNS(null, SVG_HEIGHT_ATTRIBUTE, String.valueOf(cell.height()));
+            //the content of a pattern inherits the style of the svg element, not of the shape that is filled
+            rect.setAttributeNS(null, SVG_STROKE_ATTRIBUTE, SVG_NONE_VALUE);
+            rect.setAttributeNS(null, SVG_FILL_ATTRIBUTE, toRgb(cell.color()));
+            if (cell.color().getAlpha() != 255) {
+                rect.setAttributeNS(null, SVG_FILL_OPACITY_ATTRIBUTE, generatorContext.doubleString(cell.color().getAlpha() / 255.0));
+            }
+            pattern.appendChild(rect);
+        }
+        return new SVGPaintDescriptor("url(#" + id + ")", "1", pattern);
+    }
+}
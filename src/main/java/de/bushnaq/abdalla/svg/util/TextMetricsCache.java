@@ -0,0 +1,95 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.svg.util;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of text measurements, shared by all charts that are rendered.
+ * <p>
+ * The renderers measure the same strings in the same fonts again and again, like day numbers, week days, month names,
+ * user names and task names. Every font and font render context gets its own {@link CachedFontMetrics} with its own
+ * cache of measured strings, so the raster and the svg backends, which measure with different contexts, never share a result.
+ * All methods can be called from several threads.
+ */
+public class TextMetricsCache {
+    private static final int                                MAX_METRICS = 256;
+    private final        int                                maxEntries;
+    private final        Map<MetricsKey, CachedFontMetrics> metrics;
+
+    /**
+     * @param maxEntries maximum number of measured strings that are kept per font and font render context
+     */
+    public TextMetricsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        metrics         = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MetricsKey, CachedFontMetrics> eldest) {
+                return size() > MAX_METRICS;
+            }
+        };
+    }
+
+    public synchronized void clear() {
+        metrics.clear();
+    }
+
+    /**
+     * @param fontMetrics metrics of a graphics backend
+     * @return metrics that measure strings through this cache
+     */
+    public FontMetrics getFontMetrics(FontMetrics fontMetrics) {
+        if (fontMetrics instanceof CachedFontMetrics) {
+            return fontMetrics;
+        }
+        MetricsKey key = new MetricsKey(fontMetrics.getFont(), fontMetrics.getFontRenderContext());
+        synchronized (this) {
+            return metrics.computeIfAbsent(key, k -> new CachedFontMetrics(fontMetrics, maxEntries));
+        }
+    }
+
+    /**
+     * @return ratio of measurements that were answered by the cache
+     */
+    public synchronized double getHitRatio() {
+        long hits   = 0;
+        long misses = 0;
+        for (CachedFontMetrics fontMetrics : metrics.values()) {
+            hits += fontMetrics.getHits();
+            misses += fontMetrics.getMisses();
+        }
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    /**
+     * @return number of measured strings of all fonts
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (CachedFontMetrics fontMetrics : metrics.values()) {
+            size += fontMetrics.size();
+        }
+        return size;
+    }
+
+    private record MetricsKey(Font font, FontRenderContext frc) {
+    }
+}
@@ -63,18 +63,18 @@ class BaseUtils {
     }
 
     protected void test(TestResult[] testResults) {
-        for (SampleType sampleType : Profiler.intermediateSampleSet.sampleKeySet()) {
+        for (SampleType sampleType : Profiler.getIntermediateSampleSet().sampleKeySet()) {
 
             TestResult testResult = findInTestResult(testResults, sampleType);
             if (testResult != null) {
-                assertEquals((double) testResult.time, Profiler.intermediateSampleSet.getSample(testResult.type).getTimeNanoSec() / 1000000, 50,
+                assertEquals((double) testResult.time, Profiler.getIntermediateSampleSet().getSample(testResult.type).getTimeNanoSec() / 1000000, 50,
                         String.format("bad %s measurment", testResult.type.name()));
             } else {
-                assertEquals(0.0, Profiler.intermediateSampleSet.getSample(sampleType).getTimeNanoSec() / 1000000, 50,
+                assertEquals(0.0, Profiler.getIntermediateSampleSet().getSample(sampleType).getTimeNanoSec() / 1000000, 50,
                         String.format("bad %s measurment", sampleType.name()));
             }
         }
-        ProfilerResult result = Profiler.intermediateResult;
+        ProfilerResult result = Profiler.getIntermediateResult();
         long           delta  = (result.delta * 100) / result.totalDelta;
         assertThat(delta, is(lessThanOrEqualTo(2L)));
 
@@ -75,8 +75,8 @@ class NestedCallsTest extends BaseUtils {
                 new TestResult(SampleType.TCP, 500),//
                 new TestResult(SampleType.SMB, 300)//
         });
-        assertEquals(1000, Profiler.sampleSet.getCounter("counter-1"), "");
-        assertEquals(333, Profiler.sampleSet.getCounter("counter-2"), "");
+        assertEquals(1000, Profiler.getSampleSet().getCounter("counter-1"), "");
+        assertEquals(333, Profiler.getSampleSet().getCounter("counter-2"), "");
     }
 
     private void sqlMethod() throws Exception {
@@ -18,13 +18,19 @@
 package de.bushnaq.abdalla.projecthub;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bushnaq.abdalla.projecthub.dto.Task;
+import de.bushnaq.abdalla.projecthub.dto.Worklog;
+import de.bushnaq.abdalla.projecthub.rest.JacksonConfig;
 import org.junit.jupiter.api.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.awt.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
@@ -34,9 +40,84 @@ import java.time.temporal.ChronoUnit;
 @Transactional
 @TestMethodOrder(MethodOrderer.MethodName.class)
 public class SerializationTest {
+    private static final int    ITERATIONS        = 20;
+    private static final int    TASKS_PER_SPRINT  = 2000;
+    private static final int    WORKLOGS_PER_TASK = 5;
+    private final        Logger logger            = LoggerFactory.getLogger(this.getClass());
     @Autowired
     ObjectMapper objectMapper;
 
+    /**
+     * Serializes and deserializes the tasks and worklogs of a large sprint with the given mapper.
+     *
+     * @return bytes per sprint
+     */
+    private int benchmark(String name, ObjectMapper mapper, Task[] tasks, Worklog[] worklogs) throws Exception {
+        byte[] taskBytes    = mapper.writeValueAsBytes(tasks);
+        byte[] worklogBytes = mapper.writeValueAsBytes(worklogs);
+        //warm up
+        for (int i = 0; i < ITERATIONS / 2; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(tasks), Task[].class);
+            mapper.readValue(mapper.writeValueAsBytes(worklogs), Worklog[].class);
+        }
+        long writeTime = 0;
+        long readTime  = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long time = System.nanoTime();
+            taskBytes    = mapper.writeValueAsBytes(tasks);
+            worklogBytes = mapper.writeValueAsBytes(worklogs);
+            writeTime += System.nanoTime() - time;
+            time = System.nanoTime();
+            Task[]    readTasks    = mapper.readValue(taskBytes, Task[].class);
+            Worklog[] readWorklogs = mapper.readValue(worklogBytes, Worklog[].class);
+            readTime += System.nanoTime() - time;
+            Assertions.assertEquals(tasks.length, readTasks.length);
+            Assertions.assertEquals(worklogs.length, readWorklogs.length);
+        }
+        int bytes = taskBytes.length + worklogBytes.length;
+        logger.info("{}: {} bytes per sprint, write {} ms, read {} ms", name, bytes, writeTime / ITERATIONS / 1_000_000.0, readTime / ITERATIONS / 1_000_000.0);
+        return bytes;
+    }
+
+    @Test
+    public void benchmarkSprint(TestInfo testInfo) throws Exception {
+        OffsetDateTime now      = OffsetDateTime.parse("2025-05-05T08:00:00+01:00");
+        Task[]         tasks    = new Task[TASKS_PER_SPRINT];
+        Worklog[]      worklogs = new Worklog[TASKS_PER_SPRINT * WORKLOGS_PER_TASK];
+        for (int t = 0; t < TASKS_PER_SPRINT; t++) {
+            Task task = new Task();
+            task.setId((long) t);
+            task.setSprintId(1L);
+            task.setName("Task-" + t);
+            task.setOrderId(t * Task.ORDER_ID_GAP);
+            task.setStart(now.toLocalDateTime().plusHours(t));
+            task.setFinish(now.toLocalDateTime().plusHours(t + 8));
+            task.setMinEstimate(Duration.ofHours(8));
+            task.setMaxEstimate(Duration.ofHours(12));
+            task.setOriginalEstimate(Duration.ofHours(8));
+            task.setRemainingEstimate(Duration.ofHours(3));
+            task.setTimeSpent(Duration.ofHours(5));
+            task.setResourceId((long) (t % 7));
+            tasks[t] = task;
+            for (int w = 0; w < WORKLOGS_PER_TASK; w++) {
+                Worklog worklog = new Worklog();
+                worklog.setId((long) t * WORKLOGS_PER_TASK + w);
+                worklog.setSprintId(1L);
+                worklog.setTaskId((long) t);
+                worklog.setAuthorId((long) (t % 7));
+                worklog.setStart(now.plusDays(w));
+                worklog.setTimeSpent(Duration.ofHours(1));
+                worklog.setComment("Worked on task " + t);
+                worklog.setCreated(now);
+                worklog.setUpdated(now);
+                worklogs[t * WORKLOGS_PER_TASK + w] = worklog;
+            }
+        }
+        int jsonBytes  = benchmark("json", objectMapper, tasks, worklogs);
+        int smileBytes = benchmark("smile", JacksonConfig.createSmileObjectMapper(objectMapper), tasks, worklogs);
+        Assertions.assertTrue(smileBytes < jsonBytes);
+    }
+
     @Test
     public void deserializeColorBlack(TestInfo testInfo) throws Exception {
         String json  = "\"#FF000000\"";
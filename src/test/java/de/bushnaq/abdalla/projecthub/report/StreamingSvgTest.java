@@ -0,0 +1,188 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.report;
+
+import de.bushnaq.abdalla.projecthub.ParameterOptions;
+import de.bushnaq.abdalla.projecthub.dto.Sprint;
+import de.bushnaq.abdalla.projecthub.report.burndown.BurnDownChart;
+import de.bushnaq.abdalla.projecthub.report.calendar.CalendarChart;
+import de.bushnaq.abdalla.projecthub.report.gantt.GanttChart;
+import de.bushnaq.abdalla.projecthub.report.gantt.GanttContext;
+import de.bushnaq.abdalla.projecthub.util.AbstractGanttTestUtil;
+import de.bushnaq.abdalla.projecthub.util.RandomCase;
+import de.bushnaq.abdalla.projecthub.util.TestInfoUtil;
+import de.bushnaq.abdalla.util.Util;
+import org.apache.batik.transcoder.TranscoderInput;
+import org.apache.batik.transcoder.TranscoderOutput;
+import org.apache.batik.transcoder.image.ImageTranscoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the streaming svg backend with the Batik DOM backend.
+ * <p>
+ * Both outputs are rasterized and must result in the same image, peak heap and render time of both backends are logged.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+public class StreamingSvgTest extends AbstractGanttTestUtil {
+    private static final int ITERATIONS = 5;
+
+    private void benchmark(String name, Callable<AbstractCanvas> chartFactory) throws Exception {
+        byte[] batik     = render(chartFactory, false);
+        byte[] streaming = render(chartFactory, true);
+        assertImageEquals(name, rasterize(batik), rasterize(streaming));
+
+        Measurement batikMeasurement     = measure(chartFactory, false);
+        Measurement streamingMeasurement = measure(chartFactory, true);
+        logger.info(String.format("%-10s batik %6d ms %8d KB heap %8d KB svg, streaming %6d ms %8d KB heap %8d KB svg", name,//
+                batikMeasurement.millis, batikMeasurement.peakHeap / 1024, batik.length / 1024,//
+                streamingMeasurement.millis, streamingMeasurement.peakHeap / 1024, streaming.length / 1024));
+    }
+
+    private static void assertImageEquals(String name, BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth(), name + " width differs");
+        assertEquals(expected.getHeight(), actual.getHeight(), name + " height differs");
+        int differentPixels = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    differentPixels++;
+                }
+            }
+        }
+        //allow for anti-aliasing noise caused by a different grouping of the same elements
+        int total = expected.getWidth() * expected.getHeight();
+        assertTrue(differentPixels <= total / 1000, String.format("%s: %d of %d pixels differ", name, differentPixels, total));
+    }
+
+    private static long heapUsed(List<MemoryPoolMXBean> pools, boolean peak) {
+        long used = 0;
+        for (MemoryPoolMXBean pool : pools) {
+            used += peak ? pool.getPeakUsage().getUsed() : pool.getUsage().getUsed();
+        }
+        return used;
+    }
+
+    private Measurement measure(Callable<AbstractCanvas> chartFactory, boolean streaming) throws Exception {
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+        long                   time  = 0;
+        long                   peak  = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            System.gc();
+            long before = heapUsed(pools, false);
+            pools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            long start = System.nanoTime();
+            render(chartFactory, streaming);
+            time += System.nanoTime() - start;
+            peak = Math.max(peak, heapUsed(pools, true) - before);
+        }
+        return new Measurement(time / ITERATIONS / 1_000_000, peak);
+    }
+
+    private static BufferedImage rasterize(byte[] svg) throws Exception {
+        List<BufferedImage> images = new ArrayList<>();
+        ImageTranscoder transcoder = new ImageTranscoder() {
+            @Override
+            public BufferedImage createImage(int width, int height) {
+                return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            }
+
+            @Override
+            public void writeImage(BufferedImage image, TranscoderOutput output) {
+                images.add(image);
+            }
+        };
+        transcoder.transcode(new TranscoderInput(new ByteArrayInputStream(svg)), null);
+        return images.getFirst();
+    }
+
+    private static byte[] render(Callable<AbstractCanvas> chartFactory, boolean streaming) throws Exception {
+        AbstractCanvas        chart = chartFactory.call();
+        ByteArrayOutputStream o     = new ByteArrayOutputStream(64 * 1024);
+        chart.setStreamingSvg(streaming);
+        chart.render(Util.generateCopyrightString(ParameterOptions.getLocalNow()), o);
+        return o.toByteArray();
+    }
+
+    private void benchmark(TestInfo testInfo, RandomCase randomCase) throws Exception {
+        TestInfoUtil.setTestMethod(testInfo, testInfo.getTestMethod().get().getName() + "-" + randomCase.getTestCaseIndex());
+        TestInfoUtil.setTestCaseIndex(testInfo, randomCase.getTestCaseIndex());
+        setTestCaseName(this.getClass().getName(), testInfo.getTestMethod().get().getName() + "-" + randomCase.getTestCaseIndex());
+        generateProductsIfNeeded(testInfo, randomCase);
+
+        Sprint sprint = sprintApi.getAll().getFirst();
+        sprint.initialize();
+        sprint.initUserMap(userApi.getAll(sprint.getId()));
+        sprint.initTaskMap(taskApi.getAll(sprint.getId()), worklogApi.getAll(sprint.getId()));
+        sprint.recalculate(ParameterOptions.getLocalNow());
+
+        GanttContext gc = new GanttContext();
+        gc.allUsers    = userApi.getAll();
+        gc.allProducts = productApi.getAll();
+        gc.allVersions = versionApi.getAll();
+        gc.allFeatures = featureApi.getAll();
+        gc.allSprints  = sprintApi.getAll();
+        gc.allTasks    = taskApi.getAll();
+        gc.allWorklogs = worklogApi.getAll();
+        gc.initialize();
+
+        benchmark("gantt", () -> new GanttChart(context, "", "/", "Gantt Chart", "gantt-chart", exceptions, ParameterOptions.getLocalNow(), false, sprint, "scheduleWithMargin", context.parameters.graphicsTheme));
+        benchmark("burn-down", () -> new BurnDownChart("/", createRenderDao(context, sprint, "burn-down", ParameterOptions.getLocalNow(), 0, 36 * 20, "sprint-" + sprint.getId() + "/sprint.html")));
+        benchmark("calendar", () -> new CalendarChart(context, ParameterOptions.getLocalNow(), gc.allUsers.getFirst(), "scheduleWithMargin", context.parameters.graphicsTheme));
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void streaming(TestInfo testInfo) throws Exception {
+        benchmark(testInfo, new RandomCase(3, 10, 3, 2, 3, 1));
+    }
+
+    /**
+     * A sprint spanning roughly a year, this is where the heap and time of both backends differ most.
+     */
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void streamingYear(TestInfo testInfo) throws Exception {
+        benchmark(testInfo, new RandomCase(4, 20, 20, 2, 8, 1));
+    }
+
+    private record Measurement(long millis, long peakHeap) {
+    }
+}
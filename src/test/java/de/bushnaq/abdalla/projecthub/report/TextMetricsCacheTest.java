@@ -0,0 +1,122 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.report;
+
+import de.bushnaq.abdalla.projecthub.ParameterOptions;
+import de.bushnaq.abdalla.projecthub.report.calendar.CalendarChart;
+import de.bushnaq.abdalla.projecthub.report.gantt.GanttContext;
+import de.bushnaq.abdalla.projecthub.util.AbstractGanttTestUtil;
+import de.bushnaq.abdalla.projecthub.util.RandomCase;
+import de.bushnaq.abdalla.projecthub.util.TestInfoUtil;
+import de.bushnaq.abdalla.svg.util.ExtendedGraphics2D;
+import de.bushnaq.abdalla.svg.util.TextMetricsCache;
+import de.bushnaq.abdalla.util.Util;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Renders a calendar chart, which measures every day, week and month label, with and without the text metrics cache.
+ * <p>
+ * Both must result in the same svg document, the render time of both is logged.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+public class TextMetricsCacheTest extends AbstractGanttTestUtil {
+    private static final int     ITERATIONS = 20;
+    private static final Pattern PREFIX     = Pattern.compile("class=\"(s[0-9a-z]+-)");
+
+    private long measure(Callable<AbstractCanvas> chartFactory) throws Exception {
+        render(chartFactory);//warm up
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            render(chartFactory);
+        }
+        return (System.nanoTime() - start) / ITERATIONS / 1_000;
+    }
+
+    /**
+     * The css class prefix is random, it is removed, so that two renderings of the same chart can be compared.
+     */
+    private static String normalize(String svg) {
+        Matcher matcher = PREFIX.matcher(svg);
+        return matcher.find() ? svg.replace(matcher.group(1), "") : svg;
+    }
+
+    private static String render(Callable<AbstractCanvas> chartFactory) throws Exception {
+        AbstractCanvas        chart = chartFactory.call();
+        ByteArrayOutputStream o     = new ByteArrayOutputStream(64 * 1024);
+        chart.render(Util.generateCopyrightString(ParameterOptions.getLocalNow()), o);
+        return o.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void calendar(TestInfo testInfo) throws Exception {
+        RandomCase randomCase = new RandomCase(3, 10, 3, 2, 3, 1);
+        TestInfoUtil.setTestMethod(testInfo, testInfo.getTestMethod().get().getName() + "-" + randomCase.getTestCaseIndex());
+        TestInfoUtil.setTestCaseIndex(testInfo, randomCase.getTestCaseIndex());
+        setTestCaseName(this.getClass().getName(), testInfo.getTestMethod().get().getName() + "-" + randomCase.getTestCaseIndex());
+        generateProductsIfNeeded(testInfo, randomCase);
+
+        GanttContext gc = new GanttContext();
+        gc.allUsers    = userApi.getAll();
+        gc.allProducts = productApi.getAll();
+        gc.allVersions = versionApi.getAll();
+        gc.allFeatures = featureApi.getAll();
+        gc.allSprints  = sprintApi.getAll();
+        gc.allTasks    = taskApi.getAll();
+        gc.allWorklogs = worklogApi.getAll();
+        gc.initialize();
+        Callable<AbstractCanvas> chartFactory = () -> new CalendarChart(context, ParameterOptions.getLocalNow(), gc.allUsers.getFirst(), "scheduleWithMargin", context.parameters.graphicsTheme);
+
+        TextMetricsCache cache = ExtendedGraphics2D.getTextMetricsCache();
+        try {
+            ExtendedGraphics2D.setTextMetricsCache(null);
+            String uncached       = render(chartFactory);
+            long   uncachedMicros = measure(chartFactory);
+
+            TextMetricsCache testCache = new TextMetricsCache(10_000);
+            ExtendedGraphics2D.setTextMetricsCache(testCache);
+            String cached       = render(chartFactory);
+            long   cachedMicros = measure(chartFactory);
+
+            assertEquals(normalize(uncached), normalize(cached));
+            assertTrue(testCache.getHitRatio() > 0.5, String.format("hit ratio %.2f", testCache.getHitRatio()));
+            logger.info(String.format("calendar without cache %6d us, with cache %6d us, %d strings cached, hit ratio %.2f", uncachedMicros, cachedMicros, testCache.size(), testCache.getHitRatio()));
+        } finally {
+            ExtendedGraphics2D.setTextMetricsCache(cache);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.report;
+
+import de.bushnaq.abdalla.projecthub.ParameterOptions;
+import de.bushnaq.abdalla.projecthub.dto.Sprint;
+import de.bushnaq.abdalla.projecthub.report.gantt.GanttChart;
+import de.bushnaq.abdalla.projecthub.util.AbstractGanttTestUtil;
+import de.bushnaq.abdalla.projecthub.util.RandomCase;
+import de.bushnaq.abdalla.projecthub.util.TestInfoUtil;
+import de.bushnaq.abdalla.util.Util;
+import org.apache.batik.transcoder.TranscoderInput;
+import org.apache.batik.transcoder.TranscoderOutput;
+import org.apache.batik.transcoder.image.ImageTranscoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Renders a Gantt chart as a whole and tile by tile.
+ * <p>
+ * The rasterized tiles put together must result in the same image as the whole chart,
+ * and a single tile must be smaller than the whole chart.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+public class TiledGanttTest extends AbstractGanttTestUtil {
+    private static final int TILE_HEIGHT = 100;
+    private static final int TILE_WIDTH  = 300;
+
+    private static BufferedImage rasterize(byte[] svg) throws Exception {
+        List<BufferedImage> images = new ArrayList<>();
+        ImageTranscoder transcoder = new ImageTranscoder() {
+            @Override
+            public BufferedImage createImage(int width, int height) {
+                return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            }
+
+            @Override
+            public void writeImage(BufferedImage image, TranscoderOutput output) {
+                images.add(image);
+            }
+        };
+        transcoder.transcode(new TranscoderInput(new ByteArrayInputStream(svg)), null);
+        return images.getFirst();
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void tiles(TestInfo testInfo) throws Exception {
+        RandomCase randomCase = new RandomCase(3, 10, 3, 2, 3, 1);
+        TestInfoUtil.setTestMethod(testInfo, testInfo.getTestMethod().get().getName() + "-" + randomCase.getTestCaseIndex());
+        TestInfoUtil.setTestCaseIndex(testInfo, randomCase.getTestCaseIndex());
+        setTestCaseName(this.getClass().getName(), testInfo.getTestMethod().get().getName() + "-" + randomCase.getTestCaseIndex());
+        generateProductsIfNeeded(testInfo, randomCase);
+
+        Sprint sprint = sprintApi.getAll().getFirst();
+        sprint.initialize();
+        sprint.initUserMap(userApi.getAll(sprint.getId()));
+        sprint.initTaskMap(taskApi.getAll(sprint.getId()), worklogApi.getAll(sprint.getId()));
+        sprint.recalculate(ParameterOptions.getLocalNow());
+
+        GanttChart            chart = new GanttChart(context, "", "/", "Gantt Chart", "gantt-chart", exceptions, ParameterOptions.getLocalNow(), false, sprint, "scheduleWithMargin", context.parameters.graphicsTheme);
+        ByteArrayOutputStream whole = new ByteArrayOutputStream(64 * 1024);
+        chart.setStreamingSvg(true);
+        chart.render(Util.generateCopyrightString(ParameterOptions.getLocalNow()), whole);
+        BufferedImage expected = rasterize(whole.toByteArray());
+
+        BufferedImage actual = new BufferedImage(expected.getWidth(), expected.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D    g      = actual.createGraphics();
+        int           tiles  = 0;
+        for (int y = 0; y < chart.getChartHeight(); y += TILE_HEIGHT) {
+            for (int x = 0; x < chart.getChartWidth(); x += TILE_WIDTH) {
+                Rectangle             tile = new Rectangle(x, y, Math.min(TILE_WIDTH, chart.getChartWidth() - x), Math.min(TILE_HEIGHT, chart.getChartHeight() - y));
+                ByteArrayOutputStream o    = new ByteArrayOutputStream(16 * 1024);
+                chart.renderTile(o, tile);
+                assertTrue(o.size() < whole.size(), String.format("tile %s is not smaller than the chart", tile));
+                g.drawImage(rasterize(o.toByteArray()), x, y, null);
+                tiles++;
+            }
+        }
+        g.dispose();
+        assertTrue(tiles > 1, "chart is too small to be split into tiles");
+
+        int differentPixels = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    differentPixels++;
+                }
+            }
+        }
+        //allow for anti-aliasing noise along the tile borders
+        int total = expected.getWidth() * expected.getHeight();
+        assertTrue(differentPixels <= total / 200, String.format("%d of %d pixels differ", differentPixels, total));
+        logger.info(String.format("%d tiles, whole chart %d KB", tiles, whole.size() / 1024));
+    }
+}
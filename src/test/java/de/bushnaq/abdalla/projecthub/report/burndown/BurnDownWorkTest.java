@@ -0,0 +1,148 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.report.burndown;
+
+import de.bushnaq.abdalla.projecthub.dto.User;
+import de.bushnaq.abdalla.projecthub.dto.WorklogRollup;
+import de.bushnaq.abdalla.projecthub.report.dao.WorklogRemaining;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The burn down work must answer exactly like summing up the durations of the rollups.
+ */
+public class BurnDownWorkTest {
+    private static final int       AUTHORS   = 5;
+    private static final int       DAYS      = 40;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 5, 5);
+
+    private static List<WorklogRemaining> createRemaining(Random random) {
+        List<WorklogRemaining> list = new ArrayList<>();
+        for (long authorId = 1; authorId <= AUTHORS + 1; authorId++) {
+            User user = new User();
+            user.setId(authorId);
+            list.add(new WorklogRemaining(1L, authorId, "T-" + authorId, user, Duration.ZERO, Duration.ofMinutes(random.nextInt(10 * 60))));
+        }
+        list.add(new WorklogRemaining(1L, 0L, "T-0", null, Duration.ZERO, Duration.ofHours(8)));
+        return list;
+    }
+
+    private static List<WorklogRollup> createRollups(Random random) {
+        List<WorklogRollup> list = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            for (long authorId = 1; authorId <= AUTHORS; authorId++) {
+                if (random.nextInt(3) == 0) {
+                    WorklogRollup rollup = new WorklogRollup(1L, authorId, FIRST_DAY.plusDays(day));
+                    rollup.setTimeSpent(Duration.ofMinutes(1 + random.nextInt(8 * 60)));
+                    rollup.setWorklogCount(1 + random.nextInt(3));
+                    list.add(rollup);
+                }
+            }
+        }
+        return list;
+    }
+
+    @Test
+    public void empty() {
+        BurnDownWork work = new BurnDownWork(null, null);
+        assertEquals(0, work.getAuthorCount());
+        assertEquals(0, work.getDays());
+        assertEquals(0, work.getWorkedAccumulated(5));
+        assertEquals(-1, work.getLastDayIndexWithWork(5));
+        assertEquals(0, work.countRollupsAfter(0));
+        assertFalse(work.hasRollups(0));
+        assertNull(work.getFirstPunchIn());
+        assertNull(work.getLastPunchOut());
+    }
+
+    @Test
+    public void sameAsDurations() {
+        Random                 random    = new Random(1);
+        List<WorklogRollup>    rollups   = createRollups(random);
+        List<WorklogRemaining> remaining = createRemaining(random);
+        BurnDownWork           work      = new BurnDownWork(rollups, remaining);
+
+        assertEquals(AUTHORS + 1, work.getAuthorCount());
+        long lastEstimate = Long.MAX_VALUE;
+        for (int author = 0; author < work.getAuthorCount(); author++) {
+            long     authorId        = work.getAuthorId(author);
+            Duration worked          = Duration.ZERO;
+            Duration authorRemaining = Duration.ZERO;
+            for (WorklogRollup rollup : rollups) {
+                if (rollup.getAuthorId() == authorId) {
+                    worked = worked.plus(rollup.getTimeSpent());
+                }
+            }
+            for (WorklogRemaining w : remaining) {
+                if (w.getAuthor() != null && w.getAuthor().getId() == authorId) {
+                    authorRemaining = authorRemaining.plus(w.getRemaining());
+                }
+            }
+            assertEquals(worked.getSeconds(), work.getWorked(author));
+            assertEquals(authorRemaining.getSeconds(), work.getRemaining(author));
+            assertTrue(work.getWorked(author) + work.getRemaining(author) <= lastEstimate, "authors must be ordered by estimate");
+            lastEstimate = work.getWorked(author) + work.getRemaining(author);
+
+            for (int dayIndex = -3; dayIndex < DAYS + 3; dayIndex++) {
+                LocalDate           day           = FIRST_DAY.plusDays(dayIndex);
+                Duration            accumulated   = Duration.ZERO;
+                List<WorklogRollup> authorRollups = new ArrayList<>();
+                for (WorklogRollup rollup : rollups) {
+                    if (rollup.getAuthorId() == authorId && !rollup.getDay().isAfter(day)) {
+                        accumulated = accumulated.plus(rollup.getTimeSpent());
+                        if (rollup.getDay().isEqual(day)) {
+                            authorRollups.add(rollup);
+                        }
+                    }
+                }
+                int index = work.getDayIndex(day);
+                assertEquals(accumulated.getSeconds(), work.getWorkedAccumulated(author, index), day.toString());
+                assertEquals(authorRollups, work.getRollups(author, index, index), day.toString());
+            }
+        }
+
+        for (int dayIndex = -3; dayIndex < DAYS + 3; dayIndex++) {
+            LocalDate day         = FIRST_DAY.plusDays(dayIndex);
+            Duration  accumulated = Duration.ZERO;
+            int       after       = 0;
+            boolean   hasRollups  = false;
+            for (WorklogRollup rollup : rollups) {
+                if (rollup.getDay().isAfter(day)) {
+                    after++;
+                } else {
+                    accumulated = accumulated.plus(rollup.getTimeSpent());
+                    hasRollups |= rollup.getDay().isEqual(day);
+                }
+            }
+            int index = work.getDayIndex(day);
+            assertEquals(accumulated.getSeconds(), work.getWorkedAccumulated(index), day.toString());
+            assertEquals(after, work.countRollupsAfter(index), day.toString());
+            assertEquals(hasRollups, work.hasRollups(index), day.toString());
+        }
+        assertEquals(rollups.getFirst().getDay(), work.getFirstPunchIn());
+        assertEquals(rollups.getLast().getDay(), work.getLastPunchOut());
+        assertEquals(work.getDayIndex(rollups.getLast().getDay()), work.getLastDayIndexWithWork(DAYS + 3));
+    }
+}
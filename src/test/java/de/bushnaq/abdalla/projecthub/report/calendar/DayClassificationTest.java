@@ -0,0 +1,76 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.report.calendar;
+
+import de.bushnaq.abdalla.projecthub.dto.OffDayType;
+import net.sf.mpxj.ProjectCalendar;
+import net.sf.mpxj.ProjectCalendarException;
+import net.sf.mpxj.ProjectFile;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The classification must answer exactly like the calendar it was created from.
+ */
+public class DayClassificationTest {
+
+    private static ProjectCalendar createCalendar() {
+        ProjectFile projectFile = new ProjectFile();
+        CalendarUtil.initializeProjectProperties(projectFile);
+        ProjectCalendar calendar = projectFile.addDefaultDerivedCalendar();
+        calendar.setParent(CalendarUtil.initializeCalendar(projectFile));
+        addException(calendar, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1), "New Year (de/nw)");
+        addException(calendar, LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 21), OffDayType.VACATION.name());
+        addException(calendar, LocalDate.of(2025, 6, 2), LocalDate.of(2025, 6, 3), OffDayType.SICK.name());
+        addException(calendar, LocalDate.of(2025, 9, 15), LocalDate.of(2025, 9, 19), OffDayType.TRIP.name());
+        addException(calendar, LocalDate.of(2025, 12, 31), LocalDate.of(2026, 1, 2), OffDayType.HOLIDAY.name());
+        return calendar;
+    }
+
+    private static void addException(ProjectCalendar calendar, LocalDate from, LocalDate to, String name) {
+        ProjectCalendarException exception = calendar.addCalendarException(from, to);
+        exception.setName(name);
+    }
+
+    @Test
+    public void sameAsCalendar() {
+        ProjectCalendar    calendar = createCalendar();
+        DayClassifications days     = new DayClassifications(calendar);
+        for (LocalDate date = LocalDate.of(2024, 12, 1); date.isBefore(LocalDate.of(2026, 2, 1)); date = date.plusDays(1)) {
+            assertEquals(calendar.isWorkingDate(date), days.isWorkingDate(date), date.toString());
+            assertEquals(!calendar.isWorkingDay(date.getDayOfWeek()), days.isWeekend(date), date.toString());
+            assertSame(calendar.getException(date), days.getException(date), date.toString());
+        }
+        assertEquals(OffDayType.HOLIDAY, days.getOffDayType(LocalDate.of(2025, 1, 1)));
+        assertEquals(OffDayType.VACATION, days.getOffDayType(LocalDate.of(2025, 3, 12)));
+        assertEquals(OffDayType.SICK, days.getOffDayType(LocalDate.of(2025, 6, 2)));
+        assertEquals(OffDayType.TRIP, days.getOffDayType(LocalDate.of(2025, 9, 19)));
+        assertEquals(OffDayType.HOLIDAY, days.getOffDayType(LocalDate.of(2026, 1, 2)));
+        assertNull(days.getOffDayType(LocalDate.of(2025, 3, 24)));
+        assertSame(days.get(2025), days.get(2025));
+    }
+
+    @Test
+    public void wrongYear() {
+        DayClassification year = DayClassification.create(createCalendar(), 2025);
+        assertThrows(IllegalArgumentException.class, () -> year.isWorkingDate(LocalDate.of(2026, 1, 1)));
+    }
+}
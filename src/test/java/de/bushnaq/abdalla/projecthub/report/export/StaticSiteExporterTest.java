@@ -0,0 +1,102 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.report.export;
+
+import de.bushnaq.abdalla.projecthub.dto.Sprint;
+import de.bushnaq.abdalla.projecthub.dto.User;
+import de.bushnaq.abdalla.projecthub.report.export.StaticSiteExporter.ExportResult;
+import de.bushnaq.abdalla.projecthub.util.AbstractGanttTestUtil;
+import de.bushnaq.abdalla.projecthub.util.RandomCase;
+import de.bushnaq.abdalla.projecthub.util.TestInfoUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports all sprints and users twice into the same directory.
+ * <p>
+ * The first export renders every sprint and user, the second one must skip all of them, as nothing changed.
+ * After one sprint has been changed, the third export must render only that sprint.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+public class StaticSiteExporterTest extends AbstractGanttTestUtil {
+    @TempDir
+    Path                       directory;
+    @Autowired
+    private StaticSiteExporter staticSiteExporter;
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void exportTwice(TestInfo testInfo) throws Exception {
+        RandomCase randomCase = new RandomCase(3, 10, 3, 2, 3, 1);
+        TestInfoUtil.setTestMethod(testInfo, testInfo.getTestMethod().get().getName() + "-" + randomCase.getTestCaseIndex());
+        TestInfoUtil.setTestCaseIndex(testInfo, randomCase.getTestCaseIndex());
+        setTestCaseName(this.getClass().getName(), testInfo.getTestMethod().get().getName() + "-" + randomCase.getTestCaseIndex());
+        generateProductsIfNeeded(testInfo, randomCase);
+
+        List<Sprint> sprints = sprintApi.getAll();
+        List<User>   users   = userApi.getAll();
+
+        ExportResult first = staticSiteExporter.export(directory);
+        assertEquals(0, first.failed());
+        assertEquals(sprints.size() + users.size(), first.rendered());
+        assertTrue(Files.exists(directory.resolve("index.html")));
+        for (Sprint sprint : sprints) {
+            Path sprintDirectory = directory.resolve("sprint-" + sprint.getId());
+            assertTrue(Files.exists(sprintDirectory.resolve("index.html")), sprint.getName());
+            if (sprint.getStart() != null) {
+                assertTrue(Files.exists(sprintDirectory.resolve("gantt.svg")), sprint.getName());
+                assertTrue(Files.exists(sprintDirectory.resolve("burn-down.svg")), sprint.getName());
+                assertTrue(Files.exists(sprintDirectory.resolve("burn-down.png")), sprint.getName());
+            }
+        }
+        for (User user : users) {
+            assertTrue(Files.exists(directory.resolve("user-" + user.getId()).resolve("calendar.svg")), user.getName());
+        }
+
+        //nothing changed, so nothing is rendered again
+        ExportResult second = staticSiteExporter.export(directory);
+        assertEquals(new ExportResult(0, first.rendered(), 0), second);
+
+        //only the changed sprint is rendered again
+        Sprint changed = sprints.getFirst();
+        changed.setName(changed.getName() + " changed");
+        sprintApi.update(changed);
+        expectedSprints.stream().filter(sprint -> sprint.getId().equals(changed.getId())).forEach(sprint -> sprint.setName(changed.getName()));
+        ExportResult third = staticSiteExporter.export(directory);
+        assertEquals(new ExportResult(1, first.rendered() - 1, 0), third);
+        assertTrue(Files.readString(directory.resolve("sprint-" + changed.getId()).resolve("index.html")).contains(changed.getName()));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescerTest {
+    private static final int THREADS = 16;
+
+    private final AtomicInteger    calls     = new AtomicInteger();
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+
+    /**
+     * Stands for the repository call of a read endpoint. It only returns after all other threads have joined it.
+     */
+    private Object blockingQuery(long waitForCoalesced) throws InterruptedException, TimeoutException {
+        calls.incrementAndGet();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (coalescer.getCoalesced().get() < waitForCoalesced) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new TimeoutException("not all requests were coalesced");
+            }
+            Thread.sleep(1);
+        }
+        return new Object();
+    }
+
+    @Test
+    public void contention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch       start   = new CountDownLatch(1);
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return coalescer.execute("/api/sprint/1|admin-user[ROLE_ADMIN]", () -> blockingQuery(THREADS - 1));
+                }));
+            }
+            start.countDown();
+            Object first = futures.getFirst().get();
+            for (Future<Object> future : futures) {
+                assertSame(first, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, calls.get());
+        assertEquals(THREADS, coalescer.getRequests().get());
+        assertEquals(THREADS - 1, coalescer.getCoalesced().get());
+        assertEquals((double) (THREADS - 1) / THREADS, coalescer.getCoalescingRatio(), 0.0001);
+    }
+
+    @Test
+    public void exception() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch leaderStarted = new CountDownLatch(1);
+            Future<Object> leader        = executor.submit(() -> coalescer.execute("key", () -> {
+                leaderStarted.countDown();
+                blockingQuery(1);
+                throw new IllegalArgumentException("failed");
+            }));
+            leaderStarted.await();
+            Future<Object>     follower      = executor.submit(() -> coalescer.execute("key", () -> blockingQuery(0)));
+            ExecutionException leaderError   = assertThrows(ExecutionException.class, leader::get);
+            ExecutionException followerError = assertThrows(ExecutionException.class, follower::get);
+            assertInstanceOf(IllegalArgumentException.class, leaderError.getCause());
+            assertInstanceOf(IllegalArgumentException.class, followerError.getCause());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void notCached() throws Exception {
+        Object first  = coalescer.execute("key", () -> blockingQuery(0));
+        Object second = coalescer.execute("key", () -> blockingQuery(0));
+        assertNotSame(first, second);
+        assertEquals(2, calls.get());
+        assertEquals(0, coalescer.getCoalesced().get());
+    }
+
+    @Test
+    public void scope() {
+        Authentication admin       = UsernamePasswordAuthenticationToken.authenticated("admin-user", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        Authentication user        = UsernamePasswordAuthenticationToken.authenticated("admin-user", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        Authentication sameAsAdmin = UsernamePasswordAuthenticationToken.authenticated("admin-user", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        assertNotEquals(RequestCoalescer.scope(admin), RequestCoalescer.scope(user));
+        assertEquals(RequestCoalescer.scope(admin), RequestCoalescer.scope(sameAsAdmin));
+        assertEquals("anonymous", RequestCoalescer.scope(null));
+    }
+}
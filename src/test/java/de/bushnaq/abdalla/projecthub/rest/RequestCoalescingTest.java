@@ -0,0 +1,175 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest;
+
+import de.bushnaq.abdalla.projecthub.dto.Sprint;
+import de.bushnaq.abdalla.projecthub.repository.SprintRepository;
+import de.bushnaq.abdalla.projecthub.rest.api.InProcessDispatcher;
+import de.bushnaq.abdalla.projecthub.rest.api.InProcessRestTemplate;
+import de.bushnaq.abdalla.projecthub.rest.api.SprintApi;
+import de.bushnaq.abdalla.projecthub.util.AbstractEntityGenerator;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Sends identical GET requests at the same time through the {@link RequestCoalescingFilter} and the in-process dispatcher
+ * and counts the queries of the real sprint repository.
+ * <p>
+ * The first request that reaches the repository waits until all requests have arrived at the {@link RequestCoalescer},
+ * so that all of them are in flight at the same time.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+public class RequestCoalescingTest extends AbstractEntityGenerator {
+    private static final int                 THREADS = 8;
+    @Autowired
+    private              CloseableHttpClient apiHttpClient;
+    @Autowired
+    private              RequestCoalescer    coalescer;
+    @Autowired
+    private              InProcessDispatcher dispatcher;
+    @LocalServerPort
+    private              int                 port;
+    @SpyBean
+    private              SprintRepository    sprintRepository;
+
+    private void awaitRequests(long count) throws InterruptedException, TimeoutException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (coalescer.getRequests().get() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new TimeoutException("not all requests reached the coalescer");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Requests of different users must not share a response, as it depends on what the user is allowed to see.
+     */
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void differentUsers() throws Exception {
+        addRandomProducts(1);
+        Long sprintId = expectedSprints.getFirst().getId();
+        getConcurrently(createHttpSprintApi(), sprintId, "admin-user", "user");
+        verify(sprintRepository, times(2)).findById(sprintId);
+    }
+
+    private SprintApi createHttpSprintApi() {
+        return new SprintApi(new RestTemplate(new HttpComponentsClientHttpRequestFactory(apiHttpClient)), objectMapper, "http://localhost:" + port + "/api");
+    }
+
+    private SprintApi createInProcessSprintApi() {
+        return new SprintApi(new InProcessRestTemplate(dispatcher), objectMapper, "http://localhost:" + port + "/api");
+    }
+
+    /**
+     * Sends {@link #THREADS} requests for the sprint at the same time.
+     *
+     * @param users the users that send the requests, in turns
+     */
+    private void getConcurrently(SprintApi api, Long sprintId, String... users) throws Exception {
+        long target = coalescer.getRequests().get() + THREADS;
+        doAnswer(invocation -> {
+            awaitRequests(target);
+            return invocation.callRealMethod();
+        }).when(sprintRepository).findById(sprintId);
+        clearInvocations(sprintRepository);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Sprint>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                String user = users[i % users.length];
+                futures.add(executor.submit(() -> {
+                    setUser(user, user.equals("admin-user") ? "ROLE_ADMIN" : "ROLE_USER");
+                    try {
+                        return api.getById(sprintId);
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            for (Future<Sprint> future : futures) {
+                assertEquals(sprintId, future.get().getId());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void http() throws Exception {
+        addRandomProducts(1);
+        Long sprintId       = expectedSprints.getFirst().getId();
+        long coalescedCount = coalescer.getCoalesced().get();
+        getConcurrently(createHttpSprintApi(), sprintId, "admin-user");
+        verify(sprintRepository, times(1)).findById(sprintId);
+        assertEquals(coalescedCount + THREADS - 1, coalescer.getCoalesced().get());
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void inProcess() throws Exception {
+        addRandomProducts(1);
+        Long sprintId       = expectedSprints.getFirst().getId();
+        long coalescedCount = coalescer.getCoalesced().get();
+        getConcurrently(createInProcessSprintApi(), sprintId, "admin-user");
+        verify(sprintRepository, times(1)).findById(sprintId);
+        assertEquals(coalescedCount + THREADS - 1, coalescer.getCoalesced().get());
+    }
+
+    /**
+     * A call within a transaction may see uncommitted changes of that transaction, it must not share its result.
+     */
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void insideTransaction() {
+        addRandomProducts(1);
+        Long sprintId = expectedSprints.getFirst().getId();
+        assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+        long requests = coalescer.getRequests().get();
+        assertEquals(sprintId, createInProcessSprintApi().getById(sprintId).getId());
+        assertEquals(requests, coalescer.getRequests().get());
+    }
+}
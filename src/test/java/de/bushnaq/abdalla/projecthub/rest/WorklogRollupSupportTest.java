@@ -0,0 +1,92 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest;
+
+import de.bushnaq.abdalla.projecthub.dao.WorklogDAO;
+import de.bushnaq.abdalla.projecthub.dao.WorklogRollupDAO;
+import de.bushnaq.abdalla.projecthub.repository.WorklogRollupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Not transactional, every rollup change must run in its own transaction to compete for the same row.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class WorklogRollupSupportTest {
+    private static final long                    AUTHOR_ID = 1L;
+    private static final long                    SPRINT_ID = 999999L;
+    private static final int                     THREADS   = 16;
+    @Autowired
+    private              WorklogRollupRepository worklogRollupRepository;
+    @Autowired
+    private              WorklogRollupSupport    worklogRollupSupport;
+
+    @AfterEach
+    public void afterEach() {
+        worklogRollupRepository.deleteAll(worklogRollupRepository.findBySprintIdOrderByDayAscAuthorIdAsc(SPRINT_ID));
+    }
+
+    @Test
+    public void concurrentFirstInsert() throws Exception {
+        OffsetDateTime  start    = OffsetDateTime.now();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch  ready   = new CountDownLatch(THREADS);
+            CountDownLatch  go      = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    WorklogDAO worklog = new WorklogDAO();
+                    worklog.setSprintId(SPRINT_ID);
+                    worklog.setAuthorId(AUTHOR_ID);
+                    worklog.setStart(start);
+                    worklog.setTimeSpent(Duration.ofHours(1));
+                    ready.countDown();
+                    go.await();
+                    worklogRollupSupport.add(worklog);
+                    return null;
+                }));
+            }
+            ready.await(10, TimeUnit.SECONDS);
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);//fails if any insert was rejected by the unique constraint
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<WorklogRollupDAO> rollups = worklogRollupRepository.findBySprintIdOrderByDayAscAuthorIdAsc(SPRINT_ID);
+        assertEquals(1, rollups.size());
+        assertEquals(THREADS, rollups.getFirst().getWorklogCount());
+        assertEquals(Duration.ofHours(THREADS), rollups.getFirst().getTimeSpent());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.api;
+
+import de.bushnaq.abdalla.projecthub.dao.TombstoneDAO;
+import de.bushnaq.abdalla.projecthub.dto.*;
+import de.bushnaq.abdalla.projecthub.util.AbstractEntityGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+public class ChangeApiTest extends AbstractEntityGenerator {
+    private static final String SECOND_NAME = "SECOND_NAME";
+    @Autowired
+    private              ChangeApi changeApi;
+
+    private static void assertDeleted(ChangeSet changeSet, String entityType, Long entityId) {
+        assertTrue(changeSet.getDeleted().stream().anyMatch(tombstone -> tombstone.getEntityType().equals(entityType) && tombstone.getEntityId().equals(entityId)), entityType + " " + entityId);
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void deleteCascades() throws Exception {
+        addRandomProducts(2);
+        OffsetDateTime since = OffsetDateTime.now().minusSeconds(1);
+
+        Product    product = expectedProducts.getFirst();
+        Version    version = product.getVersions().getFirst();
+        Feature    feature = version.getFeatures().getFirst();
+        Sprint     sprint  = feature.getSprints().getFirst();
+        List<Long> taskIds = sprint.getTasks().stream().map(Task::getId).toList();
+        removeProduct(product.getId());
+        {
+            ChangeSet changeSet = changeApi.getChanges(since);
+            assertDeleted(changeSet, TombstoneDAO.PRODUCT, product.getId());
+            assertDeleted(changeSet, TombstoneDAO.VERSION, version.getId());
+            assertDeleted(changeSet, TombstoneDAO.FEATURE, feature.getId());
+            assertDeleted(changeSet, TombstoneDAO.SPRINT, sprint.getId());
+            assertFalse(taskIds.isEmpty());
+            taskIds.forEach(taskId -> assertDeleted(changeSet, TombstoneDAO.TASK, taskId));
+            //the other product is untouched
+            assertTrue(changeSet.getDeleted().stream().noneMatch(tombstone -> tombstone.getEntityType().equals(TombstoneDAO.PRODUCT) && tombstone.getEntityId().equals(expectedProducts.getFirst().getId())));
+        }
+
+        User   user   = expectedUsers.first();
+        OffDay offDay = user.getOffDays().getFirst();
+        removeUser(user.getId());
+        {
+            ChangeSet changeSet = changeApi.getChanges(since);
+            assertDeleted(changeSet, TombstoneDAO.OFF_DAY, offDay.getId());
+            assertDeleted(changeSet, TombstoneDAO.AVAILABILITY, user.getAvailabilities().getFirst().getId());
+            assertDeleted(changeSet, TombstoneDAO.LOCATION, user.getLocations().getFirst().getId());
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void getChanges() throws Exception {
+        OffsetDateTime since = OffsetDateTime.now().minusSeconds(1);
+        addRandomProducts(3);
+        {
+            ChangeSet changeSet = changeApi.getChanges(since);
+            assertEquals(3, changeSet.getProducts().size());
+            assertTrue(changeSet.getDeleted().isEmpty());
+            assertTrue(changeSet.getUntil().isBefore(OffsetDateTime.now()));
+        }
+
+        Product updated = expectedProducts.getFirst();
+        updated.setName(SECOND_NAME);
+        updateProduct(updated);
+        Long deletedId = expectedProducts.getLast().getId();
+        removeProduct(deletedId);
+        {
+            ChangeSet changeSet = changeApi.getChanges(since);
+            assertTrue(changeSet.getProducts().stream().anyMatch(product -> product.getName().equals(SECOND_NAME)));
+            assertTrue(changeSet.getProducts().stream().noneMatch(product -> product.getId().equals(deletedId)));
+            assertTrue(changeSet.getDeleted().stream().anyMatch(tombstone -> tombstone.getEntityType().equals(TombstoneDAO.PRODUCT) && tombstone.getEntityId().equals(deletedId)));
+        }
+
+        //nothing changed in the future
+        assertTrue(changeApi.getChanges(OffsetDateTime.now().plusMinutes(1)).getProducts().isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.api;
+
+import de.bushnaq.abdalla.projecthub.util.AbstractEntityGenerator;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loopback load test of the pooled http client and the server side response compression.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+public class HttpClientLoadTest extends AbstractEntityGenerator {
+    private static final int                 REQUESTS_PER_THREAD = 100;
+    private static final int                 THREADS             = 4;
+    @Autowired
+    private              CloseableHttpClient apiHttpClient;
+    @LocalServerPort
+    private              int                 port;
+
+    private static HttpEntity<?> createEntity(String acceptEncoding) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBasicAuth("admin-user", "test-password");
+        headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return new HttpEntity<>(headers);
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void compression() {
+        addRandomProducts(100);
+        //HttpURLConnection does not decompress, so we see what was transferred
+        RestTemplate           restTemplate = new RestTemplate(new SimpleClientHttpRequestFactory());
+        String                 url          = "http://localhost:" + port + "/api/product";
+        ResponseEntity<byte[]> identity     = restTemplate.exchange(url, HttpMethod.GET, createEntity("identity"), byte[].class);
+        ResponseEntity<byte[]> gzip         = restTemplate.exchange(url, HttpMethod.GET, createEntity("gzip"), byte[].class);
+        assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        logger.info("products response is {} bytes, compressed {} bytes", identity.getBody().length, gzip.getBody().length);
+        assertTrue(gzip.getBody().length < identity.getBody().length);
+
+        //the pooled client decompresses transparently
+        ResponseEntity<String> decompressed = new RestTemplate(new HttpComponentsClientHttpRequestFactory(apiHttpClient)).exchange(url, HttpMethod.GET, createEntity("gzip"), String.class);
+        assertEquals(new String(identity.getBody()), decompressed.getBody());
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void load() throws Exception {
+        addRandomProducts(100);
+        String url = "http://localhost:" + port + "/api/product";
+
+        //HttpURLConnection does not decompress, so it requests uncompressed responses
+        long simpleTime = measure(new RestTemplate(new SimpleClientHttpRequestFactory()), url, "identity");
+        long pooledTime = measure(new RestTemplate(new HttpComponentsClientHttpRequestFactory(apiHttpClient)), url, "gzip");
+        logger.info("{} requests in {} threads took {} ms without pool, {} ms with pooled client", THREADS * REQUESTS_PER_THREAD, THREADS, simpleTime, pooledTime);
+    }
+
+    private static long measure(RestTemplate restTemplate, String url, String acceptEncoding) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            //warm up
+            restTemplate.exchange(url, HttpMethod.GET, createEntity(acceptEncoding), String.class);
+            long                 time    = System.currentTimeMillis();
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    int length = 0;
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        length += restTemplate.exchange(url, HttpMethod.GET, createEntity(acceptEncoding), String.class).getBody().length();
+                    }
+                    return length;
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                assertTrue(future.get() > 0);
+            }
+            return System.currentTimeMillis() - time;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.api;
+
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
+import de.bushnaq.abdalla.projecthub.dto.Product;
+import de.bushnaq.abdalla.projecthub.dto.User;
+import de.bushnaq.abdalla.projecthub.util.AbstractEntityGenerator;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import java.awt.Color;
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the HTTP loopback with the in-process transport of the api classes.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+public class InProcessTransportTest extends AbstractEntityGenerator {
+    private static final int                 ITERATIONS = 200;
+    @Autowired
+    private              CloseableHttpClient apiHttpClient;
+    @Autowired
+    private              InProcessDispatcher dispatcher;
+    @LocalServerPort
+    private              int                 port;
+
+    @Test
+    public void anonymousSecurity() {
+        setUser("admin-user", "ROLE_ADMIN");
+        addRandomProducts(1);
+        SecurityContextHolder.clearContext();
+
+        ProductApi inProcessApi = createInProcessProductApi();
+        assertThrows(AuthenticationCredentialsNotFoundException.class, inProcessApi::getAll);
+        assertThrows(AuthenticationCredentialsNotFoundException.class, () -> inProcessApi.count(null));
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void benchmark() {
+        addRandomProducts(50);
+        ProductApi        inProcessApi = createInProcessProductApi();
+        KeysetPageRequest request      = new KeysetPageRequest(null, 0, 50, "name", true, null);
+
+        //both transports must deliver the same result
+        KeysetPage<Product> httpPage      = productApi.getPage(request);
+        KeysetPage<Product> inProcessPage = inProcessApi.getPage(request);
+        assertEquals(httpPage.getItems().size(), inProcessPage.getItems().size());
+        for (int i = 0; i < httpPage.getItems().size(); i++) {
+            assertEquals(httpPage.getItems().get(i).getId(), inProcessPage.getItems().get(i).getId());
+            assertEquals(httpPage.getItems().get(i).getName(), inProcessPage.getItems().get(i).getName());
+            assertEquals(httpPage.getItems().get(i).getUpdated(), inProcessPage.getItems().get(i).getUpdated());
+        }
+        assertEquals(productApi.count(null), inProcessApi.count(null));
+        assertEquals(productApi.getById(expectedProducts.getFirst().getId()).getName(), inProcessApi.getById(expectedProducts.getFirst().getId()).getName());
+
+        long httpTime      = measure(productApi, request);
+        long inProcessTime = measure(inProcessApi, request);
+        logger.info("{} page requests over http took {} ms, in-process took {} ms", ITERATIONS, httpTime, inProcessTime);
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void canDispatch() {
+        String                baseUrl  = "http://localhost:" + port + "/api";
+        InProcessRestTemplate template = new InProcessRestTemplate(dispatcher);
+        HttpHeaders           headers  = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+        assertTrue(template.canDispatch(URI.create(baseUrl + "/product"), HttpMethod.GET, new HttpEntity<>(headers)));
+        //the stream endpoint writes to the HttpServletResponse, which only exists over HTTP
+        assertFalse(template.canDispatch(URI.create(baseUrl + "/task/stream"), HttpMethod.GET, new HttpEntity<>(headers)));
+    }
+
+    private ProductApi createInProcessProductApi() {
+        String baseUrl = "http://localhost:" + port + "/api";
+        assertTrue(dispatcher.isInProcess(URI.create(baseUrl)));
+        return new ProductApi(new InProcessRestTemplate(dispatcher), objectMapper, baseUrl);
+    }
+
+    private static long measure(ProductApi api, KeysetPageRequest request) {
+        //warm up
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            api.getPage(request);
+        }
+        long time = System.currentTimeMillis();
+        for (int i = 0; i < ITERATIONS; i++) {
+            api.getPage(request);
+        }
+        return System.currentTimeMillis() - time;
+    }
+
+    /**
+     * The api classes send request bodies as Smile by default, the controllers must accept them over HTTP too.
+     */
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void persistOverHttp() {
+        String       baseUrl        = "http://localhost:" + port + "/api";
+        RestTemplate restTemplate   = new RestTemplate(new HttpComponentsClientHttpRequestFactory(apiHttpClient));
+        ProductApi   httpProductApi = new ProductApi(restTemplate, objectMapper, baseUrl);
+        UserApi      httpUserApi    = new UserApi(restTemplate, objectMapper, baseUrl);
+
+        Product product = new Product();
+        product.setName("http-product");
+        Product savedProduct = httpProductApi.persist(product);
+        assertNotNull(savedProduct.getId());
+        assertEquals(product.getName(), savedProduct.getName());
+
+        User user = new User();
+        user.setName("http-user");
+        user.setEmail("http-user@example.com");
+        user.setColor(Color.BLUE);
+        User savedUser = httpUserApi.persist(user);
+        assertNotNull(savedUser.getId());
+        assertEquals(user.getName(), savedUser.getName());
+
+        //not part of the expected entities that are compared with the database after each test
+        httpProductApi.deleteById(savedProduct.getId());
+        httpUserApi.deleteById(savedUser.getId());
+    }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    public void userSecurity() {
+        ProductApi inProcessApi = createInProcessProductApi();
+        Product    product      = new Product();
+        product.setName("forbidden");
+        assertThrows(AccessDeniedException.class, () -> inProcessApi.persist(product));
+        List<Product> products = inProcessApi.getAll();
+        assertNotNull(products);
+    }
+}
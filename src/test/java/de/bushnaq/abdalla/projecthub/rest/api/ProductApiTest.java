@@ -17,6 +17,8 @@
 
 package de.bushnaq.abdalla.projecthub.rest.api;
 
+import de.bushnaq.abdalla.projecthub.dto.KeysetPage;
+import de.bushnaq.abdalla.projecthub.dto.KeysetPageRequest;
 import de.bushnaq.abdalla.projecthub.dto.Product;
 import de.bushnaq.abdalla.projecthub.util.AbstractEntityGenerator;
 import org.junit.jupiter.api.Test;
@@ -31,6 +33,8 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ServerErrorException;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.fail;
@@ -133,6 +137,27 @@ public class ProductApiTest extends AbstractEntityGenerator {
         List<Product> allProducts = productApi.getAll();
     }
 
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void getAllNotModified() throws Exception {
+        addRandomProducts(2);
+        //second call is answered with 304 and served from the client cache
+        assertEquals(productApi.getAll().size(), productApi.getAll().size());
+        Product product = expectedProducts.getFirst();
+        assertProductEquals(product, productApi.getById(product.getId()), true);//shallow test
+        assertProductEquals(product, productApi.getById(product.getId()), true);//shallow test
+
+        //changes must invalidate the ETag
+        product.setName(SECOND_NAME);
+        updateProduct(product);
+        assertTrue(productApi.getAll().stream().anyMatch(p -> p.getName().equals(SECOND_NAME)));
+        assertEquals(SECOND_NAME, productApi.getById(product.getId()).getName());
+        addRandomProducts(1);
+        assertEquals(3, productApi.getAll().size());
+        removeProduct(expectedProducts.getLast().getId());
+        assertEquals(2, productApi.getAll().size());
+    }
+
     @Test
     public void getByFakeId() throws Exception {
         setUser("admin-user", "ROLE_ADMIN");
@@ -155,6 +180,47 @@ public class ProductApiTest extends AbstractEntityGenerator {
         assertProductEquals(expectedProducts.getFirst(), product, true);//shallow test
     }
 
+    @Test
+    public void getPage() throws Exception {
+        setUser("admin-user", "ROLE_ADMIN");
+        addRandomProducts(7);
+        setUser("user", "ROLE_USER");
+        assertEquals(7, productApi.count(null));
+
+        List<Product>     pagedProducts = new ArrayList<>();
+        KeysetPageRequest request       = new KeysetPageRequest(null, 0, 3, "name", true, null);
+        do {
+            KeysetPage<Product> page = productApi.getPage(request);
+            assertTrue(page.getItems().size() <= 3);
+            pagedProducts.addAll(page.getItems());
+            request.setAfter(page.getNextCursor());
+        } while (request.getAfter() != null);
+
+        List<Product> sortedProducts = expectedProducts.stream().sorted(Comparator.comparing(Product::getName)).toList();
+        assertEquals(sortedProducts.size(), pagedProducts.size());
+        for (int i = 0; i < sortedProducts.size(); i++) {
+            assertProductEquals(sortedProducts.get(i), pagedProducts.get(i), true);//shallow test
+        }
+    }
+
+    @Test
+    public void getPageFiltered() throws Exception {
+        setUser("admin-user", "ROLE_ADMIN");
+        addProduct("Product_1");
+        addProduct("ProductX1");
+        addProduct("Product 100%");
+        addProduct("Product 1000");
+        setUser("user", "ROLE_USER");
+        //wildcards must match literally
+        assertEquals(1, productApi.count("t_1"));
+        assertEquals(1, productApi.count("0%"));
+        assertEquals(4, productApi.count("PRODUCT"));
+
+        KeysetPage<Product> page = productApi.getPage(new KeysetPageRequest(null, 0, 10, "name", true, "t_1"));
+        assertEquals(1, page.getItems().size());
+        assertEquals("Product_1", page.getItems().getFirst().getName());
+    }
+
     @Test
     @WithMockUser(username = "admin-user", roles = "ADMIN")
     public void update() throws Exception {
@@ -35,6 +35,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -111,6 +112,32 @@ public class TaskApiTest extends AbstractEntityGenerator {
         testAllAndPrintTables();
     }
 
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void orderId() throws Exception {
+        Product product = addProduct("Product");
+        Version version = addVersion(product, "1.0.0");
+        Feature feature = addRandomFeature(version);
+        Sprint  sprint1 = addRandomSprint(feature);
+        Sprint  sprint2 = addRandomSprint(feature);
+
+        //orderIds are assigned per sprint and leave a gap
+        Task task1 = addTask(sprint1, null, "Task 1", LocalDateTime.now(), Duration.ofDays(1), null, null, null);
+        Task task2 = addTask(sprint1, null, "Task 2", LocalDateTime.now(), Duration.ofDays(1), null, null, null);
+        Task task3 = addTask(sprint2, null, "Task 3", LocalDateTime.now(), Duration.ofDays(1), null, null, null);
+        assertEquals(Task.ORDER_ID_GAP, task1.getOrderId());
+        assertEquals(2 * Task.ORDER_ID_GAP, task2.getOrderId());
+        assertEquals(Task.ORDER_ID_GAP, task3.getOrderId());
+
+        //moving task2 before task1 only changes task2
+        task2.setOrderId(task1.getOrderId() / 2);
+        taskApi.update(task2);
+        List<Task> tasks = taskApi.getAll(sprint1.getId());
+        assertEquals(task2.getId(), tasks.get(0).getId());
+        assertEquals(task1.getId(), tasks.get(1).getId());
+        assertEquals(Task.ORDER_ID_GAP, tasks.get(1).getOrderId());
+    }
+
     @Test
     @WithMockUser(username = "admin-user", roles = "ADMIN")
     public void update() throws Exception {
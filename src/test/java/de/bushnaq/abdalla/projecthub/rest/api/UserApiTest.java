@@ -130,6 +130,21 @@ public class UserApiTest extends AbstractEntityGenerator {
         printTables();
     }
 
+    @Test
+    public void getByIdNotModified() throws Exception {
+        setUser("admin-user", "ROLE_ADMIN");
+        addRandomUsers(1);
+        User user = expectedUsers.first();
+        //second call is answered with 304 and served from the client cache
+        assertUserEquals(user, userApi.getById(user.getId()));
+        assertUserEquals(user, userApi.getById(user.getId()));
+
+        //changes must invalidate the ETag
+        user.setName("changed-user-name");
+        updateUser(user);
+        assertEquals("changed-user-name", userApi.getById(user.getId()).getName());
+    }
+
     @Test
     public void getByUnknownId() throws Exception {
         {
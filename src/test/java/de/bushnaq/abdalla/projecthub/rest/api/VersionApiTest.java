@@ -21,13 +21,16 @@ import de.bushnaq.abdalla.projecthub.dto.Version;
 import de.bushnaq.abdalla.projecthub.util.AbstractEntityGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerErrorException;
@@ -36,6 +39,8 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.fail;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 @ExtendWith(SpringExtension.class)
@@ -43,8 +48,10 @@ import static org.junit.jupiter.api.Assertions.*;
 @AutoConfigureMockMvc
 @Transactional
 public class VersionApiTest extends AbstractEntityGenerator {
-    private static final long   FAKE_ID     = 999999L;
-    private static final String SECOND_NAME = "SECOND_NAME";
+    private static final long    FAKE_ID     = 999999L;
+    private static final String  SECOND_NAME = "SECOND_NAME";
+    @Autowired
+    private              MockMvc mockMvc;
 
     @Test
     public void anonymousSecurity() {
@@ -182,6 +189,17 @@ public class VersionApiTest extends AbstractEntityGenerator {
         assertEquals(expectedVersions.getFirst().getId(), version.getId());
     }
 
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void getByIdNotModified() throws Exception {
+        addRandomProducts(1);
+        Long   id   = expectedVersions.getFirst().getId();
+        String eTag = mockMvc.perform(get("/api/version/{id}", id)).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        //a matching revalidation must not be mistaken for a deleted version
+        mockMvc.perform(get("/api/version/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+    }
+
     @Test
     @WithMockUser(username = "admin-user", roles = "ADMIN")
     public void update() throws Exception {
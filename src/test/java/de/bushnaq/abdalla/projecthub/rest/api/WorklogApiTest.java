@@ -32,6 +32,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 
 @ExtendWith(SpringExtension.class)
@@ -68,6 +73,70 @@ public class WorklogApiTest extends AbstractEntityGenerator {
         testAllAndPrintTables();
     }
 
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void rollup() throws Exception {
+        User           user1     = addRandomUser();
+        Product        product   = addProduct("Product 0");
+        Version        version   = addVersion(product, "1.0.0");
+        Feature        feature   = addRandomFeature(version);
+        Sprint         sprint    = addRandomSprint(feature);
+        Task           task1     = addTask(sprint, null, "Design", LocalDateTime.now(), Duration.ofDays(4), null, user1, null);
+        OffsetDateTime today     = OffsetDateTime.now();
+        OffsetDateTime yesterday = today.minusDays(1);
+        Worklog        worklog1  = addWorklog(task1, user1, yesterday, Duration.ofHours(2), "Design work 1");
+        Worklog        worklog2  = addWorklog(task1, user1, today, Duration.ofHours(3), "Design work 2");
+        Worklog        worklog3  = addWorklog(task1, user1, today, Duration.ofHours(1), "Design work 3");
+        {
+            List<WorklogRollup> rollups = worklogApi.getRollups(sprint.getId());
+            assertEquals(2, rollups.size());
+            assertEquals(Duration.ofHours(2), rollups.get(0).getTimeSpent());
+            assertEquals(1, rollups.get(0).getWorklogCount());
+            assertEquals(Duration.ofHours(4), rollups.get(1).getTimeSpent());
+            assertEquals(2, rollups.get(1).getWorklogCount());
+        }
+
+        //move first worklog to today and delete the last one
+        worklog1.setStart(today);
+        worklogApi.persist(worklog1);
+        worklogApi.deleteById(worklog3.getId());
+        {
+            List<WorklogRollup> rollups = worklogApi.getRollups(sprint.getId());
+            assertEquals(1, rollups.size());
+            assertEquals(Duration.ofHours(5), rollups.getFirst().getTimeSpent());
+            assertEquals(2, rollups.getFirst().getWorklogCount());
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void stream() throws Exception {
+        User    user1   = addRandomUser();
+        Product product = addProduct("Product 0");
+        Version version = addVersion(product, "1.0.0");
+        Feature feature = addRandomFeature(version);
+        Sprint  sprint1 = addRandomSprint(feature);
+        Sprint  sprint2 = addRandomSprint(feature);
+        Task    task1   = addTask(sprint1, null, "Design", LocalDateTime.now(), Duration.ofDays(4), null, user1, null);
+        Task    task2   = addTask(sprint2, null, "Build", LocalDateTime.now(), Duration.ofDays(4), null, user1, null);
+        for (int i = 0; i < 10; i++) {
+            addWorklog(task1, user1, OffsetDateTime.now(), Duration.ofHours(1), "Design work " + i);
+        }
+        addWorklog(task2, user1, OffsetDateTime.now(), Duration.ofHours(1), "Build work");
+
+        List<Worklog> streamed = new ArrayList<>();
+        assertEquals(10, worklogApi.stream(sprint1.getId(), streamed::add));
+        List<Worklog> expected = worklogApi.getAll(sprint1.getId()).stream().sorted(Comparator.comparing(Worklog::getId)).toList();
+        assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), streamed.get(i).getId());
+            assertEquals(expected.get(i).getComment(), streamed.get(i).getComment());
+            assertEquals(expected.get(i).getTimeSpent(), streamed.get(i).getTimeSpent());
+        }
+        assertEquals(11, worklogApi.stream(null, worklog -> {
+        }));
+    }
+
     @Test
     @WithMockUser(username = "admin-user", roles = "ADMIN")
     public void update() throws Exception {
@@ -0,0 +1,81 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.debug;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncLogEmitterTest {
+    private static final int QUEUE_SIZE = 1024;
+
+    private final AtomicInteger formatted = new AtomicInteger();
+
+    @Test
+    public void dropped() throws Exception {
+        ch.qos.logback.classic.Logger emitterLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(AsyncLogEmitter.class);
+        ListAppender<ILoggingEvent>   appender      = new ListAppender<>();
+        appender.start();
+        emitterLogger.addAppender(appender);
+        //the messages themselves are not of interest
+        Logger target = LoggerFactory.getLogger(AsyncLogEmitterTest.class.getName() + ".target");
+        ((ch.qos.logback.classic.Logger) target).setLevel(Level.OFF);
+        try {
+            AsyncLogEmitter emitter = new AsyncLogEmitter();
+            CountDownLatch  started = new CountDownLatch(1);
+            CountDownLatch  release = new CountDownLatch(1);
+            //keep the background thread busy until the queue has overflown
+            emitter.emit(target, () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return message();
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < QUEUE_SIZE + 3; i++) {
+                emitter.emit(target, this::message);
+            }
+            release.countDown();
+            emitter.shutdown();
+
+            assertEquals(1 + QUEUE_SIZE, formatted.get());
+            List<String> warnings = appender.list.stream().filter(event -> event.getLevel() == Level.WARN).map(ILoggingEvent::getFormattedMessage).toList();
+            assertEquals(List.of("dropped 3 http log messages"), warnings);
+        } finally {
+            emitterLogger.detachAppender(appender);
+        }
+    }
+
+    private String message() {
+        formatted.incrementAndGet();
+        return "message";
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.rest.debug;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestLoggingFilterTest {
+    private static final String BODY = "{\"name\":\"Product_1\"}";
+
+    private final List<String>    messages = new ArrayList<>();
+    /**
+     * Formats the messages on the calling thread, so that they can be checked right after the filter returns.
+     */
+    private final AsyncLogEmitter emitter  = new AsyncLogEmitter() {
+        @Override
+        public void emit(Logger target, Supplier<String> message) {
+            messages.add(message.get());
+        }
+    };
+
+    @Test
+    public void disabled() throws Exception {
+        MockHttpServletRequest  request  = new MockHttpServletRequest("GET", "/api/product");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain         chain    = new MockFilterChain();
+        filter(false, 2048, "").doFilter(request, response, chain);
+        assertSame(request, chain.getRequest());
+        assertSame(response, chain.getResponse());
+        assertTrue(messages.isEmpty());
+    }
+
+    private RequestLoggingFilter filter(boolean enabled, int maxBodyBytes, String sampleRates) {
+        HttpLogSettings settings = new HttpLogSettings();
+        ReflectionTestUtils.setField(settings, "defaultSampleRate", 1.0);
+        ReflectionTestUtils.setField(settings, "enabled", enabled);
+        ReflectionTestUtils.setField(settings, "maxBodyBytes", maxBodyBytes);
+        ReflectionTestUtils.setField(settings, "sampleRatesProperty", sampleRates);
+        settings.initialize();
+        RequestLoggingFilter filter = new RequestLoggingFilter();
+        ReflectionTestUtils.setField(filter, "emitter", emitter);
+        ReflectionTestUtils.setField(filter, "settings", settings);
+        return filter;
+    }
+
+    @Test
+    public void readerAndWriter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/product");
+        request.setContentType("text/plain");
+        request.setContent("line".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            String line = req.getReader().readLine();
+            res.setContentType("text/plain");
+            //the application does not flush, the filter has to
+            res.getWriter().print("hello " + line);
+        };
+        filter(true, 2048, "").doFilter(request, response, chain);
+        assertEquals("hello line", response.getContentAsString());
+        assertEquals(1, messages.size());
+        assertTrue(messages.getFirst().contains("request=line "), messages.getFirst());
+        assertTrue(messages.getFirst().endsWith("response=hello line"), messages.getFirst());
+    }
+
+    @Test
+    public void truncated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/product");
+        request.setContentType("application/json");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            byte[] body = req.getInputStream().readAllBytes();
+            res.setContentType("application/json");
+            res.getOutputStream().write(body);
+        };
+        filter(true, 8, "").doFilter(request, response, chain);
+        //the client gets the whole body, only the log is truncated
+        assertEquals(BODY, response.getContentAsString());
+        assertEquals(1, messages.size());
+        String message = messages.getFirst();
+        assertTrue(message.startsWith("POST /api/product 200 "), message);
+        assertTrue(message.contains("request={\"name\":...<20 bytes> "), message);
+        assertTrue(message.endsWith("response={\"name\":...<20 bytes>"), message);
+    }
+
+    @Test
+    public void unsampled() throws Exception {
+        MockHttpServletRequest  request  = new MockHttpServletRequest("GET", "/api/worklog/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain         chain    = new MockFilterChain();
+        filter(true, 2048, "/api/worklog/**=0,/api/**=1").doFilter(request, response, chain);
+        assertSame(request, chain.getRequest());
+        assertSame(response, chain.getResponse());
+        assertTrue(messages.isEmpty());
+    }
+}
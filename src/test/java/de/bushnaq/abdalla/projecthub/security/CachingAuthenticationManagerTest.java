@@ -0,0 +1,92 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingAuthenticationManagerTest {
+    private static final String PASSWORD = "test-password";
+
+    private final AtomicInteger         calls    = new AtomicInteger();
+    private final AuthenticationManager delegate = authentication -> {
+        calls.incrementAndGet();
+        if (!PASSWORD.equals(authentication.getCredentials())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(authentication.getName(), null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    };
+
+    @Test
+    public void cached() {
+        CachingAuthenticationManager manager = new CachingAuthenticationManager(delegate, Duration.ofMinutes(5));
+        for (int i = 0; i < 10; i++) {
+            Authentication result = manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin-user", PASSWORD));
+            assertTrue(result.isAuthenticated());
+            assertEquals("admin-user", result.getName());
+            assertEquals("ROLE_ADMIN", result.getAuthorities().iterator().next().getAuthority());
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void evicted() {
+        CachingAuthenticationManager manager = new CachingAuthenticationManager(delegate, Duration.ofMinutes(5));
+        manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin-user", PASSWORD));
+        manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", PASSWORD));
+        assertEquals(2, calls.get());
+        //only the evicted user is verified again
+        manager.evict("admin-user");
+        manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin-user", PASSWORD));
+        manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", PASSWORD));
+        assertEquals(3, calls.get());
+        manager.clear();
+        manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", PASSWORD));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void expired() {
+        CachingAuthenticationManager manager = new CachingAuthenticationManager(delegate, Duration.ZERO);
+        manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin-user", PASSWORD));
+        manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin-user", PASSWORD));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void wrongPassword() {
+        CachingAuthenticationManager manager = new CachingAuthenticationManager(delegate, Duration.ofMinutes(5));
+        manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin-user", PASSWORD));
+        //a cached user must not accept a different password
+        assertThrows(BadCredentialsException.class, () -> manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin-user", "wrong-password")));
+        assertEquals(2, calls.get());
+        //the failed attempt must not remove the entry
+        manager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("admin-user", PASSWORD));
+        assertEquals(2, calls.get());
+    }
+}
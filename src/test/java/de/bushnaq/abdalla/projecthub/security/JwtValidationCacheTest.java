@@ -0,0 +1,224 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates tokens signed with a locally generated key pair, no identity provider is involved.
+ */
+public class JwtValidationCacheTest {
+    private static final String        ISSUER        = "http://localhost:1/realms/test";
+    private static final String        KEY_ID        = "test-key";
+    private static final String        UNREACHABLE   = "http://localhost:1/jwks";
+    private final        AtomicInteger calls         = new AtomicInteger();
+    private              Path          jwksCacheFile;
+    private              RSAKey        key;
+    @TempDir
+    private              Path          tempDir;
+
+    private AuthenticationManager createManager(JwtDecoder decoder, Duration timeToLive) {
+        JwtDecoder counting = token -> {
+            calls.incrementAndGet();
+            return decoder.decode(token);
+        };
+        return new CachingJwtAuthenticationManager(new ProviderManager(new JwtAuthenticationProvider(counting)), timeToLive);
+    }
+
+    private static String createToken(RSAKey signingKey, String subject, Instant expires) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(subject)
+                .issueTime(new Date())
+                .expirationTime(Date.from(expires))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }
+
+    @Test
+    public void cached() throws Exception {
+        AuthenticationManager manager = createManager(createDecoder(UNREACHABLE), Duration.ofMinutes(5));
+        String                token   = createToken(key, "admin-user", Instant.now().plusSeconds(300));
+        for (int i = 0; i < 10; i++) {
+            Authentication result = manager.authenticate(new BearerTokenAuthenticationToken(token));
+            assertTrue(result.isAuthenticated());
+            assertEquals("admin-user", result.getName());
+        }
+        assertEquals(1, calls.get());
+
+        //another token is validated again
+        manager.authenticate(new BearerTokenAuthenticationToken(createToken(key, "user", Instant.now().plusSeconds(300))));
+        assertEquals(2, calls.get());
+    }
+
+    private JwtDecoder createDecoder(String jwkSetUri) {
+        return createDecoder(jwkSetUri, Duration.ofSeconds(30), Duration.ofMinutes(5));
+    }
+
+    private JwtDecoder createDecoder(String jwkSetUri, Duration refreshInterval, Duration maxAge) {
+        return OidcApiSecurityConfig.createJwtDecoder(new FileCachedJwkSource(ISSUER, jwkSetUri, jwksCacheFile, refreshInterval, maxAge), ISSUER);
+    }
+
+    /**
+     * Serves the public keys of the given set on a local jwk set endpoint.
+     */
+    private static HttpServer createJwksServer(AtomicReference<JWKSet> jwkSet, AtomicInteger fetches) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/jwks", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = jwkSet.get().toPublicJWKSet().toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    @Test
+    public void expired() throws Exception {
+        AuthenticationManager manager = createManager(createDecoder(UNREACHABLE), Duration.ofMinutes(5));
+        String                token   = createToken(key, "admin-user", Instant.now().minusSeconds(300));
+        assertThrows(AuthenticationException.class, () -> manager.authenticate(new BearerTokenAuthenticationToken(token)));
+        assertThrows(AuthenticationException.class, () -> manager.authenticate(new BearerTokenAuthenticationToken(token)));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void forged() throws Exception {
+        AuthenticationManager manager = createManager(createDecoder(UNREACHABLE), Duration.ofMinutes(5));
+        RSAKey                forger  = new RSAKeyGenerator(2048).keyID(KEY_ID).generate();
+        String                token   = createToken(forger, "admin-user", Instant.now().plusSeconds(300));
+        assertThrows(AuthenticationException.class, () -> manager.authenticate(new BearerTokenAuthenticationToken(token)));
+        assertThrows(AuthenticationException.class, () -> manager.authenticate(new BearerTokenAuthenticationToken(token)));
+        assertEquals(2, calls.get());
+    }
+
+    /**
+     * The keys are fetched from a local jwk set endpoint once, after a restart they are read from the file.
+     */
+    @Test
+    public void jwksSurviveRestart() throws Exception {
+        Files.delete(jwksCacheFile);
+        AtomicInteger fetches = new AtomicInteger();
+        HttpServer    server  = createJwksServer(new AtomicReference<>(new JWKSet(key)), fetches);
+        String        token   = createToken(key, "admin-user", Instant.now().plusSeconds(300));
+        try {
+            JwtDecoder decoder = createDecoder("http://localhost:" + server.getAddress().getPort() + "/jwks");
+            assertEquals("admin-user", decoder.decode(token).getSubject());
+            assertEquals("admin-user", decoder.decode(token).getSubject());
+            assertEquals(1, fetches.get());
+        } finally {
+            server.stop(0);
+        }
+        assertTrue(Files.exists(jwksCacheFile));
+        assertFalse(Files.readString(jwksCacheFile).contains("\"d\""), "private key must not be persisted");
+
+        //restart, the identity provider is gone
+        JwtDecoder restarted = createDecoder(UNREACHABLE);
+        assertEquals("admin-user", restarted.decode(token).getSubject());
+    }
+
+    /**
+     * Once the maximum age has passed, the key set is fetched again and keys the identity provider has removed are rejected.
+     */
+    @Test
+    public void removedKey() throws Exception {
+        RSAKey                  rotated  = new RSAKeyGenerator(2048).keyID("rotated-key").generate();
+        AtomicReference<JWKSet> jwkSet   = new AtomicReference<>(new JWKSet(key));
+        AtomicInteger           fetches  = new AtomicInteger();
+        HttpServer              server   = createJwksServer(jwkSet, fetches);
+        String                  oldToken = createToken(key, "admin-user", Instant.now().plusSeconds(300));
+        String                  newToken = createToken(rotated, "admin-user", Instant.now().plusSeconds(300));
+        try {
+            JwtDecoder decoder = createDecoder("http://localhost:" + server.getAddress().getPort() + "/jwks", Duration.ZERO, Duration.ZERO);
+            assertEquals("admin-user", decoder.decode(oldToken).getSubject());
+            jwkSet.set(new JWKSet(rotated));
+            assertThrows(JwtException.class, () -> decoder.decode(oldToken));
+            assertEquals("admin-user", decoder.decode(newToken).getSubject());
+        } finally {
+            server.stop(0);
+        }
+        assertFalse(Files.readString(jwksCacheFile).contains(KEY_ID));
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        key           = new RSAKeyGenerator(2048).keyID(KEY_ID).generate();
+        jwksCacheFile = tempDir.resolve("jwks-cache.json");
+        Files.writeString(jwksCacheFile, new JWKSet(key.toPublicJWK()).toString());
+    }
+
+    @Test
+    public void timeToLive() throws Exception {
+        AuthenticationManager manager = createManager(createDecoder(UNREACHABLE), Duration.ZERO);
+        String                token   = createToken(key, "admin-user", Instant.now().plusSeconds(300));
+        for (int i = 0; i < 3; i++) {
+            manager.authenticate(new BearerTokenAuthenticationToken(token));
+        }
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void unknownKey() throws Exception {
+        AuthenticationManager manager = createManager(createDecoder(UNREACHABLE), Duration.ofMinutes(5));
+        RSAKey                other   = new RSAKeyGenerator(2048).keyID("other-key").generate();
+        String                token   = createToken(other, "admin-user", Instant.now().plusSeconds(300));
+        assertThrows(AuthenticationException.class, () -> manager.authenticate(new BearerTokenAuthenticationToken(token)));
+        //the known keys are kept
+        assertTrue(Files.readString(jwksCacheFile).contains(KEY_ID));
+    }
+}
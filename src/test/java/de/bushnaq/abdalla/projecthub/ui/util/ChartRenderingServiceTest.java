@@ -0,0 +1,134 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.ui.util;
+
+import de.bushnaq.abdalla.projecthub.ParameterOptions;
+import de.bushnaq.abdalla.projecthub.dto.Sprint;
+import de.bushnaq.abdalla.projecthub.dto.User;
+import de.bushnaq.abdalla.projecthub.report.AbstractCanvas;
+import de.bushnaq.abdalla.projecthub.report.calendar.CalendarChart;
+import de.bushnaq.abdalla.projecthub.report.gantt.GanttChart;
+import de.bushnaq.abdalla.projecthub.report.gantt.GanttContext;
+import de.bushnaq.abdalla.projecthub.util.AbstractGanttTestUtil;
+import de.bushnaq.abdalla.projecthub.util.RandomCase;
+import de.bushnaq.abdalla.projecthub.util.TestInfoUtil;
+import de.bushnaq.abdalla.util.Util;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Renders the gantt chart of every sprint and the calendar of every user one after the other and concurrently.
+ * <p>
+ * Charts rendered concurrently must not influence each other, so both must result in the same svg documents.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+public class ChartRenderingServiceTest extends AbstractGanttTestUtil {
+    private static final Pattern PREFIX = Pattern.compile("class=\"(s[0-9a-z]+-)");
+
+    /**
+     * The css class prefix is random, it is removed, so that two renderings of the same chart can be compared.
+     */
+    private static String normalize(String svg) {
+        Matcher matcher = PREFIX.matcher(svg);
+        return matcher.find() ? svg.replace(matcher.group(1), "") : svg;
+    }
+
+    private static String render(Callable<AbstractCanvas> chartFactory) throws Exception {
+        AbstractCanvas        chart = chartFactory.call();
+        ByteArrayOutputStream o     = new ByteArrayOutputStream(64 * 1024);
+        chart.render(Util.generateCopyrightString(ParameterOptions.getLocalNow()), o);
+        return normalize(o.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void renderAll(TestInfo testInfo) throws Exception {
+        RandomCase randomCase = new RandomCase(3, 10, 3, 2, 3, 1);
+        TestInfoUtil.setTestMethod(testInfo, testInfo.getTestMethod().get().getName() + "-" + randomCase.getTestCaseIndex());
+        TestInfoUtil.setTestCaseIndex(testInfo, randomCase.getTestCaseIndex());
+        setTestCaseName(this.getClass().getName(), testInfo.getTestMethod().get().getName() + "-" + randomCase.getTestCaseIndex());
+        generateProductsIfNeeded(testInfo, randomCase);
+
+        GanttContext gc = new GanttContext();
+        gc.allUsers    = userApi.getAll();
+        gc.allProducts = productApi.getAll();
+        gc.allVersions = versionApi.getAll();
+        gc.allFeatures = featureApi.getAll();
+        gc.allSprints  = sprintApi.getAll();
+        gc.allTasks    = taskApi.getAll();
+        gc.allWorklogs = worklogApi.getAll();
+        gc.initialize();
+
+        Map<String, Callable<String>> renderers = new LinkedHashMap<>();
+        for (Sprint sprint : sprintApi.getAll()) {
+            sprint.initialize();
+            sprint.initUserMap(userApi.getAll(sprint.getId()));
+            sprint.initTaskMap(taskApi.getAll(sprint.getId()), worklogApi.getAll(sprint.getId()));
+            sprint.recalculate(ParameterOptions.getLocalNow());
+            List<Throwable> exceptions = new ArrayList<>();
+            renderers.put("gantt-" + sprint.getId(), () -> render(() -> new GanttChart(context, "", "/", "Gantt Chart", "gantt-chart", exceptions, ParameterOptions.getLocalNow(), false, sprint, "scheduleWithMargin", context.parameters.graphicsTheme)));
+        }
+        for (User user : gc.allUsers) {
+            renderers.put("calendar-" + user.getId(), () -> render(() -> new CalendarChart(context, ParameterOptions.getLocalNow(), user, "scheduleWithMargin", context.parameters.graphicsTheme)));
+        }
+
+        Map<String, String> sequential = new LinkedHashMap<>();
+        for (Map.Entry<String, Callable<String>> entry : renderers.entrySet()) {
+            sequential.put(entry.getKey(), entry.getValue().call());
+        }
+
+        ChartRenderingService service = new ChartRenderingService(4);
+        try {
+            long                start      = System.currentTimeMillis();
+            Map<String, String> concurrent = service.renderAll(renderers);
+            logger.info("rendered {} charts concurrently in {} ms", concurrent.size(), System.currentTimeMillis() - start);
+            assertEquals(List.copyOf(sequential.keySet()), List.copyOf(concurrent.keySet()));
+            for (String name : sequential.keySet()) {
+                assertEquals(sequential.get(name), concurrent.get(name), name);
+            }
+            //the exception of a chart is passed to the caller
+            assertThrows(IllegalStateException.class, () -> service.renderAll(Map.of("broken", () -> {
+                throw new IllegalStateException("broken chart");
+            })));
+        } finally {
+            service.shutdown();
+        }
+    }
+}
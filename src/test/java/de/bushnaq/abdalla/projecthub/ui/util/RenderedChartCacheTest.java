@@ -0,0 +1,83 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.ui.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.bushnaq.abdalla.projecthub.rest.SprintDataChangedEvent;
+import de.bushnaq.abdalla.projecthub.ui.util.RenderedChartCache.RenderedChart;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Memory and disk tier of the rendered chart cache.
+ */
+public class RenderedChartCacheTest {
+    @TempDir
+    Path directory;
+
+    private static RenderedChart chart(String content) {
+        return new RenderedChart(content.getBytes(StandardCharsets.UTF_8), 100, 50);
+    }
+
+    @Test
+    public void diskSurvivesRestart() {
+        RenderedChartCache cache = new RenderedChartCache(new ObjectMapper(), 10, directory.toString());
+        cache.put(1L, "a", chart("<svg/>"));
+
+        RenderedChartCache restarted = new RenderedChartCache(new ObjectMapper(), 10, directory.toString());
+        assertEquals(0, restarted.size());
+        RenderedChart chart = restarted.get(1L, "a");
+        assertNotNull(chart);
+        assertEquals("<svg/>", new String(chart.svg(), StandardCharsets.UTF_8));
+        assertEquals(100, chart.width());
+        assertEquals(50, chart.height());
+        assertEquals(1, restarted.size());
+    }
+
+    @Test
+    public void evictSprint() {
+        RenderedChartCache cache = new RenderedChartCache(new ObjectMapper(), 10, directory.toString());
+        cache.put(1L, "a", chart("1a"));
+        cache.put(1L, "b", chart("1b"));
+        cache.put(11L, "a", chart("11a"));
+
+        cache.onSprintDataChanged(new SprintDataChangedEvent(1L));
+        assertNull(cache.get(1L, "a"));
+        assertNull(cache.get(1L, "b"));
+        assertNotNull(cache.get(11L, "a"));
+    }
+
+    @Test
+    public void leastRecentlyUsed() throws Exception {
+        RenderedChartCache cache = new RenderedChartCache(new ObjectMapper(), 2, null);
+        cache.put(1L, "a", chart("a"));
+        cache.put(1L, "b", chart("b"));
+        assertNotNull(cache.get(1L, "a"));
+        cache.put(1L, "c", chart("c"));
+        assertEquals(2, cache.size());
+        assertNull(cache.get(1L, "b"));
+        assertNotNull(cache.get(1L, "a"));
+        assertSame(cache.get(1L, "c"), cache.getOrRender(1L, "c", () -> fail("must not render a cached chart")));
+        assertEquals(0.8, cache.getHitRatio(), 0.0001);
+    }
+}
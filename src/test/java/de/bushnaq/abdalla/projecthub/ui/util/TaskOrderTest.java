@@ -0,0 +1,118 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.ui.util;
+
+import de.bushnaq.abdalla.projecthub.dto.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tasks are compared by identity, as unsaved tasks have no id and are all equal.
+ */
+public class TaskOrderTest {
+
+    private static void assertOnlyChanged(Task expected, List<Task> changed) {
+        assertEquals(1, changed.size());
+        assertSame(expected, changed.getFirst());
+    }
+
+    private static Task task(long orderId) {
+        Task task = new Task();
+        task.setOrderId(orderId);
+        return task;
+    }
+
+    private static TaskOrder taskOrder(long... orderIds) {
+        List<Task> tasks = new ArrayList<>();
+        for (long orderId : orderIds) {
+            tasks.add(task(orderId));
+        }
+        return new TaskOrder(tasks);
+    }
+
+    @Test
+    public void moveTask() {
+        TaskOrder taskOrder = taskOrder(Task.ORDER_ID_GAP, 2 * Task.ORDER_ID_GAP, 3 * Task.ORDER_ID_GAP);
+        Task      first     = taskOrder.get(0);
+        Task      last      = taskOrder.get(2);
+
+        //to the top
+        assertOnlyChanged(last, taskOrder.move(2, 0));
+        assertEquals(Task.ORDER_ID_GAP / 2, last.getOrderId());
+        assertEquals(1, taskOrder.getTaskNumber(last));
+        assertEquals(2, taskOrder.getTaskNumber(first));
+
+        //to the bottom
+        assertOnlyChanged(last, taskOrder.move(0, 2));
+        assertEquals(3 * Task.ORDER_ID_GAP, last.getOrderId());
+        assertEquals(3, taskOrder.getTaskNumber(last));
+        assertEquals(1, taskOrder.getTaskNumber(first));
+
+        //nothing to do
+        assertTrue(taskOrder.move(1, 1).isEmpty());
+        assertTrue(taskOrder.move(0, 3).isEmpty());
+    }
+
+    @Test
+    public void orderIdBetween() {
+        assertEquals(Task.ORDER_ID_GAP, TaskOrder.orderIdBetween(null, null));
+        assertEquals(2 * Task.ORDER_ID_GAP, TaskOrder.orderIdBetween(task(Task.ORDER_ID_GAP), null));
+        assertEquals(Task.ORDER_ID_GAP / 2, TaskOrder.orderIdBetween(null, task(Task.ORDER_ID_GAP)));
+        assertEquals(15L, TaskOrder.orderIdBetween(task(10), task(20)));
+        assertEquals(11L, TaskOrder.orderIdBetween(task(10), task(12)));
+        assertNull(TaskOrder.orderIdBetween(task(10), task(11)));
+        assertNull(TaskOrder.orderIdBetween(null, task(1)));
+    }
+
+    @Test
+    public void rebalanceWhenGapIsUsedUp() {
+        TaskOrder taskOrder = taskOrder(1, 2, 3);
+        Task      first     = taskOrder.get(0);
+        Task      second    = taskOrder.get(1);
+        Task      third     = taskOrder.get(2);
+
+        //no orderId left between 1 and 2
+        List<Task> changed = taskOrder.move(2, 1);
+        assertSame(first, taskOrder.get(0));
+        assertSame(third, taskOrder.get(1));
+        assertSame(second, taskOrder.get(2));
+        assertEquals(3, changed.size());
+        assertEquals(Task.ORDER_ID_GAP, first.getOrderId());
+        assertEquals(2 * Task.ORDER_ID_GAP, third.getOrderId());
+        assertEquals(3 * Task.ORDER_ID_GAP, second.getOrderId());
+
+        //already balanced, nothing changes
+        assertTrue(taskOrder.rebalanceOrderIds().isEmpty());
+    }
+
+    @Test
+    public void unsavedTasks() {
+        //unsaved tasks have no id and are equal, they still have their own number
+        TaskOrder taskOrder = taskOrder(Task.ORDER_ID_GAP, 2 * Task.ORDER_ID_GAP);
+        Task      task      = new Task();
+        taskOrder.add(task);
+        assertEquals(1, taskOrder.getTaskNumber(taskOrder.get(0)));
+        assertEquals(2, taskOrder.getTaskNumber(taskOrder.get(1)));
+        assertEquals(3, taskOrder.getTaskNumber(task));
+        assertEquals(0, taskOrder.getTaskNumber(new Task()));
+    }
+}
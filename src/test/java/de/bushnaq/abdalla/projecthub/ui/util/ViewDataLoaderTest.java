@@ -0,0 +1,202 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.projecthub.ui.util;
+
+import de.bushnaq.abdalla.projecthub.dto.Sprint;
+import de.bushnaq.abdalla.projecthub.dto.Task;
+import de.bushnaq.abdalla.projecthub.dto.User;
+import de.bushnaq.abdalla.projecthub.dto.WorklogRollup;
+import de.bushnaq.abdalla.projecthub.util.AbstractEntityGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares loading sprint data of many concurrent sessions on the common pool with the view data loader.
+ * <p>
+ * The timings are only logged, the tests assert that the loader runs the calls of a view concurrently and propagates the security context.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Transactional
+public class ViewDataLoaderTest extends AbstractEntityGenerator {
+    private static final int LOADS_PER_SESSION = 10;
+    private static final int SESSIONS          = 32;
+
+    /**
+     * Every call waits until all calls have started, so the calls can only complete if the loader runs them concurrently.
+     */
+    private static void assertOverlapping(ViewDataLoader loader, int calls) throws Exception {
+        try {
+            CountDownLatch                  started = new CountDownLatch(calls);
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                futures.add(loader.supplyAsync(() -> {
+                    started.countDown();
+                    try {
+                        if (!started.await(10, TimeUnit.SECONDS)) {
+                            return null;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return null;
+                    }
+                    return SecurityContextHolder.getContext().getAuthentication().getName();
+                }));
+            }
+            for (CompletableFuture<String> future : futures) {
+                assertEquals("admin-user", future.get(20, TimeUnit.SECONDS), "calls did not overlap or lost the security context");
+            }
+        } finally {
+            loader.shutdown();
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void benchmark() throws Exception {
+        addRandomProducts(1);
+        Long sprintId = expectedSprints.getFirst().getId();
+
+        long commonPoolTime = measure(sprintId, null);
+        long platformTime;
+        long virtualTime;
+        ViewDataLoader platformLoader = new ViewDataLoader(false, 16);
+        try {
+            platformTime = measure(sprintId, platformLoader);
+        } finally {
+            platformLoader.shutdown();
+        }
+        ViewDataLoader virtualLoader = new ViewDataLoader(true, 0);
+        try {
+            virtualTime = measure(sprintId, virtualLoader);
+        } finally {
+            virtualLoader.shutdown();
+        }
+        int loads = SESSIONS * LOADS_PER_SESSION;
+        logger.info("{} sessions loaded {} sprints, common pool {} ms ({} loads/s), platform loader {} ms ({} loads/s), virtual loader {} ms ({} loads/s)",
+                SESSIONS, loads, commonPoolTime, loads * 1000L / Math.max(1, commonPoolTime), platformTime, loads * 1000L / Math.max(1, platformTime), virtualTime, loads * 1000L / Math.max(1, virtualTime));
+    }
+
+    /**
+     * Loads a sprint the way the views do.
+     */
+    private void loadSprint(Long sprintId, ViewDataLoader loader) throws ExecutionException, InterruptedException {
+        CompletableFuture<Sprint>              sprintFuture         = supplyAsync(loader, () -> sprintApi.getById(sprintId));
+        CompletableFuture<List<User>>          usersFuture          = supplyAsync(loader, () -> userApi.getAll(sprintId));
+        CompletableFuture<List<Task>>          tasksFuture          = supplyAsync(loader, () -> taskApi.getAll(sprintId));
+        CompletableFuture<List<WorklogRollup>> worklogRollupsFuture = supplyAsync(loader, () -> worklogApi.getRollups(sprintId));
+        Sprint                                 sprint               = sprintFuture.get();
+        sprint.initialize();
+        sprint.initUserMap(usersFuture.get());
+        sprint.initTaskMap(tasksFuture.get(), null);
+        sprint.initWorklogRollups(worklogRollupsFuture.get());
+        assertFalse(sprint.getTasks().isEmpty());
+    }
+
+    /**
+     * Every session runs on its own thread, like the request threads of tomcat, and loads its sprint several times.
+     *
+     * @param loader the loader to use, null to use the common pool with manual security context propagation
+     * @return time in ms
+     */
+    private long measure(Long sprintId, ViewDataLoader loader) throws Exception {
+        ExecutorService sessions = new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(SESSIONS));
+        try {
+            //warm up
+            loadSprint(sprintId, loader);
+            long            time    = System.currentTimeMillis();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int s = 0; s < SESSIONS; s++) {
+                futures.add(sessions.submit(() -> {
+                    for (int i = 0; i < LOADS_PER_SESSION; i++) {
+                        loadSprint(sprintId, loader);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.currentTimeMillis() - time;
+        } finally {
+            sessions.shutdown();
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void overlapping() throws Exception {
+        assertOverlapping(new ViewDataLoader(false, 4), 4);
+        assertOverlapping(new ViewDataLoader(true, 0), 16);
+    }
+
+    @Test
+    @WithMockUser(username = "admin-user", roles = "ADMIN")
+    public void securityContext() throws Exception {
+        ViewDataLoader loader = new ViewDataLoader(true, 0);
+        try {
+            assertEquals("admin-user", loader.supplyAsync(() -> SecurityContextHolder.getContext().getAuthentication().getName()).get());
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            SecurityContextHolder.clearContext();
+            try {
+                assertNull(loader.supplyAsync(() -> SecurityContextHolder.getContext().getAuthentication()).get());
+            } finally {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        } finally {
+            loader.shutdown();
+        }
+    }
+
+    /**
+     * The common pool variant propagates the security context manually, like the views used to do.
+     */
+    private static <T> CompletableFuture<T> supplyAsync(ViewDataLoader loader, Supplier<T> supplier) {
+        if (loader != null) {
+            return loader.supplyAsync(supplier);
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return CompletableFuture.supplyAsync(() -> {
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+            try {
+                return supplier.get();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        });
+    }
+}
@@ -161,7 +161,7 @@ public class AbstractGanttTestUtil extends AbstractEntityGenerator {
         }
     }
 
-    private RenderDao createRenderDao(Context context, Sprint sprint, String column, LocalDateTime now, int chartWidth, int chartHeight, String link) {
+    protected RenderDao createRenderDao(Context context, Sprint sprint, String column, LocalDateTime now, int chartWidth, int chartHeight, String link) {
         RenderDao dao = new RenderDao();
         dao.context            = context;
         dao.column             = column;
@@ -178,8 +178,8 @@ public class AbstractGanttTestUtil extends AbstractEntityGenerator {
         dao.estimatedWorstWork = null;
         dao.maxWorked          = DateUtil.add(sprint.getWorked(), sprint.getRemaining());
         dao.remaining          = sprint.getRemaining();
-        dao.worklog            = sprint.getWorklogs();
         dao.worklogRemaining   = sprint.getWorklogRemaining();
+        dao.worklogRollup      = sprint.getWorklogRollups();
         dao.cssClass           = "scheduleWithMargin";
         dao.graphicsTheme      = context.parameters.graphicsTheme;
         return dao;
@@ -0,0 +1,157 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.svg.util;
+
+import org.apache.batik.dom.GenericDOMImplementation;
+import org.apache.batik.svggen.SVGGeneratorContext;
+import org.apache.batik.transcoder.TranscoderInput;
+import org.apache.batik.transcoder.TranscoderOutput;
+import org.apache.batik.transcoder.image.ImageTranscoder;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Draws the day grid of a six month gantt chart once day by day and once with one pattern and CSS classes.
+ * Both documents must look the same and the compact one must be at least five times smaller.
+ */
+public class CompactSvgTest {
+    private static final int    DAYS       = 182;
+    private static final int    DAY_WIDTH  = 20;
+    private static final Color  GRID       = new Color(0xd0, 0xd0, 0xd0);
+    private static final int    LANES      = 30;
+    private static final int    LANE_PITCH = 18;
+    private static final Color  WEEKDAY    = new Color(0xf8, 0xf8, 0xf8);
+    private static final Color  WEEKEND    = new Color(0xe0, 0xe0, 0xe8);
+    private final        Logger logger     = LoggerFactory.getLogger(this.getClass());
+
+    private static void assertImageEquals(BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        int differentPixels = 0;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+                    differentPixels++;
+                }
+            }
+        }
+        int total = expected.getWidth() * expected.getHeight();
+        assertTrue(differentPixels <= total / 1000, String.format("%d of %d pixels differ", differentPixels, total));
+    }
+
+    @Test
+    public void compact() throws Exception {
+        String dayByDay = drawDayByDay();
+        String compact  = drawCompact();
+        assertImageEquals(rasterize(dayByDay), rasterize(compact));
+        logger.info("day by day {} KB, compact {} KB", dayByDay.length() / 1024, compact.length() / 1024);
+        assertTrue(compact.length() * 5 <= dayByDay.length(), String.format("compact svg has %d bytes, day by day %d bytes", compact.length(), dayByDay.length()));
+    }
+
+    private static Document createDocument() {
+        return GenericDOMImplementation.getDOMImplementation().createDocument("http://www.w3.org/2000/svg", "svg", null);
+    }
+
+    private String drawCompact() throws Exception {
+        Document             document         = createDocument();
+        String               prefix           = CssClassStyleHandler.createPrefix();
+        CssClassStyleHandler styleHandler     = new CssClassStyleHandler(prefix);
+        SVGGeneratorContext  generatorContext = SVGGeneratorContext.createDefault(document);
+        generatorContext.setStyleHandler(styleHandler);
+        generatorContext.setExtensionHandler(new SvgPatternExtensionHandler(prefix));
+        ExtendedSvgGraphics2D graphics = new ExtendedSvgGraphics2D(generatorContext, false);
+        graphics.setSVGCanvasSize(new Dimension(DAYS * DAY_WIDTH, LANES * LANE_PITCH));
+        List<PatternPaint.Cell> week = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            week.add(new PatternPaint.Cell(day * DAY_WIDTH, 0, DAY_WIDTH - 1, LANES * LANE_PITCH, day < 5 ? WEEKDAY : WEEKEND));
+        }
+        graphics.setPaint(new PatternPaint(new Rectangle(0, 0, 7 * DAY_WIDTH, LANES * LANE_PITCH), week));
+        graphics.fillRect(0, 0, DAYS * DAY_WIDTH, LANES * LANE_PITCH);
+        graphics.setPaint(new PatternPaint(new Rectangle(0, 0, DAY_WIDTH, LANE_PITCH), List.of(//
+                new PatternPaint.Cell(0, 0, DAY_WIDTH, 1, GRID),//
+                new PatternPaint.Cell(0, 1, 1, LANE_PITCH - 1, GRID))));
+        graphics.fillRect(0, 0, DAYS * DAY_WIDTH, LANES * LANE_PITCH);
+        drawLabels(graphics);
+        Element root = graphics.getRoot();
+        styleHandler.appendStyleSheet(root);
+        StringWriter out = new StringWriter();
+        graphics.stream(root, out, true, false);
+        return out.toString();
+    }
+
+    private String drawDayByDay() throws Exception {
+        ExtendedSvgGraphics2D graphics = new ExtendedSvgGraphics2D(createDocument());
+        graphics.setSVGCanvasSize(new Dimension(DAYS * DAY_WIDTH, LANES * LANE_PITCH));
+        for (int day = 0; day < DAYS; day++) {
+            int x = day * DAY_WIDTH;
+            graphics.setColor(day % 7 < 5 ? WEEKDAY : WEEKEND);
+            graphics.fillRect(x, 0, DAY_WIDTH - 1, LANES * LANE_PITCH);
+            for (int lane = 0; lane < LANES; lane++) {
+                graphics.setColor(GRID);
+                graphics.fillRect(x, lane * LANE_PITCH, DAY_WIDTH, 1);
+                graphics.fillRect(x, lane * LANE_PITCH + 1, 1, LANE_PITCH - 1);
+            }
+        }
+        drawLabels(graphics);
+        StringWriter out = new StringWriter();
+        graphics.stream(out, true);
+        return out.toString();
+    }
+
+    /**
+     * Text is drawn day by day in both documents, it must keep its style.
+     */
+    private static void drawLabels(Graphics2D graphics) {
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 10));
+        for (int day = 0; day < DAYS; day += 7) {
+            graphics.setColor(Color.darkGray);
+            graphics.drawString("W" + (day / 7 + 1), day * DAY_WIDTH + 2, 12);
+        }
+    }
+
+    private static BufferedImage rasterize(String svg) throws Exception {
+        List<BufferedImage> images = new ArrayList<>();
+        ImageTranscoder transcoder = new ImageTranscoder() {
+            @Override
+            public BufferedImage createImage(int width, int height) {
+                return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            }
+
+            @Override
+            public void writeImage(BufferedImage image, TranscoderOutput output) {
+                images.add(image);
+            }
+        };
+        transcoder.transcode(new TranscoderInput(new ByteArrayInputStream(svg.getBytes(StandardCharsets.UTF_8))), null);
+        return images.getFirst();
+    }
+}
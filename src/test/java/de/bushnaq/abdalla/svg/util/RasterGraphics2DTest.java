@@ -0,0 +1,167 @@
+/*
+ *
+ * Copyright (C) 2025-2025 Abdalla Bushnaq
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+
+package de.bushnaq.abdalla.svg.util;
+
+import de.bushnaq.abdalla.svg.util.RasterGraphics2D.LevelOfDetail;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Draws the day grid of a six month gantt chart into a thumbnail, once with the thumbnail rules and once with the preview rules.
+ * Merging the day bars must not change the image, small text must only be skipped by the thumbnail.
+ */
+public class RasterGraphics2DTest {
+    private static final int    DAYS       = 182;
+    private static final int    DAY_WIDTH  = 20;
+    private static final Color  LANE       = new Color(0x40, 0x80, 0xc0);
+    private static final int    LANES      = 30;
+    private static final int    LANE_PITCH = 18;
+    private static final double SCALE      = 0.1;
+    private static final Color  WEEKDAY    = new Color(0xf8, 0xf8, 0xf8);
+    private static final Color  WEEKEND    = new Color(0xe0, 0xe0, 0xe8);
+    private final        Logger logger     = LoggerFactory.getLogger(this.getClass());
+
+    private static BufferedImage createImage() {
+        BufferedImage image = new BufferedImage((int) (DAYS * DAY_WIDTH * SCALE), (int) (LANES * LANE_PITCH * SCALE), BufferedImage.TYPE_INT_RGB);
+        Graphics2D    g     = image.createGraphics();
+        g.setColor(Color.white);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g.dispose();
+        return image;
+    }
+
+    private static int countPixels(BufferedImage image, Color color) {
+        int count = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (image.getRGB(x, y) == color.getRGB()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Every day is a separate bar, weekends have another color. Every lane has a bar of one day per day and a one pixel wide separator line.
+     */
+    private static void drawDays(Graphics2D g) {
+        g.scale(SCALE, SCALE);
+        for (int day = 0; day < DAYS; day++) {
+            g.setColor(day % 7 >= 5 ? WEEKEND : WEEKDAY);
+            g.fillRect(day * DAY_WIDTH, 0, DAY_WIDTH, LANES * LANE_PITCH);
+        }
+        for (int lane = 0; lane < LANES; lane++) {
+            g.setColor(LANE);
+            for (int day = 0; day < 10; day++) {
+                g.fillRect((lane + day) * DAY_WIDTH, lane * LANE_PITCH + 4, DAY_WIDTH, LANE_PITCH - 8);
+            }
+            g.setColor(Color.black);
+            g.fillRect(0, lane * LANE_PITCH, DAYS * DAY_WIDTH, 1);
+        }
+    }
+
+    private static void drawText(Graphics2D g) {
+        g.scale(SCALE, SCALE);
+        g.setColor(Color.black);
+        g.setFont(new Font("Arial", Font.BOLD, 12));
+        for (int lane = 0; lane < LANES; lane++) {
+            g.drawString("task " + lane, 0, lane * LANE_PITCH + 12);
+        }
+    }
+
+    @Test
+    public void levelOfDetailForScale() {
+        assertSame(LevelOfDetail.THUMBNAIL, LevelOfDetail.forScale(0.2));
+        assertSame(LevelOfDetail.PREVIEW, LevelOfDetail.forScale(0.5));
+        assertSame(LevelOfDetail.PREVIEW, LevelOfDetail.forScale(2));
+    }
+    @Test
+    public void mergeBars() {
+        BufferedImage    merged = createImage();
+        RasterGraphics2D g      = new RasterGraphics2D(merged.createGraphics(), LevelOfDetail.THUMBNAIL);
+        long             time   = System.nanoTime();
+        drawDays(g);
+        g.dispose();
+        logger.info("thumbnail drawn in {}us", (System.nanoTime() - time) / 1000);
+
+        //the expected image draws the same bars snapped to pixels without merging
+        BufferedImage expected = createImage();
+        Graphics2D    e        = expected.createGraphics();
+        for (int day = 0; day < DAYS; day++) {
+            e.setColor(day % 7 >= 5 ? WEEKEND : WEEKDAY);
+            e.fillRect((int) Math.round(day * DAY_WIDTH * SCALE), 0, (int) Math.round((day + 1) * DAY_WIDTH * SCALE) - (int) Math.round(day * DAY_WIDTH * SCALE), (int) Math.round(LANES * LANE_PITCH * SCALE));
+        }
+        for (int lane = 0; lane < LANES; lane++) {
+            int y1 = (int) Math.round((lane * LANE_PITCH + 4) * SCALE);
+            int y2 = (int) Math.round((lane * LANE_PITCH + LANE_PITCH - 4) * SCALE);
+            int x1 = (int) Math.round(lane * DAY_WIDTH * SCALE);
+            int x2 = (int) Math.round((lane + 10) * DAY_WIDTH * SCALE);
+            e.setColor(LANE);
+            e.fillRect(x1, y1, x2 - x1, y2 - y1);
+        }
+        e.dispose();
+
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(expected.getRGB(x, y), merged.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+        //separator lines are thinner than half a pixel
+        assertEquals(0, countPixels(merged, Color.black));
+    }
+
+    @Test
+    public void previewKeepsThinLines() {
+        int           x         = (int) (DAY_WIDTH * SCALE / 2);//first day, a weekday without task bar in lane 5
+        int           y         = (int) (5 * LANE_PITCH * SCALE);//separator of lane 5
+        BufferedImage thumbnail = createImage();
+        Graphics2D    t         = new RasterGraphics2D(thumbnail.createGraphics(), LevelOfDetail.THUMBNAIL);
+        drawDays(t);
+        t.dispose();
+        assertEquals(WEEKDAY.getRGB(), thumbnail.getRGB(x, y), "thumbnail skips lines thinner than a pixel");
+
+        BufferedImage preview = createImage();
+        Graphics2D    p       = new RasterGraphics2D(preview.createGraphics(), LevelOfDetail.PREVIEW);
+        drawDays(p);
+        p.dispose();
+        assertNotEquals(WEEKDAY.getRGB(), preview.getRGB(x, y), "preview draws lines thinner than a pixel");
+    }
+
+    @Test
+    public void skipSmallText() {
+        BufferedImage    thumbnail = createImage();
+        RasterGraphics2D t         = new RasterGraphics2D(thumbnail.createGraphics(), LevelOfDetail.THUMBNAIL);
+        drawText(t);
+        t.dispose();
+        assertEquals(thumbnail.getWidth() * thumbnail.getHeight(), countPixels(thumbnail, Color.white), "text is smaller than 6 pixel");
+
+        BufferedImage    preview = createImage();
+        RasterGraphics2D p       = new RasterGraphics2D(preview.createGraphics(), LevelOfDetail.PREVIEW);
+        drawText(p);
+        p.dispose();
+        assertTrue(countPixels(preview, Color.white) < preview.getWidth() * preview.getHeight(), "preview draws all text");
+    }
+
+}